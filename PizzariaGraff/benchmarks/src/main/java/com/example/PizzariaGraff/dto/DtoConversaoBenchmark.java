@@ -0,0 +1,130 @@
+package com.example.PizzariaGraff.dto;
+
+import com.example.PizzariaGraff.model.Cidade;
+import com.example.PizzariaGraff.model.Cliente;
+import com.example.PizzariaGraff.model.CondicaoPagamento;
+import com.example.PizzariaGraff.model.Estado;
+import com.example.PizzariaGraff.model.NotaSaida;
+import com.example.PizzariaGraff.model.Pais;
+import com.example.PizzariaGraff.model.Produto;
+import com.example.PizzariaGraff.model.ProdutoNotaSaida;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversão de entidades em DTOs: ClienteDTO com cidade/estado/país e
+ * NotaSaidaDTO com a lista de produtos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoConversaoBenchmark {
+
+    @Param({"10", "100"})
+    private int itensPorNota;
+
+    private Cliente cliente;
+    private NotaSaida nota;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        Pais pais = new Pais();
+        pais.setId(1L);
+        pais.setNome("Brasil");
+        pais.setSigla("BR");
+        pais.setCodigo("55");
+
+        Estado estado = new Estado();
+        estado.setId(1L);
+        estado.setNome("Paraná");
+        estado.setUf("PR");
+        estado.setPais(pais);
+
+        Cidade cidade = new Cidade();
+        cidade.setId(1L);
+        cidade.setNome("Foz do Iguaçu");
+        cidade.setEstado(estado);
+
+        CondicaoPagamento condicao = new CondicaoPagamento();
+        condicao.setId(1L);
+        condicao.setCondicaoPagamento("30/60/90");
+
+        cliente = new Cliente();
+        cliente.setId(1L);
+        cliente.setCliente("Cliente Benchmark");
+        cliente.setApelido("Bench");
+        cliente.setCpfCpnj("52998224725");
+        cliente.setCidadeId(1L);
+        cliente.setCidade(cidade);
+        cliente.setLimiteCredito(new BigDecimal("5000.00"));
+        cliente.setCondicaoPagamentoId(1L);
+        cliente.setCondicaoPagamento(condicao);
+        cliente.setAtivo(true);
+        cliente.setDataCriacao(LocalDateTime.of(2025, 1, 10, 12, 0));
+        cliente.setDataAlteracao(LocalDateTime.of(2025, 1, 10, 12, 0));
+
+        nota = new NotaSaida();
+        nota.setNumero("1000");
+        nota.setModelo("55");
+        nota.setSerie("1");
+        nota.setClienteId(1L);
+        nota.setCliente(cliente);
+        nota.setCondicaoPagamentoId(1L);
+        nota.setCondicaoPagamento(condicao);
+        nota.setDataEmissao(LocalDate.of(2025, 1, 10));
+        nota.setTipoFrete("CIF");
+        nota.setSituacao("PENDENTE");
+
+        List<ProdutoNotaSaida> itens = new ArrayList<>(itensPorNota);
+        for (int i = 0; i < itensPorNota; i++) {
+            Produto produto = new Produto();
+            produto.setId((long) i + 1);
+            produto.setProduto("Produto " + i);
+            produto.setCodigoBarras(String.format("789%010d", i));
+
+            ProdutoNotaSaida item = new ProdutoNotaSaida();
+            item.setNotaNumero("1000");
+            item.setNotaModelo("55");
+            item.setNotaSerie("1");
+            item.setClienteId(1L);
+            item.setProdutoId(produto.getId());
+            item.setSequencia(i + 1);
+            item.setQuantidade(new BigDecimal("2"));
+            item.setValorUnitario(new BigDecimal("12.50"));
+            item.setValorTotal(new BigDecimal("25.00"));
+            item.setProduto(produto);
+            itens.add(item);
+        }
+        nota.setProdutos(itens);
+    }
+
+    @Benchmark
+    public ClienteDTO clienteDTO() {
+        return new ClienteDTO(cliente);
+    }
+
+    @Benchmark
+    public NotaSaidaDTO notaSaidaDTO() {
+        return new NotaSaidaDTO(nota);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.PizzariaGraff.repository;
+
+import com.example.PizzariaGraff.model.ContaReceber;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mapeamento de linhas de contas_receber (ContaReceberRepository.mapearColunas)
+ * a partir de um ResultSet em memória.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContaReceberMapeamentoBenchmark {
+
+    @Param({"100", "1000"})
+    private int linhas;
+
+    private ResultSet resultSet;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        List<Map<String, Object>> dados = new ArrayList<>(linhas);
+        LocalDate emissao = LocalDate.of(2025, 1, 10);
+        for (int i = 0; i < linhas; i++) {
+            Map<String, Object> linha = new HashMap<>();
+            linha.put("id", (long) i + 1);
+            linha.put("nota_numero", String.valueOf(1000 + i / 3));
+            linha.put("nota_modelo", "55");
+            linha.put("nota_serie", "1");
+            linha.put("cliente_id", (long) (i % 50) + 1);
+            linha.put("numero_parcela", i % 3 + 1);
+            linha.put("total_parcelas", 3);
+            linha.put("valor_original", new BigDecimal("150.00"));
+            linha.put("valor_recebido", BigDecimal.ZERO);
+            linha.put("valor_desconto", BigDecimal.ZERO);
+            linha.put("valor_juros", BigDecimal.ZERO);
+            linha.put("valor_multa", BigDecimal.ZERO);
+            linha.put("valor_total", new BigDecimal("150.00"));
+            linha.put("data_emissao", Date.valueOf(emissao));
+            linha.put("data_vencimento", Date.valueOf(emissao.plusDays(30L * (i % 3 + 1))));
+            linha.put("data_recebimento", null);
+            linha.put("forma_pagamento_id", i % 2 == 0 ? 1L : null);
+            linha.put("situacao", "PENDENTE");
+            linha.put("observacoes", null);
+            linha.put("data_criacao", Timestamp.valueOf(LocalDateTime.of(2025, 1, 10, 12, 0)));
+            linha.put("data_alteracao", Timestamp.valueOf(LocalDateTime.of(2025, 1, 10, 12, 0)));
+            dados.add(linha);
+        }
+        resultSet = ResultSetFalso.de(dados);
+    }
+
+    @Benchmark
+    public void mapearLinhas(Blackhole blackhole) throws SQLException {
+        resultSet.beforeFirst();
+        while (resultSet.next()) {
+            ContaReceber conta = ContaReceberRepository.mapearColunas(resultSet);
+            blackhole.consume(conta);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.PizzariaGraff.repository;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ResultSet em memória para os benchmarks de mapeamento: percorre uma lista de
+ * linhas (coluna -> valor) e responde aos getters usados pelos repositórios.
+ */
+final class ResultSetFalso {
+
+    private ResultSetFalso() {
+    }
+
+    static ResultSet de(List<Map<String, Object>> linhas) {
+        int[] posicao = {-1};
+        Object[] ultimoValor = new Object[1];
+
+        return (ResultSet) Proxy.newProxyInstance(
+                ResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class},
+                (proxy, metodo, args) -> {
+                    switch (metodo.getName()) {
+                        case "next":
+                            posicao[0]++;
+                            return posicao[0] < linhas.size();
+                        case "beforeFirst":
+                            posicao[0] = -1;
+                            return null;
+                        case "wasNull":
+                            return ultimoValor[0] == null;
+                        case "close":
+                            return null;
+                        case "isClosed":
+                            return false;
+                        default:
+                            break;
+                    }
+
+                    if (!metodo.getName().startsWith("get") || args == null || !(args[0] instanceof String coluna)) {
+                        throw new UnsupportedOperationException(metodo.getName());
+                    }
+
+                    Object valor = linhas.get(posicao[0]).get(coluna);
+                    ultimoValor[0] = valor;
+                    switch (metodo.getName()) {
+                        case "getLong":
+                            return valor != null ? ((Number) valor).longValue() : 0L;
+                        case "getInt":
+                            return valor != null ? ((Number) valor).intValue() : 0;
+                        case "getDouble":
+                            return valor != null ? ((Number) valor).doubleValue() : 0.0;
+                        case "getBoolean":
+                            return valor != null && (Boolean) valor;
+                        case "getBigDecimal":
+                            return valor != null ? (BigDecimal) valor : null;
+                        case "getObject":
+                            if (valor == null) {
+                                return null;
+                            }
+                            if (args.length > 1 && args[1] == Long.class) {
+                                return ((Number) valor).longValue();
+                            }
+                            return valor;
+                        default:
+                            // getString, getDate, getTimestamp
+                            return valor;
+                    }
+                });
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.PizzariaGraff.service;
+
+import com.example.PizzariaGraff.model.NotaEntrada;
+import com.example.PizzariaGraff.model.ProdutoNota;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rateio de frete, seguro e outras despesas entre os itens de uma nota de entrada
+ * (NotaEntradaService.calcularRateios).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateioBenchmark {
+
+    @Param({"100", "500"})
+    private int itens;
+
+    private NotaEntrada nota;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        nota = new NotaEntrada();
+        nota.setNumero("2000");
+        nota.setModelo("55");
+        nota.setSerie("1");
+        nota.setFornecedorId(1L);
+        nota.setValorFrete(new BigDecimal("157.33"));
+        nota.setValorSeguro(new BigDecimal("42.10"));
+        nota.setOutrasDespesas(new BigDecimal("13.07"));
+
+        List<ProdutoNota> produtos = new ArrayList<>(itens);
+        for (int i = 0; i < itens; i++) {
+            BigDecimal quantidade = BigDecimal.valueOf(i % 7 + 1);
+            BigDecimal valorUnitario = new BigDecimal("3.99").add(BigDecimal.valueOf(i % 13));
+
+            ProdutoNota item = new ProdutoNota();
+            item.setProdutoId((long) i + 1);
+            item.setSequencia(i + 1);
+            item.setQuantidade(quantidade);
+            item.setValorUnitario(valorUnitario);
+            item.setValorTotal(quantidade.multiply(valorUnitario));
+            produtos.add(item);
+        }
+        nota.setProdutos(produtos);
+    }
+
+    @Benchmark
+    public NotaEntrada calcularRateios() {
+        // Os rateios são recalculados a partir dos valores totais, então a mesma nota pode ser reutilizada
+        NotaEntradaService.calcularRateios(nota);
+        return nota;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.PizzariaGraff.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validação de CPF e CNPJ (CpfCnpjValidator.isValidCpfOrCnpj) com documentos
+ * formatados, sem formatação, válidos e inválidos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CpfCnpjValidatorBenchmark {
+
+    private static final String[] DOCUMENTOS = {
+            "52998224725",
+            "529.982.247-25",
+            "52998224724",
+            "111.111.111-11",
+            "11222333000181",
+            "11.222.333/0001-81",
+            "11.222.333/0001-82",
+            "12345",
+    };
+
+    @Benchmark
+    @OperationsPerInvocation(8)
+    public void isValidCpfOrCnpj(Blackhole blackhole) {
+        for (String documento : DOCUMENTOS) {
+            blackhole.consume(CpfCnpjValidator.isValidCpfOrCnpj(documento));
+        }
+    }
+}
@@ -320,6 +320,10 @@ const ContasPagarList: React.FC = () => {
     }
   };
 
+  // Contas vencidas continuam abertas: podem ser pagas (com multa e juros) ou canceladas
+  const podeBaixarOuCancelar = (situacao: string | undefined) =>
+    situacao === 'PENDENTE' || situacao === 'VENCIDA';
+
   const columns = [
     {
       header: 'ID',
@@ -365,7 +369,7 @@ const ContasPagarList: React.FC = () => {
       accessor: 'actions',
       cell: (conta: ContaPagar) => (
         <div className="flex gap-2">
-          {conta.situacao === 'PENDENTE' && (
+          {podeBaixarOuCancelar(conta.situacao) && (
             <>
               <button
                 onClick={() => handlePagar(conta)}
@@ -1,8 +1,9 @@
 import React, { useEffect, useState } from 'react';
 import { useNavigate } from 'react-router-dom';
-import { getContasReceber, receberConta, cancelarContaReceber, calcularValorTotalRecebimento } from '../../services/contaReceberService';
+import { getContasReceber, getContaReceber, receberConta, cancelarContaReceber, calcularValorTotalRecebimento } from '../../services/contaReceberService';
 import FormaPagamentoService from '../../services/FormaPagamentoService';
-import { ContaReceber, FormaPagamento } from '../../types';
+import { assinarEventos } from '../../services/eventosService';
+import { ContaReceber, EventoAlteracao, FormaPagamento } from '../../types';
 import DataTable from '../../components/DataTable';
 import { FaPlus, FaEye, FaMoneyBillWave, FaBan } from 'react-icons/fa';
 import { getCurrentDateString } from '../../utils/dateUtils';
@@ -25,11 +26,26 @@ const ContasReceberList: React.FC = () => {
   useEffect(() => {
     loadContas();
     loadFormasPagamento();
+
+    // Aplica na lista só as contas alteradas; numa reconexão recarrega tudo, pois
+    // os eventos enviados enquanto a conexão estava fora se perderam
+    let primeiraConexao = true;
+    return assinarEventos(
+      { 'conta-receber': aplicarEvento },
+      () => {
+        if (!primeiraConexao) {
+          loadContas(false);
+        }
+        primeiraConexao = false;
+      }
+    );
   }, []);
 
-  const loadContas = async () => {
+  const loadContas = async (mostrarCarregando = true) => {
     try {
-      setLoading(true);
+      if (mostrarCarregando) {
+        setLoading(true);
+      }
       setError(null);
       const data = await getContasReceber();
       setContas(data);
@@ -41,6 +57,45 @@ const ContasReceberList: React.FC = () => {
     }
   };
 
+  const aplicarEvento = async (evento: EventoAlteracao) => {
+    // Contas excluídas junto com a nota chegam só com a chave da nota
+    if (evento.acao === 'excluidas' && !evento.ids) {
+      setContas(atuais => atuais.filter(c => !(c.notaNumero === evento.notaNumero && c.notaModelo === evento.notaModelo
+        && c.notaSerie === evento.notaSerie && c.clienteId === evento.participanteId)));
+      return;
+    }
+
+    const ids = evento.ids ?? (evento.id != null ? [evento.id] : []);
+    if (evento.acao === 'excluida') {
+      setContas(atuais => atuais.filter(c => !ids.includes(c.id!)));
+      return;
+    }
+
+    const resultados = await Promise.all(ids.map(async id => {
+      try {
+        return { id, conta: await getContaReceber(id) };
+      } catch (err: any) {
+        return { id, conta: err?.response?.status === 404 ? null : undefined };
+      }
+    }));
+
+    setContas(atuais => {
+      let novas = [...atuais];
+      resultados.forEach(({ id, conta }) => {
+        if (conta === undefined) return; // falha ao buscar: mantém como está
+        const indice = novas.findIndex(c => c.id === id);
+        if (conta === null) {
+          novas = novas.filter(c => c.id !== id);
+        } else if (indice < 0) {
+          novas.push(conta);
+        } else {
+          novas[indice] = conta;
+        }
+      });
+      return novas;
+    });
+  };
+
   const loadFormasPagamento = async () => {
     try {
       const data = await FormaPagamentoService.list();
@@ -148,6 +203,10 @@ const ContasReceberList: React.FC = () => {
     return conta.situacao === filtroSituacao;
   });
 
+  // Contas vencidas continuam abertas: podem ser recebidas (com multa e juros) ou canceladas
+  const podeBaixarOuCancelar = (situacao: string | undefined) =>
+    situacao === 'PENDENTE' || situacao === 'VENCIDA';
+
   const columns = [
     {
       header: 'ID',
@@ -193,7 +252,7 @@ const ContasReceberList: React.FC = () => {
       accessor: 'actions',
       cell: (conta: ContaReceber) => (
         <div className="flex gap-2">
-          {conta.situacao === 'PENDENTE' && (
+          {podeBaixarOuCancelar(conta.situacao) && (
             <>
               <button
                 onClick={() => handleReceber(conta)}
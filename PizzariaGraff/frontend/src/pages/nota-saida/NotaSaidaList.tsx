@@ -1,7 +1,8 @@
 import React, { useEffect, useState } from 'react';
 import { useNavigate } from 'react-router-dom';
-import { getNotasSaida } from '../../services/notaSaidaService';
-import { NotaSaida } from '../../types';
+import { getNotasSaida, getNotaSaida } from '../../services/notaSaidaService';
+import { assinarEventos } from '../../services/eventosService';
+import { EventoAlteracao, NotaSaida } from '../../types';
 import DataTable from '../../components/DataTable';
 import { NotaSaidaViewModal } from '../../components/modals';
 import { FaPlus } from 'react-icons/fa';
@@ -16,11 +17,26 @@ const NotaSaidaList: React.FC = () => {
 
   useEffect(() => {
     loadNotas();
+
+    // Aplica na lista só a nota alterada; numa reconexão recarrega tudo, pois
+    // os eventos enviados enquanto a conexão estava fora se perderam
+    let primeiraConexao = true;
+    return assinarEventos(
+      { 'nota-saida': aplicarEvento },
+      () => {
+        if (!primeiraConexao) {
+          loadNotas(false);
+        }
+        primeiraConexao = false;
+      }
+    );
   }, []);
 
-  const loadNotas = async () => {
+  const loadNotas = async (mostrarCarregando = true) => {
     try {
-      setLoading(true);
+      if (mostrarCarregando) {
+        setLoading(true);
+      }
       setError(null);
       const data = await getNotasSaida();
       setNotas(data);
@@ -32,6 +48,39 @@ const NotaSaidaList: React.FC = () => {
     }
   };
 
+  const chaveNota = (numero?: string, modelo?: string, serie?: string, clienteId?: number) =>
+    `${numero}-${modelo}-${serie}-${clienteId}`;
+
+  const aplicarEvento = async (evento: EventoAlteracao) => {
+    const { notaNumero, notaModelo, notaSerie, participanteId } = evento;
+    if (!notaNumero || !notaModelo || !notaSerie || participanteId == null) {
+      return;
+    }
+    const chave = chaveNota(notaNumero, notaModelo, notaSerie, participanteId);
+    const remover = () => setNotas(atuais => atuais.filter(n => chaveNota(n.numero, n.modelo, n.serie, n.clienteId) !== chave));
+
+    if (evento.acao === 'excluida') {
+      remover();
+      return;
+    }
+    try {
+      const nota = await getNotaSaida(notaNumero, notaModelo, notaSerie, participanteId);
+      setNotas(atuais => {
+        const indice = atuais.findIndex(n => chaveNota(n.numero, n.modelo, n.serie, n.clienteId) === chave);
+        if (indice < 0) {
+          return [...atuais, nota];
+        }
+        const novas = [...atuais];
+        novas[indice] = nota;
+        return novas;
+      });
+    } catch (err: any) {
+      if (err?.response?.status === 404) {
+        remover();
+      }
+    }
+  };
+
   const handleView = (nota: NotaSaida) => {
     setSelectedNota(nota);
     setShowViewModal(true);
@@ -0,0 +1,32 @@
+import { EventoAlteracao } from '../types';
+
+type TipoEvento = EventoAlteracao['tipo'];
+
+// Assina as alterações de notas, contas e estoque enviadas pelo servidor.
+// "aoConectar" é chamado a cada (re)conexão: eventos enviados enquanto a conexão
+// estava fora se perdem, então a tela deve recarregar a lista nesse momento.
+// Retorna a função que encerra a assinatura.
+export const assinarEventos = (
+  ouvintes: Partial<Record<TipoEvento, (evento: EventoAlteracao) => void>>,
+  aoConectar?: () => void
+): (() => void) => {
+  const fonte = new EventSource('/api/eventos');
+
+  fonte.addEventListener('conectado', () => {
+    if (aoConectar) {
+      aoConectar();
+    }
+  });
+
+  (Object.keys(ouvintes) as TipoEvento[]).forEach(tipo => {
+    fonte.addEventListener(tipo, mensagem => {
+      try {
+        ouvintes[tipo]?.(JSON.parse((mensagem as MessageEvent).data));
+      } catch (error) {
+        console.error(`Erro ao processar evento ${tipo}:`, error);
+      }
+    });
+  });
+
+  return () => fonte.close();
+};
@@ -547,4 +547,16 @@ export interface FormaPagamento {
   ativo?: boolean;
   dataCriacao?: string;
   dataAlteracao?: string;
-} 
\ No newline at end of file
+} 
+export interface EventoAlteracao {
+  tipo: 'nota-saida' | 'nota-entrada' | 'conta-receber' | 'conta-pagar' | 'estoque';
+  acao: string;
+  id?: number;
+  ids?: number[];
+  situacao?: string;
+  notaNumero?: string;
+  notaModelo?: string;
+  notaSerie?: string;
+  participanteId?: number;
+  dataHora: string;
+}
@@ -0,0 +1,12 @@
+package com.example.PizzariaGraff.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita as tarefas agendadas (@Scheduled), como o processamento de vencimentos.
+ */
+@Configuration
+@EnableScheduling
+public class AgendamentoConfig {
+}
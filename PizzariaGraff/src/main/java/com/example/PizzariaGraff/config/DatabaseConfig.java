@@ -3,17 +3,28 @@ package com.example.PizzariaGraff.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
 import org.springframework.context.annotation.Primary;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import javax.sql.DataSource;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import com.example.PizzariaGraff.repository.DataSourceLimitado;
 import com.example.PizzariaGraff.repository.DatabaseConnection;
+import com.example.PizzariaGraff.repository.LimiteConexoes;
 
 @Configuration
 public class DatabaseConfig {
 
+    private static final int TAMANHO_POOL = 10;
+    private static final long ESPERA_CONEXAO_MILLIS = 30000;
+
     @Value("${spring.datasource.url}")
     private String jdbcUrl;
 
@@ -26,29 +37,65 @@ public class DatabaseConfig {
     @Value("${spring.datasource.driver-class-name}")
     private String driverClassName;
 
+    @Value("${banco.conexoes.reservadas-rapidas:3}")
+    private int reservadasRapidas;
+
+    // Pool atrás do limite de conexões: repositórios, JdbcTemplate e transações usam este DataSource
     @Bean
     @Primary
-    public DataSource dataSource() {
+    public DataSource dataSource(MeterRegistry meterRegistry, LimiteConexoes limiteConexoes) {
+        return new DataSourceLimitado(criarPool(meterRegistry), limiteConexoes);
+    }
+
+    private HikariDataSource criarPool(MeterRegistry meterRegistry) {
         HikariConfig config = new HikariConfig();
         config.setJdbcUrl(jdbcUrl);
         config.setUsername(username);
         config.setPassword(password);
         config.setDriverClassName(driverClassName);
-        config.setMaximumPoolSize(10);
+        config.setMaximumPoolSize(TAMANHO_POOL);
         config.setMinimumIdle(2);
-        config.setConnectionTimeout(30000);
+        config.setConnectionTimeout(ESPERA_CONEXAO_MILLIS);
         config.setIdleTimeout(600000);
         config.setMaxLifetime(1800000);
+        // Gauges hikaricp_connections_active/idle/pending e histograma de espera (acquire)
+        config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
         return new HikariDataSource(config);
     }
 
+    // Executa as migrações pendentes antes que qualquer repositório use o banco
+    @Bean(initMethod = "migrar")
+    public MigracaoBanco migracaoBanco(DataSource dataSource) {
+        return new MigracaoBanco(dataSource);
+    }
+
+    // Permissões do tamanho do pool; a faixa pesada não ocupa as reservadas às consultas pontuais
     @Bean
-    public DatabaseConnection databaseConnection() {
-        return new DatabaseConnection(jdbcUrl, username, password);
+    public LimiteConexoes limiteConexoes(MeterRegistry meterRegistry) {
+        LimiteConexoes limite = new LimiteConexoes(TAMANHO_POOL, reservadasRapidas, ESPERA_CONEXAO_MILLIS);
+        for (LimiteConexoes.Faixa faixa : LimiteConexoes.Faixa.values()) {
+            Gauge.builder("banco.conexoes.disponiveis", limite, l -> l.getDisponiveis(faixa))
+                    .tag("faixa", faixa.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+        return limite;
     }
-    
+
+    // Único pool da aplicação: os repositórios usam o mesmo DataSource do JdbcTemplate
     @Bean
+    @DependsOn("migracaoBanco")
+    public DatabaseConnection databaseConnection(DataSource dataSource, MetricasRepositorio metricasRepositorio) {
+        return new DatabaseConnection(dataSource, metricasRepositorio);
+    }
+
+    @Bean
+    @DependsOn("migracaoBanco")
     public JdbcTemplate jdbcTemplate(DataSource dataSource) {
         return new JdbcTemplate(dataSource);
     }
-} 
\ No newline at end of file
+
+    @Bean
+    public PlatformTransactionManager transactionManager(DataSource dataSource) {
+        return new DataSourceTransactionManager(dataSource);
+    }
+}
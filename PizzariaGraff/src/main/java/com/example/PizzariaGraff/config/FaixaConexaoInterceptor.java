@@ -0,0 +1,53 @@
+package com.example.PizzariaGraff.config;
+
+import com.example.PizzariaGraff.repository.LimiteConexoes;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.List;
+
+/**
+ * Define a faixa do {@link LimiteConexoes} de cada requisição: GETs que batem com as
+ * rotas pesadas (listagens completas, relatórios, exportações) usam a faixa pesada; o
+ * resto, como buscas por id ou código de barras e gravações, usa a faixa rápida.
+ */
+public class FaixaConexaoInterceptor implements AsyncHandlerInterceptor {
+
+    private final AntPathMatcher matcher = new AntPathMatcher();
+    private final List<String> rotasPesadas;
+
+    public FaixaConexaoInterceptor(List<String> rotasPesadas) {
+        this.rotasPesadas = rotasPesadas;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        LimiteConexoes.definirFaixa(isPesada(request) ? LimiteConexoes.Faixa.PESADA : LimiteConexoes.Faixa.RAPIDA);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        LimiteConexoes.limparFaixa();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        LimiteConexoes.limparFaixa();
+    }
+
+    private boolean isPesada(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())) {
+            return false;
+        }
+        String caminho = request.getRequestURI().substring(request.getContextPath().length());
+        for (String rota : rotasPesadas) {
+            if (matcher.match(rota, caminho)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
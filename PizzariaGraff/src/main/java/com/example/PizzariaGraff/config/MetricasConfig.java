@@ -0,0 +1,37 @@
+package com.example.PizzariaGraff.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.stereotype.Repository;
+
+@Configuration
+public class MetricasConfig {
+
+    // Métodos estáticos: post-processors precisam existir antes dos demais beans
+    @Bean
+    public static MetricasRepositorio metricasRepositorio(ObjectProvider<MeterRegistry> registry) {
+        return new MetricasRepositorio(registry);
+    }
+
+    @Bean
+    public static RepositorioPostProcessor metricasRepositorioPostProcessor(MetricasRepositorio metricas) {
+        return new RepositorioPostProcessor(metricas);
+    }
+
+    /**
+     * Envolve todas as classes @Repository com o interceptor de métricas
+     */
+    static class RepositorioPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+        RepositorioPostProcessor(MetricasRepositorio metricas) {
+            this.advisor = new DefaultPointcutAdvisor(new AnnotationMatchingPointcut(Repository.class, true), metricas);
+            this.beforeExistingAdvisors = true;
+            setProxyTargetClass(true);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.PizzariaGraff.config;
+
+import com.example.PizzariaGraff.model.Pagina;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede cada método público dos repositórios: tempo de execução, linhas devolvidas
+ * e tempo de espera por uma conexão do pool. As métricas saem em /actuator/prometheus
+ * como histogramas com as tags repositorio e metodo.
+ */
+public class MetricasRepositorio implements MethodInterceptor {
+
+    private static final String FORA_DE_REPOSITORIO = "nenhum";
+
+    private final ObjectProvider<MeterRegistry> registryProvider;
+    private final Map<Method, Medidores> medidoresPorMetodo = new ConcurrentHashMap<>();
+    private final Map<String, Timer> esperaPorMetodo = new ConcurrentHashMap<>();
+
+    // Método de repositório em execução na thread, para atribuir a espera por conexão
+    private final ThreadLocal<Medidores> metodoAtual = new ThreadLocal<>();
+
+    private volatile MeterRegistry registry;
+
+    public MetricasRepositorio(ObjectProvider<MeterRegistry> registryProvider) {
+        this.registryProvider = registryProvider;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method metodo = invocation.getMethod();
+        if (metodo.getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+
+        Medidores medidores = medidoresPorMetodo.computeIfAbsent(metodo, this::criarMedidores);
+        Medidores anterior = metodoAtual.get();
+        metodoAtual.set(medidores);
+        long inicio = System.nanoTime();
+        try {
+            Object resultado = invocation.proceed();
+            medidores.sucesso.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            long linhas = contarLinhas(resultado, metodo.getReturnType());
+            if (linhas >= 0) {
+                medidores.linhas.record(linhas);
+            }
+            return resultado;
+        } catch (Throwable e) {
+            medidores.erro.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            throw e;
+        } finally {
+            if (anterior != null) {
+                metodoAtual.set(anterior);
+            } else {
+                metodoAtual.remove();
+            }
+        }
+    }
+
+    /**
+     * Registra quanto tempo a thread esperou para obter uma conexão,
+     * atribuído ao método de repositório que está em execução
+     * @param nanos Tempo de espera em nanossegundos
+     */
+    public void registrarEsperaConexao(long nanos) {
+        Medidores medidores = metodoAtual.get();
+        Timer espera = medidores != null
+                ? medidores.esperaConexao
+                : esperaPorMetodo.computeIfAbsent(FORA_DE_REPOSITORIO, m -> timerEspera(FORA_DE_REPOSITORIO, FORA_DE_REPOSITORIO));
+        espera.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Medidores criarMedidores(Method metodo) {
+        String repositorio = metodo.getDeclaringClass().getSimpleName();
+        String nome = metodo.getName();
+        MeterRegistry r = registry();
+
+        Timer sucesso = Timer.builder("repositorio.consulta")
+                .description("Tempo de execução dos métodos de repositório")
+                .tags("repositorio", repositorio, "metodo", nome, "resultado", "ok")
+                .publishPercentileHistogram()
+                .register(r);
+        Timer erro = Timer.builder("repositorio.consulta")
+                .description("Tempo de execução dos métodos de repositório")
+                .tags("repositorio", repositorio, "metodo", nome, "resultado", "erro")
+                .publishPercentileHistogram()
+                .register(r);
+        DistributionSummary linhas = DistributionSummary.builder("repositorio.linhas")
+                .description("Linhas devolvidas pelos métodos de repositório")
+                .baseUnit("linhas")
+                .tags("repositorio", repositorio, "metodo", nome)
+                .publishPercentileHistogram()
+                .register(r);
+        Timer espera = esperaPorMetodo.computeIfAbsent(repositorio + "." + nome, m -> timerEspera(repositorio, nome));
+
+        return new Medidores(sucesso, erro, linhas, espera);
+    }
+
+    private Timer timerEspera(String repositorio, String metodo) {
+        return Timer.builder("repositorio.conexao.espera")
+                .description("Tempo de espera por uma conexão do pool")
+                .tags("repositorio", repositorio, "metodo", metodo)
+                .publishPercentileHistogram()
+                .register(registry());
+    }
+
+    private MeterRegistry registry() {
+        MeterRegistry r = registry;
+        if (r == null) {
+            r = registryProvider.getObject();
+            registry = r;
+        }
+        return r;
+    }
+
+    // Quantidade de registros no retorno; -1 quando o método não devolve registros
+    private long contarLinhas(Object resultado, Class<?> tipoRetorno) {
+        if (tipoRetorno.isPrimitive() || Number.class.isAssignableFrom(tipoRetorno)
+                || Boolean.class == tipoRetorno || String.class == tipoRetorno
+                || Connection.class.isAssignableFrom(tipoRetorno)) {
+            return -1;
+        }
+        if (resultado == null) {
+            return 0;
+        }
+        if (resultado instanceof Collection<?> colecao) {
+            return colecao.size();
+        }
+        if (resultado instanceof Map<?, ?> mapa) {
+            return mapa.size();
+        }
+        if (resultado instanceof Optional<?> opcional) {
+            return opcional.isPresent() ? 1 : 0;
+        }
+        if (resultado instanceof Pagina<?> pagina) {
+            return pagina.getItens().size();
+        }
+        return 1;
+    }
+
+    private static class Medidores {
+        private final Timer sucesso;
+        private final Timer erro;
+        private final DistributionSummary linhas;
+        private final Timer esperaConexao;
+
+        private Medidores(Timer sucesso, Timer erro, DistributionSummary linhas, Timer esperaConexao) {
+            this.sucesso = sucesso;
+            this.erro = erro;
+            this.linhas = linhas;
+            this.esperaConexao = esperaConexao;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.PizzariaGraff.config;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Aplica, na inicialização, os scripts versionados de db/migracao e registra cada
+ * versão aplicada na tabela schema_versao. O banco.sql é a versão 1 (baseline):
+ * em um banco vazio ele é executado; em um banco que já tem as tabelas ele é
+ * apenas registrado. Os scripts seguintes seguem o padrão V{versao}__{descricao}.sql.
+ *
+ * Os repositórios assumem o esquema pronto e não verificam nem alteram tabelas.
+ */
+public class MigracaoBanco {
+
+    private static final String PASTA = "db/migracao/";
+    private static final String BASELINE = "banco.sql";
+    private static final int VERSAO_BASELINE = 1;
+    private static final String TABELA_BASELINE = "produto";
+    private static final String LOCK = "pizzariagraff_migracao";
+    private static final Pattern NOME_SCRIPT = Pattern.compile("V(\\d+)__(.+)\\.sql");
+
+    private final DataSource dataSource;
+
+    public MigracaoBanco(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public void migrar() {
+        try (Connection conn = dataSource.getConnection()) {
+            criarTabelaVersoes(conn);
+            adquirirLock(conn);
+            try {
+                Set<Integer> aplicadas = versoesAplicadas(conn);
+
+                if (!aplicadas.contains(VERSAO_BASELINE)) {
+                    if (tabelaExiste(conn, TABELA_BASELINE)) {
+                        registrar(conn, VERSAO_BASELINE, "baseline", BASELINE);
+                        System.out.println("Migração: banco existente registrado como baseline (versão 1)");
+                    } else {
+                        executarScript(conn, carregar(PASTA + BASELINE));
+                        registrar(conn, VERSAO_BASELINE, "esquema inicial", BASELINE);
+                        System.out.println("Migração: esquema inicial criado a partir de " + BASELINE);
+                    }
+                    aplicadas.add(VERSAO_BASELINE);
+                }
+
+                for (Script script : listarScripts()) {
+                    if (aplicadas.contains(script.versao)) {
+                        continue;
+                    }
+                    executarScript(conn, carregar(PASTA + script.arquivo));
+                    registrar(conn, script.versao, script.descricao, script.arquivo);
+                    System.out.println("Migração: versão " + script.versao + " aplicada (" + script.arquivo + ")");
+                }
+            } finally {
+                liberarLock(conn);
+            }
+        } catch (SQLException | IOException e) {
+            throw new IllegalStateException("Erro ao aplicar migrações do banco de dados", e);
+        }
+    }
+
+    /**
+     * Versões registradas em schema_versao, em ordem
+     */
+    public List<String> listarAplicadas() {
+        List<String> versoes = new ArrayList<>();
+        String sql = "SELECT versao, descricao, aplicada_em FROM schema_versao ORDER BY versao";
+        try (Connection conn = dataSource.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                versoes.add(rs.getInt("versao") + " - " + rs.getString("descricao") + " (" + rs.getTimestamp("aplicada_em") + ")");
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao listar migrações aplicadas", e);
+        }
+        return versoes;
+    }
+
+    private void criarTabelaVersoes(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS schema_versao (" +
+                    "versao int(11) NOT NULL, " +
+                    "descricao varchar(200) NOT NULL, " +
+                    "script varchar(200) NOT NULL, " +
+                    "aplicada_em timestamp NOT NULL DEFAULT current_timestamp(), " +
+                    "PRIMARY KEY (versao))");
+        }
+    }
+
+    // Evita que duas instâncias subindo ao mesmo tempo apliquem o mesmo script
+    private void adquirirLock(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT GET_LOCK(?, 60)")) {
+            stmt.setString(1, LOCK);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new IllegalStateException("Não foi possível obter o lock de migração do banco de dados");
+                }
+            }
+        }
+    }
+
+    private void liberarLock(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            stmt.setString(1, LOCK);
+            stmt.executeQuery().close();
+        }
+    }
+
+    private Set<Integer> versoesAplicadas(Connection conn) throws SQLException {
+        Set<Integer> versoes = new HashSet<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT versao FROM schema_versao")) {
+            while (rs.next()) {
+                versoes.add(rs.getInt("versao"));
+            }
+        }
+        return versoes;
+    }
+
+    private boolean tabelaExiste(Connection conn, String tabela) throws SQLException {
+        String sql = "SELECT 1 FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, tabela);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private void registrar(Connection conn, int versao, String descricao, String script) throws SQLException {
+        String sql = "INSERT INTO schema_versao (versao, descricao, script) VALUES (?, ?, ?)";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, versao);
+            stmt.setString(2, descricao);
+            stmt.setString(3, script);
+            stmt.executeUpdate();
+        }
+    }
+
+    private List<Script> listarScripts() throws IOException {
+        List<Script> scripts = new ArrayList<>();
+        Resource[] recursos = new PathMatchingResourcePatternResolver().getResources("classpath*:" + PASTA + "V*__*.sql");
+        for (Resource recurso : recursos) {
+            Matcher matcher = NOME_SCRIPT.matcher(recurso.getFilename());
+            if (!matcher.matches()) {
+                continue;
+            }
+            int versao = Integer.parseInt(matcher.group(1));
+            if (versao <= VERSAO_BASELINE) {
+                throw new IllegalStateException("Versão " + versao + " reservada para o baseline: " + recurso.getFilename());
+            }
+            scripts.add(new Script(versao, matcher.group(2).replace('_', ' '), recurso.getFilename()));
+        }
+        scripts.sort(Comparator.comparingInt(s -> s.versao));
+        for (int i = 1; i < scripts.size(); i++) {
+            if (scripts.get(i).versao == scripts.get(i - 1).versao) {
+                throw new IllegalStateException("Versão de migração duplicada: " + scripts.get(i).versao);
+            }
+        }
+        return scripts;
+    }
+
+    private String carregar(String caminho) throws IOException {
+        Resource recurso = new PathMatchingResourcePatternResolver().getResource("classpath:" + caminho);
+        if (!recurso.exists()) {
+            throw new IllegalStateException("Script de migração não encontrado: " + caminho);
+        }
+        return new String(recurso.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    // Os scripts são DDL em texto simples: cada comando termina com ';' no fim da linha
+    private void executarScript(Connection conn, String conteudo) throws SQLException {
+        StringBuilder comando = new StringBuilder();
+        try (Statement stmt = conn.createStatement()) {
+            for (String linha : conteudo.split("\\r?\\n")) {
+                String texto = linha.trim();
+                if (comando.length() == 0 && (texto.isEmpty() || texto.startsWith("--"))) {
+                    continue;
+                }
+                comando.append(linha).append('\n');
+                if (texto.endsWith(";")) {
+                    String sql = comando.toString().trim();
+                    stmt.execute(sql.substring(0, sql.length() - 1));
+                    comando.setLength(0);
+                }
+            }
+            if (!comando.toString().isBlank()) {
+                stmt.execute(comando.toString());
+            }
+        }
+    }
+
+    private static class Script {
+        private final int versao;
+        private final String descricao;
+        private final String arquivo;
+
+        private Script(int versao, String descricao, String arquivo) {
+            this.versao = versao;
+            this.descricao = descricao;
+            this.arquivo = arquivo;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.PizzariaGraff.controller;
+
+import com.example.PizzariaGraff.dto.BuscaResultadoDTO;
+import com.example.PizzariaGraff.service.BuscaService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/busca")
+@CrossOrigin(origins = "*")
+@Tag(name = "Busca", description = "API de autocompletar para produtos, clientes, fornecedores e funcionários")
+public class BuscaController {
+
+    private final BuscaService buscaService;
+
+    public BuscaController(BuscaService buscaService) {
+        this.buscaService = buscaService;
+    }
+
+    /**
+     * Sugestões por nome, apelido, CPF/CNPJ, referência ou código de barras, servidas de
+     * um índice em memória (sem consulta ao banco por tecla digitada)
+     */
+    @GetMapping
+    @Operation(summary = "Sugestões de autocompletar ordenadas por relevância")
+    public ResponseEntity<?> buscar(
+            @RequestParam String termo,
+            @RequestParam(required = false) List<String> tipo,
+            @RequestParam(required = false) Integer limite,
+            @RequestParam(defaultValue = "false") boolean incluirInativos) {
+        // Aceita tanto ?tipo=cliente&tipo=produto quanto ?tipo=cliente,produto
+        List<String> tipos = new ArrayList<>();
+        if (tipo != null) {
+            for (String valor : tipo) {
+                for (String parte : valor.split(",")) {
+                    if (!parte.isBlank()) {
+                        tipos.add(parte);
+                    }
+                }
+            }
+        }
+
+        try {
+            List<BuscaResultadoDTO> resultados = buscaService.buscar(termo, tipos, limite, incluirInativos);
+            return ResponseEntity.ok(resultados);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Erro: " + e.getMessage());
+        }
+    }
+}
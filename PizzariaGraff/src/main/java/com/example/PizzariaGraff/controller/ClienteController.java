@@ -3,9 +3,9 @@ package com.example.PizzariaGraff.controller;
 import com.example.PizzariaGraff.dto.ClienteDTO;
 import com.example.PizzariaGraff.model.Cidade;
 import com.example.PizzariaGraff.model.Cliente;
+import com.example.PizzariaGraff.model.Pagina;
 import com.example.PizzariaGraff.service.CidadeService;
 import com.example.PizzariaGraff.service.ClienteService;
-import com.example.PizzariaGraff.util.CpfCnpjValidator;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.HttpStatus;
@@ -34,62 +34,7 @@ public class ClienteController {
      * @return String com erro ou null se válido
      */
     private String validarDadosCliente(ClienteDTO clienteDTO) {
-        // Validação de nome obrigatório
-        if (clienteDTO.getCliente() == null || clienteDTO.getCliente().trim().isEmpty()) {
-            return "Nome do cliente é obrigatório";
-        }
-
-        // Verificar se é brasileiro (nacionalidade Brasil tem ID 1)
-        boolean isBrasileiro = clienteDTO.getNacionalidadeId() != null && clienteDTO.getNacionalidadeId() == 1;
-        
-        // Validação de CPF/CNPJ apenas para brasileiros
-        String cpfCpnj = clienteDTO.getCpfCpnj();
-        if (isBrasileiro) {
-            // Para brasileiros, CPF/CNPJ é obrigatório e deve ser válido
-            if (cpfCpnj == null || cpfCpnj.trim().isEmpty()) {
-                return "CPF/CNPJ é obrigatório para brasileiros";
-            }
-            
-            if (!CpfCnpjValidator.isValidCpfOrCnpj(cpfCpnj)) {
-                String tipo = CpfCnpjValidator.getDocumentType(cpfCpnj);
-                if ("INVÁLIDO".equals(tipo)) {
-                    String limpo = cpfCpnj.replaceAll("[^\\d]", "");
-                    if (limpo.length() == 11) {
-                        return "CPF inválido";
-                    } else if (limpo.length() == 14) {
-                        return "CNPJ inválido";
-                    } else {
-                        return "CPF/CNPJ deve ter 11 ou 14 dígitos";
-                    }
-                }
-                return tipo + " inválido";
-            }
-
-            // Verificar consistência com o tipo (1=PF, 2=PJ)
-            String limpo = cpfCpnj.replaceAll("[^\\d]", "");
-            if (clienteDTO.getTipo() == 1 && limpo.length() != 11) {
-                return "Pessoa Física deve ter CPF (11 dígitos)";
-            }
-            if (clienteDTO.getTipo() == 2 && limpo.length() != 14) {
-                return "Pessoa Jurídica deve ter CNPJ (14 dígitos)";
-            }
-        }
-        // Para não brasileiros, CPF/CNPJ é opcional e não é validado
-
-        // Validação de cidade obrigatória
-        if (clienteDTO.getCidadeId() == null) {
-            return "Cidade é obrigatória";
-        }
-
-        // Validação de email
-        String email = clienteDTO.getEmail();
-        if (email != null && !email.trim().isEmpty()) {
-            if (!email.matches("^[^\\s@]+@[^\\s@]+\\.[^\\s@]+$")) {
-                return "Email inválido";
-            }
-        }
-
-        return null; // Válido
+        return clienteService.validarDados(clienteDTO.toEntity());
     }
 
     @GetMapping
@@ -102,6 +47,20 @@ public class ClienteController {
         return ResponseEntity.ok(clientesDTO);
     }
 
+    @GetMapping("/pagina")
+    @Operation(summary = "Lista clientes paginados por cursor, com filtro de status")
+    public ResponseEntity<?> listarPagina(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite,
+            @RequestParam(required = false) Boolean ativo) {
+        try {
+            Pagina<Cliente> pagina = clienteService.findPagina(ativo, cursor, Pagina.normalizarLimite(limite));
+            return ResponseEntity.ok(pagina.map(ClienteDTO::new));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Erro: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Busca um cliente por ID")
     public ResponseEntity<ClienteDTO> buscarPorId(@PathVariable Long id) {
@@ -1,9 +1,12 @@
 package com.example.PizzariaGraff.controller;
 
+import com.example.PizzariaGraff.dto.BaixaLoteDTO;
+import com.example.PizzariaGraff.dto.BaixaResultadoDTO;
 import com.example.PizzariaGraff.dto.ContaPagarDTO;
 import com.example.PizzariaGraff.dto.ContaPagarAvulsaDTO;
 import com.example.PizzariaGraff.model.ContaPagar;
 import com.example.PizzariaGraff.model.ContaPagarAvulsa;
+import com.example.PizzariaGraff.model.Pagina;
 import com.example.PizzariaGraff.service.ContaPagarService;
 import com.example.PizzariaGraff.service.ContaPagarAvulsaService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -14,8 +17,10 @@ import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -42,28 +47,17 @@ public class ContaPagarController {
             // Buscar contas normais
             List<ContaPagar> contas = contaPagarService.findAll();
             LocalDate hoje = LocalDate.now();
+            Map<Long, BigDecimal> valoresAtualizados = contaPagarService.calcularValoresTotais(contas, hoje);
             
             for (ContaPagar conta : contas) {
-                ContaPagarDTO contaDTO = new ContaPagarDTO(conta);
-                
-                // Se a conta ainda não foi paga, calcular valor total com multa/juros baseado na data atual
-                if (!conta.getSituacao().equals("PAGA") && !conta.getSituacao().equals("CANCELADA")) {
-                    try {
-                        BigDecimal valorTotalCalculado = contaPagarService.calcularValorTotalParaPagamento(
-                            conta.getId(), hoje);
-                        contaDTO.setValorTotal(valorTotalCalculado);
-                    } catch (Exception e) {
-                        // Se der erro, usar o valor total original
-                        System.err.println("Erro ao calcular valor total para conta " + conta.getId() + ": " + e.getMessage());
-                    }
-                }
-                
-                contasDTO.add(contaDTO);
+                contasDTO.add(toDTOComValorAtualizado(conta, valoresAtualizados));
             }
             
             // Buscar contas avulsas e converter para ContaPagarDTO
             try {
                 List<ContaPagarAvulsa> contasAvulsasEntities = contaPagarAvulsaService.findAll();
+                Map<Long, ContaPagarAvulsa> contasAvulsasPorId = contasAvulsasEntities.stream()
+                        .collect(Collectors.toMap(ContaPagarAvulsa::getId, c -> c));
                 System.out.println("Total de contas avulsas entities encontradas: " + contasAvulsasEntities.size());
                 
                 List<ContaPagarAvulsaDTO> contasAvulsas = contasAvulsasEntities.stream()
@@ -95,7 +89,7 @@ public class ContaPagarController {
                         if (!contaAvulsa.getStatus().equals("PAGA") && !contaAvulsa.getStatus().equals("CANCELADA")) {
                             try {
                                 valorTotal = contaPagarAvulsaService.calcularValorTotalParaPagamento(
-                                    contaAvulsa.getId(), LocalDate.now());
+                                    contasAvulsasPorId.get(contaAvulsa.getId()), hoje);
                             } catch (Exception e) {
                                 // Se der erro, calcular manualmente
                                 System.err.println("Erro ao calcular valor total para conta avulsa " + contaAvulsa.getId() + ": " + e.getMessage());
@@ -229,6 +223,34 @@ public class ContaPagarController {
         }
     }
     
+    @GetMapping("/pagina")
+    @Operation(summary = "Lista contas a pagar de notas paginadas por cursor, com filtros de situação, vencimento e fornecedor")
+    public ResponseEntity<?> listarPagina(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite,
+            @RequestParam(required = false) String situacao,
+            @RequestParam(required = false) String dataInicio,
+            @RequestParam(required = false) String dataFim,
+            @RequestParam(required = false) Long fornecedorId) {
+        try {
+            Pagina<ContaPagar> pagina = contaPagarService.findPagina(
+                    situacao,
+                    dataInicio != null ? LocalDate.parse(dataInicio) : null,
+                    dataFim != null ? LocalDate.parse(dataFim) : null,
+                    fornecedorId, cursor, Pagina.normalizarLimite(limite));
+            LocalDate hoje = LocalDate.now();
+            Map<Long, BigDecimal> valoresAtualizados = contaPagarService.calcularValoresTotais(pagina.getItens(), hoje);
+            return ResponseEntity.ok(pagina.map(conta -> toDTOComValorAtualizado(conta, valoresAtualizados)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            System.err.println("Erro ao listar página de contas a pagar: " + e.getMessage());
+            e.printStackTrace();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Erro ao listar contas a pagar"));
+        }
+    }
+    
     @GetMapping("/{id}/calcular-valor")
     @Operation(summary = "Calcula o valor total a ser pago (incluindo multa e juros se aplicável)")
     public ResponseEntity<?> calcularValorTotal(
@@ -335,6 +357,21 @@ public class ContaPagarController {
         }
     }
     
+    @PostMapping("/pagar-lote")
+    @Operation(summary = "Registra a baixa de várias parcelas em uma única transação, com resultado por parcela")
+    public ResponseEntity<?> pagarEmLote(@RequestBody BaixaLoteDTO lote) {
+        try {
+            List<BaixaResultadoDTO> resultados = contaPagarService.pagarEmLote(lote);
+            return ResponseEntity.ok(resultados);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            System.err.println("Erro ao registrar pagamento em lote: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Erro ao registrar pagamentos"));
+        }
+    }
+    
     @PutMapping("/{id}")
     @Operation(summary = "Atualiza uma conta a pagar")
     public ResponseEntity<?> atualizar(@PathVariable Long id, @RequestBody ContaPagarDTO contaDTO) {
@@ -394,6 +431,19 @@ public class ContaPagarController {
         public void setFormaPagamentoId(Long formaPagamentoId) { this.formaPagamentoId = formaPagamentoId; }
     }
     
+    // Aplica o valor total atualizado (desconto, multa e juros na data), calculado em lote por calcularValoresTotais
+    private ContaPagarDTO toDTOComValorAtualizado(ContaPagar conta, Map<Long, BigDecimal> valoresAtualizados) {
+        ContaPagarDTO contaDTO = new ContaPagarDTO(conta);
+        
+        // Só contas em aberto têm valor atualizado; pagas e canceladas mantêm o valor gravado
+        BigDecimal valorAtualizado = valoresAtualizados.get(conta.getId());
+        if (valorAtualizado != null) {
+            contaDTO.setValorTotal(valorAtualizado);
+        }
+        
+        return contaDTO;
+    }
+    
     private static class ValorTotalResponse {
         private BigDecimal valorTotal;
         
@@ -1,7 +1,10 @@
 package com.example.PizzariaGraff.controller;
 
+import com.example.PizzariaGraff.dto.BaixaLoteDTO;
+import com.example.PizzariaGraff.dto.BaixaResultadoDTO;
 import com.example.PizzariaGraff.dto.ContaReceberDTO;
 import com.example.PizzariaGraff.model.ContaReceber;
+import com.example.PizzariaGraff.model.Pagina;
 import com.example.PizzariaGraff.service.ContaReceberService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -11,8 +14,10 @@ import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -33,24 +38,11 @@ public class ContaReceberController {
         try {
             List<ContaReceber> contas = contaReceberService.findAll();
             LocalDate hoje = LocalDate.now();
+            Map<Long, BigDecimal> valoresAtualizados = contaReceberService.calcularValoresTotais(contas, hoje);
             
             List<ContaReceberDTO> contasDTO = new ArrayList<>();
             for (ContaReceber conta : contas) {
-                ContaReceberDTO contaDTO = new ContaReceberDTO(conta);
-                
-                // Se a conta ainda não foi recebida, calcular valor total com multa/juros baseado na data atual
-                if (!conta.getSituacao().equals("RECEBIDA") && !conta.getSituacao().equals("CANCELADA")) {
-                    try {
-                        BigDecimal valorTotalCalculado = contaReceberService.calcularValorTotalParaRecebimento(
-                            conta.getId(), hoje);
-                        contaDTO.setValorTotal(valorTotalCalculado);
-                    } catch (Exception e) {
-                        // Se der erro, usar o valor total original
-                        System.err.println("Erro ao calcular valor total para conta " + conta.getId() + ": " + e.getMessage());
-                    }
-                }
-                
-                contasDTO.add(contaDTO);
+                contasDTO.add(toDTOComValorAtualizado(conta, valoresAtualizados));
             }
             
             return ResponseEntity.ok(contasDTO);
@@ -61,6 +53,47 @@ public class ContaReceberController {
         }
     }
     
+    @GetMapping("/pagina")
+    @Operation(summary = "Lista contas a receber paginadas por cursor, com filtros de situação, vencimento e cliente")
+    public ResponseEntity<?> listarPagina(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite,
+            @RequestParam(required = false) String situacao,
+            @RequestParam(required = false) String dataInicio,
+            @RequestParam(required = false) String dataFim,
+            @RequestParam(required = false) Long clienteId) {
+        try {
+            Pagina<ContaReceber> pagina = contaReceberService.findPagina(
+                    situacao,
+                    dataInicio != null ? LocalDate.parse(dataInicio) : null,
+                    dataFim != null ? LocalDate.parse(dataFim) : null,
+                    clienteId, cursor, Pagina.normalizarLimite(limite));
+            LocalDate hoje = LocalDate.now();
+            Map<Long, BigDecimal> valoresAtualizados = contaReceberService.calcularValoresTotais(pagina.getItens(), hoje);
+            return ResponseEntity.ok(pagina.map(conta -> toDTOComValorAtualizado(conta, valoresAtualizados)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            System.err.println("Erro ao listar página de contas a receber: " + e.getMessage());
+            e.printStackTrace();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Erro ao listar contas a receber"));
+        }
+    }
+    
+    // Aplica o valor total atualizado (desconto, multa e juros na data), calculado em lote por calcularValoresTotais
+    private ContaReceberDTO toDTOComValorAtualizado(ContaReceber conta, Map<Long, BigDecimal> valoresAtualizados) {
+        ContaReceberDTO contaDTO = new ContaReceberDTO(conta);
+        
+        // Só contas em aberto têm valor atualizado; recebidas e canceladas mantêm o valor gravado
+        BigDecimal valorAtualizado = valoresAtualizados.get(conta.getId());
+        if (valorAtualizado != null) {
+            contaDTO.setValorTotal(valorAtualizado);
+        }
+        
+        return contaDTO;
+    }
+    
     @GetMapping("/{id}")
     @Operation(summary = "Busca uma conta a receber por ID")
     public ResponseEntity<ContaReceberDTO> buscarPorId(@PathVariable Long id) {
@@ -161,6 +194,21 @@ public class ContaReceberController {
         }
     }
     
+    @PostMapping("/receber-lote")
+    @Operation(summary = "Registra a baixa de várias parcelas em uma única transação, com resultado por parcela")
+    public ResponseEntity<?> receberEmLote(@RequestBody BaixaLoteDTO lote) {
+        try {
+            List<BaixaResultadoDTO> resultados = contaReceberService.receberEmLote(lote);
+            return ResponseEntity.ok(resultados);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            System.err.println("Erro ao registrar recebimento em lote: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Erro ao registrar recebimentos"));
+        }
+    }
+    
     @PutMapping("/{id}")
     @Operation(summary = "Atualiza uma conta a receber")
     public ResponseEntity<?> atualizar(@PathVariable Long id, @RequestBody ContaReceberDTO contaDTO) {
@@ -0,0 +1,60 @@
+package com.example.PizzariaGraff.controller;
+
+import com.example.PizzariaGraff.dto.DocumentoValidacaoDTO;
+import com.example.PizzariaGraff.util.CpfCnpjValidator;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/documentos")
+@Tag(name = "Documentos", description = "API para validação de CPF/CNPJ")
+public class DocumentoController {
+
+    // Limite de documentos por requisição
+    static final int LIMITE_DOCUMENTOS = 50_000;
+
+    @PostMapping("/validar")
+    @Operation(summary = "Valida e normaliza uma lista de CPF/CNPJ (conferência antes de importações)")
+    public ResponseEntity<?> validar(@RequestBody List<String> documentos) {
+        if (documentos == null || documentos.isEmpty()) {
+            return ResponseEntity.badRequest().body("Informe ao menos um documento");
+        }
+        if (documentos.size() > LIMITE_DOCUMENTOS) {
+            return ResponseEntity.badRequest().body("Máximo de " + LIMITE_DOCUMENTOS + " documentos por requisição");
+        }
+
+        List<DocumentoValidacaoDTO> resultado = new ArrayList<>(documentos.size());
+        Set<String> vistos = new HashSet<>();
+        for (String documento : documentos) {
+            resultado.add(validar(documento, vistos));
+        }
+        return ResponseEntity.ok(resultado);
+    }
+
+    private DocumentoValidacaoDTO validar(String documento, Set<String> vistos) {
+        String tipo = CpfCnpjValidator.getDocumentType(documento);
+        boolean valido = !CpfCnpjValidator.INVALIDO.equals(tipo);
+        String normalizado = CpfCnpjValidator.normalizar(documento);
+        boolean duplicado = normalizado != null && !normalizado.isEmpty() && !vistos.add(normalizado);
+
+        String mensagem = null;
+        if (!valido) {
+            int digitos = normalizado != null ? normalizado.length() : 0;
+            if (digitos == 11) {
+                mensagem = "CPF inválido";
+            } else if (digitos == 14) {
+                mensagem = "CNPJ inválido";
+            } else {
+                mensagem = "CPF/CNPJ deve ter 11 ou 14 dígitos";
+            }
+        }
+        return new DocumentoValidacaoDTO(documento, normalizado, tipo, valido, duplicado, mensagem);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.PizzariaGraff.controller;
+
+import com.example.PizzariaGraff.service.EstoqueMinimoService;
+import com.example.PizzariaGraff.service.HistoricoEstoqueService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/estoque")
+@CrossOrigin(origins = "*")
+@Tag(name = "Estoque", description = "API para o histórico de movimentação de estoque")
+public class EstoqueController {
+
+    private final HistoricoEstoqueService historicoEstoqueService;
+    private final EstoqueMinimoService estoqueMinimoService;
+
+    public EstoqueController(HistoricoEstoqueService historicoEstoqueService,
+                             EstoqueMinimoService estoqueMinimoService) {
+        this.historicoEstoqueService = historicoEstoqueService;
+        this.estoqueMinimoService = estoqueMinimoService;
+    }
+
+    @GetMapping("/saldos")
+    @Operation(summary = "Saldo de estoque dos produtos no fim de uma data (padrão: hoje)")
+    public ResponseEntity<?> saldos(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate data,
+            @RequestParam(required = false) List<Long> produtoIds) {
+        try {
+            return ResponseEntity.ok(historicoEstoqueService.saldosEm(
+                    data != null ? data : LocalDate.now(), produtoIds));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Erro: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/produtos/{produtoId}/extrato")
+    @Operation(summary = "Saldo inicial, movimentos e saldo final de um produto no período")
+    public ResponseEntity<?> extrato(
+            @PathVariable Long produtoId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim) {
+        try {
+            return ResponseEntity.ok(historicoEstoqueService.extrato(
+                    produtoId, inicio, fim != null ? fim : LocalDate.now()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Erro: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/minimo")
+    @Operation(summary = "Produtos ativos abaixo do estoque mínimo")
+    public ResponseEntity<?> abaixoDoMinimo() {
+        try {
+            return ResponseEntity.ok(estoqueMinimoService.listar());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Erro: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Envia a lista atual no evento "lista" e depois um evento "estoque-minimo" para
+     * cada produto que entra, muda ou sai da lista
+     */
+    @GetMapping(value = "/minimo/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Acompanha a lista de estoque mínimo por Server-Sent Events")
+    public SseEmitter eventosEstoqueMinimo() {
+        return estoqueMinimoService.inscrever();
+    }
+}
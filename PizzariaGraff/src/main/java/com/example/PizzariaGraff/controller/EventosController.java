@@ -0,0 +1,31 @@
+package com.example.PizzariaGraff.controller;
+
+import com.example.PizzariaGraff.service.EventosService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/eventos")
+@CrossOrigin(origins = "*")
+@Tag(name = "Eventos", description = "Alterações em notas, contas e estoque por Server-Sent Events")
+public class EventosController {
+
+    private final EventosService eventosService;
+
+    public EventosController(EventosService eventosService) {
+        this.eventosService = eventosService;
+    }
+
+    /**
+     * Os eventos têm o nome do tipo alterado (nota-saida, nota-entrada, conta-receber,
+     * conta-pagar, estoque), então o cliente escuta só os que usa
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Acompanha alterações de notas, contas e estoque")
+    public SseEmitter inscrever() {
+        return eventosService.inscrever();
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.PizzariaGraff.controller;
+
+import com.example.PizzariaGraff.service.ExportacaoService;
+import com.example.PizzariaGraff.util.EscritorExportacao;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/exportacao")
+@Tag(name = "Exportação", description = "API para exportação de contas e notas (CSV ou NDJSON)")
+public class ExportacaoController {
+
+    private final ExportacaoService exportacaoService;
+
+    public ExportacaoController(ExportacaoService exportacaoService) {
+        this.exportacaoService = exportacaoService;
+    }
+
+    /**
+     * Exporta contas-receber, contas-pagar, notas-saida ou notas-entrada. A resposta é
+     * escrita à medida que as linhas são lidas do banco, então o período pode ser
+     * grande sem aumentar o uso de memória do servidor.
+     */
+    @GetMapping("/{tabela}")
+    @Operation(summary = "Exporta contas ou notas em CSV ou NDJSON, filtrando por período e situação")
+    public ResponseEntity<?> exportar(
+            @PathVariable String tabela,
+            @RequestParam(required = false) String formato,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @RequestParam(required = false) List<String> situacao,
+            @RequestParam(required = false) String campoData) {
+        ExportacaoService.Parametros parametros;
+        try {
+            parametros = exportacaoService.validar(tabela, formato, campoData, dataInicio, dataFim, situacao);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Erro: " + e.getMessage());
+        }
+
+        StreamingResponseBody corpo = saida -> exportacaoService.exportar(parametros, saida);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(EscritorExportacao.contentType(parametros.getFormato())))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + parametros.nomeArquivo() + "\"")
+                .body(corpo);
+    }
+}
@@ -9,10 +9,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.sql.Connection;
-import java.sql.DatabaseMetaData;
-import java.sql.ResultSet;
-import java.sql.Statement;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -152,70 +148,4 @@ public class FormaPagamentoController {
         formaPagamentoService.deleteById(id);
         return ResponseEntity.noContent().build();
     }
-
-    @GetMapping("/diagnostico")
-    @Operation(summary = "Verifica a conexão com o banco e cria a tabela se necessário")
-    public ResponseEntity<?> diagnosticar() {
-        try {
-            Connection conn = null;
-            Statement stmt = null;
-            
-            try {
-                // Verificar conexão
-                conn = formaPagamentoService.getConnection();
-                
-                // Verificar se a tabela existe
-                DatabaseMetaData metaData = conn.getMetaData();
-                ResultSet tables = metaData.getTables(null, null, "forma_pagamento", null);
-                boolean tabelaExiste = tables.next();
-                tables.close();
-                
-                if (!tabelaExiste) {
-                    // Criar tabela
-                    stmt = conn.createStatement();
-                    stmt.execute("CREATE TABLE IF NOT EXISTS forma_pagamento (" +
-                            "id BIGINT PRIMARY KEY AUTO_INCREMENT, " +
-                            "nome VARCHAR(100) NOT NULL, " +
-                            "descricao VARCHAR(255) NOT NULL, " +
-                            "ativo BOOLEAN DEFAULT TRUE, " +
-                            "data_cadastro TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
-                            "ultima_modificacao TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP)");
-                    
-                    // Inserir dados básicos
-                    stmt.execute("INSERT INTO forma_pagamento (nome, descricao, ativo) VALUES " +
-                            "('Dinheiro', 'Pagamento em dinheiro', true), " +
-                            "('Cartão de Crédito', 'Pagamento com cartão de crédito', true), " +
-                            "('Cartão de Débito', 'Pagamento com cartão de débito', true), " +
-                            "('PIX', 'Pagamento via PIX', true)");
-                    
-                    return ResponseEntity.ok("Diagnóstico concluído. Tabela criada com dados iniciais.");
-                } else {
-                    // Verificar se a coluna 'nome' existe
-                    ResultSet columns = metaData.getColumns(null, null, "forma_pagamento", "nome");
-                    boolean nomeExists = columns.next();
-                    columns.close();
-                    
-                    if (!nomeExists) {
-                        // Adicionar coluna 'nome'
-                        stmt = conn.createStatement();
-                        stmt.execute("ALTER TABLE forma_pagamento ADD COLUMN nome VARCHAR(100) AFTER id");
-                        
-                        // Atualizar valores existentes, copiando de descricao
-                        stmt.execute("UPDATE forma_pagamento SET nome = descricao WHERE nome IS NULL");
-                        
-                        return ResponseEntity.ok("Diagnóstico concluído. Coluna 'nome' adicionada à tabela.");
-                    }
-                }
-                
-                return ResponseEntity.ok("Diagnóstico concluído. Tabela já existe.");
-                
-            } finally {
-                if (stmt != null) stmt.close();
-                if (conn != null) conn.close();
-            }
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body("Erro no diagnóstico: " + e.getMessage());
-        }
-    }
 } 
\ No newline at end of file
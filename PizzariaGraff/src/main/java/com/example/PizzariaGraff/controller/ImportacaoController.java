@@ -0,0 +1,65 @@
+package com.example.PizzariaGraff.controller;
+
+import com.example.PizzariaGraff.dto.ImportacaoResultadoDTO;
+import com.example.PizzariaGraff.service.ImportacaoService;
+import com.example.PizzariaGraff.util.LeitorImportacao;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@RequestMapping("/importacao")
+@Tag(name = "Importação", description = "API para importação em massa de cadastros (CSV ou NDJSON)")
+public class ImportacaoController {
+
+    private final ImportacaoService importacaoService;
+
+    public ImportacaoController(ImportacaoService importacaoService) {
+        this.importacaoService = importacaoService;
+    }
+
+    /**
+     * Importa clientes, fornecedores ou produtos. O corpo da requisição é o próprio
+     * arquivo e é lido à medida que chega. As colunas seguem os nomes da tabela
+     * (ex.: cpf_cpnj, cidade_id) ou dos campos do DTO (ex.: cpfCpnj, cidadeId).
+     */
+    @PostMapping("/{entidade}")
+    @Operation(summary = "Importa clientes, fornecedores ou produtos de um arquivo CSV ou NDJSON, em lotes")
+    public ResponseEntity<?> importar(
+            @PathVariable String entidade,
+            @RequestParam(required = false) String formato,
+            @RequestParam(required = false) Integer lote,
+            HttpServletRequest request) {
+        String formatoArquivo = formato != null ? formato.toLowerCase() : formatoPorContentType(request.getContentType());
+        int tamanhoLote = lote != null
+                ? Math.max(1, Math.min(lote, ImportacaoService.LOTE_MAXIMO))
+                : ImportacaoService.LOTE_PADRAO;
+        Charset charset = request.getCharacterEncoding() != null
+                ? Charset.forName(request.getCharacterEncoding())
+                : StandardCharsets.UTF_8;
+
+        try {
+            ImportacaoResultadoDTO resultado = importacaoService.importar(
+                    entidade, formatoArquivo, request.getInputStream(), charset, tamanhoLote);
+            return ResponseEntity.ok(resultado);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Erro: " + e.getMessage());
+        } catch (IOException e) {
+            System.err.println("Erro ao ler arquivo de importação: " + e.getMessage());
+            return ResponseEntity.badRequest().body("Erro ao ler o arquivo: " + e.getMessage());
+        }
+    }
+
+    private String formatoPorContentType(String contentType) {
+        if (contentType != null && contentType.toLowerCase().contains("json")) {
+            return LeitorImportacao.NDJSON;
+        }
+        return LeitorImportacao.CSV;
+    }
+}
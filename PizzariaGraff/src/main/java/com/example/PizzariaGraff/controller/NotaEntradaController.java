@@ -2,6 +2,7 @@ package com.example.PizzariaGraff.controller;
 
 import com.example.PizzariaGraff.dto.NotaEntradaDTO;
 import com.example.PizzariaGraff.model.NotaEntrada;
+import com.example.PizzariaGraff.model.Pagina;
 import com.example.PizzariaGraff.service.NotaEntradaService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -9,6 +10,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -26,9 +29,10 @@ public class NotaEntradaController {
     
     @GetMapping
     @Operation(summary = "Lista todas as notas de entrada")
-    public ResponseEntity<List<NotaEntradaDTO>> listar() {
+    public ResponseEntity<List<NotaEntradaDTO>> listar(
+            @RequestParam(defaultValue = "true") boolean comProdutos) {
         try {
-            List<NotaEntrada> notas = notaEntradaService.findAll();
+            List<NotaEntrada> notas = notaEntradaService.findAll(comProdutos);
             List<NotaEntradaDTO> notasDTO = notas.stream()
                     .map(NotaEntradaDTO::new)
                     .collect(Collectors.toList());
@@ -40,6 +44,33 @@ public class NotaEntradaController {
         }
     }
     
+    @GetMapping("/pagina")
+    @Operation(summary = "Lista notas de entrada paginadas por cursor, com filtros de situação, emissão e fornecedor")
+    public ResponseEntity<?> listarPagina(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite,
+            @RequestParam(required = false) String situacao,
+            @RequestParam(required = false) String dataInicio,
+            @RequestParam(required = false) String dataFim,
+            @RequestParam(required = false) Long fornecedorId,
+            @RequestParam(defaultValue = "true") boolean comProdutos) {
+        try {
+            Pagina<NotaEntrada> pagina = notaEntradaService.findPagina(
+                    situacao,
+                    dataInicio != null ? LocalDate.parse(dataInicio) : null,
+                    dataFim != null ? LocalDate.parse(dataFim) : null,
+                    fornecedorId, cursor, Pagina.normalizarLimite(limite), comProdutos);
+            return ResponseEntity.ok(pagina.map(NotaEntradaDTO::new));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            System.err.println("Erro ao listar página de notas de entrada: " + e.getMessage());
+            e.printStackTrace();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Erro ao listar notas de entrada"));
+        }
+    }
+    
     @GetMapping("/{numero}/{modelo}/{serie}/{fornecedorId}")
     @Operation(summary = "Busca uma nota de entrada pela chave composta")
     public ResponseEntity<NotaEntradaDTO> buscarPorChave(
@@ -62,9 +93,11 @@ public class NotaEntradaController {
     
     @GetMapping("/fornecedor/{fornecedorId}")
     @Operation(summary = "Lista notas de entrada por fornecedor")
-    public ResponseEntity<List<NotaEntradaDTO>> listarPorFornecedor(@PathVariable Long fornecedorId) {
+    public ResponseEntity<List<NotaEntradaDTO>> listarPorFornecedor(
+            @PathVariable Long fornecedorId,
+            @RequestParam(defaultValue = "true") boolean comProdutos) {
         try {
-            List<NotaEntrada> notas = notaEntradaService.findByFornecedorId(fornecedorId);
+            List<NotaEntrada> notas = notaEntradaService.findByFornecedorId(fornecedorId, comProdutos);
             List<NotaEntradaDTO> notasDTO = notas.stream()
                     .map(NotaEntradaDTO::new)
                     .collect(Collectors.toList());
@@ -78,9 +111,11 @@ public class NotaEntradaController {
     
     @GetMapping("/situacao/{situacao}")
     @Operation(summary = "Lista notas de entrada por situação")
-    public ResponseEntity<List<NotaEntradaDTO>> listarPorSituacao(@PathVariable String situacao) {
+    public ResponseEntity<List<NotaEntradaDTO>> listarPorSituacao(
+            @PathVariable String situacao,
+            @RequestParam(defaultValue = "true") boolean comProdutos) {
         try {
-            List<NotaEntrada> notas = notaEntradaService.findBySituacao(situacao.toUpperCase());
+            List<NotaEntrada> notas = notaEntradaService.findBySituacao(situacao.toUpperCase(), comProdutos);
             List<NotaEntradaDTO> notasDTO = notas.stream()
                     .map(NotaEntradaDTO::new)
                     .collect(Collectors.toList());
@@ -154,7 +189,9 @@ public class NotaEntradaController {
             System.out.println("Chave: " + numero + "/" + modelo + "/" + serie + "/" + fornecedorId);
             
             // Verificar se a nota existe
-            notaEntradaService.findByChave(numero, modelo, serie, fornecedorId);
+            if (!notaEntradaService.existsByChave(numero, modelo, serie, fornecedorId)) {
+                throw new RuntimeException("Nota de entrada não encontrada");
+            }
             
             // Converter DTO para Entity
             NotaEntrada nota = notaDTO.toEntity();
@@ -2,6 +2,7 @@ package com.example.PizzariaGraff.controller;
 
 import com.example.PizzariaGraff.dto.NotaSaidaDTO;
 import com.example.PizzariaGraff.model.NotaSaida;
+import com.example.PizzariaGraff.model.Pagina;
 import com.example.PizzariaGraff.service.NotaSaidaService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -9,6 +10,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -26,9 +29,10 @@ public class NotaSaidaController {
     
     @GetMapping
     @Operation(summary = "Lista todas as notas de saída")
-    public ResponseEntity<List<NotaSaidaDTO>> listar() {
+    public ResponseEntity<List<NotaSaidaDTO>> listar(
+            @RequestParam(defaultValue = "true") boolean comProdutos) {
         try {
-            List<NotaSaida> notas = notaSaidaService.findAll();
+            List<NotaSaida> notas = notaSaidaService.findAll(comProdutos);
             List<NotaSaidaDTO> notasDTO = notas.stream()
                     .map(NotaSaidaDTO::new)
                     .collect(Collectors.toList());
@@ -40,6 +44,33 @@ public class NotaSaidaController {
         }
     }
     
+    @GetMapping("/pagina")
+    @Operation(summary = "Lista notas de saída paginadas por cursor, com filtros de situação, emissão e cliente")
+    public ResponseEntity<?> listarPagina(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite,
+            @RequestParam(required = false) String situacao,
+            @RequestParam(required = false) String dataInicio,
+            @RequestParam(required = false) String dataFim,
+            @RequestParam(required = false) Long clienteId,
+            @RequestParam(defaultValue = "true") boolean comProdutos) {
+        try {
+            Pagina<NotaSaida> pagina = notaSaidaService.findPagina(
+                    situacao,
+                    dataInicio != null ? LocalDate.parse(dataInicio) : null,
+                    dataFim != null ? LocalDate.parse(dataFim) : null,
+                    clienteId, cursor, Pagina.normalizarLimite(limite), comProdutos);
+            return ResponseEntity.ok(pagina.map(NotaSaidaDTO::new));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            System.err.println("Erro ao listar página de notas de saída: " + e.getMessage());
+            e.printStackTrace();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Erro ao listar notas de saída"));
+        }
+    }
+    
     @GetMapping("/{numero}/{modelo}/{serie}/{clienteId}")
     @Operation(summary = "Busca uma nota de saída pela chave composta")
     public ResponseEntity<NotaSaidaDTO> buscarPorChave(
@@ -62,9 +93,11 @@ public class NotaSaidaController {
     
     @GetMapping("/cliente/{clienteId}")
     @Operation(summary = "Lista notas de saída por cliente")
-    public ResponseEntity<List<NotaSaidaDTO>> listarPorCliente(@PathVariable Long clienteId) {
+    public ResponseEntity<List<NotaSaidaDTO>> listarPorCliente(
+            @PathVariable Long clienteId,
+            @RequestParam(defaultValue = "true") boolean comProdutos) {
         try {
-            List<NotaSaida> notas = notaSaidaService.findByClienteId(clienteId);
+            List<NotaSaida> notas = notaSaidaService.findByClienteId(clienteId, comProdutos);
             List<NotaSaidaDTO> notasDTO = notas.stream()
                     .map(NotaSaidaDTO::new)
                     .collect(Collectors.toList());
@@ -78,9 +111,11 @@ public class NotaSaidaController {
     
     @GetMapping("/situacao/{situacao}")
     @Operation(summary = "Lista notas de saída por situação")
-    public ResponseEntity<List<NotaSaidaDTO>> listarPorSituacao(@PathVariable String situacao) {
+    public ResponseEntity<List<NotaSaidaDTO>> listarPorSituacao(
+            @PathVariable String situacao,
+            @RequestParam(defaultValue = "true") boolean comProdutos) {
         try {
-            List<NotaSaida> notas = notaSaidaService.findBySituacao(situacao.toUpperCase());
+            List<NotaSaida> notas = notaSaidaService.findBySituacao(situacao.toUpperCase(), comProdutos);
             List<NotaSaidaDTO> notasDTO = notas.stream()
                     .map(NotaSaidaDTO::new)
                     .collect(Collectors.toList());
@@ -154,7 +189,9 @@ public class NotaSaidaController {
             System.out.println("Chave: " + numero + "/" + modelo + "/" + serie + "/" + clienteId);
             
             // Verificar se a nota existe
-            notaSaidaService.findByChave(numero, modelo, serie, clienteId);
+            if (!notaSaidaService.existsByChave(numero, modelo, serie, clienteId)) {
+                throw new RuntimeException("Nota de saída não encontrada");
+            }
             
             // Converter DTO para Entity
             NotaSaida nota = notaDTO.toEntity();
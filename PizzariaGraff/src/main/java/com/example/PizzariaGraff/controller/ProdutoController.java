@@ -1,6 +1,9 @@
 package com.example.PizzariaGraff.controller;
 
+import com.example.PizzariaGraff.dto.CarrinhoDTO;
+import com.example.PizzariaGraff.dto.CarrinhoResultadoDTO;
 import com.example.PizzariaGraff.dto.ProdutoDTO;
+import com.example.PizzariaGraff.model.Pagina;
 import com.example.PizzariaGraff.model.Produto;
 import com.example.PizzariaGraff.service.ProdutoService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -64,6 +67,31 @@ public class ProdutoController {
         }
     }
 
+    @GetMapping("/pagina")
+    @Operation(summary = "Lista produtos paginados por cursor, com filtros de status e categoria")
+    public ResponseEntity<?> listarPagina(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite,
+            @RequestParam(required = false) Boolean ativo,
+            @RequestParam(required = false) Long categoriaId) {
+        try {
+            Pagina<Produto> pagina = produtoService.findPagina(ativo, categoriaId, cursor, Pagina.normalizarLimite(limite));
+            return ResponseEntity.ok(pagina.map(ProdutoDTO::new));
+        } catch (IllegalArgumentException e) {
+            Map<String, String> erro = new HashMap<>();
+            erro.put("erro", "Parâmetros de paginação inválidos");
+            erro.put("mensagem", e.getMessage());
+            return ResponseEntity.badRequest().body(erro);
+        } catch (Exception e) {
+            e.printStackTrace();
+            Map<String, String> erro = new HashMap<>();
+            erro.put("erro", "Erro ao listar produtos");
+            erro.put("mensagem", e.getMessage());
+            erro.put("causa", e.getCause() != null ? e.getCause().getMessage() : "Desconhecida");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(erro);
+        }
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Busca um produto por ID")
     public ResponseEntity<?> buscarPorId(@PathVariable Long id) {
@@ -109,6 +137,24 @@ public class ProdutoController {
         }
     }
 
+    @GetMapping("/balcao/{codigo}")
+    @Operation(summary = "Consulta preço e estoque no balcão pelo código de barras ou referência")
+    public ResponseEntity<CarrinhoResultadoDTO.Item> consultarBalcao(@PathVariable String codigo) {
+        return produtoService.consultarBalcao(codigo)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/balcao/carrinho")
+    @Operation(summary = "Consulta preço e estoque de todos os itens de um carrinho em uma chamada")
+    public ResponseEntity<?> consultarCarrinho(@RequestBody CarrinhoDTO carrinho) {
+        try {
+            return ResponseEntity.ok(produtoService.consultarCarrinho(carrinho));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Erro: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/referencia/{referencia}")
     @Operation(summary = "Busca produto por referência")
     public ResponseEntity<ProdutoDTO> buscarPorReferencia(@PathVariable String referencia) {
@@ -0,0 +1,53 @@
+package com.example.PizzariaGraff.controller;
+
+import com.example.PizzariaGraff.dto.ResumoFinanceiroDTO;
+import com.example.PizzariaGraff.service.ResumoFinanceiroService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/financeiro")
+@Tag(name = "Resumo Financeiro", description = "API para o resumo de contas em aberto e fluxo de caixa")
+public class ResumoFinanceiroController {
+
+    private final ResumoFinanceiroService resumoFinanceiroService;
+
+    public ResumoFinanceiroController(ResumoFinanceiroService resumoFinanceiroService) {
+        this.resumoFinanceiroService = resumoFinanceiroService;
+    }
+
+    @GetMapping("/resumo")
+    @Operation(summary = "Contas a receber e a pagar em aberto por faixa de atraso e projeção diária de fluxo de caixa")
+    public ResponseEntity<?> resumo(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataReferencia,
+            @RequestParam(required = false) Integer dias) {
+        int diasProjecao = dias != null ? dias : ResumoFinanceiroService.DIAS_PROJECAO_PADRAO;
+        if (diasProjecao < 1 || diasProjecao > ResumoFinanceiroService.DIAS_PROJECAO_MAXIMO) {
+            return ResponseEntity.badRequest().body("Erro: dias deve estar entre 1 e "
+                    + ResumoFinanceiroService.DIAS_PROJECAO_MAXIMO);
+        }
+        try {
+            ResumoFinanceiroDTO resumo = resumoFinanceiroService.resumo(
+                    dataReferencia != null ? dataReferencia : LocalDate.now(), diasProjecao);
+            return ResponseEntity.ok(resumo);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Erro: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/resumo/recalcular")
+    @Operation(summary = "Reconstrói o resumo financeiro a partir das tabelas de contas")
+    public ResponseEntity<?> recalcular() {
+        try {
+            resumoFinanceiroService.recalcular();
+            return ResponseEntity.ok().build();
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Erro: " + e.getMessage());
+        }
+    }
+}
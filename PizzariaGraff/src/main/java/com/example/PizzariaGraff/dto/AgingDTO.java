@@ -0,0 +1,93 @@
+package com.example.PizzariaGraff.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Saldo em aberto por faixa de atraso")
+public class AgingDTO {
+
+    @Schema(description = "Saldo com vencimento hoje ou depois", example = "15230.50")
+    private BigDecimal naoVencido = BigDecimal.ZERO;
+
+    @Schema(description = "Saldo vencido de 1 a 30 dias", example = "1200.00")
+    private BigDecimal vencido1a30 = BigDecimal.ZERO;
+
+    @Schema(description = "Saldo vencido de 31 a 60 dias", example = "450.00")
+    private BigDecimal vencido31a60 = BigDecimal.ZERO;
+
+    @Schema(description = "Saldo vencido há mais de 60 dias", example = "80.00")
+    private BigDecimal vencidoMais60 = BigDecimal.ZERO;
+
+    @Schema(description = "Saldo total em aberto", example = "16960.50")
+    private BigDecimal total = BigDecimal.ZERO;
+
+    @Schema(description = "Quantidade de contas em aberto", example = "42")
+    private int quantidade;
+
+    /**
+     * Soma um saldo na faixa correspondente aos dias de atraso
+     * @param diasAtraso Dias entre o vencimento e a data de referência (0 ou negativo = a vencer)
+     */
+    public void adicionar(long diasAtraso, BigDecimal saldo, int contas) {
+        if (diasAtraso <= 0) {
+            naoVencido = naoVencido.add(saldo);
+        } else if (diasAtraso <= 30) {
+            vencido1a30 = vencido1a30.add(saldo);
+        } else if (diasAtraso <= 60) {
+            vencido31a60 = vencido31a60.add(saldo);
+        } else {
+            vencidoMais60 = vencidoMais60.add(saldo);
+        }
+        total = total.add(saldo);
+        quantidade += contas;
+    }
+
+    public BigDecimal getNaoVencido() {
+        return naoVencido;
+    }
+
+    public void setNaoVencido(BigDecimal naoVencido) {
+        this.naoVencido = naoVencido;
+    }
+
+    public BigDecimal getVencido1a30() {
+        return vencido1a30;
+    }
+
+    public void setVencido1a30(BigDecimal vencido1a30) {
+        this.vencido1a30 = vencido1a30;
+    }
+
+    public BigDecimal getVencido31a60() {
+        return vencido31a60;
+    }
+
+    public void setVencido31a60(BigDecimal vencido31a60) {
+        this.vencido31a60 = vencido31a60;
+    }
+
+    public BigDecimal getVencidoMais60() {
+        return vencidoMais60;
+    }
+
+    public void setVencidoMais60(BigDecimal vencidoMais60) {
+        this.vencidoMais60 = vencidoMais60;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public int getQuantidade() {
+        return quantidade;
+    }
+
+    public void setQuantidade(int quantidade) {
+        this.quantidade = quantidade;
+    }
+}
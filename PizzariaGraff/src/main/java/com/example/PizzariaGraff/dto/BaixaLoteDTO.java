@@ -0,0 +1,93 @@
+package com.example.PizzariaGraff.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "Baixa (recebimento ou pagamento) de várias parcelas em uma chamada")
+public class BaixaLoteDTO {
+
+    @Schema(description = "Data da baixa usada nos itens que não informarem a sua (padrão: hoje)", example = "2025-07-01")
+    private LocalDate data;
+
+    @Schema(description = "Forma de pagamento usada nos itens que não informarem a sua", example = "1")
+    private Long formaPagamentoId;
+
+    @Schema(description = "Parcelas a baixar")
+    private List<Item> itens = new ArrayList<>();
+
+    public LocalDate getData() {
+        return data;
+    }
+
+    public void setData(LocalDate data) {
+        this.data = data;
+    }
+
+    public Long getFormaPagamentoId() {
+        return formaPagamentoId;
+    }
+
+    public void setFormaPagamentoId(Long formaPagamentoId) {
+        this.formaPagamentoId = formaPagamentoId;
+    }
+
+    public List<Item> getItens() {
+        return itens;
+    }
+
+    public void setItens(List<Item> itens) {
+        this.itens = itens;
+    }
+
+    @Schema(description = "Parcela a baixar")
+    public static class Item {
+
+        @Schema(description = "ID da conta", example = "15")
+        private Long id;
+
+        @Schema(description = "Valor recebido/pago", example = "250.00")
+        private BigDecimal valor;
+
+        @Schema(description = "Data da baixa desta parcela (opcional)", example = "2025-07-01")
+        private LocalDate data;
+
+        @Schema(description = "Forma de pagamento desta parcela (opcional)", example = "2")
+        private Long formaPagamentoId;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public BigDecimal getValor() {
+            return valor;
+        }
+
+        public void setValor(BigDecimal valor) {
+            this.valor = valor;
+        }
+
+        public LocalDate getData() {
+            return data;
+        }
+
+        public void setData(LocalDate data) {
+            this.data = data;
+        }
+
+        public Long getFormaPagamentoId() {
+            return formaPagamentoId;
+        }
+
+        public void setFormaPagamentoId(Long formaPagamentoId) {
+            this.formaPagamentoId = formaPagamentoId;
+        }
+    }
+}
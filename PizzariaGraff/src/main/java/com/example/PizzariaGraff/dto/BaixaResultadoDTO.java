@@ -0,0 +1,95 @@
+package com.example.PizzariaGraff.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Resultado da baixa de uma parcela")
+public class BaixaResultadoDTO {
+
+    @Schema(description = "ID da conta", example = "15")
+    private Long id;
+
+    @Schema(description = "Se a baixa foi registrada", example = "true")
+    private boolean sucesso;
+
+    @Schema(description = "Situação da conta após a baixa", example = "RECEBIDA")
+    private String situacao;
+
+    @Schema(description = "Valor total calculado (original + juros + multa - desconto)", example = "245.00")
+    private BigDecimal valorTotal;
+
+    @Schema(description = "Valor recebido/pago registrado", example = "245.00")
+    private BigDecimal valorBaixado;
+
+    @Schema(description = "Motivo da rejeição", example = "Esta conta já está recebida")
+    private String mensagem;
+
+    public BaixaResultadoDTO() {
+    }
+
+    public static BaixaResultadoDTO sucesso(Long id, String situacao, BigDecimal valorTotal, BigDecimal valorBaixado) {
+        BaixaResultadoDTO resultado = new BaixaResultadoDTO();
+        resultado.id = id;
+        resultado.sucesso = true;
+        resultado.situacao = situacao;
+        resultado.valorTotal = valorTotal;
+        resultado.valorBaixado = valorBaixado;
+        return resultado;
+    }
+
+    public static BaixaResultadoDTO erro(Long id, String mensagem) {
+        BaixaResultadoDTO resultado = new BaixaResultadoDTO();
+        resultado.id = id;
+        resultado.mensagem = mensagem;
+        return resultado;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public boolean isSucesso() {
+        return sucesso;
+    }
+
+    public void setSucesso(boolean sucesso) {
+        this.sucesso = sucesso;
+    }
+
+    public String getSituacao() {
+        return situacao;
+    }
+
+    public void setSituacao(String situacao) {
+        this.situacao = situacao;
+    }
+
+    public BigDecimal getValorTotal() {
+        return valorTotal;
+    }
+
+    public void setValorTotal(BigDecimal valorTotal) {
+        this.valorTotal = valorTotal;
+    }
+
+    public BigDecimal getValorBaixado() {
+        return valorBaixado;
+    }
+
+    public void setValorBaixado(BigDecimal valorBaixado) {
+        this.valorBaixado = valorBaixado;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+
+    public void setMensagem(String mensagem) {
+        this.mensagem = mensagem;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.PizzariaGraff.dto;
+
+import com.example.PizzariaGraff.util.IndiceBusca;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Sugestão do autocompletar")
+public class BuscaResultadoDTO {
+
+    @Schema(description = "Tipo do registro: produto, cliente, fornecedor ou funcionario", example = "cliente")
+    private String tipo;
+
+    @Schema(description = "ID do registro", example = "12")
+    private Long id;
+
+    @Schema(description = "Nome do registro", example = "Maria da Silva")
+    private String nome;
+
+    @Schema(description = "Apelido, CPF/CNPJ, referência ou código de barras", example = "Mari | 12345678901")
+    private String detalhe;
+
+    @Schema(description = "Se o registro está ativo", example = "true")
+    private boolean ativo;
+
+    @Schema(description = "Relevância (menor é mais relevante)", example = "2")
+    private int pontuacao;
+
+    public BuscaResultadoDTO() {
+    }
+
+    public BuscaResultadoDTO(String tipo, IndiceBusca.Resultado resultado) {
+        this.tipo = tipo;
+        this.id = resultado.getId();
+        this.nome = resultado.getNome();
+        this.detalhe = resultado.getDetalhe();
+        this.ativo = resultado.isAtivo();
+        this.pontuacao = resultado.getPontuacao();
+    }
+
+    public String getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(String tipo) {
+        this.tipo = tipo;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    public String getDetalhe() {
+        return detalhe;
+    }
+
+    public void setDetalhe(String detalhe) {
+        this.detalhe = detalhe;
+    }
+
+    public boolean isAtivo() {
+        return ativo;
+    }
+
+    public void setAtivo(boolean ativo) {
+        this.ativo = ativo;
+    }
+
+    public int getPontuacao() {
+        return pontuacao;
+    }
+
+    public void setPontuacao(int pontuacao) {
+        this.pontuacao = pontuacao;
+    }
+}
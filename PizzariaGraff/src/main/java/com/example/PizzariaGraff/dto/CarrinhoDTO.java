@@ -0,0 +1,48 @@
+package com.example.PizzariaGraff.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "Itens lidos no balcão para consulta de preço e estoque em uma chamada")
+public class CarrinhoDTO {
+
+    @Schema(description = "Itens do carrinho, na ordem em que foram lidos")
+    private List<Item> itens = new ArrayList<>();
+
+    public List<Item> getItens() {
+        return itens;
+    }
+
+    public void setItens(List<Item> itens) {
+        this.itens = itens;
+    }
+
+    @Schema(description = "Item lido no balcão")
+    public static class Item {
+
+        @Schema(description = "Código de barras ou referência do produto", example = "7891234567890")
+        private String codigo;
+
+        @Schema(description = "Quantidade (padrão: 1)", example = "2")
+        private BigDecimal quantidade;
+
+        public String getCodigo() {
+            return codigo;
+        }
+
+        public void setCodigo(String codigo) {
+            this.codigo = codigo;
+        }
+
+        public BigDecimal getQuantidade() {
+            return quantidade;
+        }
+
+        public void setQuantidade(BigDecimal quantidade) {
+            this.quantidade = quantidade;
+        }
+    }
+}
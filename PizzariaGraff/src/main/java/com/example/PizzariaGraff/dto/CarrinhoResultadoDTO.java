@@ -0,0 +1,169 @@
+package com.example.PizzariaGraff.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "Preço e estoque dos itens lidos no balcão")
+public class CarrinhoResultadoDTO {
+
+    @Schema(description = "Resultado de cada item, na ordem do pedido")
+    private List<Item> itens = new ArrayList<>();
+
+    @Schema(description = "Soma dos subtotais dos itens encontrados", example = "57.80")
+    private BigDecimal total = BigDecimal.ZERO;
+
+    @Schema(description = "Se todos os itens foram encontrados, estão ativos e têm estoque suficiente", example = "true")
+    private boolean valido = true;
+
+    public List<Item> getItens() {
+        return itens;
+    }
+
+    public void setItens(List<Item> itens) {
+        this.itens = itens;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public boolean isValido() {
+        return valido;
+    }
+
+    public void setValido(boolean valido) {
+        this.valido = valido;
+    }
+
+    @Schema(description = "Preço e estoque de um item lido no balcão")
+    public static class Item {
+
+        @Schema(description = "Código informado", example = "7891234567890")
+        private String codigo;
+
+        @Schema(description = "Se o código corresponde a um produto cadastrado", example = "true")
+        private boolean encontrado;
+
+        @Schema(description = "ID do produto", example = "15")
+        private Long produtoId;
+
+        @Schema(description = "Nome do produto", example = "Pizza Calabresa Grande")
+        private String produto;
+
+        @Schema(description = "Quantidade pedida", example = "2")
+        private BigDecimal quantidade;
+
+        @Schema(description = "Valor de venda unitário", example = "28.90")
+        private BigDecimal valorUnitario;
+
+        @Schema(description = "Valor unitário vezes a quantidade", example = "57.80")
+        private BigDecimal subtotal;
+
+        @Schema(description = "Estoque atual do produto", example = "40")
+        private BigDecimal estoque;
+
+        @Schema(description = "Se o estoque atende a quantidade pedida", example = "true")
+        private boolean estoqueSuficiente;
+
+        @Schema(description = "Se o produto está ativo", example = "true")
+        private boolean ativo;
+
+        @Schema(description = "Motivo quando o item não pode ser vendido", example = "Estoque insuficiente")
+        private String mensagem;
+
+        public String getCodigo() {
+            return codigo;
+        }
+
+        public void setCodigo(String codigo) {
+            this.codigo = codigo;
+        }
+
+        public boolean isEncontrado() {
+            return encontrado;
+        }
+
+        public void setEncontrado(boolean encontrado) {
+            this.encontrado = encontrado;
+        }
+
+        public Long getProdutoId() {
+            return produtoId;
+        }
+
+        public void setProdutoId(Long produtoId) {
+            this.produtoId = produtoId;
+        }
+
+        public String getProduto() {
+            return produto;
+        }
+
+        public void setProduto(String produto) {
+            this.produto = produto;
+        }
+
+        public BigDecimal getQuantidade() {
+            return quantidade;
+        }
+
+        public void setQuantidade(BigDecimal quantidade) {
+            this.quantidade = quantidade;
+        }
+
+        public BigDecimal getValorUnitario() {
+            return valorUnitario;
+        }
+
+        public void setValorUnitario(BigDecimal valorUnitario) {
+            this.valorUnitario = valorUnitario;
+        }
+
+        public BigDecimal getSubtotal() {
+            return subtotal;
+        }
+
+        public void setSubtotal(BigDecimal subtotal) {
+            this.subtotal = subtotal;
+        }
+
+        public BigDecimal getEstoque() {
+            return estoque;
+        }
+
+        public void setEstoque(BigDecimal estoque) {
+            this.estoque = estoque;
+        }
+
+        public boolean isEstoqueSuficiente() {
+            return estoqueSuficiente;
+        }
+
+        public void setEstoqueSuficiente(boolean estoqueSuficiente) {
+            this.estoqueSuficiente = estoqueSuficiente;
+        }
+
+        public boolean isAtivo() {
+            return ativo;
+        }
+
+        public void setAtivo(boolean ativo) {
+            this.ativo = ativo;
+        }
+
+        public String getMensagem() {
+            return mensagem;
+        }
+
+        public void setMensagem(String mensagem) {
+            this.mensagem = mensagem;
+        }
+    }
+}
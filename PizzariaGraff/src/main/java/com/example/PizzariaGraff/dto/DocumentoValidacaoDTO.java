@@ -0,0 +1,86 @@
+package com.example.PizzariaGraff.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Resultado da validação de um CPF/CNPJ")
+public class DocumentoValidacaoDTO {
+
+    @Schema(description = "Documento como foi recebido", example = "529.982.247-25")
+    private String documento;
+
+    @Schema(description = "Documento somente com dígitos", example = "52998224725")
+    private String normalizado;
+
+    @Schema(description = "Tipo do documento (CPF, CNPJ ou INVÁLIDO)", example = "CPF")
+    private String tipo;
+
+    @Schema(description = "Indica se o documento é válido", example = "true")
+    private boolean valido;
+
+    @Schema(description = "Indica se o mesmo documento já apareceu antes na requisição", example = "false")
+    private boolean duplicado;
+
+    @Schema(description = "Motivo da rejeição, quando inválido", example = "CPF inválido")
+    private String mensagem;
+
+    public DocumentoValidacaoDTO() {
+    }
+
+    public DocumentoValidacaoDTO(String documento, String normalizado, String tipo, boolean valido,
+                                 boolean duplicado, String mensagem) {
+        this.documento = documento;
+        this.normalizado = normalizado;
+        this.tipo = tipo;
+        this.valido = valido;
+        this.duplicado = duplicado;
+        this.mensagem = mensagem;
+    }
+
+    public String getDocumento() {
+        return documento;
+    }
+
+    public void setDocumento(String documento) {
+        this.documento = documento;
+    }
+
+    public String getNormalizado() {
+        return normalizado;
+    }
+
+    public void setNormalizado(String normalizado) {
+        this.normalizado = normalizado;
+    }
+
+    public String getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(String tipo) {
+        this.tipo = tipo;
+    }
+
+    public boolean isValido() {
+        return valido;
+    }
+
+    public void setValido(boolean valido) {
+        this.valido = valido;
+    }
+
+    public boolean isDuplicado() {
+        return duplicado;
+    }
+
+    public void setDuplicado(boolean duplicado) {
+        this.duplicado = duplicado;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+
+    public void setMensagem(String mensagem) {
+        this.mensagem = mensagem;
+    }
+}
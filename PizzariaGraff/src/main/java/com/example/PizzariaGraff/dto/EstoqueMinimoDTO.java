@@ -0,0 +1,114 @@
+package com.example.PizzariaGraff.dto;
+
+import com.example.PizzariaGraff.repository.CatalogoProdutos;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Produto na lista de estoque mínimo")
+public class EstoqueMinimoDTO {
+
+    @Schema(description = "ID do produto", example = "15")
+    private Long produtoId;
+
+    @Schema(description = "Nome do produto", example = "Queijo Mussarela")
+    private String produto;
+
+    @Schema(description = "Código de barras", example = "7891234567890")
+    private String codigoBarras;
+
+    @Schema(description = "Referência", example = "QJ-MUS")
+    private String referencia;
+
+    @Schema(description = "Estoque atual", example = "3.5")
+    private BigDecimal quantidade;
+
+    @Schema(description = "Quantidade mínima cadastrada", example = "10")
+    private Integer quantidadeMinima;
+
+    @Schema(description = "Quantidade que falta para chegar ao mínimo", example = "6.5")
+    private BigDecimal falta;
+
+    @Schema(description = "Se o produto está abaixo do mínimo (falso quando ele saiu da lista)", example = "true")
+    private boolean abaixoDoMinimo;
+
+    public EstoqueMinimoDTO() {
+    }
+
+    public EstoqueMinimoDTO(CatalogoProdutos.Item item, boolean abaixoDoMinimo) {
+        this.produtoId = item.getId();
+        this.produto = item.getProduto();
+        this.codigoBarras = item.getCodigoBarras();
+        this.referencia = item.getReferencia();
+        this.quantidade = item.getQuantidade();
+        this.quantidadeMinima = item.getQuantidadeMinima();
+        this.abaixoDoMinimo = abaixoDoMinimo;
+        this.falta = abaixoDoMinimo
+                ? BigDecimal.valueOf(item.getQuantidadeMinima()).subtract(item.getQuantidade())
+                : BigDecimal.ZERO;
+    }
+
+    public Long getProdutoId() {
+        return produtoId;
+    }
+
+    public void setProdutoId(Long produtoId) {
+        this.produtoId = produtoId;
+    }
+
+    public String getProduto() {
+        return produto;
+    }
+
+    public void setProduto(String produto) {
+        this.produto = produto;
+    }
+
+    public String getCodigoBarras() {
+        return codigoBarras;
+    }
+
+    public void setCodigoBarras(String codigoBarras) {
+        this.codigoBarras = codigoBarras;
+    }
+
+    public String getReferencia() {
+        return referencia;
+    }
+
+    public void setReferencia(String referencia) {
+        this.referencia = referencia;
+    }
+
+    public BigDecimal getQuantidade() {
+        return quantidade;
+    }
+
+    public void setQuantidade(BigDecimal quantidade) {
+        this.quantidade = quantidade;
+    }
+
+    public Integer getQuantidadeMinima() {
+        return quantidadeMinima;
+    }
+
+    public void setQuantidadeMinima(Integer quantidadeMinima) {
+        this.quantidadeMinima = quantidadeMinima;
+    }
+
+    public BigDecimal getFalta() {
+        return falta;
+    }
+
+    public void setFalta(BigDecimal falta) {
+        this.falta = falta;
+    }
+
+    public boolean isAbaixoDoMinimo() {
+        return abaixoDoMinimo;
+    }
+
+    public void setAbaixoDoMinimo(boolean abaixoDoMinimo) {
+        this.abaixoDoMinimo = abaixoDoMinimo;
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.PizzariaGraff.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Evento de alteração enviado em /eventos. Traz só o que mudou e a chave do registro;
+ * o cliente atualiza a linha na tela ou busca o registro pela chave.
+ */
+@Schema(description = "Alteração em nota, conta ou estoque")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EventoDTO {
+
+    public static final String NOTA_SAIDA = "nota-saida";
+    public static final String NOTA_ENTRADA = "nota-entrada";
+    public static final String CONTA_RECEBER = "conta-receber";
+    public static final String CONTA_PAGAR = "conta-pagar";
+    public static final String ESTOQUE = "estoque";
+
+    @Schema(description = "Tipo do registro (também é o nome do evento SSE)", example = "nota-saida")
+    private String tipo;
+
+    @Schema(description = "O que aconteceu: a nova situação, salva, excluida, geradas, entrada ou saida", example = "confirmada")
+    private String acao;
+
+    @Schema(description = "ID da conta, quando o evento é de uma única conta", example = "42")
+    private Long id;
+
+    @Schema(description = "IDs das contas ou dos produtos afetados")
+    private List<Long> ids;
+
+    @Schema(description = "Situação do registro depois da alteração", example = "CONFIRMADA")
+    private String situacao;
+
+    @Schema(description = "Número da nota", example = "1001")
+    private String notaNumero;
+
+    @Schema(description = "Modelo da nota", example = "55")
+    private String notaModelo;
+
+    @Schema(description = "Série da nota", example = "1")
+    private String notaSerie;
+
+    @Schema(description = "Cliente (notas de saída) ou fornecedor (notas de entrada) da nota", example = "7")
+    private Long participanteId;
+
+    @Schema(description = "Data e hora da alteração", example = "2025-07-01 14:30:00")
+    private LocalDateTime dataHora = LocalDateTime.now();
+
+    public EventoDTO() {
+    }
+
+    public EventoDTO(String tipo, String acao) {
+        this.tipo = tipo;
+        this.acao = acao;
+    }
+
+    public static EventoDTO nota(String tipo, String acao, String numero, String modelo, String serie,
+                                 Long participanteId, String situacao) {
+        EventoDTO evento = new EventoDTO(tipo, acao);
+        evento.setNota(numero, modelo, serie, participanteId);
+        evento.situacao = situacao;
+        return evento;
+    }
+
+    public static EventoDTO conta(String tipo, String acao, Long id, String situacao) {
+        EventoDTO evento = new EventoDTO(tipo, acao);
+        evento.id = id;
+        evento.situacao = situacao;
+        return evento;
+    }
+
+    public static EventoDTO lote(String tipo, String acao, Collection<Long> ids) {
+        EventoDTO evento = new EventoDTO(tipo, acao);
+        evento.ids = new ArrayList<>(ids);
+        return evento;
+    }
+
+    public EventoDTO setNota(String numero, String modelo, String serie, Long participanteId) {
+        this.notaNumero = numero;
+        this.notaModelo = modelo;
+        this.notaSerie = serie;
+        this.participanteId = participanteId;
+        return this;
+    }
+
+    public String getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(String tipo) {
+        this.tipo = tipo;
+    }
+
+    public String getAcao() {
+        return acao;
+    }
+
+    public void setAcao(String acao) {
+        this.acao = acao;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public String getSituacao() {
+        return situacao;
+    }
+
+    public void setSituacao(String situacao) {
+        this.situacao = situacao;
+    }
+
+    public String getNotaNumero() {
+        return notaNumero;
+    }
+
+    public void setNotaNumero(String notaNumero) {
+        this.notaNumero = notaNumero;
+    }
+
+    public String getNotaModelo() {
+        return notaModelo;
+    }
+
+    public void setNotaModelo(String notaModelo) {
+        this.notaModelo = notaModelo;
+    }
+
+    public String getNotaSerie() {
+        return notaSerie;
+    }
+
+    public void setNotaSerie(String notaSerie) {
+        this.notaSerie = notaSerie;
+    }
+
+    public Long getParticipanteId() {
+        return participanteId;
+    }
+
+    public void setParticipanteId(Long participanteId) {
+        this.participanteId = participanteId;
+    }
+
+    public LocalDateTime getDataHora() {
+        return dataHora;
+    }
+
+    public void setDataHora(LocalDateTime dataHora) {
+        this.dataHora = dataHora;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.PizzariaGraff.dto;
+
+import com.example.PizzariaGraff.model.MovimentoEstoque;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "Movimentação de estoque de um produto em um período")
+public class ExtratoEstoqueDTO {
+
+    @Schema(description = "ID do produto", example = "15")
+    private Long produtoId;
+
+    @Schema(description = "Nome do produto", example = "Queijo Mussarela")
+    private String produto;
+
+    @Schema(description = "Primeiro dia do período", example = "2025-07-01")
+    private LocalDate inicio;
+
+    @Schema(description = "Último dia do período", example = "2025-07-31")
+    private LocalDate fim;
+
+    @Schema(description = "Saldo antes do primeiro dia", example = "20")
+    private BigDecimal saldoInicial;
+
+    @Schema(description = "Soma das entradas no período", example = "10")
+    private BigDecimal entradas;
+
+    @Schema(description = "Soma das saídas no período", example = "17.5")
+    private BigDecimal saidas;
+
+    @Schema(description = "Saldo no fim do último dia", example = "12.5")
+    private BigDecimal saldoFinal;
+
+    @Schema(description = "Movimentos em ordem cronológica, com o saldo após cada um")
+    private List<MovimentoEstoque> movimentos = new ArrayList<>();
+
+    public Long getProdutoId() {
+        return produtoId;
+    }
+
+    public void setProdutoId(Long produtoId) {
+        this.produtoId = produtoId;
+    }
+
+    public String getProduto() {
+        return produto;
+    }
+
+    public void setProduto(String produto) {
+        this.produto = produto;
+    }
+
+    public LocalDate getInicio() {
+        return inicio;
+    }
+
+    public void setInicio(LocalDate inicio) {
+        this.inicio = inicio;
+    }
+
+    public LocalDate getFim() {
+        return fim;
+    }
+
+    public void setFim(LocalDate fim) {
+        this.fim = fim;
+    }
+
+    public BigDecimal getSaldoInicial() {
+        return saldoInicial;
+    }
+
+    public void setSaldoInicial(BigDecimal saldoInicial) {
+        this.saldoInicial = saldoInicial;
+    }
+
+    public BigDecimal getEntradas() {
+        return entradas;
+    }
+
+    public void setEntradas(BigDecimal entradas) {
+        this.entradas = entradas;
+    }
+
+    public BigDecimal getSaidas() {
+        return saidas;
+    }
+
+    public void setSaidas(BigDecimal saidas) {
+        this.saidas = saidas;
+    }
+
+    public BigDecimal getSaldoFinal() {
+        return saldoFinal;
+    }
+
+    public void setSaldoFinal(BigDecimal saldoFinal) {
+        this.saldoFinal = saldoFinal;
+    }
+
+    public List<MovimentoEstoque> getMovimentos() {
+        return movimentos;
+    }
+
+    public void setMovimentos(List<MovimentoEstoque> movimentos) {
+        this.movimentos = movimentos;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.PizzariaGraff.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Schema(description = "Projeção de fluxo de caixa de um dia")
+public class FluxoCaixaDiaDTO {
+
+    @Schema(description = "Data", example = "2025-07-10")
+    private LocalDate data;
+
+    @Schema(description = "Contas a receber com vencimento no dia", example = "1500.00")
+    private BigDecimal entradas = BigDecimal.ZERO;
+
+    @Schema(description = "Contas a pagar (de notas e avulsas) com vencimento no dia", example = "830.00")
+    private BigDecimal saidas = BigDecimal.ZERO;
+
+    @Schema(description = "Entradas menos saídas do dia", example = "670.00")
+    private BigDecimal saldoDia = BigDecimal.ZERO;
+
+    @Schema(description = "Saldo acumulado desde o primeiro dia da projeção", example = "2340.00")
+    private BigDecimal saldoAcumulado = BigDecimal.ZERO;
+
+    public FluxoCaixaDiaDTO() {
+    }
+
+    public FluxoCaixaDiaDTO(LocalDate data) {
+        this.data = data;
+    }
+
+    public LocalDate getData() {
+        return data;
+    }
+
+    public void setData(LocalDate data) {
+        this.data = data;
+    }
+
+    public BigDecimal getEntradas() {
+        return entradas;
+    }
+
+    public void setEntradas(BigDecimal entradas) {
+        this.entradas = entradas;
+    }
+
+    public BigDecimal getSaidas() {
+        return saidas;
+    }
+
+    public void setSaidas(BigDecimal saidas) {
+        this.saidas = saidas;
+    }
+
+    public BigDecimal getSaldoDia() {
+        return saldoDia;
+    }
+
+    public void setSaldoDia(BigDecimal saldoDia) {
+        this.saldoDia = saldoDia;
+    }
+
+    public BigDecimal getSaldoAcumulado() {
+        return saldoAcumulado;
+    }
+
+    public void setSaldoAcumulado(BigDecimal saldoAcumulado) {
+        this.saldoAcumulado = saldoAcumulado;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.PizzariaGraff.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Linha rejeitada em uma importação")
+public class ImportacaoErroDTO {
+
+    @Schema(description = "Linha do arquivo onde o registro começa", example = "12")
+    private int linha;
+
+    @Schema(description = "Identificação do registro (documento, código de barras ou nome)", example = "52998224725")
+    private String chave;
+
+    @Schema(description = "Motivo da rejeição", example = "CPF/CNPJ já cadastrado")
+    private String mensagem;
+
+    public ImportacaoErroDTO() {
+    }
+
+    public ImportacaoErroDTO(int linha, String chave, String mensagem) {
+        this.linha = linha;
+        this.chave = chave;
+        this.mensagem = mensagem;
+    }
+
+    public int getLinha() {
+        return linha;
+    }
+
+    public void setLinha(int linha) {
+        this.linha = linha;
+    }
+
+    public String getChave() {
+        return chave;
+    }
+
+    public void setChave(String chave) {
+        this.chave = chave;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+
+    public void setMensagem(String mensagem) {
+        this.mensagem = mensagem;
+    }
+}
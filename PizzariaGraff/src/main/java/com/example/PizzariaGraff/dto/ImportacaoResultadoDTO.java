@@ -0,0 +1,111 @@
+package com.example.PizzariaGraff.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "Resultado de uma importação em lote")
+public class ImportacaoResultadoDTO {
+
+    @Schema(description = "Entidade importada", example = "clientes")
+    private String entidade;
+
+    @Schema(description = "Formato do arquivo (csv ou ndjson)", example = "csv")
+    private String formato;
+
+    @Schema(description = "Registros lidos do arquivo", example = "5000")
+    private int lidos;
+
+    @Schema(description = "Registros inseridos", example = "4987")
+    private int importados;
+
+    @Schema(description = "Registros rejeitados", example = "13")
+    private int rejeitados;
+
+    @Schema(description = "Lotes gravados, cada um em sua própria transação", example = "10")
+    private int lotes;
+
+    @Schema(description = "Duração da importação em milissegundos", example = "1830")
+    private long duracaoMs;
+
+    @Schema(description = "Linhas rejeitadas e o motivo")
+    private List<ImportacaoErroDTO> erros = new ArrayList<>();
+
+    public ImportacaoResultadoDTO() {
+    }
+
+    public ImportacaoResultadoDTO(String entidade, String formato) {
+        this.entidade = entidade;
+        this.formato = formato;
+    }
+
+    public void adicionarErro(int linha, String chave, String mensagem) {
+        erros.add(new ImportacaoErroDTO(linha, chave, mensagem));
+        rejeitados++;
+    }
+
+    public String getEntidade() {
+        return entidade;
+    }
+
+    public void setEntidade(String entidade) {
+        this.entidade = entidade;
+    }
+
+    public String getFormato() {
+        return formato;
+    }
+
+    public void setFormato(String formato) {
+        this.formato = formato;
+    }
+
+    public int getLidos() {
+        return lidos;
+    }
+
+    public void setLidos(int lidos) {
+        this.lidos = lidos;
+    }
+
+    public int getImportados() {
+        return importados;
+    }
+
+    public void setImportados(int importados) {
+        this.importados = importados;
+    }
+
+    public int getRejeitados() {
+        return rejeitados;
+    }
+
+    public void setRejeitados(int rejeitados) {
+        this.rejeitados = rejeitados;
+    }
+
+    public int getLotes() {
+        return lotes;
+    }
+
+    public void setLotes(int lotes) {
+        this.lotes = lotes;
+    }
+
+    public long getDuracaoMs() {
+        return duracaoMs;
+    }
+
+    public void setDuracaoMs(long duracaoMs) {
+        this.duracaoMs = duracaoMs;
+    }
+
+    public List<ImportacaoErroDTO> getErros() {
+        return erros;
+    }
+
+    public void setErros(List<ImportacaoErroDTO> erros) {
+        this.erros = erros;
+    }
+}
@@ -39,7 +39,7 @@ public class ProdutoDTO {
     private BigDecimal percentualLucro;
 
     @Schema(description = "Quantidade em estoque", example = "150")
-    private Integer quantidade;
+    private BigDecimal quantidade;
 
     @Schema(description = "Quantidade mínima", example = "10")
     private Integer quantidadeMinima;
@@ -165,8 +165,8 @@ public class ProdutoDTO {
     public BigDecimal getPercentualLucro() { return percentualLucro; }
     public void setPercentualLucro(BigDecimal percentualLucro) { this.percentualLucro = percentualLucro; }
     
-    public Integer getQuantidade() { return quantidade; }
-    public void setQuantidade(Integer quantidade) { this.quantidade = quantidade; }
+    public BigDecimal getQuantidade() { return quantidade; }
+    public void setQuantidade(BigDecimal quantidade) { this.quantidade = quantidade; }
     
     public Integer getQuantidadeMinima() { return quantidadeMinima; }
     public void setQuantidadeMinima(Integer quantidadeMinima) { this.quantidadeMinima = quantidadeMinima; }
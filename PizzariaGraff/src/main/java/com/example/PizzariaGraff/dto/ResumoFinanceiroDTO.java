@@ -0,0 +1,62 @@
+package com.example.PizzariaGraff.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "Resumo financeiro: contas em aberto por faixa de atraso e projeção de fluxo de caixa")
+public class ResumoFinanceiroDTO {
+
+    @Schema(description = "Data usada para calcular atrasos e início da projeção", example = "2025-07-01")
+    private LocalDate dataReferencia;
+
+    @Schema(description = "Contas a receber em aberto por faixa de atraso")
+    private AgingDTO receber = new AgingDTO();
+
+    @Schema(description = "Contas a pagar (de notas e avulsas) em aberto por faixa de atraso")
+    private AgingDTO pagar = new AgingDTO();
+
+    @Schema(description = "Projeção diária a partir da data de referência (somente contas a vencer)")
+    private List<FluxoCaixaDiaDTO> fluxoCaixa = new ArrayList<>();
+
+    public ResumoFinanceiroDTO() {
+    }
+
+    public ResumoFinanceiroDTO(LocalDate dataReferencia) {
+        this.dataReferencia = dataReferencia;
+    }
+
+    public LocalDate getDataReferencia() {
+        return dataReferencia;
+    }
+
+    public void setDataReferencia(LocalDate dataReferencia) {
+        this.dataReferencia = dataReferencia;
+    }
+
+    public AgingDTO getReceber() {
+        return receber;
+    }
+
+    public void setReceber(AgingDTO receber) {
+        this.receber = receber;
+    }
+
+    public AgingDTO getPagar() {
+        return pagar;
+    }
+
+    public void setPagar(AgingDTO pagar) {
+        this.pagar = pagar;
+    }
+
+    public List<FluxoCaixaDiaDTO> getFluxoCaixa() {
+        return fluxoCaixa;
+    }
+
+    public void setFluxoCaixa(List<FluxoCaixaDiaDTO> fluxoCaixa) {
+        this.fluxoCaixa = fluxoCaixa;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.PizzariaGraff.dto;
+
+import com.example.PizzariaGraff.repository.MovimentoEstoqueRepository;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Schema(description = "Saldo de estoque de um produto no fim de um dia")
+public class SaldoEstoqueDTO {
+
+    @Schema(description = "ID do produto", example = "15")
+    private Long produtoId;
+
+    @Schema(description = "Nome do produto", example = "Queijo Mussarela")
+    private String produto;
+
+    @Schema(description = "Data consultada", example = "2025-07-01")
+    private LocalDate data;
+
+    @Schema(description = "Saldo no fim da data consultada", example = "12.5")
+    private BigDecimal quantidade;
+
+    @Schema(description = "Saldo atual do produto", example = "9.75")
+    private BigDecimal quantidadeAtual;
+
+    public SaldoEstoqueDTO() {
+    }
+
+    public SaldoEstoqueDTO(LocalDate data, MovimentoEstoqueRepository.Saldo saldo) {
+        this.produtoId = saldo.getProdutoId();
+        this.produto = saldo.getProduto();
+        this.data = data;
+        this.quantidade = saldo.getQuantidade();
+        this.quantidadeAtual = saldo.getQuantidadeAtual();
+    }
+
+    public Long getProdutoId() {
+        return produtoId;
+    }
+
+    public void setProdutoId(Long produtoId) {
+        this.produtoId = produtoId;
+    }
+
+    public String getProduto() {
+        return produto;
+    }
+
+    public void setProduto(String produto) {
+        this.produto = produto;
+    }
+
+    public LocalDate getData() {
+        return data;
+    }
+
+    public void setData(LocalDate data) {
+        this.data = data;
+    }
+
+    public BigDecimal getQuantidade() {
+        return quantidade;
+    }
+
+    public void setQuantidade(BigDecimal quantidade) {
+        this.quantidade = quantidade;
+    }
+
+    public BigDecimal getQuantidadeAtual() {
+        return quantidadeAtual;
+    }
+
+    public void setQuantidadeAtual(BigDecimal quantidadeAtual) {
+        this.quantidadeAtual = quantidadeAtual;
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.PizzariaGraff.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Linha do histórico de estoque (tabela movimento_estoque). A quantidade é positiva
+ * nas entradas e negativa nas saídas; o saldo não é gravado, só preenchido nos
+ * relatórios de movimentação.
+ */
+public class MovimentoEstoque {
+
+    public static final String ENTRADA = "ENTRADA";
+    public static final String SAIDA = "SAIDA";
+    public static final String AJUSTE = "AJUSTE";
+
+    public static final String NOTA_ENTRADA = "NOTA_ENTRADA";
+    public static final String NOTA_SAIDA = "NOTA_SAIDA";
+    public static final String CADASTRO = "CADASTRO";
+
+    private Long id;
+    private Long produtoId;
+    private LocalDateTime dataMovimento;
+    private String tipo;
+    private BigDecimal quantidade;
+    private String origem;
+    private String notaNumero;
+    private String notaModelo;
+    private String notaSerie;
+    private Long participanteId;
+    private String descricao;
+    private BigDecimal saldo;
+
+    public MovimentoEstoque() {
+    }
+
+    /**
+     * Movimento de uma nota, ainda sem produto e quantidade
+     * @param origem NOTA_ENTRADA ou NOTA_SAIDA
+     * @param participanteId Fornecedor (entrada) ou cliente (saída)
+     */
+    public static MovimentoEstoque daNota(String origem, String numero, String modelo, String serie,
+                                          Long participanteId, String descricao) {
+        MovimentoEstoque movimento = new MovimentoEstoque();
+        movimento.setOrigem(origem);
+        movimento.setNotaNumero(numero);
+        movimento.setNotaModelo(modelo);
+        movimento.setNotaSerie(serie);
+        movimento.setParticipanteId(participanteId);
+        movimento.setDescricao(descricao);
+        return movimento;
+    }
+
+    /**
+     * Cópia deste movimento para um produto, com o tipo definido pelo sinal da quantidade
+     */
+    public MovimentoEstoque paraProduto(Long produtoId, BigDecimal quantidade) {
+        MovimentoEstoque movimento = new MovimentoEstoque();
+        movimento.setProdutoId(produtoId);
+        movimento.setDataMovimento(dataMovimento);
+        movimento.setTipo(tipo != null ? tipo : quantidade.signum() >= 0 ? ENTRADA : SAIDA);
+        movimento.setQuantidade(quantidade);
+        movimento.setOrigem(origem);
+        movimento.setNotaNumero(notaNumero);
+        movimento.setNotaModelo(notaModelo);
+        movimento.setNotaSerie(notaSerie);
+        movimento.setParticipanteId(participanteId);
+        movimento.setDescricao(descricao);
+        return movimento;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getProdutoId() {
+        return produtoId;
+    }
+
+    public void setProdutoId(Long produtoId) {
+        this.produtoId = produtoId;
+    }
+
+    public LocalDateTime getDataMovimento() {
+        return dataMovimento;
+    }
+
+    public void setDataMovimento(LocalDateTime dataMovimento) {
+        this.dataMovimento = dataMovimento;
+    }
+
+    public String getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(String tipo) {
+        this.tipo = tipo;
+    }
+
+    public BigDecimal getQuantidade() {
+        return quantidade;
+    }
+
+    public void setQuantidade(BigDecimal quantidade) {
+        this.quantidade = quantidade;
+    }
+
+    public String getOrigem() {
+        return origem;
+    }
+
+    public void setOrigem(String origem) {
+        this.origem = origem;
+    }
+
+    public String getNotaNumero() {
+        return notaNumero;
+    }
+
+    public void setNotaNumero(String notaNumero) {
+        this.notaNumero = notaNumero;
+    }
+
+    public String getNotaModelo() {
+        return notaModelo;
+    }
+
+    public void setNotaModelo(String notaModelo) {
+        this.notaModelo = notaModelo;
+    }
+
+    public String getNotaSerie() {
+        return notaSerie;
+    }
+
+    public void setNotaSerie(String notaSerie) {
+        this.notaSerie = notaSerie;
+    }
+
+    public Long getParticipanteId() {
+        return participanteId;
+    }
+
+    public void setParticipanteId(Long participanteId) {
+        this.participanteId = participanteId;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    public void setDescricao(String descricao) {
+        this.descricao = descricao;
+    }
+
+    public BigDecimal getSaldo() {
+        return saldo;
+    }
+
+    public void setSaldo(BigDecimal saldo) {
+        this.saldo = saldo;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.PizzariaGraff.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de resultados paginada por cursor (keyset).
+ * O proximoCursor é nulo quando não há mais registros.
+ */
+public class Pagina<T> {
+
+    public static final int LIMITE_PADRAO = 50;
+    public static final int LIMITE_MAXIMO = 500;
+
+    private final List<T> itens;
+    private final String proximoCursor;
+
+    public Pagina(List<T> itens, String proximoCursor) {
+        this.itens = itens;
+        this.proximoCursor = proximoCursor;
+    }
+
+    /**
+     * Monta a página a partir de uma consulta feita com LIMIT limite + 1:
+     * a linha excedente só indica que existe uma próxima página e é descartada.
+     */
+    public static <T> Pagina<T> deLinhas(List<T> linhas, int limite, Function<T, String> cursorDe) {
+        if (linhas.size() <= limite) {
+            return new Pagina<>(linhas, null);
+        }
+        List<T> itens = new ArrayList<>(linhas.subList(0, limite));
+        return new Pagina<>(itens, cursorDe.apply(itens.get(limite - 1)));
+    }
+
+    public static int normalizarLimite(Integer limite) {
+        if (limite == null || limite <= 0) {
+            return LIMITE_PADRAO;
+        }
+        return Math.min(limite, LIMITE_MAXIMO);
+    }
+
+    public <R> Pagina<R> map(Function<T, R> conversor) {
+        List<R> convertidos = new ArrayList<>(itens.size());
+        for (T item : itens) {
+            convertidos.add(conversor.apply(item));
+        }
+        return new Pagina<>(convertidos, proximoCursor);
+    }
+
+    public List<T> getItens() {
+        return itens;
+    }
+
+    public String getProximoCursor() {
+        return proximoCursor;
+    }
+
+    public boolean isTemMais() {
+        return proximoCursor != null;
+    }
+}
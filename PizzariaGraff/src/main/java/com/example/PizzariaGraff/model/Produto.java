@@ -15,7 +15,7 @@ public class Produto {
     private Integer quantidadeMinima;    // int(11)
     private BigDecimal valorCompra;      // decimal(10,2)
     private BigDecimal valorVenda;       // decimal(10,2)
-    private Integer quantidade;          // int(11)
+    private BigDecimal quantidade;       // decimal(15,4)
     private BigDecimal percentualLucro;  // decimal(10,2)
     private String descricao;            // varchar(255) NOT NULL
     private String observacoes;          // varchar(255) NOT NULL
@@ -128,11 +128,11 @@ public class Produto {
         this.valorVenda = valorVenda;
     }
 
-    public Integer getQuantidade() {
+    public BigDecimal getQuantidade() {
         return quantidade;
     }
 
-    public void setQuantidade(Integer quantidade) {
+    public void setQuantidade(BigDecimal quantidade) {
         this.quantidade = quantidade;
     }
 
@@ -0,0 +1,64 @@
+package com.example.PizzariaGraff.repository;
+
+import com.example.PizzariaGraff.util.IndiceBusca;
+import org.springframework.stereotype.Repository;
+
+import java.sql.*;
+import java.util.Map;
+
+/**
+ * Leitura dos campos pesquisáveis de produto, cliente, fornecedor e funcionário para
+ * a carga do {@link IndiceBusca}. Só as colunas usadas na busca são lidas, com um
+ * cursor somente para frente.
+ */
+@Repository
+public class BuscaRepository {
+
+    public static final String PRODUTO = "produto";
+    public static final String CLIENTE = "cliente";
+    public static final String FORNECEDOR = "fornecedor";
+    public static final String FUNCIONARIO = "funcionario";
+
+    private static final int LINHAS_POR_BUSCA = 1000;
+
+    // id, nome e ativo nas três primeiras colunas; as demais são campos auxiliares
+    private static final Map<String, String> CONSULTAS = Map.of(
+            PRODUTO, "SELECT id, produto, ativo, referencia, codigo_barras FROM produto",
+            CLIENTE, "SELECT id, cliente, ativo, apelido, cpf_cpnj FROM cliente",
+            FORNECEDOR, "SELECT id, fornecedor, ativo, apelido, cpf_cnpj FROM fornecedor",
+            FUNCIONARIO, "SELECT id, funcionario, ativo, apelido, cpf_cpnj FROM funcionario"
+    );
+
+    private final DatabaseConnection databaseConnection;
+
+    public BuscaRepository(DatabaseConnection databaseConnection) {
+        this.databaseConnection = databaseConnection;
+    }
+
+    /**
+     * Carrega todos os registros de um tipo no índice
+     * @param tipo Uma das constantes de tipo desta classe
+     * @return Quantidade de registros lidos
+     */
+    public int carregar(String tipo, IndiceBusca indice) {
+        int total = 0;
+
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(CONSULTAS.get(tipo),
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            stmt.setFetchSize(LINHAS_POR_BUSCA);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Boolean ativo = rs.getObject(3) != null ? rs.getBoolean(3) : null;
+                    indice.carregar(rs.getLong(1), rs.getString(2), ativo, rs.getString(4), rs.getString(5));
+                    total++;
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao carregar índice de busca de " + tipo, e);
+        }
+
+        return total;
+    }
+}
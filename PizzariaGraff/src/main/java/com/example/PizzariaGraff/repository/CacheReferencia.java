@@ -0,0 +1,122 @@
+package com.example.PizzariaGraff.repository;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache de leitura (read-through) para uma tabela de referência.
+ *
+ * Cada consulta do repositório é guardada pela sua chave até a próxima escrita na
+ * tabela, que invalida tudo. Uma consulta iniciada antes da invalidação não grava o
+ * resultado, e uma escrita dentro de transação invalida de novo ao final dela, para
+ * que dados não confirmados ou revertidos não fiquem no cache.
+ *
+ * Os objetos devolvidos são compartilhados; as listas são cópias.
+ */
+public class CacheReferencia {
+
+    private final String nome;
+    private final Map<String, Object> entradas = new ConcurrentHashMap<>();
+    private final List<CacheReferencia> dependentes = new CopyOnWriteArrayList<>();
+    private final AtomicLong acertos = new AtomicLong();
+    private final AtomicLong faltas = new AtomicLong();
+    private long geracao;
+
+    CacheReferencia(String nome) {
+        this.nome = nome;
+    }
+
+    /**
+     * Devolve a lista guardada para a chave ou a carrega do banco
+     * @param chave Identificação da consulta (método e parâmetros)
+     * @param carregar Consulta ao banco em caso de falta
+     * @return Cópia da lista guardada
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> lista(String chave, Supplier<List<T>> carregar) {
+        List<T> valor = (List<T>) obter(chave, () -> List.copyOf(carregar.get()));
+        return new ArrayList<>(valor);
+    }
+
+    /**
+     * Devolve o valor guardado para a chave ou o carrega do banco
+     * @param chave Identificação da consulta (método e parâmetros)
+     * @param carregar Consulta ao banco em caso de falta; o resultado não pode ser nulo
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V obter(String chave, Supplier<V> carregar) {
+        Object valor = entradas.get(chave);
+        if (valor != null) {
+            acertos.incrementAndGet();
+            return (V) valor;
+        }
+
+        faltas.incrementAndGet();
+        long geracaoInicial = geracaoAtual();
+        V carregado = carregar.get();
+        synchronized (this) {
+            if (geracao == geracaoInicial) {
+                entradas.put(chave, carregado);
+            }
+        }
+        return carregado;
+    }
+
+    /**
+     * Descarta todas as entradas deste cache e dos caches que dependem dele.
+     * Dentro de uma transação, descarta novamente quando ela terminar.
+     */
+    public void invalidar() {
+        invalidarAgora();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidarAgora();
+                }
+            });
+        }
+    }
+
+    private void invalidarAgora() {
+        synchronized (this) {
+            geracao++;
+            entradas.clear();
+        }
+        for (CacheReferencia dependente : dependentes) {
+            dependente.invalidarAgora();
+        }
+    }
+
+    void adicionarDependente(CacheReferencia dependente) {
+        dependentes.add(dependente);
+    }
+
+    private synchronized long geracaoAtual() {
+        return geracao;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public long getAcertos() {
+        return acertos.get();
+    }
+
+    public long getFaltas() {
+        return faltas.get();
+    }
+
+    public int getTamanho() {
+        return entradas.size();
+    }
+}
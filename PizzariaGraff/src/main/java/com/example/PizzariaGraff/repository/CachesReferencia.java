@@ -0,0 +1,73 @@
+package com.example.PizzariaGraff.repository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro dos caches das tabelas de referência (país, estado, cidade, marca,
+ * categoria, unidade de medida e forma de pagamento). Os contadores de acerto e
+ * falta saem em /actuator/prometheus como cache_referencia_acessos_total.
+ */
+@Component
+public class CachesReferencia implements MeterBinder {
+
+    private final Map<String, CacheReferencia> caches = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
+
+    /**
+     * Obtém o cache de uma tabela
+     * @param nome Nome da tabela
+     * @param dependeDe Tabelas cujas escritas também invalidam este cache (dados vindos de JOIN)
+     */
+    public CacheReferencia cache(String nome, String... dependeDe) {
+        CacheReferencia cache = caches.computeIfAbsent(nome, this::criar);
+        for (String origem : dependeDe) {
+            caches.computeIfAbsent(origem, this::criar).adicionarDependente(cache);
+        }
+        return cache;
+    }
+
+    public Collection<CacheReferencia> listar() {
+        return new ArrayList<>(caches.values());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        for (CacheReferencia cache : caches.values()) {
+            registrarMedidores(cache, registry);
+        }
+    }
+
+    private CacheReferencia criar(String nome) {
+        CacheReferencia cache = new CacheReferencia(nome);
+        MeterRegistry r = registry;
+        if (r != null) {
+            registrarMedidores(cache, r);
+        }
+        return cache;
+    }
+
+    private void registrarMedidores(CacheReferencia cache, MeterRegistry registry) {
+        FunctionCounter.builder("cache.referencia.acessos", cache, CacheReferencia::getAcertos)
+                .description("Consultas às tabelas de referência atendidas pelo cache")
+                .tags("cache", cache.getNome(), "resultado", "acerto")
+                .register(registry);
+        FunctionCounter.builder("cache.referencia.acessos", cache, CacheReferencia::getFaltas)
+                .description("Consultas às tabelas de referência atendidas pelo cache")
+                .tags("cache", cache.getNome(), "resultado", "falta")
+                .register(registry);
+        Gauge.builder("cache.referencia.entradas", cache, CacheReferencia::getTamanho)
+                .description("Consultas guardadas no cache")
+                .tags("cache", cache.getNome())
+                .register(registry);
+    }
+}
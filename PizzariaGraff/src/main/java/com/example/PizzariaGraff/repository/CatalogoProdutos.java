@@ -0,0 +1,290 @@
+package com.example.PizzariaGraff.repository;
+
+import com.example.PizzariaGraff.model.Produto;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Catálogo de produtos em memória para leitura no balcão: preço e estoque de cada
+ * produto, indexados por código de barras e referência.
+ *
+ * Mantido pelo {@link ProdutoRepository} (write-through): cadastro, exclusão e
+ * movimentações de estoque alteram o catálogo assim que a escrita é confirmada. Dentro
+ * de uma transação a alteração fica para depois do commit; as movimentações são
+ * aplicadas como diferença sobre o saldo, então commits fora de ordem não se perdem.
+ *
+ * Os itens são imutáveis e cada alteração troca o item inteiro, então uma leitura
+ * nunca vê preço e estoque de versões diferentes.
+ *
+ * Também mantém a lista de produtos ativos abaixo do estoque mínimo, atualizada a cada
+ * troca de item: entradas e saídas de estoque só conferem o produto movimentado.
+ */
+@Component
+public class CatalogoProdutos {
+
+    private final Map<Long, Item> porId = new ConcurrentHashMap<>();
+    private final Map<String, Long> porCodigoBarras = new ConcurrentHashMap<>();
+    private final Map<String, Long> porReferencia = new ConcurrentHashMap<>();
+    private final Map<Long, Item> abaixoDoMinimo = new ConcurrentHashMap<>();
+
+    // Avisado (fora da carga) quando um produto entra, muda ou sai da lista de estoque mínimo
+    private volatile BiConsumer<Item, Boolean> ouvinteEstoqueMinimo;
+
+    private volatile boolean pronto;
+    // Durante a carga, produtos alterados pela aplicação são relidos no fim
+    private Set<Long> alteradosNaCarga;
+
+    /**
+     * Produto pelo código de barras ou, se não houver, pela referência
+     * @return Vazio se não encontrado (ou se o catálogo ainda não foi carregado)
+     */
+    public Optional<Item> buscar(String codigo) {
+        if (codigo == null) {
+            return Optional.empty();
+        }
+        String chave = codigo.trim();
+        Long id = porCodigoBarras.get(chave);
+        if (id == null) {
+            id = porReferencia.get(chave);
+        }
+        return id != null ? Optional.ofNullable(porId.get(id)) : Optional.empty();
+    }
+
+    /**
+     * Se o catálogo já contém todos os produtos; antes disso, faltas devem ir ao banco
+     */
+    public boolean isPronto() {
+        return pronto;
+    }
+
+    public int getTamanho() {
+        return porId.size();
+    }
+
+    /**
+     * Produtos ativos com estoque menor que a quantidade mínima
+     */
+    public List<Item> getAbaixoDoMinimo() {
+        return new ArrayList<>(abaixoDoMinimo.values());
+    }
+
+    /**
+     * Define quem é avisado das mudanças na lista de estoque mínimo. O aviso recebe o
+     * item (o último conhecido, se o produto foi excluído) e se ele está abaixo do
+     * mínimo; é chamado com o catálogo bloqueado, então deve apenas repassar o aviso.
+     */
+    public void setOuvinteEstoqueMinimo(BiConsumer<Item, Boolean> ouvinteEstoqueMinimo) {
+        this.ouvinteEstoqueMinimo = ouvinteEstoqueMinimo;
+    }
+
+    void gravar(Produto produto) {
+        if (produto.getId() == null) {
+            return;
+        }
+        Item item = new Item(produto);
+        aposCommit(() -> substituir(item.id, item));
+    }
+
+    void remover(Long id) {
+        aposCommit(() -> substituir(id, null));
+    }
+
+    /**
+     * Soma (ou subtrai, com quantidade negativa) ao estoque de um produto do catálogo
+     */
+    void movimentar(Long id, BigDecimal quantidade) {
+        aposCommit(() -> aplicarMovimento(id, quantidade));
+    }
+
+    void movimentar(Map<Long, BigDecimal> quantidades, boolean entrada) {
+        aposCommit(() -> {
+            for (Map.Entry<Long, BigDecimal> entry : quantidades.entrySet()) {
+                aplicarMovimento(entry.getKey(), entrada ? entry.getValue() : entry.getValue().negate());
+            }
+        });
+    }
+
+    synchronized void iniciarCarga() {
+        pronto = false;
+        porId.clear();
+        porCodigoBarras.clear();
+        porReferencia.clear();
+        abaixoDoMinimo.clear();
+        alteradosNaCarga = new HashSet<>();
+    }
+
+    synchronized void carregar(Produto produto) {
+        if (!alteradosNaCarga.contains(produto.getId())) {
+            indexar(produto.getId(), new Item(produto));
+        }
+    }
+
+    /**
+     * Abandona uma carga que falhou; o catálogo continua marcado como não pronto
+     */
+    synchronized void cancelarCarga() {
+        alteradosNaCarga = null;
+        pronto = false;
+    }
+
+    /**
+     * Encerra a carga
+     * @return Produtos alterados durante a carga, que devem ser relidos e gravados
+     */
+    synchronized Set<Long> concluirCarga() {
+        Set<Long> alterados = alteradosNaCarga;
+        alteradosNaCarga = null;
+        pronto = true;
+        return alterados;
+    }
+
+    private synchronized void substituir(Long id, Item item) {
+        if (alteradosNaCarga != null) {
+            alteradosNaCarga.add(id);
+        }
+        indexar(id, item);
+    }
+
+    private synchronized void aplicarMovimento(Long id, BigDecimal quantidade) {
+        if (alteradosNaCarga != null) {
+            alteradosNaCarga.add(id);
+        }
+        Item atual = porId.get(id);
+        if (atual != null) {
+            Item novo = atual.comQuantidade(atual.quantidade.add(quantidade));
+            porId.put(id, novo);
+            conferirMinimo(id, novo, atual);
+        }
+    }
+
+    private void indexar(Long id, Item item) {
+        Item anterior = item != null ? porId.put(id, item) : porId.remove(id);
+        conferirMinimo(id, item, anterior);
+        if (anterior != null) {
+            if (anterior.codigoBarras != null) {
+                porCodigoBarras.remove(anterior.codigoBarras, id);
+            }
+            if (anterior.referencia != null) {
+                porReferencia.remove(anterior.referencia, id);
+            }
+        }
+        if (item != null) {
+            if (item.codigoBarras != null) {
+                porCodigoBarras.put(item.codigoBarras, id);
+            }
+            if (item.referencia != null) {
+                porReferencia.put(item.referencia, id);
+            }
+        }
+    }
+
+    private void conferirMinimo(Long id, Item item, Item anterior) {
+        boolean abaixo = item != null && item.isAbaixoDoMinimo();
+        Item saiu = abaixo ? null : abaixoDoMinimo.remove(id);
+        if (abaixo) {
+            abaixoDoMinimo.put(id, item);
+        }
+        BiConsumer<Item, Boolean> ouvinte = ouvinteEstoqueMinimo;
+        if (ouvinte != null && alteradosNaCarga == null && (abaixo || saiu != null)) {
+            ouvinte.accept(abaixo ? item : (item != null ? item : anterior), abaixo);
+        }
+    }
+
+    private static void aposCommit(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+
+    private static String chave(String valor) {
+        return valor != null && !valor.isBlank() ? valor.trim() : null;
+    }
+
+    public static class Item {
+        private final Long id;
+        private final String produto;
+        private final String codigoBarras;
+        private final String referencia;
+        private final BigDecimal valorVenda;
+        private final BigDecimal quantidade;
+        private final Integer quantidadeMinima;
+        private final boolean ativo;
+
+        Item(Produto produto) {
+            this(produto.getId(), produto.getProduto(), chave(produto.getCodigoBarras()), chave(produto.getReferencia()),
+                    produto.getValorVenda(), produto.getQuantidade() != null ? produto.getQuantidade() : BigDecimal.ZERO,
+                    produto.getQuantidadeMinima(), produto.getAtivo() == null || produto.getAtivo());
+        }
+
+        private Item(Long id, String produto, String codigoBarras, String referencia, BigDecimal valorVenda,
+                     BigDecimal quantidade, Integer quantidadeMinima, boolean ativo) {
+            this.id = id;
+            this.produto = produto;
+            this.codigoBarras = codigoBarras;
+            this.referencia = referencia;
+            this.valorVenda = valorVenda;
+            this.quantidade = quantidade;
+            this.quantidadeMinima = quantidadeMinima;
+            this.ativo = ativo;
+        }
+
+        Item comQuantidade(BigDecimal novaQuantidade) {
+            return new Item(id, produto, codigoBarras, referencia, valorVenda, novaQuantidade, quantidadeMinima, ativo);
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getProduto() {
+            return produto;
+        }
+
+        public String getCodigoBarras() {
+            return codigoBarras;
+        }
+
+        public String getReferencia() {
+            return referencia;
+        }
+
+        public BigDecimal getValorVenda() {
+            return valorVenda;
+        }
+
+        public BigDecimal getQuantidade() {
+            return quantidade;
+        }
+
+        public Integer getQuantidadeMinima() {
+            return quantidadeMinima;
+        }
+
+        public boolean isAtivo() {
+            return ativo;
+        }
+
+        public boolean isAbaixoDoMinimo() {
+            return ativo && quantidadeMinima != null && quantidadeMinima > 0
+                    && quantidade.compareTo(BigDecimal.valueOf(quantidadeMinima)) < 0;
+        }
+    }
+}
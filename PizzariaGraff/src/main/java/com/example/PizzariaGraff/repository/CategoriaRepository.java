@@ -6,47 +6,25 @@ import org.springframework.stereotype.Repository;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
 @Repository
 public class CategoriaRepository {
 
     private final DatabaseConnection databaseConnection;
+    private final CacheReferencia cache;
 
-    public CategoriaRepository(DatabaseConnection databaseConnection) {
+    public CategoriaRepository(DatabaseConnection databaseConnection, CachesReferencia cachesReferencia) {
         this.databaseConnection = databaseConnection;
-        verificarEstruturaBanco();
+        this.cache = cachesReferencia.cache("categoria");
     }
 
-    private void verificarEstruturaBanco() {
-        try (Connection conn = databaseConnection.getConnection()) {
-            // Verifica se as novas colunas existem e as adiciona se necessário
-            DatabaseMetaData metaData = conn.getMetaData();
-            ResultSet columns = metaData.getColumns(null, null, "categoria", null);
-            
-            Set<String> existingColumns = new HashSet<>();
-            while (columns.next()) {
-                existingColumns.add(columns.getString("COLUMN_NAME").toLowerCase());
-            }
-            
-            // Adiciona coluna ativo se não existir
-            if (!existingColumns.contains("ativo")) {
-                try (Statement stmt = conn.createStatement()) {
-                    stmt.execute("ALTER TABLE categoria ADD COLUMN ativo TINYINT(1) DEFAULT 1 COMMENT 'Status da categoria: 1=Ativo, 0=Inativo'");
-                    // Define todos como ativos por padrão
-                    stmt.execute("UPDATE categoria SET ativo = TRUE");
-                }
-            }
-            columns.close();
-        } catch (SQLException e) {
-            System.err.println("Erro ao verificar/criar estrutura do banco para categoria: " + e.getMessage());
-        }
+    public List<Categoria> findAll() {
+        return cache.lista("findAll", this::findAllDoBanco);
     }
 
-    public List<Categoria> findAll() {
+    private List<Categoria> findAllDoBanco() {
         List<Categoria> categorias = new ArrayList<>();
         String sql = "SELECT * FROM categoria ORDER BY categoria";
 
@@ -66,6 +44,10 @@ public class CategoriaRepository {
     }
 
     public List<Categoria> findByAtivoTrue() {
+        return cache.lista("findByAtivoTrue", this::findByAtivoTrueDoBanco);
+    }
+
+    private List<Categoria> findByAtivoTrueDoBanco() {
         List<Categoria> categorias = new ArrayList<>();
         String sql = "SELECT * FROM categoria WHERE ativo = TRUE ORDER BY categoria";
 
@@ -85,6 +67,10 @@ public class CategoriaRepository {
     }
 
     public Optional<Categoria> findById(Long id) {
+        return cache.obter("findById:" + id, () -> findByIdDoBanco(id));
+    }
+
+    private Optional<Categoria> findByIdDoBanco(Long id) {
         String sql = "SELECT * FROM categoria WHERE id = ?";
 
         try (Connection conn = databaseConnection.getConnection();
@@ -125,6 +111,14 @@ public class CategoriaRepository {
     }
 
     public Categoria save(Categoria categoria) {
+        try {
+            return saveNoBanco(categoria);
+        } finally {
+            cache.invalidar();
+        }
+    }
+
+    private Categoria saveNoBanco(Categoria categoria) {
         if (categoria.getId() == null) {
             return insert(categoria);
         } else {
@@ -191,6 +185,14 @@ public class CategoriaRepository {
     }
 
     public void deleteById(Long id) {
+        try {
+            deleteByIdNoBanco(id);
+        } finally {
+            cache.invalidar();
+        }
+    }
+
+    private void deleteByIdNoBanco(Long id) {
         String sql = "DELETE FROM categoria WHERE id = ?";
 
         try (Connection conn = databaseConnection.getConnection();
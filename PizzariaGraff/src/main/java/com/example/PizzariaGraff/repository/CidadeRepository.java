@@ -15,12 +15,13 @@ import java.util.Optional;
 public class CidadeRepository {
     
     private final DatabaseConnection databaseConnection;
+    private final CacheReferencia cache;
     private final EstadoRepository estadoRepository;
     
-    public CidadeRepository(DatabaseConnection databaseConnection, EstadoRepository estadoRepository) {
+    public CidadeRepository(DatabaseConnection databaseConnection, EstadoRepository estadoRepository, CachesReferencia cachesReferencia) {
         this.databaseConnection = databaseConnection;
+        this.cache = cachesReferencia.cache("cidade", "estado");
         this.estadoRepository = estadoRepository;
-        verificarEstruturaBanco();
     }
     
     /**
@@ -33,77 +34,12 @@ public class CidadeRepository {
     }
     
     public List<Cidade> findAll() {
+        return cache.lista("findAll", this::findAllDoBanco);
+    }
+
+    private List<Cidade> findAllDoBanco() {
         List<Cidade> cidades = new ArrayList<>();
         
-        // Verificar se as colunas de data existem
-        try (Connection conn = databaseConnection.getConnection()) {
-            DatabaseMetaData metaData = conn.getMetaData();
-            
-            // Verificar se a tabela existe
-            boolean tabelaExiste = false;
-            try (ResultSet rs = metaData.getTables(null, null, null, new String[]{"TABLE"})) {
-                while (rs.next()) {
-                    String tableName = rs.getString("TABLE_NAME");
-                    System.out.println("Tabela encontrada: " + tableName);
-                    if ("cidade".equalsIgnoreCase(tableName)) {
-                        tabelaExiste = true;
-                        break;
-                    }
-                }
-            }
-            
-            if (tabelaExiste) {
-                // Verificar se as colunas de data existem
-                boolean temDataCadastro = false;
-                boolean temUltimaModificacao = false;
-                
-                try (ResultSet colunas = metaData.getColumns(null, null, "cidade", null)) {
-                    System.out.println("Verificando colunas da tabela cidade:");
-                    while (colunas.next()) {
-                        String colName = colunas.getString("COLUMN_NAME");
-                        String colType = colunas.getString("TYPE_NAME");
-                        System.out.println("  - Coluna: " + colName + ", Tipo: " + colType);
-                        
-                        if ("data_cadastro".equalsIgnoreCase(colName)) {
-                            temDataCadastro = true;
-                        } else if ("ultima_modificacao".equalsIgnoreCase(colName)) {
-                            temUltimaModificacao = true;
-                        }
-                    }
-                }
-                
-                if (!temDataCadastro || !temUltimaModificacao) {
-                    System.out.println("Adicionando colunas de data à tabela cidade");
-                    try (Statement stmt = conn.createStatement()) {
-                        if (!temDataCadastro) {
-                            stmt.execute("ALTER TABLE cidade ADD COLUMN data_cadastro TIMESTAMP");
-                            System.out.println("Coluna data_cadastro adicionada à tabela cidade");
-                        }
-                        
-                        if (!temUltimaModificacao) {
-                            stmt.execute("ALTER TABLE cidade ADD COLUMN ultima_modificacao TIMESTAMP");
-                            System.out.println("Coluna ultima_modificacao adicionada à tabela cidade");
-                        }
-                        
-                        // Se adicionamos as colunas, atualizar registros existentes com a data atual
-                        if (!temDataCadastro || !temUltimaModificacao) {
-                            LocalDateTime now = LocalDateTime.now();
-                            stmt.execute("UPDATE cidade SET " + 
-                                        (!temDataCadastro ? "data_cadastro = '" + Timestamp.valueOf(now) + "'" : "") +
-                                        (!temDataCadastro && !temUltimaModificacao ? ", " : "") +
-                                        (!temUltimaModificacao ? "ultima_modificacao = '" + Timestamp.valueOf(now) + "'" : ""));
-                            System.out.println("Registros existentes atualizados com datas");
-                        }
-                    }
-                }
-            } else {
-                System.out.println("Tabela 'cidade' não existe, será criada quando necessário");
-            }
-        } catch (SQLException e) {
-            System.err.println("Erro ao verificar/modificar estrutura da tabela cidade: " + e.getMessage());
-            e.printStackTrace();
-        }
-        
         String sql = "SELECT c.*, " +
                      "e.nome as estado_nome, e.uf as estado_uf, e.pais_id as estado_pais_id, " +
                      "p.nome as pais_nome, p.sigla as pais_sigla, p.codigo as pais_codigo " +
@@ -150,6 +86,10 @@ public class CidadeRepository {
     }
     
     public Optional<Cidade> findById(Long id) {
+        return cache.obter("findById:" + id, () -> findByIdDoBanco(id));
+    }
+
+    private Optional<Cidade> findByIdDoBanco(Long id) {
         String sql = "SELECT c.*, " +
                      "e.nome as estado_nome, e.uf as estado_uf, e.pais_id as estado_pais_id, " +
                      "p.nome as pais_nome, p.sigla as pais_sigla, p.codigo as pais_codigo " +
@@ -193,6 +133,10 @@ public class CidadeRepository {
     }
     
     public List<Cidade> findByEstadoId(Long estadoId) {
+        return cache.lista("findByEstadoId:" + estadoId, () -> findByEstadoIdDoBanco(estadoId));
+    }
+
+    private List<Cidade> findByEstadoIdDoBanco(Long estadoId) {
         List<Cidade> cidades = new ArrayList<>();
         String sql = "SELECT c.*, " +
                      "e.nome as estado_nome, e.uf as estado_uf, e.pais_id as estado_pais_id, " +
@@ -231,6 +175,14 @@ public class CidadeRepository {
     }
     
     public Cidade save(Cidade cidade) {
+        try {
+            return saveNoBanco(cidade);
+        } finally {
+            cache.invalidar();
+        }
+    }
+
+    private Cidade saveNoBanco(Cidade cidade) {
         if (cidade.getId() == null) {
             return insert(cidade);
         } else {
@@ -306,6 +258,14 @@ public class CidadeRepository {
     }
     
     public void deleteById(Long id) {
+        try {
+            deleteByIdNoBanco(id);
+        } finally {
+            cache.invalidar();
+        }
+    }
+
+    private void deleteByIdNoBanco(Long id) {
         String sql = "DELETE FROM cidade WHERE id = ?";
         
         try (Connection conn = databaseConnection.getConnection();
@@ -323,6 +283,10 @@ public class CidadeRepository {
     }
     
     public List<Cidade> findAllAtivos() {
+        return cache.lista("findAllAtivos", this::findAllAtivosDoBanco);
+    }
+
+    private List<Cidade> findAllAtivosDoBanco() {
         List<Cidade> cidades = new ArrayList<>();
         String sql = "SELECT c.*, " +
                      "e.nome as estado_nome, e.uf as estado_uf, e.pais_id as estado_pais_id, " +
@@ -357,6 +321,14 @@ public class CidadeRepository {
     }
     
     public void softDeleteById(Long id) {
+        try {
+            softDeleteByIdNoBanco(id);
+        } finally {
+            cache.invalidar();
+        }
+    }
+
+    private void softDeleteByIdNoBanco(Long id) {
         String sql = "UPDATE cidade SET ativo = false WHERE id = ?";
         
         try (Connection conn = databaseConnection.getConnection();
@@ -463,31 +435,4 @@ public class CidadeRepository {
         return cidade;
     }
     
-    // Método para verificar e corrigir a estrutura da tabela
-    private void verificarEstruturaBanco() {
-        try {
-            Connection conn = databaseConnection.getConnection();
-            DatabaseMetaData metaData = conn.getMetaData();
-            
-            // Verificar se a coluna ativo existe
-            boolean temAtivo = false;
-            
-            try (ResultSet colunas = metaData.getColumns(null, null, "cidade", "ativo")) {
-                temAtivo = colunas.next();
-            }
-            
-            if (!temAtivo) {
-                System.out.println("Adicionando coluna ativo à tabela cidade");
-                try (Statement stmt = conn.createStatement()) {
-                    stmt.execute("ALTER TABLE cidade ADD COLUMN ativo BOOLEAN NOT NULL DEFAULT true");
-                    System.out.println("Coluna ativo adicionada à tabela cidade");
-                    stmt.execute("UPDATE cidade SET ativo = true");
-                    System.out.println("Registros atualizados com ativo = true");
-                }
-            }
-        } catch (SQLException e) {
-            System.err.println("Erro ao verificar/modificar estrutura da tabela cidade: " + e.getMessage());
-            e.printStackTrace();
-        }
-    }
 } 
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.example.PizzariaGraff.repository;
 
 import com.example.PizzariaGraff.repository.DatabaseConnection;
 import com.example.PizzariaGraff.model.*;
+import com.example.PizzariaGraff.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
@@ -9,8 +10,15 @@ import java.sql.*;
 import java.sql.Types;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public class ClienteRepository {
@@ -46,6 +54,59 @@ public class ClienteRepository {
         return clientes;
     }
 
+    /**
+     * Busca uma página de clientes ordenada por nome, usando o cursor (cliente, id)
+     * do último registro da página anterior em vez de OFFSET.
+     */
+    public Pagina<Cliente> findPagina(Boolean ativo, String cursor, int limite) {
+        StringBuilder sql = new StringBuilder("SELECT c.*, " +
+                     "cid.nome as cidade_nome, " +
+                     "e.id as estado_id, e.nome as estado_nome, e.uf as estado_uf, e.pais_id as estado_pais_id, " +
+                     "p.nome as pais_nome, p.sigla as pais_sigla, p.codigo as pais_codigo, " +
+                     "cp.id as condicao_pagamento_id_rel, cp.condicao_pagamento as condicao_pagamento_nome " +
+                     "FROM cliente c " +
+                     "LEFT JOIN cidade cid ON c.cidade_id = cid.id " +
+                     "LEFT JOIN estado e ON cid.estado_id = e.id " +
+                     "LEFT JOIN pais p ON e.pais_id = p.id " +
+                     "LEFT JOIN condicao_pagamento cp ON c.condicao_pagamento_id = cp.id " +
+                     "WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+
+        if (ativo != null) {
+            sql.append(" AND c.ativo = ?");
+            params.add(ativo);
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            String[] chave = KeysetCursor.decode(cursor, 2);
+            sql.append(" AND (c.cliente > ? OR (c.cliente = ? AND c.id > ?))");
+            params.add(chave[0]);
+            params.add(chave[0]);
+            params.add(Long.parseLong(chave[1]));
+        }
+        sql.append(" ORDER BY c.cliente ASC, c.id ASC LIMIT ?");
+        params.add(limite + 1);
+
+        List<Cliente> clientes = new ArrayList<>();
+
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+
+            for (int i = 0; i < params.size(); i++) {
+                stmt.setObject(i + 1, params.get(i));
+            }
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    clientes.add(mapResultSetToCliente(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao buscar página de clientes", e);
+        }
+
+        return Pagina.deLinhas(clientes, limite, c -> KeysetCursor.encode(c.getCliente(), c.getId()));
+    }
+
     public Optional<Cliente> findById(Long id) {
         String sql = "SELECT c.*, " +
                      "cid.nome as cidade_nome, " +
@@ -75,6 +136,47 @@ public class ClienteRepository {
         return Optional.empty();
     }
 
+    /**
+     * Busca vários clientes em uma consulta
+     * @return Clientes encontrados, por ID
+     */
+    public Map<Long, Cliente> findByIds(Collection<Long> ids) {
+        Map<Long, Cliente> clientes = new HashMap<>();
+        if (ids.isEmpty()) {
+            return clientes;
+        }
+        String sql = "SELECT c.*, " +
+                     "cid.nome as cidade_nome, " +
+                     "e.id as estado_id, e.nome as estado_nome, e.uf as estado_uf, e.pais_id as estado_pais_id, " +
+                     "p.nome as pais_nome, p.sigla as pais_sigla, p.codigo as pais_codigo, " +
+                     "cp.id as condicao_pagamento_id_rel, cp.condicao_pagamento as condicao_pagamento_nome " +
+                     "FROM cliente c " +
+                     "LEFT JOIN cidade cid ON c.cidade_id = cid.id " +
+                     "LEFT JOIN estado e ON cid.estado_id = e.id " +
+                     "LEFT JOIN pais p ON e.pais_id = p.id " +
+                     "LEFT JOIN condicao_pagamento cp ON c.condicao_pagamento_id = cp.id " +
+                     "WHERE c.id IN (" + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")";
+        
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            int i = 1;
+            for (Long id : ids) {
+                stmt.setLong(i++, id);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Cliente cliente = mapResultSetToCliente(rs);
+                    clientes.put(cliente.getId(), cliente);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao buscar clientes por ID", e);
+        }
+        
+        return clientes;
+    }
+
     public List<Cliente> findByNomeContaining(String nome) {
         List<Cliente> clientes = new ArrayList<>();
         String sql = "SELECT c.*, " +
@@ -174,41 +276,91 @@ public class ClienteRepository {
         }
     }
     
-    private Cliente insert(Cliente cliente) {
-        String sql = "INSERT INTO cliente (cliente, apelido, bairro, cep, numero, endereco, cidade_id, " +
-                     "complemento, limite_credito, nacionalidade_id, rg_inscricao_estadual, " +
-                     "cpf_cpnj, data_nascimento, email, telefone, estado_civil, tipo, sexo, " +
-                     "condicao_pagamento_id, observacao, ativo, data_criacao, data_alteracao) " +
-                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SQL_INSERT =
+            "INSERT INTO cliente (cliente, apelido, bairro, cep, numero, endereco, cidade_id, " +
+            "complemento, limite_credito, nacionalidade_id, rg_inscricao_estadual, " +
+            "cpf_cpnj, data_nascimento, email, telefone, estado_civil, tipo, sexo, " +
+            "condicao_pagamento_id, observacao, ativo, data_criacao, data_alteracao) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Busca, em uma única consulta, quais dos CPF/CNPJ informados já estão cadastrados
+     * @param documentos CPF/CNPJ a verificar
+     * @return Documentos já existentes na tabela cliente
+     */
+    public Set<String> findCpfCpnjExistentes(Collection<String> documentos) {
+        Set<String> existentes = new HashSet<>();
+        if (documentos == null || documentos.isEmpty()) {
+            return existentes;
+        }
+        
+        List<String> distintos = new ArrayList<>(new LinkedHashSet<>(documentos));
+        String sql = "SELECT cpf_cpnj FROM cliente WHERE cpf_cpnj IN (" +
+                     String.join(", ", Collections.nCopies(distintos.size(), "?")) + ")";
+        
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            for (int i = 0; i < distintos.size(); i++) {
+                stmt.setString(i + 1, distintos.get(i));
+            }
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    existentes.add(rs.getString(1));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao verificar CPF/CNPJ existentes", e);
+        }
+        
+        return existentes;
+    }
+    
+    /**
+     * Insere vários clientes em um único lote (JDBC batch), preenchendo os IDs gerados.
+     * Deve ser chamado dentro de uma transação para que o lote seja atômico.
+     * @param clientes Clientes novos (sem ID)
+     */
+    public void insertEmLote(List<Cliente> clientes) {
+        if (clientes.isEmpty()) {
+            return;
+        }
         
         try (Connection conn = databaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement stmt = conn.prepareStatement(SQL_INSERT, Statement.RETURN_GENERATED_KEYS)) {
             
             LocalDateTime now = LocalDateTime.now();
+            for (Cliente cliente : clientes) {
+                preencherInsert(stmt, cliente, now);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
             
-            stmt.setString(1, cliente.getCliente());
-            stmt.setString(2, cliente.getApelido());
-            stmt.setString(3, cliente.getBairro());
-            stmt.setString(4, cliente.getCep());
-            stmt.setString(5, cliente.getNumero());
-            stmt.setString(6, cliente.getEndereco());
-            stmt.setObject(7, cliente.getCidadeId());
-            stmt.setString(8, cliente.getComplemento());
-            stmt.setBigDecimal(9, cliente.getLimiteCredito());
-            stmt.setObject(10, cliente.getNacionalidadeId());
-            stmt.setObject(11, cliente.getRgInscricaoEstadual());
-            stmt.setString(12, cliente.getCpfCpnj());
-            stmt.setDate(13, cliente.getDataNascimento() != null ? Date.valueOf(cliente.getDataNascimento()) : null);
-            stmt.setString(14, cliente.getEmail());
-            stmt.setString(15, cliente.getTelefone());
-            stmt.setString(16, cliente.getEstadoCivil());
-            stmt.setObject(17, cliente.getTipo());
-            stmt.setString(18, cliente.getSexo());
-            stmt.setObject(19, cliente.getCondicaoPagamentoId());
-            stmt.setString(20, cliente.getObservacao());
-            stmt.setBoolean(21, cliente.getAtivo() != null ? cliente.getAtivo() : true);
-            stmt.setTimestamp(22, cliente.getDataCriacao() != null ? Timestamp.valueOf(cliente.getDataCriacao()) : Timestamp.valueOf(now));
-            stmt.setTimestamp(23, cliente.getDataAlteracao() != null ? Timestamp.valueOf(cliente.getDataAlteracao()) : Timestamp.valueOf(now));
+            try (ResultSet rs = stmt.getGeneratedKeys()) {
+                for (Cliente cliente : clientes) {
+                    if (rs.next()) {
+                        cliente.setId(rs.getLong(1));
+                    }
+                    if (cliente.getDataCriacao() == null) {
+                        cliente.setDataCriacao(now);
+                    }
+                    if (cliente.getDataAlteracao() == null) {
+                        cliente.setDataAlteracao(now);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao inserir lote de clientes", e);
+        }
+    }
+    
+    private Cliente insert(Cliente cliente) {
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SQL_INSERT, Statement.RETURN_GENERATED_KEYS)) {
+            
+            LocalDateTime now = LocalDateTime.now();
+            preencherInsert(stmt, cliente, now);
             
             stmt.executeUpdate();
             
@@ -232,6 +384,32 @@ public class ClienteRepository {
         return cliente;
     }
     
+    private void preencherInsert(PreparedStatement stmt, Cliente cliente, LocalDateTime now) throws SQLException {
+        stmt.setString(1, cliente.getCliente());
+        stmt.setString(2, cliente.getApelido());
+        stmt.setString(3, cliente.getBairro());
+        stmt.setString(4, cliente.getCep());
+        stmt.setString(5, cliente.getNumero());
+        stmt.setString(6, cliente.getEndereco());
+        stmt.setObject(7, cliente.getCidadeId());
+        stmt.setString(8, cliente.getComplemento());
+        stmt.setBigDecimal(9, cliente.getLimiteCredito());
+        stmt.setObject(10, cliente.getNacionalidadeId());
+        stmt.setObject(11, cliente.getRgInscricaoEstadual());
+        stmt.setString(12, cliente.getCpfCpnj());
+        stmt.setDate(13, cliente.getDataNascimento() != null ? Date.valueOf(cliente.getDataNascimento()) : null);
+        stmt.setString(14, cliente.getEmail());
+        stmt.setString(15, cliente.getTelefone());
+        stmt.setString(16, cliente.getEstadoCivil());
+        stmt.setObject(17, cliente.getTipo());
+        stmt.setString(18, cliente.getSexo());
+        stmt.setObject(19, cliente.getCondicaoPagamentoId());
+        stmt.setString(20, cliente.getObservacao());
+        stmt.setBoolean(21, cliente.getAtivo() != null ? cliente.getAtivo() : true);
+        stmt.setTimestamp(22, cliente.getDataCriacao() != null ? Timestamp.valueOf(cliente.getDataCriacao()) : Timestamp.valueOf(now));
+        stmt.setTimestamp(23, cliente.getDataAlteracao() != null ? Timestamp.valueOf(cliente.getDataAlteracao()) : Timestamp.valueOf(now));
+    }
+    
     private Cliente update(Cliente cliente) {
         String sql = "UPDATE cliente SET cliente = ?, apelido = ?, bairro = ?, cep = ?, numero = ?, " +
                      "endereco = ?, cidade_id = ?, complemento = ?, limite_credito = ?, " +
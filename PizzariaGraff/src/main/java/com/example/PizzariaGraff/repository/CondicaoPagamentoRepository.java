@@ -1,24 +1,33 @@
 package com.example.PizzariaGraff.repository;
 
 import com.example.PizzariaGraff.model.CondicaoPagamento;
+import com.example.PizzariaGraff.model.ParcelaCondicaoPagamento;
 import org.springframework.stereotype.Repository;
 
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Repository
 public class CondicaoPagamentoRepository {
     
     private final DatabaseConnection databaseConnection;
     private final ParcelaCondicaoPagamentoRepository parcelaRepository;
+    private final CacheReferencia cachePercentuais;
     
     public CondicaoPagamentoRepository(DatabaseConnection databaseConnection, 
-                                      ParcelaCondicaoPagamentoRepository parcelaRepository) {
+                                      ParcelaCondicaoPagamentoRepository parcelaRepository,
+                                      CachesReferencia cachesReferencia) {
         this.databaseConnection = databaseConnection;
         this.parcelaRepository = parcelaRepository;
+        this.cachePercentuais = cachesReferencia.cache("condicao_pagamento");
     }
     
     public List<CondicaoPagamento> findAll() {
@@ -38,9 +47,7 @@ public class CondicaoPagamentoRepository {
                     
                     while (rs.next()) {
                         try {
-                            CondicaoPagamento condicao = mapResultSetToCondicaoPagamento(rs);
-                            condicao.setParcelasCondicaoPagamento(parcelaRepository.findByCondicaoPagamentoId(condicao.getId()));
-                            condicoes.add(condicao);
+                            condicoes.add(mapResultSetToCondicaoPagamento(rs));
                         } catch (SQLException e) {
                             System.err.println("Erro ao mapear condição de pagamento: " + e.getMessage());
                             e.printStackTrace();
@@ -57,6 +64,8 @@ public class CondicaoPagamentoRepository {
             throw new RuntimeException("Erro ao buscar condições de pagamento", e);
         }
         
+        carregarParcelas(condicoes);
+        
         return condicoes;
     }
     
@@ -70,9 +79,7 @@ public class CondicaoPagamentoRepository {
             
             while (rs.next()) {
                 try {
-                    CondicaoPagamento condicao = mapResultSetToCondicaoPagamento(rs);
-                    condicao.setParcelasCondicaoPagamento(parcelaRepository.findByCondicaoPagamentoId(condicao.getId()));
-                    condicoes.add(condicao);
+                    condicoes.add(mapResultSetToCondicaoPagamento(rs));
                 } catch (SQLException e) {
                     System.err.println("Erro ao mapear condição de pagamento: " + e.getMessage());
                     // Continua para o próximo registro
@@ -82,6 +89,8 @@ public class CondicaoPagamentoRepository {
             throw new RuntimeException("Erro ao buscar condições de pagamento ativas", e);
         }
         
+        carregarParcelas(condicoes);
+        
         return condicoes;
     }
     
@@ -110,6 +119,80 @@ public class CondicaoPagamentoRepository {
         return Optional.empty();
     }
     
+    /**
+     * Busca várias condições, com as parcelas, em duas consultas
+     * @return Condições encontradas, por ID
+     */
+    public Map<Long, CondicaoPagamento> findByIds(Collection<Long> ids) {
+        List<CondicaoPagamento> condicoes = new ArrayList<>();
+        if (ids.isEmpty()) {
+            return new HashMap<>();
+        }
+        String sql = "SELECT * FROM condicao_pagamento WHERE id IN (" +
+                     String.join(", ", Collections.nCopies(ids.size(), "?")) + ")";
+        
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            int i = 1;
+            for (Long id : ids) {
+                stmt.setLong(i++, id);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    condicoes.add(mapResultSetToCondicaoPagamento(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao buscar condições de pagamento por ID", e);
+        }
+        
+        carregarParcelas(condicoes);
+        
+        Map<Long, CondicaoPagamento> porId = new HashMap<>();
+        for (CondicaoPagamento condicao : condicoes) {
+            porId.put(condicao.getId(), condicao);
+        }
+        return porId;
+    }
+    
+    /**
+     * Busca apenas os percentuais (desconto, multa e juros) da condição, sem as parcelas.
+     * O resultado fica em cache até a próxima alteração de condição de pagamento.
+     * @param id ID da condição
+     * @return Condição com id, nome e percentuais preenchidos
+     */
+    public Optional<CondicaoPagamento> findPercentuaisById(Long id) {
+        return cachePercentuais.obter("percentuais:" + id, () -> findPercentuaisByIdDoBanco(id));
+    }
+    
+    private Optional<CondicaoPagamento> findPercentuaisByIdDoBanco(Long id) {
+        String sql = "SELECT id, condicao_pagamento, percentual_desconto, percentual_multa, percentual_juros " +
+                     "FROM condicao_pagamento WHERE id = ?";
+        
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setLong(1, id);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    CondicaoPagamento condicao = new CondicaoPagamento();
+                    condicao.setId(rs.getLong("id"));
+                    condicao.setCondicaoPagamento(rs.getString("condicao_pagamento"));
+                    condicao.setPercentualDesconto(rs.getDouble("percentual_desconto"));
+                    condicao.setPercentualMulta(rs.getDouble("percentual_multa"));
+                    condicao.setPercentualJuros(rs.getDouble("percentual_juros"));
+                    return Optional.of(condicao);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao buscar percentuais da condição de pagamento", e);
+        }
+        
+        return Optional.empty();
+    }
+    
     public Optional<CondicaoPagamento> findByCondicaoPagamento(String condicaoPagamento) {
         String sql = "SELECT * FROM condicao_pagamento WHERE condicao_pagamento = ?";
         
@@ -147,9 +230,7 @@ public class CondicaoPagamentoRepository {
             
             while (rs.next()) {
                 try {
-                    CondicaoPagamento condicao = mapResultSetToCondicaoPagamento(rs);
-                    condicao.setParcelasCondicaoPagamento(parcelaRepository.findByCondicaoPagamentoId(condicao.getId()));
-                    condicoes.add(condicao);
+                    condicoes.add(mapResultSetToCondicaoPagamento(rs));
                 } catch (SQLException e) {
                     System.err.println("Erro ao mapear condição de pagamento: " + e.getMessage());
                     // Continua para o próximo registro
@@ -159,9 +240,25 @@ public class CondicaoPagamentoRepository {
             throw new RuntimeException("Erro ao pesquisar condições de pagamento", e);
         }
         
+        carregarParcelas(condicoes);
+        
         return condicoes;
     }
     
+    // Carrega as parcelas de todas as condições com uma única consulta, depois de liberar a conexão da listagem
+    private void carregarParcelas(List<CondicaoPagamento> condicoes) {
+        if (condicoes.isEmpty()) {
+            return;
+        }
+        
+        Map<Long, List<ParcelaCondicaoPagamento>> parcelasPorCondicao = parcelaRepository.findByCondicaoPagamentoIds(
+                condicoes.stream().map(CondicaoPagamento::getId).collect(Collectors.toList()));
+        
+        for (CondicaoPagamento condicao : condicoes) {
+            condicao.setParcelasCondicaoPagamento(parcelasPorCondicao.getOrDefault(condicao.getId(), new ArrayList<>()));
+        }
+    }
+    
     public boolean existsByCondicaoPagamento(String condicaoPagamento) {
         String sql = "SELECT COUNT(*) FROM condicao_pagamento WHERE condicao_pagamento = ?";
         
@@ -182,10 +279,14 @@ public class CondicaoPagamentoRepository {
     }
     
     public CondicaoPagamento save(CondicaoPagamento condicao) {
-        if (condicao.getId() == null) {
-            return insert(condicao);
-        } else {
-            return update(condicao);
+        try {
+            if (condicao.getId() == null) {
+                return insert(condicao);
+            } else {
+                return update(condicao);
+            }
+        } finally {
+            cachePercentuais.invalidar();
         }
     }
     
@@ -298,6 +399,8 @@ public class CondicaoPagamentoRepository {
             
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao realizar exclusão lógica da condição de pagamento", e);
+        } finally {
+            cachePercentuais.invalidar();
         }
     }
     
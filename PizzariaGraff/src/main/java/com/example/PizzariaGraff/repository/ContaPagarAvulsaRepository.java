@@ -4,6 +4,8 @@ import com.example.PizzariaGraff.model.ContaPagarAvulsa;
 import org.springframework.stereotype.Repository;
 
 import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -137,9 +139,10 @@ public class ContaPagarAvulsaRepository {
         return contas;
     }
     
+    // Contas marcadas como VENCIDA pelo VencimentoService
     public List<ContaPagarAvulsa> findVencidas() {
         List<ContaPagarAvulsa> contas = new ArrayList<>();
-        String sql = "SELECT * FROM contas_pagar_avulsa WHERE status = 'PENDENTE' AND data_vencimento < CURDATE() ORDER BY data_vencimento ASC";
+        String sql = "SELECT * FROM contas_pagar_avulsa WHERE status = 'VENCIDA' ORDER BY data_vencimento ASC";
         
         try (Connection conn = databaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql);
@@ -181,7 +184,11 @@ public class ContaPagarAvulsaRepository {
                 }
             }
             
-            return findById(conta.getId()).orElseThrow(() -> new RuntimeException("Erro ao recuperar conta inserida"));
+            LocalDateTime now = LocalDateTime.now();
+            conta.setDataCriacao(now);
+            conta.setDataAtualizacao(now);
+            carregarRelacionamentos(conta);
+            return conta;
             
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao inserir conta a pagar avulsa: " + e.getMessage(), e);
@@ -202,13 +209,38 @@ public class ContaPagarAvulsaRepository {
             
             stmt.executeUpdate();
             
-            return findById(conta.getId()).orElseThrow(() -> new RuntimeException("Erro ao recuperar conta atualizada"));
+            conta.setDataAtualizacao(LocalDateTime.now());
+            carregarRelacionamentos(conta);
+            return conta;
             
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao atualizar conta a pagar avulsa: " + e.getMessage(), e);
         }
     }
     
+    /**
+     * Vencimento atual da conta, sem carregar a conta inteira
+     */
+    public Optional<LocalDate> findDataVencimentoById(Long id) {
+        String sql = "SELECT data_vencimento FROM contas_pagar_avulsa WHERE id = ?";
+        
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setLong(1, id);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(rs.getDate("data_vencimento").toLocalDate());
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao buscar vencimento da conta a pagar avulsa", e);
+        }
+        
+        return Optional.empty();
+    }
+    
     public void deleteById(Long id) {
         String sql = "DELETE FROM contas_pagar_avulsa WHERE id = ?";
         
@@ -279,15 +311,26 @@ public class ContaPagarAvulsaRepository {
         Timestamp dataAtualizacao = rs.getTimestamp("data_atualizacao");
         conta.setDataAtualizacao(dataAtualizacao != null ? dataAtualizacao.toLocalDateTime() : null);
         
-        // Carregar fornecedor
-        fornecedorRepository.findById(conta.getFornecedorId()).ifPresent(conta::setFornecedor);
+        carregarRelacionamentos(conta);
         
-        // Carregar forma de pagamento
-        if (formaPagamentoId != null) {
-            formaPagamentoRepository.findById(formaPagamentoId).ifPresent(conta::setFormaPagamento);
+        return conta;
+    }
+    
+    /**
+     * Carrega fornecedor e forma de pagamento da conta, pulando os que já estão carregados
+     * com o mesmo ID (caso comum depois de gravar uma conta que veio de findById)
+     */
+    private void carregarRelacionamentos(ContaPagarAvulsa conta) {
+        if (conta.getFornecedor() == null || !conta.getFornecedorId().equals(conta.getFornecedor().getId())) {
+            fornecedorRepository.findById(conta.getFornecedorId()).ifPresent(conta::setFornecedor);
         }
         
-        return conta;
+        if (conta.getFormaPagamentoId() == null) {
+            conta.setFormaPagamento(null);
+        } else if (conta.getFormaPagamento() == null
+                || !conta.getFormaPagamentoId().equals(conta.getFormaPagamento().getId())) {
+            formaPagamentoRepository.findById(conta.getFormaPagamentoId()).ifPresent(conta::setFormaPagamento);
+        }
     }
 }
 
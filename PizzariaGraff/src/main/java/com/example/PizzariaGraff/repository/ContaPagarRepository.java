@@ -1,12 +1,24 @@
 package com.example.PizzariaGraff.repository;
 
+import com.example.PizzariaGraff.model.Fornecedor;
+import com.example.PizzariaGraff.model.CondicaoPagamento;
 import com.example.PizzariaGraff.model.ContaPagar;
+import com.example.PizzariaGraff.model.Pagina;
+import com.example.PizzariaGraff.util.KeysetCursor;
 import org.springframework.stereotype.Repository;
 
 import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public class ContaPagarRepository {
@@ -32,12 +44,13 @@ public class ContaPagarRepository {
              ResultSet rs = stmt.executeQuery()) {
             
             while (rs.next()) {
-                contas.add(mapRowToContaPagar(rs));
+                contas.add(mapearColunas(rs));
             }
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao buscar contas a pagar", e);
         }
         
+        carregarRelacionamentos(contas);
         return contas;
     }
     
@@ -72,13 +85,14 @@ public class ContaPagarRepository {
             
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    contas.add(mapRowToContaPagar(rs));
+                    contas.add(mapearColunas(rs));
                 }
             }
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao buscar contas por fornecedor", e);
         }
         
+        carregarRelacionamentos(contas);
         return contas;
     }
     
@@ -93,13 +107,14 @@ public class ContaPagarRepository {
             
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    contas.add(mapRowToContaPagar(rs));
+                    contas.add(mapearColunas(rs));
                 }
             }
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao buscar contas por situação", e);
         }
         
+        carregarRelacionamentos(contas);
         return contas;
     }
     
@@ -117,33 +132,94 @@ public class ContaPagarRepository {
             
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    contas.add(mapRowToContaPagar(rs));
+                    contas.add(mapearColunas(rs));
                 }
             }
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao buscar contas por nota", e);
         }
         
+        carregarRelacionamentos(contas);
         return contas;
     }
     
+    // Contas marcadas como VENCIDA pelo VencimentoService
     public List<ContaPagar> findVencidas() {
         List<ContaPagar> contas = new ArrayList<>();
-        String sql = "SELECT * FROM contas_pagar WHERE situacao = 'PENDENTE' AND data_vencimento < CURDATE() ORDER BY data_vencimento ASC";
+        String sql = "SELECT * FROM contas_pagar WHERE situacao = 'VENCIDA' ORDER BY data_vencimento ASC";
         
         try (Connection conn = databaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             
             while (rs.next()) {
-                contas.add(mapRowToContaPagar(rs));
+                contas.add(mapearColunas(rs));
             }
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao buscar contas vencidas", e);
         }
         
+        carregarRelacionamentos(contas);
         return contas;
     }
+
+    /**
+     * Busca uma página de contas ordenada por vencimento, usando o cursor (data_vencimento, id)
+     * do último registro da página anterior em vez de OFFSET.
+     */
+    public Pagina<ContaPagar> findPagina(String situacao, LocalDate dataInicio, LocalDate dataFim,
+                                         Long fornecedorId, String cursor, int limite) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM contas_pagar WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+
+        if (situacao != null && !situacao.isBlank()) {
+            sql.append(" AND situacao = ?");
+            params.add(situacao);
+        }
+        if (dataInicio != null) {
+            sql.append(" AND data_vencimento >= ?");
+            params.add(Date.valueOf(dataInicio));
+        }
+        if (dataFim != null) {
+            sql.append(" AND data_vencimento <= ?");
+            params.add(Date.valueOf(dataFim));
+        }
+        if (fornecedorId != null) {
+            sql.append(" AND fornecedor_id = ?");
+            params.add(fornecedorId);
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            String[] chave = KeysetCursor.decode(cursor, 2);
+            Date vencimento = Date.valueOf(chave[0]);
+            sql.append(" AND (data_vencimento > ? OR (data_vencimento = ? AND id > ?))");
+            params.add(vencimento);
+            params.add(vencimento);
+            params.add(Long.parseLong(chave[1]));
+        }
+        sql.append(" ORDER BY data_vencimento ASC, id ASC LIMIT ?");
+        params.add(limite + 1);
+
+        List<ContaPagar> contas = new ArrayList<>();
+
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+
+            for (int i = 0; i < params.size(); i++) {
+                stmt.setObject(i + 1, params.get(i));
+            }
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    contas.add(mapearColunas(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao buscar página de contas a pagar", e);
+        }
+
+        carregarRelacionamentos(contas);
+        return Pagina.deLinhas(contas, limite, c -> KeysetCursor.encode(c.getDataVencimento(), c.getId()));
+    }
     
     public ContaPagar save(ContaPagar conta) {
         if (conta.getId() != null && conta.getId() > 0) {
@@ -153,15 +229,16 @@ public class ContaPagarRepository {
         }
     }
     
+    private static final String SQL_INSERT =
+            "INSERT INTO contas_pagar (nota_numero, nota_modelo, nota_serie, fornecedor_id, " +
+            "numero_parcela, total_parcelas, valor_original, valor_pago, valor_desconto, " +
+            "valor_juros, valor_multa, valor_total, data_emissao, data_vencimento, " +
+            "data_pagamento, forma_pagamento_id, situacao, observacoes) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
     private ContaPagar insert(ContaPagar conta) {
-        String sql = "INSERT INTO contas_pagar (nota_numero, nota_modelo, nota_serie, fornecedor_id, " +
-                     "numero_parcela, total_parcelas, valor_original, valor_pago, valor_desconto, " +
-                     "valor_juros, valor_multa, valor_total, data_emissao, data_vencimento, " +
-                     "data_pagamento, forma_pagamento_id, situacao, observacoes) " +
-                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        
         try (Connection conn = databaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement stmt = conn.prepareStatement(SQL_INSERT, Statement.RETURN_GENERATED_KEYS)) {
             
             setContaParameters(stmt, conta);
             stmt.executeUpdate();
@@ -172,34 +249,65 @@ public class ContaPagarRepository {
                 }
             }
             
-            return findById(conta.getId()).orElseThrow(() -> new RuntimeException("Erro ao recuperar conta inserida"));
+            LocalDateTime now = LocalDateTime.now();
+            conta.setDataCriacao(now);
+            conta.setDataAlteracao(now);
+            carregarRelacionamentos(conta);
+            return conta;
             
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao inserir conta a pagar: " + e.getMessage(), e);
         }
     }
     
-    private ContaPagar update(ContaPagar conta) {
-        String sql = "UPDATE contas_pagar SET valor_pago = ?, valor_desconto = ?, valor_juros = ?, " +
-                     "valor_multa = ?, valor_total = ?, data_pagamento = ?, forma_pagamento_id = ?, " +
-                     "situacao = ?, observacoes = ? WHERE id = ?";
+    /**
+     * Insere várias contas em um único lote (JDBC batch), preenchendo os IDs gerados.
+     * Deve ser chamado dentro de uma transação para que o lote seja atômico.
+     * @param contas Contas novas (sem ID)
+     */
+    public void insertEmLote(List<ContaPagar> contas) {
+        if (contas.isEmpty()) {
+            return;
+        }
         
         try (Connection conn = databaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(SQL_INSERT, Statement.RETURN_GENERATED_KEYS)) {
+            
+            for (ContaPagar conta : contas) {
+                setContaParameters(stmt, conta);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
             
-            stmt.setBigDecimal(1, conta.getValorPago());
-            stmt.setBigDecimal(2, conta.getValorDesconto());
-            stmt.setBigDecimal(3, conta.getValorJuros());
-            stmt.setBigDecimal(4, conta.getValorMulta());
-            stmt.setBigDecimal(5, conta.getValorTotal());
-            stmt.setDate(6, conta.getDataPagamento() != null ? Date.valueOf(conta.getDataPagamento()) : null);
-            stmt.setObject(7, conta.getFormaPagamentoId());
-            stmt.setString(8, conta.getSituacao());
-            stmt.setString(9, conta.getObservacoes());
-            stmt.setLong(10, conta.getId());
+            LocalDateTime now = LocalDateTime.now();
+            try (ResultSet rs = stmt.getGeneratedKeys()) {
+                for (ContaPagar conta : contas) {
+                    if (rs.next()) {
+                        conta.setId(rs.getLong(1));
+                    }
+                    conta.setDataCriacao(now);
+                    conta.setDataAlteracao(now);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao inserir lote de contas a pagar", e);
+        }
+    }
+    
+    private static final String SQL_UPDATE =
+            "UPDATE contas_pagar SET valor_pago = ?, valor_desconto = ?, valor_juros = ?, " +
+            "valor_multa = ?, valor_total = ?, data_pagamento = ?, forma_pagamento_id = ?, " +
+            "situacao = ?, observacoes = ? WHERE id = ?";
+    
+    private ContaPagar update(ContaPagar conta) {
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SQL_UPDATE)) {
             
+            preencherUpdate(stmt, conta);
             stmt.executeUpdate();
             
+            // O UPDATE só grava as colunas da baixa: as demais (valor original, vencimento,
+            // nota, datas) são relidas do banco em vez de devolvidas como vieram do cliente
             return findById(conta.getId()).orElseThrow(() -> new RuntimeException("Erro ao recuperar conta atualizada"));
             
         } catch (SQLException e) {
@@ -207,6 +315,172 @@ public class ContaPagarRepository {
         }
     }
     
+    /**
+     * Atualiza os valores de baixa de várias contas em um único JDBC batch
+     * @param contas Contas já calculadas (com id)
+     */
+    public void updateEmLote(List<ContaPagar> contas) {
+        if (contas.isEmpty()) {
+            return;
+        }
+        
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SQL_UPDATE)) {
+            
+            for (ContaPagar conta : contas) {
+                preencherUpdate(stmt, conta);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao atualizar lote de contas a pagar", e);
+        }
+    }
+    
+    private void preencherUpdate(PreparedStatement stmt, ContaPagar conta) throws SQLException {
+        stmt.setBigDecimal(1, conta.getValorPago());
+        stmt.setBigDecimal(2, conta.getValorDesconto());
+        stmt.setBigDecimal(3, conta.getValorJuros());
+        stmt.setBigDecimal(4, conta.getValorMulta());
+        stmt.setBigDecimal(5, conta.getValorTotal());
+        stmt.setDate(6, conta.getDataPagamento() != null ? Date.valueOf(conta.getDataPagamento()) : null);
+        stmt.setObject(7, conta.getFormaPagamentoId());
+        stmt.setString(8, conta.getSituacao());
+        stmt.setString(9, conta.getObservacoes());
+        stmt.setLong(10, conta.getId());
+    }
+    
+    /**
+     * Busca várias contas por id, só com as colunas da tabela, travando as linhas até o
+     * fim da transação (deve ser chamado dentro de uma transação)
+     */
+    public List<ContaPagar> findByIdsParaAtualizar(Collection<Long> ids) {
+        List<ContaPagar> contas = new ArrayList<>();
+        if (ids.isEmpty()) {
+            return contas;
+        }
+        String sql = "SELECT * FROM contas_pagar WHERE id IN (" +
+                     String.join(", ", Collections.nCopies(ids.size(), "?")) + ") FOR UPDATE";
+        
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            int i = 1;
+            for (Long id : ids) {
+                stmt.setLong(i++, id);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    contas.add(mapearColunas(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao buscar contas a pagar", e);
+        }
+        
+        return contas;
+    }
+    
+    /**
+     * Percentuais de desconto, multa e juros da condição de pagamento da nota de cada
+     * conta, resolvidos em uma única consulta
+     * @return Condição por id da conta (contas sem nota ou sem condição ficam de fora)
+     */
+    public Map<Long, CondicaoPagamento> findCondicoesDasContas(Collection<Long> ids) {
+        Map<Long, CondicaoPagamento> condicoes = new HashMap<>();
+        if (ids.isEmpty()) {
+            return condicoes;
+        }
+        String sql = "SELECT c.id AS conta_id, cp.id, cp.condicao_pagamento, cp.percentual_desconto, " +
+                     "cp.percentual_multa, cp.percentual_juros " +
+                     "FROM contas_pagar c " +
+                     "JOIN nota_entrada n ON n.numero = c.nota_numero AND n.modelo = c.nota_modelo " +
+                     "AND n.serie = c.nota_serie AND n.fornecedor_id = c.fornecedor_id " +
+                     "JOIN condicao_pagamento cp ON cp.id = n.condicao_pagamento_id " +
+                     "WHERE c.id IN (" + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")";
+        
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            int i = 1;
+            for (Long id : ids) {
+                stmt.setLong(i++, id);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                // Contas da mesma condição compartilham a mesma instância
+                Map<Long, CondicaoPagamento> porId = new HashMap<>();
+                while (rs.next()) {
+                    CondicaoPagamento condicao = porId.get(rs.getLong("id"));
+                    if (condicao == null) {
+                        condicao = new CondicaoPagamento();
+                        condicao.setId(rs.getLong("id"));
+                        condicao.setCondicaoPagamento(rs.getString("condicao_pagamento"));
+                        condicao.setPercentualDesconto(rs.getDouble("percentual_desconto"));
+                        condicao.setPercentualMulta(rs.getDouble("percentual_multa"));
+                        condicao.setPercentualJuros(rs.getDouble("percentual_juros"));
+                        porId.put(condicao.getId(), condicao);
+                    }
+                    condicoes.put(rs.getLong("conta_id"), condicao);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao buscar condições de pagamento das contas", e);
+        }
+        
+        return condicoes;
+    }
+    
+    /**
+     * Vencimento atual da conta, sem carregar a conta inteira
+     */
+    public Optional<LocalDate> findDataVencimentoById(Long id) {
+        String sql = "SELECT data_vencimento FROM contas_pagar WHERE id = ?";
+        
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setLong(1, id);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(rs.getDate("data_vencimento").toLocalDate());
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao buscar vencimento da conta a pagar", e);
+        }
+        
+        return Optional.empty();
+    }
+    
+    /**
+     * Vencimentos distintos das contas de uma nota
+     */
+    public List<LocalDate> findDatasVencimentoByNota(String numero, String modelo, String serie, Long fornecedorId) {
+        List<LocalDate> datas = new ArrayList<>();
+        String sql = "SELECT DISTINCT data_vencimento FROM contas_pagar " +
+                     "WHERE nota_numero = ? AND nota_modelo = ? AND nota_serie = ? AND fornecedor_id = ?";
+        
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setString(1, numero);
+            stmt.setString(2, modelo);
+            stmt.setString(3, serie);
+            stmt.setLong(4, fornecedorId);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    datas.add(rs.getDate("data_vencimento").toLocalDate());
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao buscar vencimentos das contas da nota", e);
+        }
+        
+        return datas;
+    }
+    
     public void deleteById(Long id) {
         String sql = "DELETE FROM contas_pagar WHERE id = ?";
         
@@ -260,6 +534,51 @@ public class ContaPagarRepository {
     }
     
     private ContaPagar mapRowToContaPagar(ResultSet rs) throws SQLException {
+        ContaPagar conta = mapearColunas(rs);
+        
+        carregarRelacionamentos(conta);
+        
+        return conta;
+    }
+    
+    /**
+     * Carrega fornecedor e forma de pagamento da conta, pulando os que já estão carregados
+     * com o mesmo ID (caso comum depois de gravar uma conta que veio de findById)
+     */
+    private void carregarRelacionamentos(ContaPagar conta) {
+        if (conta.getFornecedor() == null || !conta.getFornecedorId().equals(conta.getFornecedor().getId())) {
+            fornecedorRepository.findById(conta.getFornecedorId()).ifPresent(conta::setFornecedor);
+        }
+        
+        if (conta.getFormaPagamentoId() == null) {
+            conta.setFormaPagamento(null);
+        } else if (conta.getFormaPagamento() == null
+                || !conta.getFormaPagamentoId().equals(conta.getFormaPagamento().getId())) {
+            formaPagamentoRepository.findById(conta.getFormaPagamentoId()).ifPresent(conta::setFormaPagamento);
+        }
+    }
+    
+    /**
+     * Carrega fornecedors e formas de pagamento de uma lista de contas com uma consulta para os
+     * fornecedors (formas de pagamento vêm do cache), em vez de consultas por conta
+     */
+    private void carregarRelacionamentos(List<ContaPagar> contas) {
+        Set<Long> fornecedorIds = new HashSet<>();
+        for (ContaPagar conta : contas) {
+            fornecedorIds.add(conta.getFornecedorId());
+        }
+        Map<Long, Fornecedor> fornecedors = fornecedorRepository.findByIds(fornecedorIds);
+        
+        for (ContaPagar conta : contas) {
+            conta.setFornecedor(fornecedors.get(conta.getFornecedorId()));
+            if (conta.getFormaPagamentoId() != null) {
+                formaPagamentoRepository.findById(conta.getFormaPagamentoId()).ifPresent(conta::setFormaPagamento);
+            }
+        }
+    }
+    
+    // Só as colunas de contas_pagar, sem relacionamentos
+    static ContaPagar mapearColunas(ResultSet rs) throws SQLException {
         ContaPagar conta = new ContaPagar();
         conta.setId(rs.getLong("id"));
         conta.setNotaNumero(rs.getString("nota_numero"));
@@ -296,14 +615,6 @@ public class ContaPagarRepository {
         Timestamp dataAlteracao = rs.getTimestamp("data_alteracao");
         conta.setDataAlteracao(dataAlteracao != null ? dataAlteracao.toLocalDateTime() : null);
         
-        // Carregar fornecedor
-        fornecedorRepository.findById(conta.getFornecedorId()).ifPresent(conta::setFornecedor);
-        
-        // Carregar forma de pagamento
-        if (formaPagamentoId != null) {
-            formaPagamentoRepository.findById(formaPagamentoId).ifPresent(conta::setFormaPagamento);
-        }
-        
         return conta;
     }
 }
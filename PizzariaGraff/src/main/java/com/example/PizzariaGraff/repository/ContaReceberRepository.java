@@ -1,12 +1,24 @@
 package com.example.PizzariaGraff.repository;
 
+import com.example.PizzariaGraff.model.Cliente;
+import com.example.PizzariaGraff.model.CondicaoPagamento;
 import com.example.PizzariaGraff.model.ContaReceber;
+import com.example.PizzariaGraff.model.Pagina;
+import com.example.PizzariaGraff.util.KeysetCursor;
 import org.springframework.stereotype.Repository;
 
 import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public class ContaReceberRepository {
@@ -32,12 +44,13 @@ public class ContaReceberRepository {
              ResultSet rs = stmt.executeQuery()) {
             
             while (rs.next()) {
-                contas.add(mapRowToContaReceber(rs));
+                contas.add(mapearColunas(rs));
             }
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao buscar contas a receber", e);
         }
         
+        carregarRelacionamentos(contas);
         return contas;
     }
     
@@ -72,13 +85,14 @@ public class ContaReceberRepository {
             
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    contas.add(mapRowToContaReceber(rs));
+                    contas.add(mapearColunas(rs));
                 }
             }
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao buscar contas por cliente", e);
         }
         
+        carregarRelacionamentos(contas);
         return contas;
     }
     
@@ -93,13 +107,14 @@ public class ContaReceberRepository {
             
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    contas.add(mapRowToContaReceber(rs));
+                    contas.add(mapearColunas(rs));
                 }
             }
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao buscar contas por situação", e);
         }
         
+        carregarRelacionamentos(contas);
         return contas;
     }
     
@@ -117,34 +132,95 @@ public class ContaReceberRepository {
             
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    contas.add(mapRowToContaReceber(rs));
+                    contas.add(mapearColunas(rs));
                 }
             }
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao buscar contas por nota", e);
         }
         
+        carregarRelacionamentos(contas);
         return contas;
     }
     
+    // Contas marcadas como VENCIDA pelo VencimentoService
     public List<ContaReceber> findVencidas() {
         List<ContaReceber> contas = new ArrayList<>();
-        String sql = "SELECT * FROM contas_receber WHERE situacao = 'PENDENTE' AND data_vencimento < CURDATE() ORDER BY data_vencimento ASC";
+        String sql = "SELECT * FROM contas_receber WHERE situacao = 'VENCIDA' ORDER BY data_vencimento ASC";
         
         try (Connection conn = databaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             
             while (rs.next()) {
-                contas.add(mapRowToContaReceber(rs));
+                contas.add(mapearColunas(rs));
             }
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao buscar contas vencidas", e);
         }
         
+        carregarRelacionamentos(contas);
         return contas;
     }
-    
+
+    /**
+     * Busca uma página de contas ordenada por vencimento, usando o cursor (data_vencimento, id)
+     * do último registro da página anterior em vez de OFFSET.
+     */
+    public Pagina<ContaReceber> findPagina(String situacao, LocalDate dataInicio, LocalDate dataFim,
+                                           Long clienteId, String cursor, int limite) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM contas_receber WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+
+        if (situacao != null && !situacao.isBlank()) {
+            sql.append(" AND situacao = ?");
+            params.add(situacao);
+        }
+        if (dataInicio != null) {
+            sql.append(" AND data_vencimento >= ?");
+            params.add(Date.valueOf(dataInicio));
+        }
+        if (dataFim != null) {
+            sql.append(" AND data_vencimento <= ?");
+            params.add(Date.valueOf(dataFim));
+        }
+        if (clienteId != null) {
+            sql.append(" AND cliente_id = ?");
+            params.add(clienteId);
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            String[] chave = KeysetCursor.decode(cursor, 2);
+            Date vencimento = Date.valueOf(chave[0]);
+            sql.append(" AND (data_vencimento > ? OR (data_vencimento = ? AND id > ?))");
+            params.add(vencimento);
+            params.add(vencimento);
+            params.add(Long.parseLong(chave[1]));
+        }
+        sql.append(" ORDER BY data_vencimento ASC, id ASC LIMIT ?");
+        params.add(limite + 1);
+
+        List<ContaReceber> contas = new ArrayList<>();
+
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+
+            for (int i = 0; i < params.size(); i++) {
+                stmt.setObject(i + 1, params.get(i));
+            }
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    contas.add(mapearColunas(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao buscar página de contas a receber", e);
+        }
+
+        carregarRelacionamentos(contas);
+        return Pagina.deLinhas(contas, limite, c -> KeysetCursor.encode(c.getDataVencimento(), c.getId()));
+    }
+
     public ContaReceber save(ContaReceber conta) {
         if (conta.getId() != null && conta.getId() > 0) {
             return update(conta);
@@ -153,15 +229,16 @@ public class ContaReceberRepository {
         }
     }
     
+    private static final String SQL_INSERT =
+            "INSERT INTO contas_receber (nota_numero, nota_modelo, nota_serie, cliente_id, " +
+            "numero_parcela, total_parcelas, valor_original, valor_recebido, valor_desconto, " +
+            "valor_juros, valor_multa, valor_total, data_emissao, data_vencimento, " +
+            "data_recebimento, forma_pagamento_id, situacao, observacoes) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
     private ContaReceber insert(ContaReceber conta) {
-        String sql = "INSERT INTO contas_receber (nota_numero, nota_modelo, nota_serie, cliente_id, " +
-                     "numero_parcela, total_parcelas, valor_original, valor_recebido, valor_desconto, " +
-                     "valor_juros, valor_multa, valor_total, data_emissao, data_vencimento, " +
-                     "data_recebimento, forma_pagamento_id, situacao, observacoes) " +
-                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        
         try (Connection conn = databaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement stmt = conn.prepareStatement(SQL_INSERT, Statement.RETURN_GENERATED_KEYS)) {
             
             setContaParameters(stmt, conta);
             stmt.executeUpdate();
@@ -172,34 +249,65 @@ public class ContaReceberRepository {
                 }
             }
             
-            return findById(conta.getId()).orElseThrow(() -> new RuntimeException("Erro ao recuperar conta inserida"));
+            LocalDateTime now = LocalDateTime.now();
+            conta.setDataCriacao(now);
+            conta.setDataAlteracao(now);
+            carregarRelacionamentos(conta);
+            return conta;
             
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao inserir conta a receber: " + e.getMessage(), e);
         }
     }
     
-    private ContaReceber update(ContaReceber conta) {
-        String sql = "UPDATE contas_receber SET valor_recebido = ?, valor_desconto = ?, valor_juros = ?, " +
-                     "valor_multa = ?, valor_total = ?, data_recebimento = ?, forma_pagamento_id = ?, " +
-                     "situacao = ?, observacoes = ? WHERE id = ?";
+    /**
+     * Insere várias contas em um único lote (JDBC batch), preenchendo os IDs gerados.
+     * Deve ser chamado dentro de uma transação para que o lote seja atômico.
+     * @param contas Contas novas (sem ID)
+     */
+    public void insertEmLote(List<ContaReceber> contas) {
+        if (contas.isEmpty()) {
+            return;
+        }
         
         try (Connection conn = databaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(SQL_INSERT, Statement.RETURN_GENERATED_KEYS)) {
             
-            stmt.setBigDecimal(1, conta.getValorRecebido());
-            stmt.setBigDecimal(2, conta.getValorDesconto());
-            stmt.setBigDecimal(3, conta.getValorJuros());
-            stmt.setBigDecimal(4, conta.getValorMulta());
-            stmt.setBigDecimal(5, conta.getValorTotal());
-            stmt.setDate(6, conta.getDataRecebimento() != null ? Date.valueOf(conta.getDataRecebimento()) : null);
-            stmt.setObject(7, conta.getFormaPagamentoId());
-            stmt.setString(8, conta.getSituacao());
-            stmt.setString(9, conta.getObservacoes());
-            stmt.setLong(10, conta.getId());
+            for (ContaReceber conta : contas) {
+                setContaParameters(stmt, conta);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
             
+            LocalDateTime now = LocalDateTime.now();
+            try (ResultSet rs = stmt.getGeneratedKeys()) {
+                for (ContaReceber conta : contas) {
+                    if (rs.next()) {
+                        conta.setId(rs.getLong(1));
+                    }
+                    conta.setDataCriacao(now);
+                    conta.setDataAlteracao(now);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao inserir lote de contas a receber", e);
+        }
+    }
+    
+    private static final String SQL_UPDATE =
+            "UPDATE contas_receber SET valor_recebido = ?, valor_desconto = ?, valor_juros = ?, " +
+            "valor_multa = ?, valor_total = ?, data_recebimento = ?, forma_pagamento_id = ?, " +
+            "situacao = ?, observacoes = ? WHERE id = ?";
+    
+    private ContaReceber update(ContaReceber conta) {
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SQL_UPDATE)) {
+            
+            preencherUpdate(stmt, conta);
             stmt.executeUpdate();
             
+            // O UPDATE só grava as colunas da baixa: as demais (valor original, vencimento,
+            // nota, datas) são relidas do banco em vez de devolvidas como vieram do cliente
             return findById(conta.getId()).orElseThrow(() -> new RuntimeException("Erro ao recuperar conta atualizada"));
             
         } catch (SQLException e) {
@@ -207,6 +315,172 @@ public class ContaReceberRepository {
         }
     }
     
+    /**
+     * Atualiza os valores de baixa de várias contas em um único JDBC batch
+     * @param contas Contas já calculadas (com id)
+     */
+    public void updateEmLote(List<ContaReceber> contas) {
+        if (contas.isEmpty()) {
+            return;
+        }
+        
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SQL_UPDATE)) {
+            
+            for (ContaReceber conta : contas) {
+                preencherUpdate(stmt, conta);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao atualizar lote de contas a receber", e);
+        }
+    }
+    
+    private void preencherUpdate(PreparedStatement stmt, ContaReceber conta) throws SQLException {
+        stmt.setBigDecimal(1, conta.getValorRecebido());
+        stmt.setBigDecimal(2, conta.getValorDesconto());
+        stmt.setBigDecimal(3, conta.getValorJuros());
+        stmt.setBigDecimal(4, conta.getValorMulta());
+        stmt.setBigDecimal(5, conta.getValorTotal());
+        stmt.setDate(6, conta.getDataRecebimento() != null ? Date.valueOf(conta.getDataRecebimento()) : null);
+        stmt.setObject(7, conta.getFormaPagamentoId());
+        stmt.setString(8, conta.getSituacao());
+        stmt.setString(9, conta.getObservacoes());
+        stmt.setLong(10, conta.getId());
+    }
+    
+    /**
+     * Busca várias contas por id, só com as colunas da tabela, travando as linhas até o
+     * fim da transação (deve ser chamado dentro de uma transação)
+     */
+    public List<ContaReceber> findByIdsParaAtualizar(Collection<Long> ids) {
+        List<ContaReceber> contas = new ArrayList<>();
+        if (ids.isEmpty()) {
+            return contas;
+        }
+        String sql = "SELECT * FROM contas_receber WHERE id IN (" +
+                     String.join(", ", Collections.nCopies(ids.size(), "?")) + ") FOR UPDATE";
+        
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            int i = 1;
+            for (Long id : ids) {
+                stmt.setLong(i++, id);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    contas.add(mapearColunas(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao buscar contas a receber", e);
+        }
+        
+        return contas;
+    }
+    
+    /**
+     * Percentuais de desconto, multa e juros da condição de pagamento da nota de cada
+     * conta, resolvidos em uma única consulta
+     * @return Condição por id da conta (contas sem nota ou sem condição ficam de fora)
+     */
+    public Map<Long, CondicaoPagamento> findCondicoesDasContas(Collection<Long> ids) {
+        Map<Long, CondicaoPagamento> condicoes = new HashMap<>();
+        if (ids.isEmpty()) {
+            return condicoes;
+        }
+        String sql = "SELECT c.id AS conta_id, cp.id, cp.condicao_pagamento, cp.percentual_desconto, " +
+                     "cp.percentual_multa, cp.percentual_juros " +
+                     "FROM contas_receber c " +
+                     "JOIN nota_saida n ON n.numero = c.nota_numero AND n.modelo = c.nota_modelo " +
+                     "AND n.serie = c.nota_serie AND n.cliente_id = c.cliente_id " +
+                     "JOIN condicao_pagamento cp ON cp.id = n.condicao_pagamento_id " +
+                     "WHERE c.id IN (" + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")";
+        
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            int i = 1;
+            for (Long id : ids) {
+                stmt.setLong(i++, id);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                // Contas da mesma condição compartilham a mesma instância
+                Map<Long, CondicaoPagamento> porId = new HashMap<>();
+                while (rs.next()) {
+                    CondicaoPagamento condicao = porId.get(rs.getLong("id"));
+                    if (condicao == null) {
+                        condicao = new CondicaoPagamento();
+                        condicao.setId(rs.getLong("id"));
+                        condicao.setCondicaoPagamento(rs.getString("condicao_pagamento"));
+                        condicao.setPercentualDesconto(rs.getDouble("percentual_desconto"));
+                        condicao.setPercentualMulta(rs.getDouble("percentual_multa"));
+                        condicao.setPercentualJuros(rs.getDouble("percentual_juros"));
+                        porId.put(condicao.getId(), condicao);
+                    }
+                    condicoes.put(rs.getLong("conta_id"), condicao);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao buscar condições de pagamento das contas", e);
+        }
+        
+        return condicoes;
+    }
+    
+    /**
+     * Vencimento atual da conta, sem carregar a conta inteira
+     */
+    public Optional<LocalDate> findDataVencimentoById(Long id) {
+        String sql = "SELECT data_vencimento FROM contas_receber WHERE id = ?";
+        
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setLong(1, id);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(rs.getDate("data_vencimento").toLocalDate());
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao buscar vencimento da conta a receber", e);
+        }
+        
+        return Optional.empty();
+    }
+    
+    /**
+     * Vencimentos distintos das contas de uma nota
+     */
+    public List<LocalDate> findDatasVencimentoByNota(String numero, String modelo, String serie, Long clienteId) {
+        List<LocalDate> datas = new ArrayList<>();
+        String sql = "SELECT DISTINCT data_vencimento FROM contas_receber " +
+                     "WHERE nota_numero = ? AND nota_modelo = ? AND nota_serie = ? AND cliente_id = ?";
+        
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setString(1, numero);
+            stmt.setString(2, modelo);
+            stmt.setString(3, serie);
+            stmt.setLong(4, clienteId);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    datas.add(rs.getDate("data_vencimento").toLocalDate());
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao buscar vencimentos das contas da nota", e);
+        }
+        
+        return datas;
+    }
+    
     public void deleteById(Long id) {
         String sql = "DELETE FROM contas_receber WHERE id = ?";
         
@@ -260,6 +534,51 @@ public class ContaReceberRepository {
     }
     
     private ContaReceber mapRowToContaReceber(ResultSet rs) throws SQLException {
+        ContaReceber conta = mapearColunas(rs);
+        
+        carregarRelacionamentos(conta);
+        
+        return conta;
+    }
+    
+    /**
+     * Carrega cliente e forma de pagamento da conta, pulando os que já estão carregados
+     * com o mesmo ID (caso comum depois de gravar uma conta que veio de findById)
+     */
+    private void carregarRelacionamentos(ContaReceber conta) {
+        if (conta.getCliente() == null || !conta.getClienteId().equals(conta.getCliente().getId())) {
+            clienteRepository.findById(conta.getClienteId()).ifPresent(conta::setCliente);
+        }
+        
+        if (conta.getFormaPagamentoId() == null) {
+            conta.setFormaPagamento(null);
+        } else if (conta.getFormaPagamento() == null
+                || !conta.getFormaPagamentoId().equals(conta.getFormaPagamento().getId())) {
+            formaPagamentoRepository.findById(conta.getFormaPagamentoId()).ifPresent(conta::setFormaPagamento);
+        }
+    }
+    
+    /**
+     * Carrega clientes e formas de pagamento de uma lista de contas com uma consulta para os
+     * clientes (formas de pagamento vêm do cache), em vez de consultas por conta
+     */
+    private void carregarRelacionamentos(List<ContaReceber> contas) {
+        Set<Long> clienteIds = new HashSet<>();
+        for (ContaReceber conta : contas) {
+            clienteIds.add(conta.getClienteId());
+        }
+        Map<Long, Cliente> clientes = clienteRepository.findByIds(clienteIds);
+        
+        for (ContaReceber conta : contas) {
+            conta.setCliente(clientes.get(conta.getClienteId()));
+            if (conta.getFormaPagamentoId() != null) {
+                formaPagamentoRepository.findById(conta.getFormaPagamentoId()).ifPresent(conta::setFormaPagamento);
+            }
+        }
+    }
+    
+    // Só as colunas de contas_receber, sem relacionamentos (também usado pelo módulo benchmarks)
+    static ContaReceber mapearColunas(ResultSet rs) throws SQLException {
         ContaReceber conta = new ContaReceber();
         conta.setId(rs.getLong("id"));
         conta.setNotaNumero(rs.getString("nota_numero"));
@@ -296,14 +615,6 @@ public class ContaReceberRepository {
         Timestamp dataAlteracao = rs.getTimestamp("data_alteracao");
         conta.setDataAlteracao(dataAlteracao != null ? dataAlteracao.toLocalDateTime() : null);
         
-        // Carregar cliente
-        clienteRepository.findById(conta.getClienteId()).ifPresent(conta::setCliente);
-        
-        // Carregar forma de pagamento
-        if (formaPagamentoId != null) {
-            formaPagamentoRepository.findById(formaPagamentoId).ifPresent(conta::setFormaPagamento);
-        }
-        
         return conta;
     }
 }
@@ -0,0 +1,84 @@
+package com.example.PizzariaGraff.repository;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * DataSource da aplicação: o pool do Hikari atrás do {@link LimiteConexoes}.
+ *
+ * Todos os caminhos até o banco passam por aqui (repositórios, JdbcTemplate e o
+ * gerenciador de transações), então conexões presas em transações também contam nas
+ * faixas. A permissão é devolvida no primeiro close() de cada conexão.
+ */
+public class DataSourceLimitado extends DelegatingDataSource implements AutoCloseable {
+
+    private final LimiteConexoes limiteConexoes;
+
+    public DataSourceLimitado(DataSource pool, LimiteConexoes limiteConexoes) {
+        super(pool);
+        this.limiteConexoes = limiteConexoes;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        limiteConexoes.adquirir();
+        try {
+            return liberarAoFechar(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            limiteConexoes.liberar();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        limiteConexoes.adquirir();
+        try {
+            return liberarAoFechar(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            limiteConexoes.liberar();
+            throw e;
+        }
+    }
+
+    /**
+     * Fecha o pool no encerramento da aplicação
+     */
+    @Override
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable pool) {
+            pool.close();
+        }
+    }
+
+    private Connection liberarAoFechar(Connection conn) {
+        boolean[] fechada = new boolean[1];
+        return (Connection) Proxy.newProxyInstance(DataSourceLimitado.class.getClassLoader(), new Class<?>[] {Connection.class},
+                (proxy, metodo, args) -> {
+                    if (metodo.getName().equals("close") && metodo.getParameterCount() == 0) {
+                        if (!fechada[0]) {
+                            fechada[0] = true;
+                            try {
+                                conn.close();
+                            } finally {
+                                limiteConexoes.liberar();
+                            }
+                        }
+                        return null;
+                    }
+                    if (metodo.getName().equals("isClosed") && fechada[0]) {
+                        return true;
+                    }
+                    try {
+                        return metodo.invoke(conn, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
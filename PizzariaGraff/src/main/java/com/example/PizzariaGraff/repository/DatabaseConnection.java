@@ -2,48 +2,42 @@ package com.example.PizzariaGraff.repository;
 
 import java.sql.Connection;
 import java.sql.SQLException;
-import com.zaxxer.hikari.HikariConfig;
-import com.zaxxer.hikari.HikariDataSource;
+import javax.sql.DataSource;
+import com.example.PizzariaGraff.config.MetricasRepositorio;
+import org.springframework.jdbc.datasource.TransactionAwareDataSourceProxy;
 
 /**
  * Classe responsável por gerenciar conexões com o banco de dados.
+ *
+ * Utiliza o mesmo pool (DataSource) do JdbcTemplate. Quando existe uma transação
+ * Spring ativa (@Transactional), a conexão devolvida é a que já está vinculada à
+ * transação, e o close() feito pelos repositórios apenas a libera, sem fechá-la.
+ * O DataSource é o {@link DataSourceLimitado}, então a espera registrada inclui a
+ * espera pelo limite de conexões.
  */
 public class DatabaseConnection {
-    
-    private final String jdbcUrl;
-    private final String username;
-    private final String password;
-    private final HikariDataSource dataSource;
 
-    public DatabaseConnection(String jdbcUrl, String username, String password) {
-        this.jdbcUrl = jdbcUrl;
-        this.username = username;
-        this.password = password;
-        
-        HikariConfig config = new HikariConfig();
-        config.setJdbcUrl(jdbcUrl);
-        config.setUsername(username);
-        config.setPassword(password);
-        config.setMaximumPoolSize(10);
-        config.setMinimumIdle(2);
-        config.setConnectionTimeout(30000);
-        config.setIdleTimeout(600000);
-        config.setMaxLifetime(1800000);
-        
-        this.dataSource = new HikariDataSource(config);
+    private final DataSource dataSource;
+    private final MetricasRepositorio metricas;
+
+    public DatabaseConnection(DataSource dataSource, MetricasRepositorio metricas) {
+        this.dataSource = new TransactionAwareDataSourceProxy(dataSource);
+        this.metricas = metricas;
     }
 
     /**
      * Obtém uma conexão com o banco de dados.
-     * 
-     * @return A conexão com o banco de dados.
+     *
+     * O tempo de espera pelo pool é registrado nas métricas do repositório que pediu a conexão.
+     *
+     * @return A conexão com o banco de dados (a da transação corrente, se houver).
      * @throws SQLException Se ocorrer um erro ao conectar ao banco de dados.
      */
     public Connection getConnection() throws SQLException {
+        long inicio = System.nanoTime();
         try {
-            System.out.println("Obtendo conexão do pool. URL: " + jdbcUrl);
             Connection conn = dataSource.getConnection();
-            System.out.println("Conexão obtida com sucesso.");
+            metricas.registrarEsperaConexao(System.nanoTime() - inicio);
             return conn;
         } catch (SQLException e) {
             System.err.println("ERRO AO CONECTAR AO BANCO: " + e.getMessage());
@@ -54,7 +48,7 @@ public class DatabaseConnection {
 
     /**
      * Fecha a conexão com o banco de dados.
-     * 
+     *
      * @param connection A conexão a ser fechada.
      */
     public void closeConnection(Connection connection) {
@@ -66,13 +60,4 @@ public class DatabaseConnection {
             }
         }
     }
-    
-    /**
-     * Fecha o pool de conexões ao encerrar a aplicação.
-     */
-    public void close() {
-        if (dataSource != null && !dataSource.isClosed()) {
-            dataSource.close();
-        }
-    }
-} 
\ No newline at end of file
+}
@@ -15,12 +15,13 @@ import java.util.Optional;
 public class EstadoRepository {
     
     private final DatabaseConnection databaseConnection;
+    private final CacheReferencia cache;
     private final PaisRepository paisRepository;
     
-    public EstadoRepository(DatabaseConnection databaseConnection, PaisRepository paisRepository) {
+    public EstadoRepository(DatabaseConnection databaseConnection, PaisRepository paisRepository, CachesReferencia cachesReferencia) {
         this.databaseConnection = databaseConnection;
+        this.cache = cachesReferencia.cache("estado", "pais");
         this.paisRepository = paisRepository;
-        verificarEstruturaBanco();
     }
     
     /**
@@ -40,106 +41,14 @@ public class EstadoRepository {
         return databaseConnection.getConnection();
     }
     
-    // Método para verificar e corrigir a estrutura da tabela
-    private void verificarEstruturaBanco() {
-        try {
-            Connection conn = databaseConnection.getConnection();
-            DatabaseMetaData metaData = conn.getMetaData();
-            
-            // Verificar se a coluna ativo existe
-            boolean temAtivo = false;
-            
-            try (ResultSet colunas = metaData.getColumns(null, null, "estado", "ativo")) {
-                temAtivo = colunas.next();
-            }
-            
-            if (!temAtivo) {
-                System.out.println("Adicionando coluna ativo à tabela estado");
-                try (Statement stmt = conn.createStatement()) {
-                    stmt.execute("ALTER TABLE estado ADD COLUMN ativo BOOLEAN NOT NULL DEFAULT true");
-                    System.out.println("Coluna ativo adicionada à tabela estado");
-                    stmt.execute("UPDATE estado SET ativo = true");
-                    System.out.println("Registros atualizados com ativo = true");
-                }
-            }
-        } catch (SQLException e) {
-            System.err.println("Erro ao verificar/modificar estrutura da tabela estado: " + e.getMessage());
-            e.printStackTrace();
-        }
-    }
     
     public List<Estado> findAll() {
+        return cache.lista("findAll", this::findAllDoBanco);
+    }
+
+    private List<Estado> findAllDoBanco() {
         List<Estado> estados = new ArrayList<>();
         
-        // Verificar se as colunas de data existem
-        try (Connection conn = databaseConnection.getConnection()) {
-            DatabaseMetaData metaData = conn.getMetaData();
-            
-            // Verificar se a tabela existe
-            boolean tabelaExiste = false;
-            try (ResultSet rs = metaData.getTables(null, null, null, new String[]{"TABLE"})) {
-                while (rs.next()) {
-                    String tableName = rs.getString("TABLE_NAME");
-                    System.out.println("Tabela encontrada: " + tableName);
-                    if ("estado".equalsIgnoreCase(tableName)) {
-                        tabelaExiste = true;
-                        break;
-                    }
-                }
-            }
-            
-            if (tabelaExiste) {
-                // Verificar se as colunas de data existem
-                boolean temDataCadastro = false;
-                boolean temUltimaModificacao = false;
-                
-                try (ResultSet colunas = metaData.getColumns(null, null, "estado", null)) {
-                    System.out.println("Verificando colunas da tabela estado:");
-                    while (colunas.next()) {
-                        String colName = colunas.getString("COLUMN_NAME");
-                        String colType = colunas.getString("TYPE_NAME");
-                        System.out.println("  - Coluna: " + colName + ", Tipo: " + colType);
-                        
-                        if ("data_cadastro".equalsIgnoreCase(colName)) {
-                            temDataCadastro = true;
-                        } else if ("ultima_modificacao".equalsIgnoreCase(colName)) {
-                            temUltimaModificacao = true;
-                        }
-                    }
-                }
-                
-                if (!temDataCadastro || !temUltimaModificacao) {
-                    System.out.println("Adicionando colunas de data à tabela estado");
-                    try (Statement stmt = conn.createStatement()) {
-                        if (!temDataCadastro) {
-                            stmt.execute("ALTER TABLE estado ADD COLUMN data_cadastro TIMESTAMP");
-                            System.out.println("Coluna data_cadastro adicionada à tabela estado");
-                        }
-                        
-                        if (!temUltimaModificacao) {
-                            stmt.execute("ALTER TABLE estado ADD COLUMN ultima_modificacao TIMESTAMP");
-                            System.out.println("Coluna ultima_modificacao adicionada à tabela estado");
-                        }
-                        
-                        // Se adicionamos as colunas, atualizar registros existentes com a data atual
-                        if (!temDataCadastro || !temUltimaModificacao) {
-                            LocalDateTime now = LocalDateTime.now();
-                            stmt.execute("UPDATE estado SET " + 
-                                        (!temDataCadastro ? "data_cadastro = '" + Timestamp.valueOf(now) + "'" : "") +
-                                        (!temDataCadastro && !temUltimaModificacao ? ", " : "") +
-                                        (!temUltimaModificacao ? "ultima_modificacao = '" + Timestamp.valueOf(now) + "'" : ""));
-                            System.out.println("Registros existentes atualizados com datas");
-                        }
-                    }
-                }
-            } else {
-                System.out.println("Tabela 'estado' não existe, será criada quando necessário");
-            }
-        } catch (SQLException e) {
-            System.err.println("Erro ao verificar/modificar estrutura da tabela estado: " + e.getMessage());
-            e.printStackTrace();
-        }
-        
         String sql = "SELECT e.*, p.nome as pais_nome, p.sigla as pais_sigla, p.codigo as pais_codigo " +
                      "FROM estado e " +
                      "LEFT JOIN pais p ON e.pais_id = p.id " +
@@ -183,6 +92,10 @@ public class EstadoRepository {
     }
     
     public Optional<Estado> findById(Long id) {
+        return cache.obter("findById:" + id, () -> findByIdDoBanco(id));
+    }
+
+    private Optional<Estado> findByIdDoBanco(Long id) {
         String sql = "SELECT e.*, p.nome as pais_nome, p.sigla as pais_sigla, p.codigo as pais_codigo " +
                      "FROM estado e " +
                      "LEFT JOIN pais p ON e.pais_id = p.id " +
@@ -223,6 +136,10 @@ public class EstadoRepository {
     }
     
     public List<Estado> findByPaisId(Long paisId) {
+        return cache.lista("findByPaisId:" + paisId, () -> findByPaisIdDoBanco(paisId));
+    }
+
+    private List<Estado> findByPaisIdDoBanco(Long paisId) {
         List<Estado> estados = new ArrayList<>();
         String sql = "SELECT e.*, p.nome as pais_nome, p.sigla as pais_sigla, p.codigo as pais_codigo " +
                      "FROM estado e " +
@@ -257,6 +174,14 @@ public class EstadoRepository {
     }
     
     public Estado save(Estado estado) {
+        try {
+            return saveNoBanco(estado);
+        } finally {
+            cache.invalidar();
+        }
+    }
+
+    private Estado saveNoBanco(Estado estado) {
         if (estado.getId() == null) {
             return insert(estado);
         } else {
@@ -360,6 +285,14 @@ public class EstadoRepository {
     }
     
     public void deleteById(Long id) {
+        try {
+            deleteByIdNoBanco(id);
+        } finally {
+            cache.invalidar();
+        }
+    }
+
+    private void deleteByIdNoBanco(Long id) {
         String sql = "DELETE FROM estado WHERE id = ?";
         
         try (Connection conn = databaseConnection.getConnection();
@@ -377,6 +310,10 @@ public class EstadoRepository {
     }
     
     public List<Estado> findAllAtivos() {
+        return cache.lista("findAllAtivos", this::findAllAtivosDoBanco);
+    }
+
+    private List<Estado> findAllAtivosDoBanco() {
         List<Estado> estados = new ArrayList<>();
         String sql = "SELECT e.*, p.nome as pais_nome, p.sigla as pais_sigla, p.codigo as pais_codigo " +
                      "FROM estado e " +
@@ -408,6 +345,14 @@ public class EstadoRepository {
     }
     
     public void softDeleteById(Long id) {
+        try {
+            softDeleteByIdNoBanco(id);
+        } finally {
+            cache.invalidar();
+        }
+    }
+
+    private void softDeleteByIdNoBanco(Long id) {
         String sql = "UPDATE estado SET ativo = false WHERE id = ?";
         
         try (Connection conn = databaseConnection.getConnection();
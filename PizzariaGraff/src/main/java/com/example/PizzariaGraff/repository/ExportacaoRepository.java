@@ -0,0 +1,169 @@
+package com.example.PizzariaGraff.repository;
+
+import com.example.PizzariaGraff.util.EscritorExportacao;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Leitura das tabelas financeiras e de notas para exportação.
+ *
+ * As linhas são lidas com um cursor somente para frente e repassadas uma a uma ao
+ * {@link EscritorExportacao}, sem montar objetos de modelo nem listas: o driver do
+ * MariaDB busca {@value #LINHAS_POR_BUSCA} linhas por vez, então a memória usada não
+ * depende do tamanho do período exportado. A conexão fica ocupada até o fim da escrita.
+ */
+@Repository
+public class ExportacaoRepository {
+
+    public static final String CONTAS_RECEBER = "contas-receber";
+    public static final String CONTAS_PAGAR = "contas-pagar";
+    public static final String NOTAS_SAIDA = "notas-saida";
+    public static final String NOTAS_ENTRADA = "notas-entrada";
+
+    private static final int LINHAS_POR_BUSCA = 500;
+
+    private static final Map<String, Consulta> CONSULTAS = Map.of(
+            CONTAS_RECEBER, new Consulta(
+                    "SELECT cr.id, cr.nota_numero, cr.nota_modelo, cr.nota_serie, cr.numero_parcela, " +
+                    "cr.total_parcelas, cr.cliente_id, c.cliente AS cliente_nome, cr.forma_pagamento_id, " +
+                    "cr.valor_original, cr.valor_desconto, cr.valor_juros, cr.valor_multa, cr.valor_total, " +
+                    "cr.valor_recebido, cr.data_emissao, cr.data_vencimento, cr.data_recebimento, " +
+                    "cr.situacao, cr.observacoes, cr.data_criacao, cr.data_alteracao " +
+                    "FROM contas_receber cr LEFT JOIN cliente c ON c.id = cr.cliente_id",
+                    "cr", "data_vencimento", Set.of("data_vencimento", "data_emissao", "data_recebimento"), "cr.id"),
+            CONTAS_PAGAR, new Consulta(
+                    "SELECT cp.id, cp.nota_numero, cp.nota_modelo, cp.nota_serie, cp.numero_parcela, " +
+                    "cp.total_parcelas, cp.fornecedor_id, f.fornecedor AS fornecedor_nome, cp.forma_pagamento_id, " +
+                    "cp.valor_original, cp.valor_desconto, cp.valor_juros, cp.valor_multa, cp.valor_total, " +
+                    "cp.valor_pago, cp.data_emissao, cp.data_vencimento, cp.data_pagamento, " +
+                    "cp.situacao, cp.observacoes, cp.data_criacao, cp.data_alteracao " +
+                    "FROM contas_pagar cp LEFT JOIN fornecedor f ON f.id = cp.fornecedor_id",
+                    "cp", "data_vencimento", Set.of("data_vencimento", "data_emissao", "data_pagamento"), "cp.id"),
+            NOTAS_SAIDA, new Consulta(
+                    "SELECT ns.numero, ns.modelo, ns.serie, ns.cliente_id, c.cliente AS cliente_nome, " +
+                    "ns.data_emissao, ns.data_saida, ns.tipo_frete, ns.valor_produtos, ns.valor_frete, " +
+                    "ns.valor_seguro, ns.outras_despesas, ns.valor_desconto, ns.valor_total, " +
+                    "ns.condicao_pagamento_id, ns.transportadora_id, ns.placa_veiculo, ns.situacao, " +
+                    "ns.observacoes, ns.data_criacao, ns.data_alteracao " +
+                    "FROM nota_saida ns LEFT JOIN cliente c ON c.id = ns.cliente_id",
+                    "ns", "data_emissao", Set.of("data_emissao", "data_saida"), "ns.numero, ns.modelo, ns.serie"),
+            NOTAS_ENTRADA, new Consulta(
+                    "SELECT ne.numero, ne.modelo, ne.serie, ne.fornecedor_id, f.fornecedor AS fornecedor_nome, " +
+                    "ne.data_emissao, ne.data_chegada, ne.tipo_frete, ne.valor_produtos, ne.valor_frete, " +
+                    "ne.valor_seguro, ne.outras_despesas, ne.valor_desconto, ne.valor_total, " +
+                    "ne.condicao_pagamento_id, ne.transportadora_id, ne.placa_veiculo, ne.situacao, " +
+                    "ne.observacoes, ne.data_criacao, ne.data_alteracao " +
+                    "FROM nota_entrada ne LEFT JOIN fornecedor f ON f.id = ne.fornecedor_id",
+                    "ne", "data_emissao", Set.of("data_emissao", "data_chegada"), "ne.numero, ne.modelo, ne.serie")
+    );
+
+    private final DatabaseConnection databaseConnection;
+
+    public ExportacaoRepository(DatabaseConnection databaseConnection) {
+        this.databaseConnection = databaseConnection;
+    }
+
+    public static boolean tabelaValida(String tabela) {
+        return CONSULTAS.containsKey(tabela);
+    }
+
+    public static String campoDataPadrao(String tabela) {
+        return CONSULTAS.get(tabela).campoDataPadrao;
+    }
+
+    public static boolean campoDataValido(String tabela, String campoData) {
+        return CONSULTAS.get(tabela).camposData.contains(campoData);
+    }
+
+    /**
+     * Escreve as linhas da tabela no escritor, na ordem do campo de data
+     * @param tabela Uma das constantes de tabela desta classe
+     * @param campoData Coluna de data usada no filtro e na ordenação
+     * @param inicio Data inicial (inclusive), ou null
+     * @param fim Data final (inclusive), ou null
+     * @param situacoes Situações aceitas; vazio para todas
+     * @return Quantidade de linhas escritas
+     * @throws IOException se a escrita para o cliente falhar
+     */
+    public long exportar(String tabela, String campoData, LocalDate inicio, LocalDate fim,
+                         List<String> situacoes, EscritorExportacao escritor) throws IOException {
+        Consulta consulta = CONSULTAS.get(tabela);
+        String coluna = consulta.alias + "." + campoData;
+
+        StringBuilder sql = new StringBuilder(consulta.select).append(" WHERE 1 = 1");
+        List<Object> parametros = new ArrayList<>();
+        if (inicio != null) {
+            sql.append(" AND ").append(coluna).append(" >= ?");
+            parametros.add(Date.valueOf(inicio));
+        }
+        if (fim != null) {
+            sql.append(" AND ").append(coluna).append(" <= ?");
+            parametros.add(Date.valueOf(fim));
+        }
+        if (!situacoes.isEmpty()) {
+            sql.append(" AND ").append(consulta.alias).append(".situacao IN (")
+                    .append(String.join(", ", Collections.nCopies(situacoes.size(), "?"))).append(")");
+            parametros.addAll(situacoes);
+        }
+        sql.append(" ORDER BY ").append(coluna).append(", ").append(consulta.chave);
+
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString(),
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            stmt.setFetchSize(LINHAS_POR_BUSCA);
+            for (int i = 0; i < parametros.size(); i++) {
+                stmt.setObject(i + 1, parametros.get(i));
+            }
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                ResultSetMetaData metaData = rs.getMetaData();
+                int colunas = metaData.getColumnCount();
+                String[] nomes = new String[colunas];
+                for (int i = 0; i < colunas; i++) {
+                    nomes[i] = metaData.getColumnLabel(i + 1);
+                }
+                escritor.iniciar(nomes);
+
+                // O mesmo array é reaproveitado: o escritor não guarda referência às linhas
+                Object[] valores = new Object[colunas];
+                long total = 0;
+                while (rs.next()) {
+                    for (int i = 0; i < colunas; i++) {
+                        valores[i] = rs.getObject(i + 1);
+                    }
+                    escritor.escrever(valores);
+                    total++;
+                }
+                escritor.finalizar();
+                return total;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao exportar " + tabela, e);
+        }
+    }
+
+    private static class Consulta {
+        final String select;
+        final String alias;
+        final String campoDataPadrao;
+        final Set<String> camposData;
+        final String chave;
+
+        Consulta(String select, String alias, String campoDataPadrao, Set<String> camposData, String chave) {
+            this.select = select;
+            this.alias = alias;
+            this.campoDataPadrao = campoDataPadrao;
+            this.camposData = camposData;
+            this.chave = chave;
+        }
+    }
+}
@@ -14,76 +14,13 @@ import java.util.Optional;
 public class FormaPagamentoRepository {
     
     private final DatabaseConnection databaseConnection;
+    private final CacheReferencia cache;
     
-    public FormaPagamentoRepository(DatabaseConnection databaseConnection) {
+    public FormaPagamentoRepository(DatabaseConnection databaseConnection, CachesReferencia cachesReferencia) {
         this.databaseConnection = databaseConnection;
-        verificarEstruturaBanco();
+        this.cache = cachesReferencia.cache("forma_pagamento");
     }
     
-    // Método para verificar e corrigir a estrutura da tabela
-    private void verificarEstruturaBanco() {
-        try (Connection conn = databaseConnection.getConnection()) {
-            DatabaseMetaData metaData = conn.getMetaData();
-            
-            // Verificar se a tabela existe
-            boolean tabelaExiste = false;
-            try (ResultSet rs = metaData.getTables(null, null, null, new String[]{"TABLE"})) {
-                while (rs.next()) {
-                    String tableName = rs.getString("TABLE_NAME");
-                    System.out.println("Tabela encontrada: " + tableName);
-                    if ("forma_pagamento".equalsIgnoreCase(tableName)) {
-                        tabelaExiste = true;
-                        break;
-                    }
-                }
-            }
-            
-            if (tabelaExiste) {
-                // Verificar se as colunas de data existem
-                boolean temDataCadastro = false;
-                boolean temUltimaModificacao = false;
-                
-                try (ResultSet colunas = metaData.getColumns(null, null, "forma_pagamento", null)) {
-                    System.out.println("Verificando colunas da tabela forma_pagamento:");
-                    while (colunas.next()) {
-                        String colName = colunas.getString("COLUMN_NAME");
-                        String colType = colunas.getString("TYPE_NAME");
-                        System.out.println("  - Coluna: " + colName + ", Tipo: " + colType);
-                        
-                        if ("data_cadastro".equalsIgnoreCase(colName)) {
-                            temDataCadastro = true;
-                        } else if ("ultima_modificacao".equalsIgnoreCase(colName)) {
-                            temUltimaModificacao = true;
-                        }
-                    }
-                }
-                
-                if (!temDataCadastro || !temUltimaModificacao) {
-                    System.out.println("Adicionando colunas de data à tabela forma_pagamento");
-                    try (Statement stmt = conn.createStatement()) {
-                        if (!temDataCadastro) {
-                            stmt.execute("ALTER TABLE forma_pagamento ADD COLUMN data_cadastro TIMESTAMP");
-                            System.out.println("Coluna data_cadastro adicionada à tabela forma_pagamento");
-                            stmt.execute("UPDATE forma_pagamento SET data_cadastro = CURRENT_TIMESTAMP");
-                            System.out.println("Registros atualizados com data_cadastro atual");
-                        }
-                        
-                        if (!temUltimaModificacao) {
-                            stmt.execute("ALTER TABLE forma_pagamento ADD COLUMN ultima_modificacao TIMESTAMP");
-                            System.out.println("Coluna ultima_modificacao adicionada à tabela forma_pagamento");
-                            stmt.execute("UPDATE forma_pagamento SET ultima_modificacao = CURRENT_TIMESTAMP");
-                            System.out.println("Registros atualizados com ultima_modificacao atual");
-                        }
-                    }
-                }
-            } else {
-                System.out.println("Tabela 'forma_pagamento' não existe, será criada quando necessário");
-            }
-        } catch (SQLException e) {
-            System.err.println("Erro ao verificar/modificar estrutura da tabela forma_pagamento: " + e.getMessage());
-            e.printStackTrace();
-        }
-    }
     
     public List<FormaPagamento> findAll() {
         System.out.println("Iniciando busca de todas as formas de pagamento");
@@ -97,6 +34,10 @@ public class FormaPagamentoRepository {
     }
     
     public List<FormaPagamento> findAllByOrderByDescricaoAsc() {
+        return cache.lista("findAllByOrderByDescricaoAsc", this::findAllByOrderByDescricaoAscDoBanco);
+    }
+
+    private List<FormaPagamento> findAllByOrderByDescricaoAscDoBanco() {
         List<FormaPagamento> formas = new ArrayList<>();
         String sql = "SELECT * FROM forma_pagamento ORDER BY descricao ASC";
         
@@ -139,6 +80,10 @@ public class FormaPagamentoRepository {
     }
     
     public List<FormaPagamento> findByAtivoTrue() {
+        return cache.lista("findByAtivoTrue", this::findByAtivoTrueDoBanco);
+    }
+
+    private List<FormaPagamento> findByAtivoTrueDoBanco() {
         List<FormaPagamento> formas = new ArrayList<>();
         String sql = "SELECT * FROM forma_pagamento WHERE ativo = true ORDER BY descricao ASC";
         
@@ -157,6 +102,10 @@ public class FormaPagamentoRepository {
     }
     
     public Optional<FormaPagamento> findById(Long id) {
+        return cache.obter("findById:" + id, () -> findByIdDoBanco(id));
+    }
+
+    private Optional<FormaPagamento> findByIdDoBanco(Long id) {
         String sql = "SELECT * FROM forma_pagamento WHERE id = ?";
         
         try (Connection conn = databaseConnection.getConnection();
@@ -176,6 +125,14 @@ public class FormaPagamentoRepository {
     }
     
     public FormaPagamento save(FormaPagamento formaPagamento) {
+        try {
+            return saveNoBanco(formaPagamento);
+        } finally {
+            cache.invalidar();
+        }
+    }
+
+    private FormaPagamento saveNoBanco(FormaPagamento formaPagamento) {
         if (formaPagamento.getId() == null) {
             return insert(formaPagamento);
         } else {
@@ -237,6 +194,14 @@ public class FormaPagamentoRepository {
     }
     
     public void deleteById(Long id) {
+        try {
+            deleteByIdNoBanco(id);
+        } finally {
+            cache.invalidar();
+        }
+    }
+
+    private void deleteByIdNoBanco(Long id) {
         String sql = "DELETE FROM forma_pagamento WHERE id = ?";
         
         try (Connection conn = databaseConnection.getConnection();
@@ -6,8 +6,15 @@ import org.springframework.stereotype.Repository;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public class FornecedorRepository {
@@ -56,6 +63,38 @@ public class FornecedorRepository {
         return Optional.empty();
     }
 
+    /**
+     * Busca vários fornecedores em uma consulta
+     * @return Fornecedores encontrados, por ID
+     */
+    public Map<Long, Fornecedor> findByIds(Collection<Long> ids) {
+        Map<Long, Fornecedor> fornecedores = new HashMap<>();
+        if (ids.isEmpty()) {
+            return fornecedores;
+        }
+        String sql = "SELECT * FROM fornecedor WHERE id IN (" +
+                     String.join(", ", Collections.nCopies(ids.size(), "?")) + ")";
+
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            int i = 1;
+            for (Long id : ids) {
+                stmt.setLong(i++, id);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Fornecedor fornecedor = mapResultSetToFornecedor(rs);
+                    fornecedores.put(fornecedor.getId(), fornecedor);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao buscar fornecedores por ID", e);
+        }
+
+        return fornecedores;
+    }
+
     public List<Fornecedor> findByFornecedor(String nome) {
         List<Fornecedor> fornecedores = new ArrayList<>();
         String sql = "SELECT * FROM fornecedor WHERE fornecedor LIKE ? ORDER BY fornecedor";
@@ -105,39 +144,91 @@ public class FornecedorRepository {
         }
     }
 
-    private Fornecedor insert(Fornecedor fornecedor) {
-        String sql = "INSERT INTO fornecedor (fornecedor, apelido, bairro, cep, complemento, endereco, numero, " +
-                     "cidade_id, rg_inscricao_estadual, cpf_cnpj, email, telefone, tipo, observacoes, " +
-                     "condicao_pagamento_id, limite_credito, data_criacao, data_alteracao, " +
-                     "ativo, nacionalidade_id, transportadora_id) " +
-                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SQL_INSERT =
+            "INSERT INTO fornecedor (fornecedor, apelido, bairro, cep, complemento, endereco, numero, " +
+            "cidade_id, rg_inscricao_estadual, cpf_cnpj, email, telefone, tipo, observacoes, " +
+            "condicao_pagamento_id, limite_credito, data_criacao, data_alteracao, " +
+            "ativo, nacionalidade_id, transportadora_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Busca, em uma única consulta, quais dos valores informados já estão cadastrados
+     * @param valores CPF/CNPJ a verificar
+     * @return Valores já existentes na coluna cpf_cnpj
+     */
+    public Set<String> findCpfCnpjExistentes(Collection<String> valores) {
+        Set<String> existentes = new HashSet<>();
+        if (valores == null || valores.isEmpty()) {
+            return existentes;
+        }
+
+        List<String> distintos = new ArrayList<>(new LinkedHashSet<>(valores));
+        String sql = "SELECT cpf_cnpj FROM fornecedor WHERE cpf_cnpj IN (" +
+                     String.join(", ", Collections.nCopies(distintos.size(), "?")) + ")";
+
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            for (int i = 0; i < distintos.size(); i++) {
+                stmt.setString(i + 1, distintos.get(i));
+            }
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    existentes.add(rs.getString(1));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao verificar CPF/CNPJ existentes", e);
+        }
+
+        return existentes;
+    }
+
+    /**
+     * Insere vários registros em um único lote (JDBC batch), preenchendo os IDs gerados.
+     * Deve ser chamado dentro de uma transação para que o lote seja atômico.
+     * @param fornecedores Registros novos (sem ID)
+     */
+    public void insertEmLote(List<Fornecedor> fornecedores) {
+        if (fornecedores.isEmpty()) {
+            return;
+        }
 
         try (Connection conn = databaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement stmt = conn.prepareStatement(SQL_INSERT, Statement.RETURN_GENERATED_KEYS)) {
 
             LocalDateTime now = LocalDateTime.now();
+            for (Fornecedor fornecedor : fornecedores) {
+                preencherInsert(stmt, fornecedor, now);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+
+            try (ResultSet rs = stmt.getGeneratedKeys()) {
+                for (Fornecedor fornecedor : fornecedores) {
+                    if (rs.next()) {
+                        fornecedor.setId(rs.getLong(1));
+                    }
+                    if (fornecedor.getDataCriacao() == null) {
+                        fornecedor.setDataCriacao(now);
+                    }
+                    if (fornecedor.getDataAlteracao() == null) {
+                        fornecedor.setDataAlteracao(now);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao inserir lote de fornecedores", e);
+        }
+    }
 
-            stmt.setString(1, fornecedor.getFornecedor());
-            stmt.setString(2, fornecedor.getApelido());
-            stmt.setString(3, fornecedor.getBairro());
-            stmt.setString(4, fornecedor.getCep());
-            stmt.setString(5, fornecedor.getComplemento());
-            stmt.setString(6, fornecedor.getEndereco());
-            stmt.setString(7, fornecedor.getNumero());
-            stmt.setObject(8, fornecedor.getCidadeId());
-            stmt.setObject(9, fornecedor.getRgInscricaoEstadual());
-            stmt.setString(10, fornecedor.getCpfCnpj());
-            stmt.setString(11, fornecedor.getEmail());
-            stmt.setString(12, fornecedor.getTelefone());
-            stmt.setInt(13, fornecedor.getTipo());
-            stmt.setString(14, fornecedor.getObservacoes());
-            stmt.setObject(15, fornecedor.getCondicaoPagamentoId());
-            stmt.setBigDecimal(16, fornecedor.getLimiteCredito());
-            stmt.setTimestamp(17, fornecedor.getDataCriacao() != null ? Timestamp.valueOf(fornecedor.getDataCriacao()) : Timestamp.valueOf(now));
-            stmt.setTimestamp(18, fornecedor.getDataAlteracao() != null ? Timestamp.valueOf(fornecedor.getDataAlteracao()) : Timestamp.valueOf(now));
-            stmt.setBoolean(19, fornecedor.getAtivo() != null ? fornecedor.getAtivo() : true);
-            stmt.setObject(20, fornecedor.getNacionalidadeId());
-            stmt.setObject(21, fornecedor.getTransportadoraId());
+    private Fornecedor insert(Fornecedor fornecedor) {
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SQL_INSERT, Statement.RETURN_GENERATED_KEYS)) {
+
+            LocalDateTime now = LocalDateTime.now();
+            preencherInsert(stmt, fornecedor, now);
 
             stmt.executeUpdate();
 
@@ -161,6 +252,30 @@ public class FornecedorRepository {
         return fornecedor;
     }
 
+    private void preencherInsert(PreparedStatement stmt, Fornecedor fornecedor, LocalDateTime now) throws SQLException {
+        stmt.setString(1, fornecedor.getFornecedor());
+        stmt.setString(2, fornecedor.getApelido());
+        stmt.setString(3, fornecedor.getBairro());
+        stmt.setString(4, fornecedor.getCep());
+        stmt.setString(5, fornecedor.getComplemento());
+        stmt.setString(6, fornecedor.getEndereco());
+        stmt.setString(7, fornecedor.getNumero());
+        stmt.setObject(8, fornecedor.getCidadeId());
+        stmt.setObject(9, fornecedor.getRgInscricaoEstadual());
+        stmt.setString(10, fornecedor.getCpfCnpj());
+        stmt.setString(11, fornecedor.getEmail());
+        stmt.setString(12, fornecedor.getTelefone());
+        stmt.setInt(13, fornecedor.getTipo());
+        stmt.setString(14, fornecedor.getObservacoes());
+        stmt.setObject(15, fornecedor.getCondicaoPagamentoId());
+        stmt.setBigDecimal(16, fornecedor.getLimiteCredito());
+        stmt.setTimestamp(17, fornecedor.getDataCriacao() != null ? Timestamp.valueOf(fornecedor.getDataCriacao()) : Timestamp.valueOf(now));
+        stmt.setTimestamp(18, fornecedor.getDataAlteracao() != null ? Timestamp.valueOf(fornecedor.getDataAlteracao()) : Timestamp.valueOf(now));
+        stmt.setBoolean(19, fornecedor.getAtivo() != null ? fornecedor.getAtivo() : true);
+        stmt.setObject(20, fornecedor.getNacionalidadeId());
+        stmt.setObject(21, fornecedor.getTransportadoraId());
+    }
+
     private Fornecedor update(Fornecedor fornecedor) {
         String sql = "UPDATE fornecedor SET fornecedor = ?, apelido = ?, bairro = ?, cep = ?, complemento = ?, " +
                      "endereco = ?, numero = ?, cidade_id = ?, rg_inscricao_estadual = ?, cpf_cnpj = ?, " +
@@ -17,26 +17,8 @@ public class FuncaoFuncionarioRepository {
     
     public FuncaoFuncionarioRepository(DatabaseConnection databaseConnection) {
         this.databaseConnection = databaseConnection;
-        verificarEstruturaBanco();
     }
 
-    private void verificarEstruturaBanco() {
-        try (Connection conn = databaseConnection.getConnection()) {
-            DatabaseMetaData metaData = conn.getMetaData();
-            
-            String[] newColumns = {"funcao_funcionario", "requer_cnh", "carga_horaria", "observacao", "data_criacao", "data_alteracao"};
-            
-            for (String columnName : newColumns) {
-                ResultSet columns = metaData.getColumns(null, null, "funcao_funcionario", columnName);
-                if (!columns.next()) {
-                    System.out.println("Aviso: Coluna '" + columnName + "' não encontrada na tabela funcao_funcionario. Execute o script de migração.");
-                }
-                columns.close();
-            }
-        } catch (SQLException e) {
-            System.err.println("Erro ao verificar/criar estrutura do banco para funcao_funcionario: " + e.getMessage());
-        }
-    }
     
     public List<FuncaoFuncionario> findAll() {
         List<FuncaoFuncionario> funcoes = new ArrayList<>();
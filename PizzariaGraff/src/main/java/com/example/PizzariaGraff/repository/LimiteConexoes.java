@@ -0,0 +1,119 @@
+package com.example.PizzariaGraff.repository;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limita quantas threads usam conexões do pool ao mesmo tempo, em duas faixas:
+ * consultas pontuais (RAPIDA) e listagens, relatórios e tarefas em segundo plano
+ * (PESADA).
+ *
+ * O total de permissões é o tamanho do pool. A faixa pesada pode ocupar no máximo o
+ * total menos as conexões reservadas, então uma listagem lenta nunca deixa uma
+ * consulta por código de barras esperando atrás dela. A faixa da thread é definida por
+ * requisição (ver FaixaConexaoInterceptor); threads sem faixa contam como pesadas.
+ *
+ * As permissões são pedidas pelo {@link DataSourceLimitado}, por onde passam todas as
+ * conexões, inclusive as das transações. A permissão é por thread, não por conexão:
+ * uma thread que já tem uma conexão aberta não pede outra permissão, o que evita
+ * deadlock quando um repositório abre uma segunda conexão antes de fechar a primeira.
+ */
+public class LimiteConexoes {
+
+    public enum Faixa { RAPIDA, PESADA }
+
+    private static final ThreadLocal<Faixa> FAIXA = new ThreadLocal<>();
+
+    private final Semaphore total;
+    private final Semaphore pesadas;
+    private final long esperaMaximaMillis;
+    private final ThreadLocal<Permissao> permissao = new ThreadLocal<>();
+
+    /**
+     * @param tamanho Tamanho máximo do pool de conexões
+     * @param reservadasRapidas Conexões que a faixa pesada não pode ocupar
+     * @param esperaMaximaMillis Tempo máximo de espera por uma permissão
+     */
+    public LimiteConexoes(int tamanho, int reservadasRapidas, long esperaMaximaMillis) {
+        if (reservadasRapidas < 0 || reservadasRapidas >= tamanho) {
+            throw new IllegalArgumentException("Conexões reservadas devem estar entre 0 e " + (tamanho - 1));
+        }
+        this.total = new Semaphore(tamanho, true);
+        this.pesadas = new Semaphore(tamanho - reservadasRapidas, true);
+        this.esperaMaximaMillis = esperaMaximaMillis;
+    }
+
+    public static void definirFaixa(Faixa faixa) {
+        FAIXA.set(faixa);
+    }
+
+    public static void limparFaixa() {
+        FAIXA.remove();
+    }
+
+    public static Faixa getFaixa() {
+        Faixa faixa = FAIXA.get();
+        return faixa != null ? faixa : Faixa.PESADA;
+    }
+
+    /**
+     * Registra uma conexão aberta pela thread; a primeira obtém a permissão da faixa
+     * @throws SQLTransientConnectionException se a espera passar do limite
+     */
+    void adquirir() throws SQLException {
+        Permissao atual = permissao.get();
+        if (atual != null) {
+            atual.conexoes++;
+            return;
+        }
+
+        Faixa faixa = getFaixa();
+        long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(esperaMaximaMillis);
+        try {
+            if (faixa == Faixa.PESADA && !pesadas.tryAcquire(esperaMaximaMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException("Limite de conexões para listagens e relatórios atingido");
+            }
+            if (!total.tryAcquire(Math.max(0, limite - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                if (faixa == Faixa.PESADA) {
+                    pesadas.release();
+                }
+                throw new SQLTransientConnectionException("Limite de conexões com o banco atingido");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Espera por conexão interrompida", e);
+        }
+        permissao.set(new Permissao(faixa));
+    }
+
+    /**
+     * Registra o fechamento de uma conexão; a última devolve a permissão
+     */
+    void liberar() {
+        Permissao atual = permissao.get();
+        if (atual == null || --atual.conexoes > 0) {
+            return;
+        }
+        permissao.remove();
+        total.release();
+        if (atual.faixa == Faixa.PESADA) {
+            pesadas.release();
+        }
+    }
+
+    public int getDisponiveis(Faixa faixa) {
+        return faixa == Faixa.PESADA ? Math.min(pesadas.availablePermits(), total.availablePermits())
+                : total.availablePermits();
+    }
+
+    private static class Permissao {
+        final Faixa faixa;
+        int conexoes = 1;
+
+        Permissao(Faixa faixa) {
+            this.faixa = faixa;
+        }
+    }
+}
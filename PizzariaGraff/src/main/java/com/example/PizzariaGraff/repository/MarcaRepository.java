@@ -6,47 +6,25 @@ import org.springframework.stereotype.Repository;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
 @Repository
 public class MarcaRepository {
 
     private final DatabaseConnection databaseConnection;
+    private final CacheReferencia cache;
 
-    public MarcaRepository(DatabaseConnection databaseConnection) {
+    public MarcaRepository(DatabaseConnection databaseConnection, CachesReferencia cachesReferencia) {
         this.databaseConnection = databaseConnection;
-        verificarEstruturaBanco();
+        this.cache = cachesReferencia.cache("marca");
     }
 
-    private void verificarEstruturaBanco() {
-        try (Connection conn = databaseConnection.getConnection()) {
-            // Verifica se as novas colunas existem e as adiciona se necessário
-            DatabaseMetaData metaData = conn.getMetaData();
-            ResultSet columns = metaData.getColumns(null, null, "marca", null);
-            
-            Set<String> existingColumns = new HashSet<>();
-            while (columns.next()) {
-                existingColumns.add(columns.getString("COLUMN_NAME").toLowerCase());
-            }
-            
-            // Adiciona coluna ativo se não existir
-            if (!existingColumns.contains("ativo")) {
-                try (Statement stmt = conn.createStatement()) {
-                    stmt.execute("ALTER TABLE marca ADD COLUMN ativo TINYINT(1) DEFAULT 1 COMMENT 'Status da marca: 1=Ativo, 0=Inativo'");
-                    // Define todos como ativos por padrão
-                    stmt.execute("UPDATE marca SET ativo = TRUE");
-                }
-            }
-            columns.close();
-        } catch (SQLException e) {
-            System.err.println("Erro ao verificar/criar estrutura do banco para marca: " + e.getMessage());
-        }
+    public List<Marca> findAll() {
+        return cache.lista("findAll", this::findAllDoBanco);
     }
 
-    public List<Marca> findAll() {
+    private List<Marca> findAllDoBanco() {
         List<Marca> marcas = new ArrayList<>();
         String sql = "SELECT * FROM marca ORDER BY marca";
 
@@ -66,6 +44,10 @@ public class MarcaRepository {
     }
 
     public List<Marca> findByAtivoTrue() {
+        return cache.lista("findByAtivoTrue", this::findByAtivoTrueDoBanco);
+    }
+
+    private List<Marca> findByAtivoTrueDoBanco() {
         List<Marca> marcas = new ArrayList<>();
         String sql = "SELECT * FROM marca WHERE ativo = TRUE ORDER BY marca";
 
@@ -85,6 +67,10 @@ public class MarcaRepository {
     }
 
     public Optional<Marca> findById(Long id) {
+        return cache.obter("findById:" + id, () -> findByIdDoBanco(id));
+    }
+
+    private Optional<Marca> findByIdDoBanco(Long id) {
         String sql = "SELECT * FROM marca WHERE id = ?";
 
         try (Connection conn = databaseConnection.getConnection();
@@ -125,6 +111,14 @@ public class MarcaRepository {
     }
 
     public Marca save(Marca marca) {
+        try {
+            return saveNoBanco(marca);
+        } finally {
+            cache.invalidar();
+        }
+    }
+
+    private Marca saveNoBanco(Marca marca) {
         if (marca.getId() == null) {
             return insert(marca);
         } else {
@@ -191,6 +185,14 @@ public class MarcaRepository {
     }
 
     public void deleteById(Long id) {
+        try {
+            deleteByIdNoBanco(id);
+        } finally {
+            cache.invalidar();
+        }
+    }
+
+    private void deleteByIdNoBanco(Long id) {
         String sql = "DELETE FROM marca WHERE id = ?";
 
         try (Connection conn = databaseConnection.getConnection();
@@ -0,0 +1,275 @@
+package com.example.PizzariaGraff.repository;
+
+import com.example.PizzariaGraff.model.MovimentoEstoque;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Histórico de estoque: tabela movimento_estoque (só recebe INSERTs) e saldos de fim de
+ * dia em saldo_estoque_diario.
+ *
+ * O saldo de um produto em uma data é o último saldo diário até a data mais os
+ * movimentos depois dele, então a consulta lê um saldo e no máximo os movimentos desde
+ * o último fechamento. Só produtos que se movimentaram no dia ganham saldo diário.
+ */
+@Repository
+public class MovimentoEstoqueRepository {
+
+    private static final String SQL_INSERT =
+            "INSERT INTO movimento_estoque (produto_id, data_movimento, tipo, quantidade, origem, " +
+            "nota_numero, nota_modelo, nota_serie, participante_id, descricao) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Saldo no fim do dia: último saldo diário até a data (ou, antes do primeiro, o
+    // primeiro saldo diário) ajustado pelos movimentos entre o saldo e a data
+    private static final String SQL_SALDOS =
+            "SELECT p.id, p.produto, p.quantidade AS quantidade_atual, " +
+            "COALESCE(s.quantidade, 0) + CASE WHEN s.data IS NULL OR s.data < ? THEN 1 ELSE -1 END * " +
+            "COALESCE((SELECT SUM(m.quantidade) FROM movimento_estoque m WHERE m.produto_id = p.id " +
+            "AND m.data_movimento >= LEAST(COALESCE(s.data + INTERVAL 1 DAY, '1000-01-01'), ?) " +
+            "AND m.data_movimento < GREATEST(COALESCE(s.data + INTERVAL 1 DAY, '1000-01-01'), ?)), 0) AS saldo " +
+            "FROM produto p " +
+            "LEFT JOIN saldo_estoque_diario s ON s.produto_id = p.id AND s.data = COALESCE(" +
+            "(SELECT MAX(s2.data) FROM saldo_estoque_diario s2 WHERE s2.produto_id = p.id AND s2.data <= ?), " +
+            "(SELECT MIN(s3.data) FROM saldo_estoque_diario s3 WHERE s3.produto_id = p.id))";
+
+    private final DatabaseConnection databaseConnection;
+
+    public MovimentoEstoqueRepository(DatabaseConnection databaseConnection) {
+        this.databaseConnection = databaseConnection;
+    }
+
+    /**
+     * Grava vários movimentos em um único JDBC batch. Deve ser chamado na mesma
+     * transação que altera produto.quantidade.
+     * @param movimentos Movimentos novos; sem data, recebem a data e hora atuais
+     */
+    public void inserirEmLote(List<MovimentoEstoque> movimentos) {
+        if (movimentos.isEmpty()) {
+            return;
+        }
+        LocalDateTime agora = LocalDateTime.now();
+
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SQL_INSERT)) {
+
+            for (MovimentoEstoque movimento : movimentos) {
+                if (movimento.getDataMovimento() == null) {
+                    movimento.setDataMovimento(agora);
+                }
+                stmt.setLong(1, movimento.getProdutoId());
+                stmt.setTimestamp(2, Timestamp.valueOf(movimento.getDataMovimento()));
+                stmt.setString(3, movimento.getTipo());
+                stmt.setBigDecimal(4, movimento.getQuantidade());
+                stmt.setString(5, movimento.getOrigem());
+                stmt.setString(6, movimento.getNotaNumero());
+                stmt.setString(7, movimento.getNotaModelo());
+                stmt.setString(8, movimento.getNotaSerie());
+                stmt.setObject(9, movimento.getParticipanteId());
+                stmt.setString(10, movimento.getDescricao());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao registrar movimentos de estoque", e);
+        }
+    }
+
+    /**
+     * Registra como AJUSTE a diferença entre a quantidade gravada do produto e a nova
+     * quantidade informada no cadastro. Deve rodar antes do UPDATE do produto, na mesma
+     * transação; se a quantidade não mudou, nada é gravado.
+     */
+    public void registrarAjuste(Long produtoId, BigDecimal novaQuantidade) {
+        String sql = "INSERT INTO movimento_estoque (produto_id, data_movimento, tipo, quantidade, origem, descricao) " +
+                     "SELECT id, ?, ?, ? - quantidade, ?, 'Quantidade alterada no cadastro' " +
+                     "FROM produto WHERE id = ? AND quantidade <> ?";
+
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
+            stmt.setString(2, MovimentoEstoque.AJUSTE);
+            stmt.setBigDecimal(3, novaQuantidade);
+            stmt.setString(4, MovimentoEstoque.CADASTRO);
+            stmt.setLong(5, produtoId);
+            stmt.setBigDecimal(6, novaQuantidade);
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao registrar ajuste de estoque", e);
+        }
+    }
+
+    /**
+     * Saldo dos produtos no fim do dia informado
+     * @param produtoIds Produtos consultados; vazio para todos
+     * @return Saldos em ordem de nome do produto
+     */
+    public List<Saldo> findSaldosEm(LocalDate data, Collection<Long> produtoIds) {
+        List<Saldo> saldos = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(SQL_SALDOS);
+        if (!produtoIds.isEmpty()) {
+            sql.append(" WHERE p.id IN (").append(String.join(", ", Collections.nCopies(produtoIds.size(), "?"))).append(")");
+        }
+        sql.append(" ORDER BY p.produto, p.id");
+        Date fimDoDia = Date.valueOf(data.plusDays(1));
+
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+
+            stmt.setDate(1, Date.valueOf(data));
+            stmt.setDate(2, fimDoDia);
+            stmt.setDate(3, fimDoDia);
+            stmt.setDate(4, Date.valueOf(data));
+            int i = 5;
+            for (Long id : produtoIds) {
+                stmt.setLong(i++, id);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    saldos.add(new Saldo(
+                            rs.getLong("id"),
+                            rs.getString("produto"),
+                            rs.getBigDecimal("saldo"),
+                            rs.getBigDecimal("quantidade_atual")));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao consultar saldos de estoque", e);
+        }
+
+        return saldos;
+    }
+
+    /**
+     * Movimentos de um produto no período, em ordem cronológica
+     */
+    public List<MovimentoEstoque> findByProdutoEntre(Long produtoId, LocalDate inicio, LocalDate fim) {
+        List<MovimentoEstoque> movimentos = new ArrayList<>();
+        String sql = "SELECT * FROM movimento_estoque " +
+                     "WHERE produto_id = ? AND data_movimento >= ? AND data_movimento < ? " +
+                     "ORDER BY data_movimento, id";
+
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setLong(1, produtoId);
+            stmt.setDate(2, Date.valueOf(inicio));
+            stmt.setDate(3, Date.valueOf(fim.plusDays(1)));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    movimentos.add(mapearMovimento(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao buscar movimentos de estoque", e);
+        }
+
+        return movimentos;
+    }
+
+    /**
+     * Grava o saldo de fim de dia dos produtos que se movimentaram no dia: saldo diário
+     * anterior mais os movimentos do dia. Pode ser repetido para o mesmo dia.
+     * @return Quantidade de produtos fechados
+     */
+    public int fecharDia(LocalDate dia) {
+        String sql = "INSERT INTO saldo_estoque_diario (produto_id, data, quantidade) " +
+                     "SELECT m.produto_id, ?, COALESCE((SELECT s.quantidade FROM saldo_estoque_diario s " +
+                     "WHERE s.produto_id = m.produto_id AND s.data < ? ORDER BY s.data DESC LIMIT 1), 0) + SUM(m.quantidade) " +
+                     "FROM movimento_estoque m " +
+                     "WHERE m.data_movimento >= ? AND m.data_movimento < ? " +
+                     "GROUP BY m.produto_id " +
+                     "ON DUPLICATE KEY UPDATE quantidade = VALUES(quantidade)";
+
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setDate(1, Date.valueOf(dia));
+            stmt.setDate(2, Date.valueOf(dia));
+            stmt.setDate(3, Date.valueOf(dia));
+            stmt.setDate(4, Date.valueOf(dia.plusDays(1)));
+            return stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao fechar saldo de estoque do dia " + dia, e);
+        }
+    }
+
+    /**
+     * Dia a partir do qual o fechamento deve continuar: o dia seguinte ao último saldo
+     * diário ou, se ainda não houver nenhum, o dia do primeiro movimento
+     */
+    public Optional<LocalDate> findProximoDiaAFechar() {
+        String sql = "SELECT COALESCE((SELECT MAX(data) + INTERVAL 1 DAY FROM saldo_estoque_diario), " +
+                     "(SELECT DATE(MIN(data_movimento)) FROM movimento_estoque))";
+
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+
+            if (rs.next() && rs.getDate(1) != null) {
+                return Optional.of(rs.getDate(1).toLocalDate());
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao consultar fechamento de estoque", e);
+        }
+
+        return Optional.empty();
+    }
+
+    private MovimentoEstoque mapearMovimento(ResultSet rs) throws SQLException {
+        MovimentoEstoque movimento = new MovimentoEstoque();
+        movimento.setId(rs.getLong("id"));
+        movimento.setProdutoId(rs.getLong("produto_id"));
+        movimento.setDataMovimento(rs.getTimestamp("data_movimento").toLocalDateTime());
+        movimento.setTipo(rs.getString("tipo"));
+        movimento.setQuantidade(rs.getBigDecimal("quantidade"));
+        movimento.setOrigem(rs.getString("origem"));
+        movimento.setNotaNumero(rs.getString("nota_numero"));
+        movimento.setNotaModelo(rs.getString("nota_modelo"));
+        movimento.setNotaSerie(rs.getString("nota_serie"));
+        movimento.setParticipanteId(rs.getObject("participante_id", Long.class));
+        movimento.setDescricao(rs.getString("descricao"));
+        return movimento;
+    }
+
+    public static class Saldo {
+        private final Long produtoId;
+        private final String produto;
+        private final BigDecimal quantidade;
+        private final BigDecimal quantidadeAtual;
+
+        public Saldo(Long produtoId, String produto, BigDecimal quantidade, BigDecimal quantidadeAtual) {
+            this.produtoId = produtoId;
+            this.produto = produto;
+            this.quantidade = Objects.requireNonNullElse(quantidade, BigDecimal.ZERO);
+            this.quantidadeAtual = quantidadeAtual;
+        }
+
+        public Long getProdutoId() {
+            return produtoId;
+        }
+
+        public String getProduto() {
+            return produto;
+        }
+
+        public BigDecimal getQuantidade() {
+            return quantidade;
+        }
+
+        public BigDecimal getQuantidadeAtual() {
+            return quantidadeAtual;
+        }
+    }
+}
@@ -1,17 +1,28 @@
 package com.example.PizzariaGraff.repository;
 
 import com.example.PizzariaGraff.model.*;
+import com.example.PizzariaGraff.util.KeysetCursor;
 import org.springframework.stereotype.Repository;
 
 import java.sql.*;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Repository
 public class NotaEntradaRepository {
     
+    // Quantidade máxima de notas por consulta de itens (4 parâmetros por nota)
+    private static final int TAMANHO_LOTE_ITENS = 500;
+    
     private final DatabaseConnection databaseConnection;
     private final FornecedorRepository fornecedorRepository;
     private final CondicaoPagamentoRepository condicaoPagamentoRepository;
@@ -31,6 +42,14 @@ public class NotaEntradaRepository {
     }
     
     public List<NotaEntrada> findAll() {
+        return findAll(true);
+    }
+    
+    /**
+     * Lista as notas
+     * @param comProdutos Se falso, retorna apenas os cabeçalhos, sem consultar os itens
+     */
+    public List<NotaEntrada> findAll(boolean comProdutos) {
         List<NotaEntrada> notas = new ArrayList<>();
         String sql = "SELECT * FROM nota_entrada ORDER BY data_emissao DESC, numero DESC";
         
@@ -39,20 +58,122 @@ public class NotaEntradaRepository {
              ResultSet rs = stmt.executeQuery()) {
             
             while (rs.next()) {
-                NotaEntrada nota = mapRowToNotaEntrada(rs);
-                carregarProdutos(nota);
-                notas.add(nota);
+                notas.add(mapRowToNotaEntrada(rs));
             }
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao buscar notas de entrada", e);
         }
         
+        carregarRelacionamentos(notas);
+        if (comProdutos) {
+            carregarProdutos(notas);
+        }
+        
         return notas;
     }
     
+    /**
+     * Busca apenas a condição de pagamento da nota (consulta pela chave primária,
+     * sem carregar o cabeçalho completo nem os produtos)
+     * @return ID da condição, vazio se a nota não existir ou não tiver condição
+     */
+    public Optional<Long> findCondicaoPagamentoIdByChave(String numero, String modelo, String serie, Long fornecedorId) {
+        String sql = "SELECT condicao_pagamento_id FROM nota_entrada WHERE numero = ? AND modelo = ? AND serie = ? AND fornecedor_id = ?";
+        
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setString(1, numero);
+            stmt.setString(2, modelo);
+            stmt.setString(3, serie);
+            stmt.setLong(4, fornecedorId);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    long condicaoId = rs.getLong("condicao_pagamento_id");
+                    return rs.wasNull() ? Optional.empty() : Optional.of(condicaoId);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao buscar condição de pagamento da nota de entrada", e);
+        }
+        
+        return Optional.empty();
+    }
+    
+    /**
+     * Busca só a situação e a data de criação da nota, travando a linha até o fim da
+     * transação (deve ser chamado dentro de uma transação). Duas gravações concorrentes da
+     * mesma nota esperam uma pela outra, em vez de verem a mesma situação anterior.
+     * @return Nota só com situação e data de criação, vazio se ainda não existir
+     */
+    public Optional<NotaEntrada> findSituacaoParaAtualizar(String numero, String modelo, String serie, Long fornecedorId) {
+        String sql = "SELECT situacao, data_criacao FROM nota_entrada " +
+                     "WHERE numero = ? AND modelo = ? AND serie = ? AND fornecedor_id = ? FOR UPDATE";
+        
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setString(1, numero);
+            stmt.setString(2, modelo);
+            stmt.setString(3, serie);
+            stmt.setLong(4, fornecedorId);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    NotaEntrada nota = new NotaEntrada();
+                    nota.setSituacao(rs.getString("situacao"));
+                    Timestamp dataCriacao = rs.getTimestamp("data_criacao");
+                    nota.setDataCriacao(dataCriacao != null ? dataCriacao.toLocalDateTime() : null);
+                    return Optional.of(nota);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao buscar situação da nota de entrada", e);
+        }
+        
+        return Optional.empty();
+    }
+    
+    public boolean existsByChave(String numero, String modelo, String serie, Long fornecedorId) {
+        String sql = "SELECT 1 FROM nota_entrada WHERE numero = ? AND modelo = ? AND serie = ? AND fornecedor_id = ?";
+        
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setString(1, numero);
+            stmt.setString(2, modelo);
+            stmt.setString(3, serie);
+            stmt.setLong(4, fornecedorId);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao verificar nota de entrada", e);
+        }
+    }
+    
+    /**
+     * Preenche fornecedor, condição de pagamento, transportadora e os produtos dos itens de uma
+     * nota recém-gravada (uma consulta por tabela)
+     */
+    public void carregarDetalhes(NotaEntrada nota) {
+        carregarRelacionamentos(List.of(nota));
+        if (nota.getProdutos() != null && !nota.getProdutos().isEmpty()) {
+            Map<Long, Produto> produtos = produtoRepository.findByIds(
+                    nota.getProdutos().stream().map(ProdutoNota::getProdutoId).collect(Collectors.toSet()));
+            for (ProdutoNota item : nota.getProdutos()) {
+                item.setProduto(produtos.get(item.getProdutoId()));
+            }
+        }
+    }
+    
     public Optional<NotaEntrada> findByChave(String numero, String modelo, String serie, Long fornecedorId) {
         String sql = "SELECT * FROM nota_entrada WHERE numero = ? AND modelo = ? AND serie = ? AND fornecedor_id = ?";
         
+        NotaEntrada nota = null;
+        
         try (Connection conn = databaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
@@ -63,19 +184,27 @@ public class NotaEntradaRepository {
             
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    NotaEntrada nota = mapRowToNotaEntrada(rs);
-                    carregarProdutos(nota);
-                    return Optional.of(nota);
+                    nota = mapRowToNotaEntrada(rs);
                 }
             }
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao buscar nota de entrada", e);
         }
         
-        return Optional.empty();
+        if (nota == null) {
+            return Optional.empty();
+        }
+        
+        carregarRelacionamentos(List.of(nota));
+        carregarProdutos(List.of(nota));
+        return Optional.of(nota);
     }
     
     public List<NotaEntrada> findByFornecedorId(Long fornecedorId) {
+        return findByFornecedorId(fornecedorId, true);
+    }
+    
+    public List<NotaEntrada> findByFornecedorId(Long fornecedorId, boolean comProdutos) {
         List<NotaEntrada> notas = new ArrayList<>();
         String sql = "SELECT * FROM nota_entrada WHERE fornecedor_id = ? ORDER BY data_emissao DESC";
         
@@ -86,19 +215,26 @@ public class NotaEntradaRepository {
             
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    NotaEntrada nota = mapRowToNotaEntrada(rs);
-                    carregarProdutos(nota);
-                    notas.add(nota);
+                    notas.add(mapRowToNotaEntrada(rs));
                 }
             }
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao buscar notas por fornecedor", e);
         }
         
+        carregarRelacionamentos(notas);
+        if (comProdutos) {
+            carregarProdutos(notas);
+        }
+        
         return notas;
     }
     
     public List<NotaEntrada> findBySituacao(String situacao) {
+        return findBySituacao(situacao, true);
+    }
+    
+    public List<NotaEntrada> findBySituacao(String situacao, boolean comProdutos) {
         List<NotaEntrada> notas = new ArrayList<>();
         String sql = "SELECT * FROM nota_entrada WHERE situacao = ? ORDER BY data_emissao DESC";
         
@@ -109,93 +245,130 @@ public class NotaEntradaRepository {
             
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    NotaEntrada nota = mapRowToNotaEntrada(rs);
-                    carregarProdutos(nota);
-                    notas.add(nota);
+                    notas.add(mapRowToNotaEntrada(rs));
                 }
             }
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao buscar notas por situação", e);
         }
         
+        carregarRelacionamentos(notas);
+        if (comProdutos) {
+            carregarProdutos(notas);
+        }
+        
         return notas;
     }
-    
-    public NotaEntrada save(NotaEntrada nota) {
-        if (existeNota(nota.getNumero(), nota.getModelo(), nota.getSerie(), nota.getFornecedorId())) {
-            return update(nota);
-        } else {
-            return insert(nota);
+
+    /**
+     * Busca uma página de notas ordenada por emissão (mais recentes primeiro), usando como cursor
+     * a data de emissão e a chave da nota do último registro da página anterior em vez de OFFSET.
+     */
+    public Pagina<NotaEntrada> findPagina(String situacao, LocalDate dataInicio, LocalDate dataFim,
+                                          Long fornecedorId, String cursor, int limite,
+                                          boolean comProdutos) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM nota_entrada WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+
+        if (situacao != null && !situacao.isBlank()) {
+            sql.append(" AND situacao = ?");
+            params.add(situacao);
         }
-    }
-    
-    private NotaEntrada insert(NotaEntrada nota) {
-        String sql = "INSERT INTO nota_entrada (numero, modelo, serie, fornecedor_id, data_emissao, data_chegada, " +
-                     "tipo_frete, valor_produtos, valor_frete, valor_seguro, outras_despesas, valor_desconto, " +
-                     "valor_total, condicao_pagamento_id, transportadora_id, placa_veiculo, observacoes, situacao) " +
-                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        
+        if (dataInicio != null) {
+            sql.append(" AND data_emissao >= ?");
+            params.add(Date.valueOf(dataInicio));
+        }
+        if (dataFim != null) {
+            sql.append(" AND data_emissao <= ?");
+            params.add(Date.valueOf(dataFim));
+        }
+        if (fornecedorId != null) {
+            sql.append(" AND fornecedor_id = ?");
+            params.add(fornecedorId);
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            String[] chave = KeysetCursor.decode(cursor, 5);
+            Date emissao = Date.valueOf(chave[0]);
+            sql.append(" AND (data_emissao < ? OR (data_emissao = ? AND (numero, modelo, serie, fornecedor_id) < (?, ?, ?, ?)))");
+            params.add(emissao);
+            params.add(emissao);
+            params.add(chave[1]);
+            params.add(chave[2]);
+            params.add(chave[3]);
+            params.add(Long.parseLong(chave[4]));
+        }
+        sql.append(" ORDER BY data_emissao DESC, numero DESC, modelo DESC, serie DESC, fornecedor_id DESC LIMIT ?");
+        params.add(limite + 1);
+
+        List<NotaEntrada> notas = new ArrayList<>();
+
         try (Connection conn = databaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            setNotaParameters(stmt, nota);
-            stmt.executeUpdate();
-            
-            // Inserir produtos
-            if (nota.getProdutos() != null && !nota.getProdutos().isEmpty()) {
-                salvarProdutos(nota);
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+
+            for (int i = 0; i < params.size(); i++) {
+                stmt.setObject(i + 1, params.get(i));
+            }
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    notas.add(mapRowToNotaEntrada(rs));
+                }
             }
-            
-            return findByChave(nota.getNumero(), nota.getModelo(), nota.getSerie(), nota.getFornecedorId())
-                    .orElseThrow(() -> new RuntimeException("Erro ao recuperar nota inserida"));
-                    
         } catch (SQLException e) {
-            throw new RuntimeException("Erro ao inserir nota de entrada: " + e.getMessage(), e);
+            throw new RuntimeException("Erro ao buscar página de notas de entrada", e);
         }
+
+        Pagina<NotaEntrada> pagina = Pagina.deLinhas(notas, limite, n -> KeysetCursor.encode(
+                n.getDataEmissao(), n.getNumero(), n.getModelo(), n.getSerie(), n.getFornecedorId()));
+        carregarRelacionamentos(pagina.getItens());
+        if (comProdutos) {
+            carregarProdutos(pagina.getItens());
+        }
+        return pagina;
     }
     
-    private NotaEntrada update(NotaEntrada nota) {
-        String sql = "UPDATE nota_entrada SET data_emissao = ?, data_chegada = ?, tipo_frete = ?, " +
-                     "valor_produtos = ?, valor_frete = ?, valor_seguro = ?, outras_despesas = ?, " +
-                     "valor_desconto = ?, valor_total = ?, condicao_pagamento_id = ?, transportadora_id = ?, " +
-                     "placa_veiculo = ?, observacoes = ?, situacao = ? WHERE numero = ? AND modelo = ? AND serie = ? AND fornecedor_id = ?";
-        
+    private static final String SQL_UPSERT =
+            "INSERT INTO nota_entrada (numero, modelo, serie, fornecedor_id, data_emissao, data_chegada, " +
+            "tipo_frete, valor_produtos, valor_frete, valor_seguro, outras_despesas, valor_desconto, " +
+            "valor_total, condicao_pagamento_id, transportadora_id, placa_veiculo, observacoes, situacao) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE data_emissao = VALUES(data_emissao), data_chegada = VALUES(data_chegada), " +
+            "tipo_frete = VALUES(tipo_frete), valor_produtos = VALUES(valor_produtos), " +
+            "valor_frete = VALUES(valor_frete), valor_seguro = VALUES(valor_seguro), " +
+            "outras_despesas = VALUES(outras_despesas), valor_desconto = VALUES(valor_desconto), " +
+            "valor_total = VALUES(valor_total), condicao_pagamento_id = VALUES(condicao_pagamento_id), " +
+            "transportadora_id = VALUES(transportadora_id), placa_veiculo = VALUES(placa_veiculo), " +
+            "observacoes = VALUES(observacoes), situacao = VALUES(situacao)";
+    
+    /**
+     * Insere ou atualiza a nota pela chave (numero, modelo, serie, fornecedor) com um único
+     * INSERT ... ON DUPLICATE KEY UPDATE e regrava os itens. A nota gravada não é relida e
+     * nada é consultado: só as datas são preenchidas na própria instância. Para devolver a
+     * nota com fornecedor, condição, transportadora e produtos use {@link #carregarDetalhes}.
+     */
+    public NotaEntrada save(NotaEntrada nota) {
         try (Connection conn = databaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setDate(1, nota.getDataEmissao() != null ? Date.valueOf(nota.getDataEmissao()) : null);
-            stmt.setDate(2, nota.getDataChegada() != null ? Date.valueOf(nota.getDataChegada()) : null);
-            stmt.setString(3, nota.getTipoFrete());
-            stmt.setBigDecimal(4, nota.getValorProdutos());
-            stmt.setBigDecimal(5, nota.getValorFrete());
-            stmt.setBigDecimal(6, nota.getValorSeguro());
-            stmt.setBigDecimal(7, nota.getOutrasDespesas());
-            stmt.setBigDecimal(8, nota.getValorDesconto());
-            stmt.setBigDecimal(9, nota.getValorTotal());
-            stmt.setObject(10, nota.getCondicaoPagamentoId());
-            stmt.setObject(11, nota.getTransportadoraId());
-            stmt.setString(12, nota.getPlacaVeiculo());
-            stmt.setString(13, nota.getObservacoes());
-            stmt.setString(14, nota.getSituacao());
-            stmt.setString(15, nota.getNumero());
-            stmt.setString(16, nota.getModelo());
-            stmt.setString(17, nota.getSerie());
-            stmt.setLong(18, nota.getFornecedorId());
+             PreparedStatement stmt = conn.prepareStatement(SQL_UPSERT)) {
             
+            setNotaParameters(stmt, nota);
             stmt.executeUpdate();
-            
-            // Deletar e reinserir produtos
-            deletarProdutos(nota.getNumero(), nota.getModelo(), nota.getSerie(), nota.getFornecedorId());
-            if (nota.getProdutos() != null && !nota.getProdutos().isEmpty()) {
-                salvarProdutos(nota);
-            }
-            
-            return findByChave(nota.getNumero(), nota.getModelo(), nota.getSerie(), nota.getFornecedorId())
-                    .orElseThrow(() -> new RuntimeException("Erro ao recuperar nota atualizada"));
-                    
         } catch (SQLException e) {
-            throw new RuntimeException("Erro ao atualizar nota de entrada: " + e.getMessage(), e);
+            throw new RuntimeException("Erro ao salvar nota de entrada: " + e.getMessage(), e);
         }
+        
+        // Deletar e reinserir produtos (sem efeito em nota nova)
+        deletarProdutos(nota.getNumero(), nota.getModelo(), nota.getSerie(), nota.getFornecedorId());
+        if (nota.getProdutos() != null && !nota.getProdutos().isEmpty()) {
+            salvarProdutos(nota);
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        if (nota.getDataCriacao() == null) {
+            nota.setDataCriacao(now);
+        }
+        nota.setDataAlteracao(now);
+        
+        return nota;
     }
     
     public void deleteByChave(String numero, String modelo, String serie, Long fornecedorId) {
@@ -215,29 +388,6 @@ public class NotaEntradaRepository {
         }
     }
     
-    private boolean existeNota(String numero, String modelo, String serie, Long fornecedorId) {
-        String sql = "SELECT COUNT(*) FROM nota_entrada WHERE numero = ? AND modelo = ? AND serie = ? AND fornecedor_id = ?";
-        
-        try (Connection conn = databaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, numero);
-            stmt.setString(2, modelo);
-            stmt.setString(3, serie);
-            stmt.setLong(4, fornecedorId);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt(1) > 0;
-                }
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Erro ao verificar existência da nota", e);
-        }
-        
-        return false;
-    }
-    
     private void salvarProdutos(NotaEntrada nota) {
         String sql = "INSERT INTO produtos_nota (nota_numero, nota_modelo, nota_serie, fornecedor_id, produto_id, " +
                      "sequencia, quantidade, valor_unitario, valor_desconto, percentual_desconto, valor_total, " +
@@ -269,8 +419,9 @@ public class NotaEntradaRepository {
                 stmt.setBigDecimal(14, produto.getRateioOutras());
                 stmt.setBigDecimal(15, produto.getCustoPrecoFinal());
                 
-                stmt.executeUpdate();
+                stmt.addBatch();
             }
+            stmt.executeBatch();
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao salvar produtos da nota: " + e.getMessage(), e);
         }
@@ -293,32 +444,66 @@ public class NotaEntradaRepository {
         }
     }
     
-    private void carregarProdutos(NotaEntrada nota) {
-        String sql = "SELECT * FROM produtos_nota WHERE nota_numero = ? AND nota_modelo = ? AND nota_serie = ? AND fornecedor_id = ? ORDER BY sequencia";
+    /**
+     * Carrega os itens de várias notas em uma única consulta (em lotes de até
+     * TAMANHO_LOTE_ITENS notas) e os distribui em memória. Os produtos dos itens
+     * também são buscados de uma vez.
+     */
+    private void carregarProdutos(List<NotaEntrada> notas) {
+        if (notas.isEmpty()) {
+            return;
+        }
         
-        try (Connection conn = databaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, nota.getNumero());
-            stmt.setString(2, nota.getModelo());
-            stmt.setString(3, nota.getSerie());
-            stmt.setLong(4, nota.getFornecedorId());
+        Map<String, List<ProdutoNota>> itensPorNota = new HashMap<>();
+        List<ProdutoNota> todosItens = new ArrayList<>();
+        
+        for (int inicio = 0; inicio < notas.size(); inicio += TAMANHO_LOTE_ITENS) {
+            List<NotaEntrada> lote = notas.subList(inicio, Math.min(inicio + TAMANHO_LOTE_ITENS, notas.size()));
+            String sql = "SELECT * FROM produtos_nota WHERE (nota_numero, nota_modelo, nota_serie, fornecedor_id) IN (" +
+                         String.join(", ", Collections.nCopies(lote.size(), "(?, ?, ?, ?)")) +
+                         ") ORDER BY sequencia";
             
-            try (ResultSet rs = stmt.executeQuery()) {
-                List<ProdutoNota> produtos = new ArrayList<>();
-                while (rs.next()) {
-                    ProdutoNota produto = mapRowToProdutoNota(rs);
-                    
-                    // Carregar informações do produto
-                    produtoRepository.findById(produto.getProdutoId()).ifPresent(produto::setProduto);
-                    
-                    produtos.add(produto);
+            try (Connection conn = databaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                
+                int i = 1;
+                for (NotaEntrada nota : lote) {
+                    stmt.setString(i++, nota.getNumero());
+                    stmt.setString(i++, nota.getModelo());
+                    stmt.setString(i++, nota.getSerie());
+                    stmt.setLong(i++, nota.getFornecedorId());
                 }
-                nota.setProdutos(produtos);
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        ProdutoNota item = mapRowToProdutoNota(rs);
+                        itensPorNota.computeIfAbsent(
+                                chaveNota(item.getNotaNumero(), item.getNotaModelo(), item.getNotaSerie(), item.getFornecedorId()),
+                                k -> new ArrayList<>()).add(item);
+                        todosItens.add(item);
+                    }
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException("Erro ao carregar produtos da nota", e);
             }
-        } catch (SQLException e) {
-            throw new RuntimeException("Erro ao carregar produtos da nota", e);
         }
+        
+        // Carregar informações dos produtos
+        Map<Long, Produto> produtos = produtoRepository.findByIds(
+                todosItens.stream().map(ProdutoNota::getProdutoId).collect(Collectors.toSet()));
+        for (ProdutoNota item : todosItens) {
+            item.setProduto(produtos.get(item.getProdutoId()));
+        }
+        
+        for (NotaEntrada nota : notas) {
+            nota.setProdutos(itensPorNota.getOrDefault(
+                    chaveNota(nota.getNumero(), nota.getModelo(), nota.getSerie(), nota.getFornecedorId()),
+                    new ArrayList<>()));
+        }
+    }
+    
+    private static String chaveNota(String numero, String modelo, String serie, Long fornecedorId) {
+        return numero + "|" + modelo + "|" + serie + "|" + fornecedorId;
     }
     
     private void setNotaParameters(PreparedStatement stmt, NotaEntrada nota) throws SQLException {
@@ -379,20 +564,42 @@ public class NotaEntradaRepository {
         Timestamp dataAlteracao = rs.getTimestamp("data_alteracao");
         nota.setDataAlteracao(dataAlteracao != null ? dataAlteracao.toLocalDateTime() : null);
         
-        // Carregar fornecedor
-        fornecedorRepository.findById(nota.getFornecedorId()).ifPresent(nota::setFornecedor);
-        
-        // Carregar condição de pagamento
-        if (condicaoPagamentoId != null) {
-            condicaoPagamentoRepository.findById(condicaoPagamentoId).ifPresent(nota::setCondicaoPagamento);
+        return nota;
+    }
+    
+    /**
+     * Carrega fornecedores, condições de pagamento e transportadoras de várias notas com uma
+     * consulta por tabela, em vez de três consultas por nota
+     */
+    private void carregarRelacionamentos(List<NotaEntrada> notas) {
+        if (notas.isEmpty()) {
+            return;
         }
         
-        // Carregar transportadora
-        if (transportadoraId != null) {
-            transportadoraRepository.findById(transportadoraId).ifPresent(nota::setTransportadora);
+        Set<Long> fornecedorIds = new HashSet<>();
+        Set<Long> condicaoIds = new HashSet<>();
+        Set<Long> transportadoraIds = new HashSet<>();
+        for (NotaEntrada nota : notas) {
+            fornecedorIds.add(nota.getFornecedorId());
+            if (nota.getCondicaoPagamentoId() != null) {
+                condicaoIds.add(nota.getCondicaoPagamentoId());
+            }
+            if (nota.getTransportadoraId() != null) {
+                transportadoraIds.add(nota.getTransportadoraId());
+            }
         }
         
-        return nota;
+        Map<Long, Fornecedor> fornecedores = fornecedorRepository.findByIds(fornecedorIds);
+        Map<Long, CondicaoPagamento> condicoes = condicaoPagamentoRepository.findByIds(condicaoIds);
+        Map<Long, Transportadora> transportadoras = transportadoraRepository.findByIds(transportadoraIds);
+        
+        for (NotaEntrada nota : notas) {
+            nota.setFornecedor(fornecedores.get(nota.getFornecedorId()));
+            nota.setCondicaoPagamento(nota.getCondicaoPagamentoId() != null
+                    ? condicoes.get(nota.getCondicaoPagamentoId()) : null);
+            nota.setTransportadora(nota.getTransportadoraId() != null
+                    ? transportadoras.get(nota.getTransportadoraId()) : null);
+        }
     }
     
     private ProdutoNota mapRowToProdutoNota(ResultSet rs) throws SQLException {
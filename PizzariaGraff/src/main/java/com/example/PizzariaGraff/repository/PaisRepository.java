@@ -14,10 +14,11 @@ import java.util.Optional;
 public class PaisRepository {
     
     private final DatabaseConnection databaseConnection;
+    private final CacheReferencia cache;
     
-    public PaisRepository(DatabaseConnection databaseConnection) {
+    public PaisRepository(DatabaseConnection databaseConnection, CachesReferencia cachesReferencia) {
         this.databaseConnection = databaseConnection;
-        verificarEstruturaBanco();
+        this.cache = cachesReferencia.cache("pais");
     }
     
     /**
@@ -29,149 +30,14 @@ public class PaisRepository {
         return databaseConnection.getConnection();
     }
     
-    // Método para verificar e corrigir a estrutura da tabela
-    private void verificarEstruturaBanco() {
-        try {
-            Connection conn = databaseConnection.getConnection();
-            DatabaseMetaData metaData = conn.getMetaData();
-            
-            // Verificar se a coluna ativo existe
-            boolean temAtivo = false;
-            boolean temNacionalidade = false;
-            
-            try (ResultSet colunas = metaData.getColumns(null, null, "pais", "ativo")) {
-                temAtivo = colunas.next();
-            }
-            
-            try (ResultSet colunas = metaData.getColumns(null, null, "pais", "nacionalidade")) {
-                temNacionalidade = colunas.next();
-            }
-            
-            if (!temAtivo) {
-                System.out.println("Adicionando coluna ativo à tabela pais");
-                try (Statement stmt = conn.createStatement()) {
-                    stmt.execute("ALTER TABLE pais ADD COLUMN ativo BOOLEAN NOT NULL DEFAULT true");
-                    System.out.println("Coluna ativo adicionada à tabela pais");
-                    stmt.execute("UPDATE pais SET ativo = true");
-                    System.out.println("Registros atualizados com ativo = true");
-                }
-            }
-            
-            if (!temNacionalidade) {
-                System.out.println("Adicionando coluna nacionalidade à tabela pais");
-                try (Statement stmt = conn.createStatement()) {
-                    stmt.execute("ALTER TABLE pais ADD COLUMN nacionalidade VARCHAR(100)");
-                    System.out.println("Coluna nacionalidade adicionada à tabela pais");
-                    
-                    // Atualizar países existentes com nacionalidades
-                    int updatedBrasil = stmt.executeUpdate("UPDATE pais SET nacionalidade = 'Brasileira' WHERE sigla = 'BR' OR nome LIKE '%BRASIL%'");
-                    System.out.println("Nacionalidade 'Brasileira' definida para " + updatedBrasil + " registro(s) do Brasil");
-                    
-                    // Inserir alguns países principais se não existirem
-                    try {
-                        stmt.executeUpdate("INSERT IGNORE INTO pais (nome, codigo, sigla, nacionalidade, ativo, data_cadastro, ultima_modificacao) VALUES " +
-                                          "('Estados Unidos', 'USA', 'US', 'Americana', true, NOW(), NOW())");
-                        System.out.println("País Estados Unidos inserido");
-                    } catch (Exception e) { /* já existe */ }
-                    
-                    try {
-                        stmt.executeUpdate("INSERT IGNORE INTO pais (nome, codigo, sigla, nacionalidade, ativo, data_cadastro, ultima_modificacao) VALUES " +
-                                          "('Argentina', 'ARG', 'AR', 'Argentina', true, NOW(), NOW())");
-                        System.out.println("País Argentina inserido");
-                    } catch (Exception e) { /* já existe */ }
-                    
-                    try {
-                        stmt.executeUpdate("INSERT IGNORE INTO pais (nome, codigo, sigla, nacionalidade, ativo, data_cadastro, ultima_modificacao) VALUES " +
-                                          "('Paraguai', 'PRY', 'PY', 'Paraguaia', true, NOW(), NOW())");
-                        System.out.println("País Paraguai inserido");
-                    } catch (Exception e) { /* já existe */ }
-                }
-            }
-        } catch (SQLException e) {
-            System.err.println("Erro ao verificar/modificar estrutura da tabela pais: " + e.getMessage());
-            e.printStackTrace();
-        }
-    }
     
     public List<Pais> findAll() {
+        return cache.lista("findAll", this::findAllDoBanco);
+    }
+
+    private List<Pais> findAllDoBanco() {
         List<Pais> paises = new ArrayList<>();
-        // Adicionando verificação da existência da tabela pais
-        try (Connection conn = databaseConnection.getConnection()) {
-            System.out.println("Verificando tabelas disponíveis no banco de dados:");
-            DatabaseMetaData metaData = conn.getMetaData();
-            boolean tabelaEncontrada = false;
-            
-            try (ResultSet rs = metaData.getTables(null, null, null, new String[]{"TABLE"})) {
-                while (rs.next()) {
-                    String tableName = rs.getString("TABLE_NAME");
-                    System.out.println("Tabela encontrada: " + tableName);
-                    if ("pais".equalsIgnoreCase(tableName)) {
-                        tabelaEncontrada = true;
-                    }
-                }
-            }
-            
-            if (!tabelaEncontrada) {
-                System.out.println("AVISO: Tabela 'pais' não encontrada no banco de dados!");
-                // Se a tabela não existir, podemos criar
-                try (Statement stmt = conn.createStatement()) {
-                    String createTable = "CREATE TABLE IF NOT EXISTS pais (" +
-                                         "id VARCHAR(10) PRIMARY KEY, " +
-                                         "nome VARCHAR(100) NOT NULL, " + 
-                                         "codigo VARCHAR(3), " +
-                                         "sigla VARCHAR(2) NOT NULL, " +
-                                         "data_cadastro TIMESTAMP, " +
-                                         "ultima_modificacao TIMESTAMP)";
-                    stmt.execute(createTable);
-                    System.out.println("Tabela 'pais' criada com sucesso!");
-                    
-                    // Verificar se as colunas de data existem
-                    try (ResultSet colunas = metaData.getColumns(null, null, "pais", "data_cadastro")) {
-                        if (!colunas.next()) {
-                            // Adicionar coluna data_cadastro se não existir
-                            stmt.execute("ALTER TABLE pais ADD COLUMN data_cadastro TIMESTAMP");
-                            System.out.println("Coluna 'data_cadastro' adicionada à tabela 'pais'");
-                        }
-                    }
-                    
-                    try (ResultSet colunas = metaData.getColumns(null, null, "pais", "ultima_modificacao")) {
-                        if (!colunas.next()) {
-                            // Adicionar coluna ultima_modificacao se não existir
-                            stmt.execute("ALTER TABLE pais ADD COLUMN ultima_modificacao TIMESTAMP");
-                            System.out.println("Coluna 'ultima_modificacao' adicionada à tabela 'pais'");
-                        }
-                    }
-                    
-                    // Inserir um registro inicial com ID simples
-                    LocalDateTime now = LocalDateTime.now();
-                    String insertBrasil = "INSERT INTO pais (id, nome, codigo, sigla, data_cadastro, ultima_modificacao) " +
-                                         "VALUES ('1', 'Brasil', '55', 'BR', ?, ?)";
-                    
-                    PreparedStatement pstmt = conn.prepareStatement(insertBrasil);
-                    pstmt.setTimestamp(1, Timestamp.valueOf(now));
-                    pstmt.setTimestamp(2, Timestamp.valueOf(now));
-                    pstmt.executeUpdate();
-                    pstmt.close();
-                    
-                    System.out.println("Registro inicial inserido com data_cadastro: " + now);
-                }
-            } else {
-                // Verificar estrutura da tabela
-                try (ResultSet colunas = metaData.getColumns(null, null, "pais", null)) {
-                    System.out.println("Estrutura da tabela 'pais':");
-                    while (colunas.next()) {
-                        String colName = colunas.getString("COLUMN_NAME");
-                        String colType = colunas.getString("TYPE_NAME");
-                        System.out.println("  - Coluna: " + colName + ", Tipo: " + colType);
-                    }
-                }
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-            System.out.println("Erro ao verificar tabelas: " + e.getMessage());
-        }
         
-        // Agora realizar a consulta
         String sql = "SELECT * FROM pais ORDER BY nome ASC";
         
         try (Connection conn = databaseConnection.getConnection();
@@ -202,6 +68,10 @@ public class PaisRepository {
     }
     
     public Optional<Pais> findById(Long id) {
+        return cache.obter("findById:" + id, () -> findByIdDoBanco(id));
+    }
+
+    private Optional<Pais> findByIdDoBanco(Long id) {
         System.out.println("PaisRepository: Buscando país com ID: " + id);
         String sql = "SELECT * FROM pais WHERE id = ?";
         
@@ -252,6 +122,14 @@ public class PaisRepository {
     }
     
     public Pais save(Pais pais) {
+        try {
+            return saveNoBanco(pais);
+        } finally {
+            cache.invalidar();
+        }
+    }
+
+    private Pais saveNoBanco(Pais pais) {
         if (pais.getId() == null) {
             return insert(pais);
         } else {
@@ -338,6 +216,14 @@ public class PaisRepository {
     }
     
     public void deleteById(Long id) {
+        try {
+            deleteByIdNoBanco(id);
+        } finally {
+            cache.invalidar();
+        }
+    }
+
+    private void deleteByIdNoBanco(Long id) {
         System.out.println("PaisRepository: Deletando país com ID: " + id);
         String sql = "DELETE FROM pais WHERE id = ?";
         
@@ -359,6 +245,10 @@ public class PaisRepository {
     }
     
     public List<Pais> findAllAtivos() {
+        return cache.lista("findAllAtivos", this::findAllAtivosDoBanco);
+    }
+
+    private List<Pais> findAllAtivosDoBanco() {
         List<Pais> paises = new ArrayList<>();
         String sql = "SELECT * FROM pais WHERE ativo = true ORDER BY nome ASC";
         
@@ -386,6 +276,14 @@ public class PaisRepository {
     }
     
     public void softDeleteById(Long id) {
+        try {
+            softDeleteByIdNoBanco(id);
+        } finally {
+            cache.invalidar();
+        }
+    }
+
+    private void softDeleteByIdNoBanco(Long id) {
         System.out.println("PaisRepository: Soft delete do país com ID: " + id);
         String sql = "UPDATE pais SET ativo = false WHERE id = ?";
         
@@ -8,7 +8,12 @@ import org.springframework.stereotype.Repository;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Repository
@@ -43,6 +48,44 @@ public class ParcelaCondicaoPagamentoRepository {
         return parcelas;
     }
     
+    /**
+     * Busca as parcelas de várias condições de pagamento em uma única consulta
+     * @param condicaoPagamentoIds IDs das condições
+     * @return Parcelas agrupadas pelo ID da condição, ordenadas pelo número
+     */
+    public Map<Long, List<ParcelaCondicaoPagamento>> findByCondicaoPagamentoIds(Collection<Long> condicaoPagamentoIds) {
+        Map<Long, List<ParcelaCondicaoPagamento>> parcelasPorCondicao = new HashMap<>();
+        if (condicaoPagamentoIds == null || condicaoPagamentoIds.isEmpty()) {
+            return parcelasPorCondicao;
+        }
+        
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(condicaoPagamentoIds));
+        String sql = "SELECT p.*, f.nome as forma_nome FROM parcela_condicao_pagamento p " +
+                     "LEFT JOIN forma_pagamento f ON p.forma_pagamento_id = f.id " +
+                     "WHERE p.condicao_pagamento_id IN (" + String.join(", ", Collections.nCopies(ids.size(), "?")) + ") " +
+                     "ORDER BY p.condicao_pagamento_id ASC, p.numero ASC";
+        
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            for (int i = 0; i < ids.size(); i++) {
+                stmt.setLong(i + 1, ids.get(i));
+            }
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    ParcelaCondicaoPagamento parcela = mapResultSetToParcela(rs);
+                    parcelasPorCondicao.computeIfAbsent(parcela.getCondicaoPagamento().getId(), k -> new ArrayList<>())
+                            .add(parcela);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao buscar parcelas das condições de pagamento", e);
+        }
+        
+        return parcelasPorCondicao;
+    }
+    
     public ParcelaCondicaoPagamento save(ParcelaCondicaoPagamento parcela) {
         if (parcela.getId() == null) {
             return insert(parcela);
@@ -1,14 +1,25 @@
 package com.example.PizzariaGraff.repository;
 
 import com.example.PizzariaGraff.repository.DatabaseConnection;
+import com.example.PizzariaGraff.model.MovimentoEstoque;
+import com.example.PizzariaGraff.model.Pagina;
 import com.example.PizzariaGraff.model.Produto;
+import com.example.PizzariaGraff.util.KeysetCursor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -16,34 +27,65 @@ import java.util.Set;
 public class ProdutoRepository {
     
     private final DatabaseConnection databaseConnection;
+    private final CatalogoProdutos catalogo;
+    private final MovimentoEstoqueRepository movimentoEstoqueRepository;
     
-    public ProdutoRepository(DatabaseConnection databaseConnection) {
+    public ProdutoRepository(DatabaseConnection databaseConnection, CatalogoProdutos catalogo,
+                             MovimentoEstoqueRepository movimentoEstoqueRepository) {
         this.databaseConnection = databaseConnection;
-        verificarEstruturaBanco();
+        this.catalogo = catalogo;
+        this.movimentoEstoqueRepository = movimentoEstoqueRepository;
     }
     
-    private void verificarEstruturaBanco() {
-        try (Connection conn = databaseConnection.getConnection()) {
-            // Verifica se as novas colunas existem e as adiciona se necessário
-            DatabaseMetaData metaData = conn.getMetaData();
-            ResultSet columns = metaData.getColumns(null, null, "produto", null);
+    /**
+     * Carrega o catálogo em memória do balcão; produtos alterados durante a carga são
+     * relidos no fim para que nenhuma escrita concorrente se perca
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarCatalogo() {
+        long inicio = System.currentTimeMillis();
+        catalogo.iniciarCarga();
+        String sql = "SELECT id, produto, codigo_barras, referencia, valor_venda, quantidade, quantidade_minima, ativo " +
+                     "FROM produto";
+        
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
             
-            Set<String> existingColumns = new HashSet<>();
-            while (columns.next()) {
-                existingColumns.add(columns.getString("COLUMN_NAME").toLowerCase());
+            stmt.setFetchSize(1000);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    catalogo.carregar(mapearCatalogo(rs));
+                }
             }
             
-            // Adiciona coluna ativo se não existir
-            if (!existingColumns.contains("ativo")) {
-                try (Statement stmt = conn.createStatement()) {
-                    stmt.execute("ALTER TABLE produto ADD COLUMN ativo TINYINT(1) DEFAULT 1 COMMENT 'Status do produto: 1=Ativo, 0=Inativo'");
-                    // Define todos como ativos por padrão
-                    stmt.execute("UPDATE produto SET ativo = TRUE");
+            Set<Long> alterados = catalogo.concluirCarga();
+            recarregarNoCatalogo(sql, alterados);
+        } catch (Exception e) {
+            // Sem o catálogo as consultas do balcão continuam indo ao banco
+            catalogo.cancelarCarga();
+            System.err.println("Erro ao carregar catálogo de produtos: " + e.getMessage());
+            return;
+        }
+        System.out.println("Catálogo de produtos: " + catalogo.getTamanho() + " produtos em "
+                + (System.currentTimeMillis() - inicio) + " ms");
+    }
+    
+    private void recarregarNoCatalogo(String sql, Set<Long> alterados) throws SQLException {
+        if (!alterados.isEmpty()) {
+            String sqlAlterados = sql + " WHERE id IN (" + String.join(", ", Collections.nCopies(alterados.size(), "?")) + ")";
+            try (Connection conn = databaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sqlAlterados)) {
+                
+                int i = 1;
+                for (Long id : alterados) {
+                    stmt.setLong(i++, id);
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        catalogo.gravar(mapearCatalogo(rs));
+                    }
                 }
             }
-            columns.close();
-        } catch (SQLException e) {
-            System.err.println("Erro ao verificar/criar estrutura do banco para produto: " + e.getMessage());
         }
     }
     
@@ -67,7 +109,7 @@ public class ProdutoRepository {
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao buscar produtos", e);
         }
-        
+    
         return produtos;
     }
     
@@ -92,9 +134,62 @@ public class ProdutoRepository {
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao buscar produtos ativos", e);
         }
-        
+    
         return produtos;
     }
+
+    /**
+     * Busca uma página de produtos ordenada por nome, usando o cursor (produto, id)
+     * do último registro da página anterior em vez de OFFSET.
+     */
+    public Pagina<Produto> findPagina(Boolean ativo, Long categoriaId, String cursor, int limite) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT p.*, m.marca as marca_nome, u.unidade_medida as unidade_nome, c.categoria as categoria_nome " +
+                "FROM produto p " +
+                "LEFT JOIN marca m ON p.marca_id = m.id " +
+                "LEFT JOIN unidade_medida u ON p.unidade_medida_id = u.id " +
+                "LEFT JOIN categoria c ON p.categoria_id = c.id " +
+                "WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+
+        if (ativo != null) {
+            sql.append(" AND p.ativo = ?");
+            params.add(ativo);
+        }
+        if (categoriaId != null) {
+            sql.append(" AND p.categoria_id = ?");
+            params.add(categoriaId);
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            String[] chave = KeysetCursor.decode(cursor, 2);
+            sql.append(" AND (p.produto > ? OR (p.produto = ? AND p.id > ?))");
+            params.add(chave[0]);
+            params.add(chave[0]);
+            params.add(Long.parseLong(chave[1]));
+        }
+        sql.append(" ORDER BY p.produto ASC, p.id ASC LIMIT ?");
+        params.add(limite + 1);
+
+        List<Produto> produtos = new ArrayList<>();
+
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+
+            for (int i = 0; i < params.size(); i++) {
+                stmt.setObject(i + 1, params.get(i));
+            }
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    produtos.add(mapResultSetToProdutoWithNames(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao buscar página de produtos", e);
+        }
+
+        return Pagina.deLinhas(produtos, limite, p -> KeysetCursor.encode(p.getProduto(), p.getId()));
+    }
     
     public Optional<Produto> findById(Long id) {
         String sql = "SELECT p.*, m.marca as marca_nome, u.unidade_medida as unidade_nome, c.categoria as categoria_nome " +
@@ -116,9 +211,48 @@ public class ProdutoRepository {
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao buscar produto por ID", e);
         }
-        
+    
         return Optional.empty();
     }
+
+    /**
+     * Busca vários produtos de uma vez, em uma única consulta
+     * @param ids IDs dos produtos
+     * @return Produtos encontrados indexados pelo ID
+     */
+    public Map<Long, Produto> findByIds(Collection<Long> ids) {
+        Map<Long, Produto> produtos = new HashMap<>();
+        if (ids == null || ids.isEmpty()) {
+            return produtos;
+        }
+    
+        List<Long> distintos = new ArrayList<>(new LinkedHashSet<>(ids));
+        String sql = "SELECT p.*, m.marca as marca_nome, u.unidade_medida as unidade_nome, c.categoria as categoria_nome " +
+                     "FROM produto p " +
+                     "LEFT JOIN marca m ON p.marca_id = m.id " +
+                     "LEFT JOIN unidade_medida u ON p.unidade_medida_id = u.id " +
+                     "LEFT JOIN categoria c ON p.categoria_id = c.id " +
+                     "WHERE p.id IN (" + String.join(", ", Collections.nCopies(distintos.size(), "?")) + ")";
+        
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            for (int i = 0; i < distintos.size(); i++) {
+                stmt.setLong(i + 1, distintos.get(i));
+            }
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Produto produto = mapResultSetToProdutoWithNames(rs);
+                    produtos.put(produto.getId(), produto);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao buscar produtos por ID", e);
+        }
+    
+        return produtos;
+    }
     
     public List<Produto> findByProduto(String nome) {
         List<Produto> produtos = new ArrayList<>();
@@ -136,7 +270,7 @@ public class ProdutoRepository {
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao buscar produtos por nome", e);
         }
-        
+    
         return produtos;
     }
     
@@ -155,7 +289,7 @@ public class ProdutoRepository {
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao buscar produto por código de barras", e);
         }
-        
+    
         return Optional.empty();
     }
     
@@ -174,10 +308,55 @@ public class ProdutoRepository {
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao buscar produto por referência", e);
         }
-        
+    
         return Optional.empty();
     }
     
+    /**
+     * Produto pelo código de barras ou, se não houver, pela referência, servido do
+     * catálogo em memória; enquanto o catálogo não foi carregado a consulta vai ao banco
+     */
+    public Optional<CatalogoProdutos.Item> buscarNoCatalogo(String codigo) {
+        if (codigo == null || codigo.isBlank()) {
+            return Optional.empty();
+        }
+        if (catalogo.isPronto()) {
+            return catalogo.buscar(codigo);
+        }
+        String chave = codigo.trim();
+        Optional<Produto> produto = findByCodigoBarras(chave);
+        if (produto.isEmpty()) {
+            produto = findByReferencia(chave);
+        }
+        return produto.map(CatalogoProdutos.Item::new);
+    }
+    
+    /**
+     * Produtos ativos com estoque menor que a quantidade mínima, servidos do catálogo em
+     * memória; enquanto o catálogo não foi carregado a consulta vai ao banco
+     */
+    public List<CatalogoProdutos.Item> findAbaixoDoMinimo() {
+        if (catalogo.isPronto()) {
+            return catalogo.getAbaixoDoMinimo();
+        }
+        List<CatalogoProdutos.Item> itens = new ArrayList<>();
+        String sql = "SELECT id, produto, codigo_barras, referencia, valor_venda, quantidade, quantidade_minima, ativo " +
+                     "FROM produto WHERE ativo = true AND quantidade_minima > 0 AND quantidade < quantidade_minima";
+        
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            while (rs.next()) {
+                itens.add(new CatalogoProdutos.Item(mapearCatalogo(rs)));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao buscar produtos abaixo do estoque mínimo", e);
+        }
+        
+        return itens;
+    }
+    
     public Produto save(Produto produto) {
         Produto savedProduto;
         if (produto.getId() == null) {
@@ -185,39 +364,182 @@ public class ProdutoRepository {
         } else {
             savedProduto = update(produto);
         }
-        
-        // Buscar o produto completo com os nomes das relações
-        return findById(savedProduto.getId()).orElse(savedProduto);
+    
+        carregarNomes(savedProduto);
+        catalogo.gravar(savedProduto);
+        return savedProduto;
     }
     
-    private Produto insert(Produto produto) {
-        String sql = "INSERT INTO produto (produto, unidade_medida_id, codigo_barras, referencia, marca_id, categoria_id, " +
-                     "quantidade_minima, valor_compra, valor_venda, quantidade, percentual_lucro, descricao, " +
-                     "observacoes, ativo, data_criacao, ultima_modificacao) " +
-                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    /**
+     * Preenche os nomes de marca, unidade de medida e categoria a partir dos IDs, em uma
+     * consulta só às tabelas de cadastro (sem reler o produto gravado)
+     */
+    private void carregarNomes(Produto produto) {
+        produto.setMarcaNome(null);
+        produto.setUnidadeMedidaNome(null);
+        produto.setCategoriaNome(null);
+        if (produto.getMarcaId() == null && produto.getUnidadeMedidaId() == null && produto.getCategoriaId() == null) {
+            return;
+        }
+        
+        String sql = "SELECT (SELECT marca FROM marca WHERE id = ?) AS marca_nome, " +
+                     "(SELECT unidade_medida FROM unidade_medida WHERE id = ?) AS unidade_nome, " +
+                     "(SELECT categoria FROM categoria WHERE id = ?) AS categoria_nome";
         
         try (Connection conn = databaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            
-            LocalDateTime now = LocalDateTime.now();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
             
-            stmt.setString(1, produto.getProduto());
+            stmt.setObject(1, produto.getMarcaId());
             stmt.setObject(2, produto.getUnidadeMedidaId());
-            stmt.setString(3, produto.getCodigoBarras());
-            stmt.setString(4, produto.getReferencia());
-            stmt.setObject(5, produto.getMarcaId());
-            stmt.setObject(6, produto.getCategoriaId());
-            stmt.setObject(7, produto.getQuantidadeMinima());
-            stmt.setBigDecimal(8, produto.getValorCompra());
-            stmt.setBigDecimal(9, produto.getValorVenda());
-            stmt.setObject(10, produto.getQuantidade());
-            stmt.setBigDecimal(11, produto.getPercentualLucro());
-            stmt.setString(12, produto.getDescricao());
-            stmt.setString(13, produto.getObservacoes());
-            stmt.setBoolean(14, produto.getAtivo() != null ? produto.getAtivo() : true);
-            stmt.setTimestamp(15, produto.getDataCriacao() != null ? Timestamp.valueOf(produto.getDataCriacao()) : Timestamp.valueOf(now));
-            stmt.setTimestamp(16, produto.getDataAlteracao() != null ? Timestamp.valueOf(produto.getDataAlteracao()) : Timestamp.valueOf(now));
-            
+            stmt.setObject(3, produto.getCategoriaId());
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    produto.setMarcaNome(rs.getString("marca_nome"));
+                    produto.setUnidadeMedidaNome(rs.getString("unidade_nome"));
+                    produto.setCategoriaNome(rs.getString("categoria_nome"));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao buscar nomes das relações do produto", e);
+        }
+    }
+    
+    private static final String SQL_INSERT =
+            "INSERT INTO produto (produto, unidade_medida_id, codigo_barras, referencia, marca_id, categoria_id, " +
+            "quantidade_minima, valor_compra, valor_venda, quantidade, percentual_lucro, descricao, " +
+            "observacoes, ativo, data_criacao, ultima_modificacao) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Busca, em uma única consulta, quais dos valores informados já estão cadastrados
+     * @param valores Códigos de barras a verificar
+     * @return Valores já existentes na coluna codigo_barras
+     */
+    public Set<String> findCodigosBarrasExistentes(Collection<String> valores) {
+        Set<String> existentes = new HashSet<>();
+        if (valores == null || valores.isEmpty()) {
+            return existentes;
+        }
+    
+        List<String> distintos = new ArrayList<>(new LinkedHashSet<>(valores));
+        String sql = "SELECT codigo_barras FROM produto WHERE codigo_barras IN (" +
+                     String.join(", ", Collections.nCopies(distintos.size(), "?")) + ")";
+        
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        
+            for (int i = 0; i < distintos.size(); i++) {
+                stmt.setString(i + 1, distintos.get(i));
+            }
+    
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    existentes.add(rs.getString(1));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao verificar códigos de barras existentes", e);
+        }
+    
+        return existentes;
+    }
+    
+    /**
+     * Busca, em uma única consulta, quais dos valores informados já estão cadastrados
+     * @param valores Referências a verificar
+     * @return Valores já existentes na coluna referencia
+     */
+    public Set<String> findReferenciasExistentes(Collection<String> valores) {
+        Set<String> existentes = new HashSet<>();
+        if (valores == null || valores.isEmpty()) {
+            return existentes;
+        }
+    
+        List<String> distintos = new ArrayList<>(new LinkedHashSet<>(valores));
+        String sql = "SELECT referencia FROM produto WHERE referencia IN (" +
+                     String.join(", ", Collections.nCopies(distintos.size(), "?")) + ")";
+        
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        
+            for (int i = 0; i < distintos.size(); i++) {
+                stmt.setString(i + 1, distintos.get(i));
+            }
+    
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    existentes.add(rs.getString(1));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao verificar referências existentes", e);
+        }
+    
+        return existentes;
+    }
+    
+    /**
+     * Insere vários registros em um único lote (JDBC batch), preenchendo os IDs gerados.
+     * Deve ser chamado dentro de uma transação para que o lote seja atômico.
+     * @param produtos Registros novos (sem ID)
+     */
+    public void insertEmLote(List<Produto> produtos) {
+        if (produtos.isEmpty()) {
+            return;
+        }
+    
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SQL_INSERT, Statement.RETURN_GENERATED_KEYS)) {
+        
+            LocalDateTime now = LocalDateTime.now();
+            for (Produto produto : produtos) {
+                preencherInsert(stmt, produto, now);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        
+            try (ResultSet rs = stmt.getGeneratedKeys()) {
+                for (Produto produto : produtos) {
+                    if (rs.next()) {
+                        produto.setId(rs.getLong(1));
+                    }
+                    if (produto.getDataCriacao() == null) {
+                        produto.setDataCriacao(now);
+                    }
+                    if (produto.getDataAlteracao() == null) {
+                        produto.setDataAlteracao(now);
+                    }
+                    catalogo.gravar(produto);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao inserir lote de produtos", e);
+        }
+        registrarEstoqueInicial(produtos);
+    }
+    
+    // Quantidade informada no cadastro entra no histórico de estoque como ajuste
+    private void registrarEstoqueInicial(List<Produto> produtos) {
+        List<MovimentoEstoque> movimentos = new ArrayList<>();
+        for (Produto produto : produtos) {
+            if (produto.getId() != null && produto.getQuantidade() != null && produto.getQuantidade().signum() != 0) {
+                MovimentoEstoque movimento = new MovimentoEstoque();
+                movimento.setTipo(MovimentoEstoque.AJUSTE);
+                movimento.setOrigem(MovimentoEstoque.CADASTRO);
+                movimento.setDescricao("Estoque inicial do cadastro");
+                movimentos.add(movimento.paraProduto(produto.getId(), produto.getQuantidade()));
+            }
+        }
+        movimentoEstoqueRepository.inserirEmLote(movimentos);
+    }
+    
+    private Produto insert(Produto produto) {
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SQL_INSERT, Statement.RETURN_GENERATED_KEYS)) {
+        
+            LocalDateTime now = LocalDateTime.now();
+            preencherInsert(stmt, produto, now);
+        
             stmt.executeUpdate();
             
             ResultSet rs = stmt.getGeneratedKeys();
@@ -236,16 +558,41 @@ public class ProdutoRepository {
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao inserir produto", e);
         }
-        
+        registrarEstoqueInicial(List.of(produto));
+    
         return produto;
     }
     
+    private void preencherInsert(PreparedStatement stmt, Produto produto, LocalDateTime now) throws SQLException {
+        stmt.setString(1, produto.getProduto());
+        stmt.setObject(2, produto.getUnidadeMedidaId());
+        stmt.setString(3, produto.getCodigoBarras());
+        stmt.setString(4, produto.getReferencia());
+        stmt.setObject(5, produto.getMarcaId());
+        stmt.setObject(6, produto.getCategoriaId());
+        stmt.setObject(7, produto.getQuantidadeMinima());
+        stmt.setBigDecimal(8, produto.getValorCompra());
+        stmt.setBigDecimal(9, produto.getValorVenda());
+        stmt.setObject(10, produto.getQuantidade());
+        stmt.setBigDecimal(11, produto.getPercentualLucro());
+        stmt.setString(12, produto.getDescricao());
+        stmt.setString(13, produto.getObservacoes());
+        stmt.setBoolean(14, produto.getAtivo() != null ? produto.getAtivo() : true);
+        stmt.setTimestamp(15, produto.getDataCriacao() != null ? Timestamp.valueOf(produto.getDataCriacao()) : Timestamp.valueOf(now));
+        stmt.setTimestamp(16, produto.getDataAlteracao() != null ? Timestamp.valueOf(produto.getDataAlteracao()) : Timestamp.valueOf(now));
+    }
+    
     private Produto update(Produto produto) {
         String sql = "UPDATE produto SET produto = ?, unidade_medida_id = ?, codigo_barras = ?, referencia = ?, " +
                      "marca_id = ?, categoria_id = ?, quantidade_minima = ?, valor_compra = ?, valor_venda = ?, quantidade = ?, " +
                      "percentual_lucro = ?, descricao = ?, observacoes = ?, ativo = ?, ultima_modificacao = ? " +
                      "WHERE id = ?";
         
+        // A diferença de quantidade vai para o histórico antes de ser sobrescrita
+        if (produto.getQuantidade() != null) {
+            movimentoEstoqueRepository.registrarAjuste(produto.getId(), produto.getQuantidade());
+        }
+        
         try (Connection conn = databaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
@@ -274,7 +621,7 @@ public class ProdutoRepository {
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao atualizar produto", e);
         }
-        
+    
         return produto;
     }
     
@@ -286,6 +633,7 @@ public class ProdutoRepository {
             
             stmt.setLong(1, id);
             stmt.executeUpdate();
+            catalogo.remover(id);
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao deletar produto", e);
         }
@@ -294,92 +642,186 @@ public class ProdutoRepository {
     /**
      * Aumenta a quantidade em estoque de um produto
      * @param produtoId ID do produto
-     * @param quantidade Quantidade a adicionar (pode ser decimal, será convertida para int)
+     * @param quantidade Quantidade a adicionar
      */
-    public void aumentarEstoque(Long produtoId, java.math.BigDecimal quantidade) {
-        // Converter BigDecimal para int (arredondando)
-        int quantidadeInt = quantidade.setScale(0, java.math.RoundingMode.HALF_UP).intValue();
-        
+    public void aumentarEstoque(Long produtoId, BigDecimal quantidade) {
         String sql = "UPDATE produto SET quantidade = quantidade + ? WHERE id = ?";
         
         try (Connection conn = databaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
-            stmt.setInt(1, quantidadeInt);
+            stmt.setBigDecimal(1, quantidade);
             stmt.setLong(2, produtoId);
             
             int rowsAffected = stmt.executeUpdate();
             if (rowsAffected == 0) {
                 throw new RuntimeException("Produto não encontrado para atualizar estoque: ID " + produtoId);
             }
+            catalogo.movimentar(produtoId, quantidade);
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao aumentar estoque do produto", e);
         }
     }
     
     /**
-     * Diminui a quantidade em estoque de um produto
+     * Diminui a quantidade em estoque de um produto. A verificação de saldo é feita
+     * no próprio UPDATE (quantidade >= ?), sem janela entre a consulta e a alteração.
      * @param produtoId ID do produto
-     * @param quantidade Quantidade a subtrair (pode ser decimal, será convertida para int)
+     * @param quantidade Quantidade a subtrair
      * @throws IllegalArgumentException se não houver estoque suficiente
      */
-    public void diminuirEstoque(Long produtoId, java.math.BigDecimal quantidade) {
-        // Converter BigDecimal para int (arredondando)
-        int quantidadeInt = quantidade.setScale(0, java.math.RoundingMode.HALF_UP).intValue();
+    public void diminuirEstoque(Long produtoId, BigDecimal quantidade) {
+        String sql = "UPDATE produto SET quantidade = quantidade - ? WHERE id = ? AND quantidade >= ?";
         
-        // Primeiro verificar se há estoque suficiente
-        Optional<Produto> produtoOpt = findById(produtoId);
-        if (produtoOpt.isEmpty()) {
-            throw new RuntimeException("Produto não encontrado: ID " + produtoId);
+        int rowsAffected;
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setBigDecimal(1, quantidade);
+            stmt.setLong(2, produtoId);
+            stmt.setBigDecimal(3, quantidade);
+            
+            rowsAffected = stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao diminuir estoque do produto", e);
         }
-        
-        Produto produto = produtoOpt.get();
-        Integer estoqueAtual = produto.getQuantidade() != null ? produto.getQuantidade() : 0;
-        
-        if (estoqueAtual < quantidadeInt) {
+    
+        if (rowsAffected == 0) {
+            Produto produto = findById(produtoId)
+                    .orElseThrow(() -> new RuntimeException("Produto não encontrado: ID " + produtoId));
             throw new IllegalArgumentException(
                 String.format("Estoque insuficiente para o produto '%s' (ID: %d). " +
-                            "Estoque disponível: %d, Quantidade solicitada: %d",
-                    produto.getProduto(), produtoId, estoqueAtual, quantidadeInt)
+                            "Estoque disponível: %s, Quantidade solicitada: %s",
+                    produto.getProduto(), produtoId, produto.getQuantidade(), quantidade)
             );
         }
-        
-        String sql = "UPDATE produto SET quantidade = quantidade - ? WHERE id = ?";
+        catalogo.movimentar(produtoId, quantidade.negate());
+    }
+    
+    /**
+     * Verifica se há estoque suficiente para uma quantidade
+     * @param produtoId ID do produto
+     * @param quantidade Quantidade necessária
+     * @return true se houver estoque suficiente, false caso contrário
+     */
+    public boolean verificarEstoqueDisponivel(Long produtoId, BigDecimal quantidade) {
+        String sql = "SELECT 1 FROM produto WHERE id = ? AND quantidade >= ?";
         
         try (Connection conn = databaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
-            stmt.setInt(1, quantidadeInt);
-            stmt.setLong(2, produtoId);
+            stmt.setLong(1, produtoId);
+            stmt.setBigDecimal(2, quantidade);
             
-            int rowsAffected = stmt.executeUpdate();
-            if (rowsAffected == 0) {
-                throw new RuntimeException("Produto não encontrado para atualizar estoque: ID " + produtoId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
             }
         } catch (SQLException e) {
-            throw new RuntimeException("Erro ao diminuir estoque do produto", e);
+            throw new RuntimeException("Erro ao verificar estoque do produto", e);
         }
     }
     
     /**
-     * Verifica se há estoque suficiente para uma quantidade
-     * @param produtoId ID do produto
-     * @param quantidade Quantidade necessária (pode ser decimal, será convertida para int)
-     * @return true se houver estoque suficiente, false caso contrário
+     * Busca nome e saldo em estoque de vários produtos em uma única consulta
+     * @param ids IDs dos produtos
+     * @param bloquear Se verdadeiro, bloqueia as linhas (SELECT ... FOR UPDATE) até o fim da transação corrente
+     * @return Produtos (apenas id, produto e quantidade) indexados pelo ID
      */
-    public boolean verificarEstoqueDisponivel(Long produtoId, java.math.BigDecimal quantidade) {
-        // Converter BigDecimal para int (arredondando)
-        int quantidadeInt = quantidade.setScale(0, java.math.RoundingMode.HALF_UP).intValue();
+    public Map<Long, Produto> findEstoqueByIds(Collection<Long> ids, boolean bloquear) {
+        Map<Long, Produto> produtos = new HashMap<>();
+        if (ids == null || ids.isEmpty()) {
+            return produtos;
+        }
+    
+        List<Long> distintos = new ArrayList<>(new LinkedHashSet<>(ids));
+        String sql = "SELECT id, produto, quantidade FROM produto " +
+                     "WHERE id IN (" + String.join(", ", Collections.nCopies(distintos.size(), "?")) + ") " +
+                     "ORDER BY id" + (bloquear ? " FOR UPDATE" : "");
         
-        Optional<Produto> produtoOpt = findById(produtoId);
-        if (produtoOpt.isEmpty()) {
-            return false;
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            for (int i = 0; i < distintos.size(); i++) {
+                stmt.setLong(i + 1, distintos.get(i));
+            }
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Produto produto = new Produto();
+                    produto.setId(rs.getLong("id"));
+                    produto.setProduto(rs.getString("produto"));
+                    produto.setQuantidade(rs.getBigDecimal("quantidade"));
+                    produtos.put(produto.getId(), produto);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao buscar estoque dos produtos", e);
         }
+    
+        return produtos;
+    }
+    
+    /**
+     * Aplica em lote (JDBC batch) a movimentação de estoque de vários produtos.
+     * Nas saídas cada UPDATE só altera a linha se quantidade >= solicitada.
+     * @param quantidades Quantidade por produto
+     * @param entrada true para somar ao estoque, false para subtrair
+     * @return IDs dos produtos que não foram alterados (inexistentes ou sem saldo)
+     */
+    public List<Long> movimentarEstoqueEmLote(Map<Long, BigDecimal> quantidades, boolean entrada) {
+        List<Long> naoAlterados = new ArrayList<>();
+        if (quantidades.isEmpty()) {
+            return naoAlterados;
+        }
+    
+        String sql = entrada
+                ? "UPDATE produto SET quantidade = quantidade + ? WHERE id = ?"
+                : "UPDATE produto SET quantidade = quantidade - ? WHERE id = ? AND quantidade >= ?";
+        List<Long> ids = new ArrayList<>(quantidades.keySet());
         
-        Produto produto = produtoOpt.get();
-        Integer estoqueAtual = produto.getQuantidade() != null ? produto.getQuantidade() : 0;
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            for (Long id : ids) {
+                BigDecimal quantidade = quantidades.get(id);
+                stmt.setBigDecimal(1, quantidade);
+                stmt.setLong(2, id);
+                if (!entrada) {
+                    stmt.setBigDecimal(3, quantidade);
+                }
+                stmt.addBatch();
+            }
+            
+            int[] resultados = stmt.executeBatch();
+            // O driver pode devolver SUCCESS_NO_INFO em lotes; só 0 indica linha não alterada
+            for (int i = 0; i < resultados.length; i++) {
+                if (resultados[i] == 0) {
+                    naoAlterados.add(ids.get(i));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao movimentar estoque dos produtos", e);
+        }
         
-        return estoqueAtual >= quantidadeInt;
+        Map<Long, BigDecimal> alterados = new HashMap<>(quantidades);
+        alterados.keySet().removeAll(naoAlterados);
+        catalogo.movimentar(alterados, entrada);
+    
+        return naoAlterados;
+    }
+    
+    // Só as colunas mantidas no catálogo do balcão
+    private static Produto mapearCatalogo(ResultSet rs) throws SQLException {
+        Produto produto = new Produto();
+        produto.setId(rs.getLong("id"));
+        produto.setProduto(rs.getString("produto"));
+        produto.setCodigoBarras(rs.getString("codigo_barras"));
+        produto.setReferencia(rs.getString("referencia"));
+        produto.setValorVenda(rs.getBigDecimal("valor_venda"));
+        produto.setQuantidade(rs.getBigDecimal("quantidade"));
+        produto.setQuantidadeMinima(rs.getObject("quantidade_minima", Integer.class));
+        produto.setAtivo(rs.getBoolean("ativo"));
+        return produto;
     }
     
     private Produto mapResultSetToProduto(ResultSet rs) throws SQLException {
@@ -394,7 +836,7 @@ public class ProdutoRepository {
         produto.setQuantidadeMinima(rs.getObject("quantidade_minima", Integer.class));
         produto.setValorCompra(rs.getBigDecimal("valor_compra"));
         produto.setValorVenda(rs.getBigDecimal("valor_venda"));
-        produto.setQuantidade(rs.getObject("quantidade", Integer.class));
+        produto.setQuantidade(rs.getBigDecimal("quantidade"));
         produto.setPercentualLucro(rs.getBigDecimal("percentual_lucro"));
         produto.setDescricao(rs.getString("descricao"));
         produto.setObservacoes(rs.getString("observacoes"));
@@ -438,8 +880,7 @@ public class ProdutoRepository {
         produto.setValorCompra(rs.getBigDecimal("valor_compra"));
         produto.setValorVenda(rs.getBigDecimal("valor_venda"));
         
-        Integer quantidade = rs.getObject("quantidade", Integer.class);
-        produto.setQuantidade(quantidade);
+        produto.setQuantidade(rs.getBigDecimal("quantidade"));
         
         produto.setPercentualLucro(rs.getBigDecimal("percentual_lucro"));
         produto.setDescricao(rs.getString("descricao"));
@@ -452,12 +893,12 @@ public class ProdutoRepository {
         if (dataCriacao != null) {
             produto.setDataCriacao(dataCriacao.toLocalDateTime());
         }
-        
+    
         Timestamp ultimaModificacao = rs.getTimestamp("ultima_modificacao");
         if (ultimaModificacao != null) {
             produto.setDataAlteracao(ultimaModificacao.toLocalDateTime());
         }
-        
+    
         produto.setMarcaNome(rs.getString("marca_nome"));
         produto.setUnidadeMedidaNome(rs.getString("unidade_nome"));
         produto.setCategoriaNome(rs.getString("categoria_nome"));
@@ -0,0 +1,174 @@
+package com.example.PizzariaGraff.repository;
+
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * Tabela resumo_financeiro: quantidade e saldo em aberto por origem (RECEBER, PAGAR,
+ * PAGAR_AVULSA) e dia de vencimento.
+ *
+ * Cada escrita em contas recalcula somente os dias que ela afetou, com um GROUP BY
+ * restrito a esses vencimentos (que usa o índice de data_vencimento), então o resumo
+ * continua exato sem que o serviço precise saber o saldo anterior da conta. Dias que
+ * ficaram sem contas em aberto permanecem com quantidade 0 e são ignorados na leitura.
+ */
+@Repository
+public class ResumoFinanceiroRepository {
+
+    public static final String RECEBER = "RECEBER";
+    public static final String PAGAR = "PAGAR";
+    public static final String PAGAR_AVULSA = "PAGAR_AVULSA";
+
+    // Tabela, saldo em aberto e condição de "em aberto" de cada origem
+    private static final Map<String, String[]> ORIGENS = Map.of(
+            RECEBER, new String[] {"contas_receber",
+                    "GREATEST(c.valor_total - COALESCE(c.valor_recebido, 0), 0)",
+                    "c.situacao NOT IN ('RECEBIDA', 'CANCELADA')"},
+            PAGAR, new String[] {"contas_pagar",
+                    "GREATEST(c.valor_total - COALESCE(c.valor_pago, 0), 0)",
+                    "c.situacao NOT IN ('PAGA', 'CANCELADA')"},
+            PAGAR_AVULSA, new String[] {"contas_pagar_avulsa",
+                    // Em contas avulsas abertas, juros/multa/desconto são percentuais, não valores
+                    "GREATEST(c.valor_parcela - COALESCE(c.valor_pago, 0), 0)",
+                    "c.status NOT IN ('PAGA', 'CANCELADA')"}
+    );
+
+    private final DatabaseConnection databaseConnection;
+
+    public ResumoFinanceiroRepository(DatabaseConnection databaseConnection) {
+        this.databaseConnection = databaseConnection;
+    }
+
+    /**
+     * Recalcula o resumo dos dias informados para uma origem
+     * @param origem RECEBER, PAGAR ou PAGAR_AVULSA
+     * @param dias Vencimentos afetados (nulos são ignorados)
+     */
+    public void atualizarDias(String origem, Collection<LocalDate> dias) {
+        TreeSet<LocalDate> distintos = new TreeSet<>();
+        for (LocalDate dia : dias) {
+            if (dia != null) {
+                distintos.add(dia);
+            }
+        }
+        if (distintos.isEmpty()) {
+            return;
+        }
+
+        String[] definicao = ORIGENS.get(origem);
+        // Dias como tabela derivada: os que ficaram sem contas em aberto voltam com quantidade 0
+        String diasSql = String.join(" UNION ALL ", Collections.nCopies(distintos.size(), "SELECT ? AS dia"));
+        String sql = "INSERT INTO resumo_financeiro (origem, data_vencimento, quantidade, saldo_aberto) " +
+                     "SELECT ?, d.dia, COUNT(c.data_vencimento), COALESCE(SUM(" + definicao[1] + "), 0) " +
+                     "FROM (" + diasSql + ") d " +
+                     "LEFT JOIN " + definicao[0] + " c ON c.data_vencimento = d.dia AND " + definicao[2] + " " +
+                     "GROUP BY d.dia " +
+                     "ON DUPLICATE KEY UPDATE quantidade = VALUES(quantidade), saldo_aberto = VALUES(saldo_aberto)";
+
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            int i = 1;
+            stmt.setString(i++, origem);
+            for (LocalDate dia : distintos) {
+                stmt.setDate(i++, Date.valueOf(dia));
+            }
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao atualizar resumo financeiro", e);
+        }
+    }
+
+    /**
+     * Reconstrói o resumo inteiro a partir das três tabelas de contas
+     */
+    public void recalcularTudo() {
+        try (Connection conn = databaseConnection.getConnection();
+             Statement stmt = conn.createStatement()) {
+
+            stmt.executeUpdate("DELETE FROM resumo_financeiro");
+            for (Map.Entry<String, String[]> origem : ORIGENS.entrySet()) {
+                String[] definicao = origem.getValue();
+                stmt.executeUpdate(
+                        "INSERT INTO resumo_financeiro (origem, data_vencimento, quantidade, saldo_aberto) " +
+                        "SELECT '" + origem.getKey() + "', c.data_vencimento, COUNT(*), SUM(" + definicao[1] + ") " +
+                        "FROM " + definicao[0] + " c WHERE " + definicao[2] + " GROUP BY c.data_vencimento");
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao recalcular resumo financeiro", e);
+        }
+    }
+
+    /**
+     * Todas as linhas do resumo com contas em aberto, vencidas ou a vencer (no máximo
+     * uma linha por origem e dia de vencimento)
+     * @return Linhas com contas em aberto, em ordem de vencimento
+     */
+    public List<Linha> findAbertos() {
+        List<Linha> linhas = new ArrayList<>();
+        String sql = "SELECT origem, data_vencimento, quantidade, saldo_aberto FROM resumo_financeiro " +
+                     "WHERE quantidade > 0 ORDER BY data_vencimento";
+
+        try (Connection conn = databaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    linhas.add(new Linha(
+                            rs.getString("origem"),
+                            rs.getDate("data_vencimento").toLocalDate(),
+                            rs.getInt("quantidade"),
+                            rs.getBigDecimal("saldo_aberto")));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao buscar resumo financeiro", e);
+        }
+
+        return linhas;
+    }
+
+    public static class Linha {
+        private final String origem;
+        private final LocalDate dataVencimento;
+        private final int quantidade;
+        private final BigDecimal saldoAberto;
+
+        public Linha(String origem, LocalDate dataVencimento, int quantidade, BigDecimal saldoAberto) {
+            this.origem = origem;
+            this.dataVencimento = dataVencimento;
+            this.quantidade = quantidade;
+            this.saldoAberto = Objects.requireNonNullElse(saldoAberto, BigDecimal.ZERO);
+        }
+
+        public String getOrigem() {
+            return origem;
+        }
+
+        public LocalDate getDataVencimento() {
+            return dataVencimento;
+        }
+
+        public int getQuantidade() {
+            return quantidade;
+        }
+
+        public BigDecimal getSaldoAberto() {
+            return saldoAberto;
+        }
+
+        public boolean isReceber() {
+            return RECEBER.equals(origem);
+        }
+    }
+}
@@ -19,73 +19,8 @@ public class TranspItemRepository {
     public TranspItemRepository(DatabaseConnection databaseConnection, TransportadoraRepository transportadoraRepository) {
         this.databaseConnection = databaseConnection;
         this.transportadoraRepository = transportadoraRepository;
-        verificarEstruturaBanco();
     }
     
-    // Método para verificar e corrigir a estrutura da tabela
-    private void verificarEstruturaBanco() {
-        try (Connection conn = databaseConnection.getConnection()) {
-            DatabaseMetaData metaData = conn.getMetaData();
-            
-            // Verificar se a tabela existe
-            boolean tabelaExiste = false;
-            try (ResultSet rs = metaData.getTables(null, null, null, new String[]{"TABLE"})) {
-                while (rs.next()) {
-                    String tableName = rs.getString("TABLE_NAME");
-                    System.out.println("Tabela encontrada: " + tableName);
-                    if ("transp_item".equalsIgnoreCase(tableName)) {
-                        tabelaExiste = true;
-                        break;
-                    }
-                }
-            }
-            
-            if (tabelaExiste) {
-                // Verificar se as colunas de data existem
-                boolean temDataCadastro = false;
-                boolean temUltimaModificacao = false;
-                
-                try (ResultSet colunas = metaData.getColumns(null, null, "transp_item", null)) {
-                    System.out.println("Verificando colunas da tabela transp_item:");
-                    while (colunas.next()) {
-                        String colName = colunas.getString("COLUMN_NAME");
-                        String colType = colunas.getString("TYPE_NAME");
-                        System.out.println("  - Coluna: " + colName + ", Tipo: " + colType);
-                        
-                        if ("data_cadastro".equalsIgnoreCase(colName)) {
-                            temDataCadastro = true;
-                        } else if ("ultima_modificacao".equalsIgnoreCase(colName)) {
-                            temUltimaModificacao = true;
-                        }
-                    }
-                }
-                
-                if (!temDataCadastro || !temUltimaModificacao) {
-                    System.out.println("Adicionando colunas de data à tabela transp_item");
-                    try (Statement stmt = conn.createStatement()) {
-                        if (!temDataCadastro) {
-                            stmt.execute("ALTER TABLE transp_item ADD COLUMN data_cadastro TIMESTAMP");
-                            System.out.println("Coluna data_cadastro adicionada à tabela transp_item");
-                            stmt.execute("UPDATE transp_item SET data_cadastro = CURRENT_TIMESTAMP");
-                            System.out.println("Registros atualizados com data_cadastro atual");
-                        }
-                        
-                        if (!temUltimaModificacao) {
-                            stmt.execute("ALTER TABLE transp_item ADD COLUMN ultima_modificacao TIMESTAMP");
-                            System.out.println("Coluna ultima_modificacao adicionada à tabela transp_item");
-                            stmt.execute("UPDATE transp_item SET ultima_modificacao = CURRENT_TIMESTAMP");
-                            System.out.println("Registros atualizados com ultima_modificacao atual");
-                        }
-                    }
-                }
-            } else {
-                System.out.println("Tabela 'transp_item' não existe, será criada quando necessário");
-            }
-        } catch (SQLException e) {
-            System.err.println("Erro ao verificar/modificar estrutura da tabela transp_item: " + e.getMessage());
-            e.printStackTrace();
-        }
-    }
     
     public List<TranspItem> findAll() {
         List<TranspItem> itens = new ArrayList<>();
@@ -5,7 +5,11 @@ import org.springframework.stereotype.Repository;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Repository
@@ -70,6 +74,35 @@ public class TransportadoraRepository {
         return Optional.empty();
     }
     
+    /**
+     * Busca várias transportadoras em uma consulta
+     * @return Transportadoras encontradas, por ID
+     */
+    public Map<Long, Transportadora> findByIds(Collection<Long> ids) {
+        Map<Long, Transportadora> transportadoras = new HashMap<>();
+        if (ids.isEmpty()) {
+            return transportadoras;
+        }
+        try (Connection connection = databaseConnection.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                FIND_QUERY + " WHERE t.id IN (" + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")")) {
+            
+            int i = 1;
+            for (Long id : ids) {
+                statement.setLong(i++, id);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    Transportadora transportadora = mapRowToTransportadora(resultSet);
+                    transportadoras.put(transportadora.getId(), transportadora);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao buscar transportadoras por ID", e);
+        }
+        return transportadoras;
+    }
+    
     public List<Transportadora> findByTermo(String termo) {
         List<Transportadora> transportadoras = new ArrayList<>();
         try (Connection connection = databaseConnection.getConnection();
@@ -6,47 +6,25 @@ import org.springframework.stereotype.Repository;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
 @Repository
 public class UnidadeMedidaRepository {
 
     private final DatabaseConnection databaseConnection;
+    private final CacheReferencia cache;
 
-    public UnidadeMedidaRepository(DatabaseConnection databaseConnection) {
+    public UnidadeMedidaRepository(DatabaseConnection databaseConnection, CachesReferencia cachesReferencia) {
         this.databaseConnection = databaseConnection;
-        verificarEstruturaBanco();
+        this.cache = cachesReferencia.cache("unidade_medida");
     }
 
-    private void verificarEstruturaBanco() {
-        try (Connection conn = databaseConnection.getConnection()) {
-            // Verifica se as novas colunas existem e as adiciona se necessário
-            DatabaseMetaData metaData = conn.getMetaData();
-            ResultSet columns = metaData.getColumns(null, null, "unidade_medida", null);
-            
-            Set<String> existingColumns = new HashSet<>();
-            while (columns.next()) {
-                existingColumns.add(columns.getString("COLUMN_NAME").toLowerCase());
-            }
-            
-            // Adiciona coluna ativo se não existir
-            if (!existingColumns.contains("ativo")) {
-                try (Statement stmt = conn.createStatement()) {
-                    stmt.execute("ALTER TABLE unidade_medida ADD COLUMN ativo TINYINT(1) DEFAULT 1 COMMENT 'Status da unidade de medida: 1=Ativo, 0=Inativo'");
-                    // Define todos como ativos por padrão
-                    stmt.execute("UPDATE unidade_medida SET ativo = TRUE");
-                }
-            }
-            columns.close();
-        } catch (SQLException e) {
-            System.err.println("Erro ao verificar/criar estrutura do banco para unidade_medida: " + e.getMessage());
-        }
+    public List<UnidadeMedida> findAll() {
+        return cache.lista("findAll", this::findAllDoBanco);
     }
 
-    public List<UnidadeMedida> findAll() {
+    private List<UnidadeMedida> findAllDoBanco() {
         List<UnidadeMedida> unidades = new ArrayList<>();
         String sql = "SELECT * FROM unidade_medida ORDER BY unidade_medida";
 
@@ -66,6 +44,10 @@ public class UnidadeMedidaRepository {
     }
 
     public List<UnidadeMedida> findByAtivoTrue() {
+        return cache.lista("findByAtivoTrue", this::findByAtivoTrueDoBanco);
+    }
+
+    private List<UnidadeMedida> findByAtivoTrueDoBanco() {
         List<UnidadeMedida> unidades = new ArrayList<>();
         String sql = "SELECT * FROM unidade_medida WHERE ativo = TRUE ORDER BY unidade_medida";
 
@@ -85,6 +67,10 @@ public class UnidadeMedidaRepository {
     }
 
     public Optional<UnidadeMedida> findById(Long id) {
+        return cache.obter("findById:" + id, () -> findByIdDoBanco(id));
+    }
+
+    private Optional<UnidadeMedida> findByIdDoBanco(Long id) {
         String sql = "SELECT * FROM unidade_medida WHERE id = ?";
 
         try (Connection conn = databaseConnection.getConnection();
@@ -125,6 +111,14 @@ public class UnidadeMedidaRepository {
     }
 
     public UnidadeMedida save(UnidadeMedida unidadeMedida) {
+        try {
+            return saveNoBanco(unidadeMedida);
+        } finally {
+            cache.invalidar();
+        }
+    }
+
+    private UnidadeMedida saveNoBanco(UnidadeMedida unidadeMedida) {
         if (unidadeMedida.getId() == null) {
             return insert(unidadeMedida);
         } else {
@@ -191,6 +185,14 @@ public class UnidadeMedidaRepository {
     }
 
     public void deleteById(Long id) {
+        try {
+            deleteByIdNoBanco(id);
+        } finally {
+            cache.invalidar();
+        }
+    }
+
+    private void deleteByIdNoBanco(Long id) {
         String sql = "DELETE FROM unidade_medida WHERE id = ?";
 
         try (Connection conn = databaseConnection.getConnection();
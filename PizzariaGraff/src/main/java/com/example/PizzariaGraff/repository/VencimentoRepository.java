@@ -0,0 +1,124 @@
+package com.example.PizzariaGraff.repository;
+
+import org.springframework.stereotype.Repository;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Marcação de contas vencidas em lotes.
+ *
+ * Cada lote escolhe até N contas pela chave (situação + vencimento, indexados) e as
+ * atualiza com um único UPDATE por id, então cada transação trava poucas linhas por
+ * pouco tempo. Em contas a receber e a pagar o mesmo UPDATE já grava multa, juros e
+ * valor total com os percentuais da condição de pagamento da nota (UPDATE ... JOIN
+ * nota ... JOIN condicao_pagamento), nos mesmos critérios do recebimento/pagamento:
+ * percentuais fixos sobre o valor original. Contas avulsas guardam os percentuais
+ * nas próprias colunas de multa e juros, então nelas só a situação muda.
+ */
+@Repository
+public class VencimentoRepository {
+
+    // Tabela, coluna de situação e SET aplicado ao marcar como vencida
+    private static final Map<String, String[]> ORIGENS = Map.of(
+            ResumoFinanceiroRepository.RECEBER, new String[] {"contas_receber", "situacao",
+                    "LEFT JOIN nota_saida n ON n.numero = c.nota_numero AND n.modelo = c.nota_modelo " +
+                    "AND n.serie = c.nota_serie AND n.cliente_id = c.cliente_id " +
+                    "LEFT JOIN condicao_pagamento cp ON cp.id = n.condicao_pagamento_id"},
+            ResumoFinanceiroRepository.PAGAR, new String[] {"contas_pagar", "situacao",
+                    "LEFT JOIN nota_entrada n ON n.numero = c.nota_numero AND n.modelo = c.nota_modelo " +
+                    "AND n.serie = c.nota_serie AND n.fornecedor_id = c.fornecedor_id " +
+                    "LEFT JOIN condicao_pagamento cp ON cp.id = n.condicao_pagamento_id"},
+            ResumoFinanceiroRepository.PAGAR_AVULSA, new String[] {"contas_pagar_avulsa", "status", null}
+    );
+
+    private static final String MULTA = "ROUND(c.valor_original * COALESCE(cp.percentual_multa, 0), 2)";
+    private static final String JUROS = "ROUND(c.valor_original * COALESCE(cp.percentual_juros, 0), 2)";
+
+    private final DatabaseConnection databaseConnection;
+
+    public VencimentoRepository(DatabaseConnection databaseConnection) {
+        this.databaseConnection = databaseConnection;
+    }
+
+    /**
+     * Marca como VENCIDA um lote de contas PENDENTE com vencimento anterior à data
+     * @param origem RECEBER, PAGAR ou PAGAR_AVULSA
+     * @param hoje Data de referência
+     * @param limite Tamanho máximo do lote
+     * @return Vencimentos das contas do lote (vazio quando não há mais contas)
+     */
+    public List<LocalDate> marcarVencidas(String origem, LocalDate hoje, int limite) {
+        String[] definicao = ORIGENS.get(origem);
+        String situacao = "c." + definicao[1];
+
+        String set = situacao + " = 'VENCIDA'";
+        if (definicao[2] != null) {
+            set += ", c.valor_multa = " + MULTA + ", c.valor_juros = " + JUROS +
+                   ", c.valor_desconto = 0, c.valor_total = c.valor_original + " + MULTA + " + " + JUROS;
+        }
+        String join = definicao[2] != null ? definicao[2] + " " : "";
+
+        return processarLote(definicao[0], definicao[1] + " = 'PENDENTE' AND data_vencimento < ?",
+                "UPDATE " + definicao[0] + " c " + join + "SET " + set +
+                " WHERE c.id IN (%s) AND " + situacao + " = 'PENDENTE'",
+                hoje, limite);
+    }
+
+    /**
+     * Volta para PENDENTE as contas VENCIDA cujo vencimento foi alterado para hoje ou
+     * depois, desfazendo multa e juros calculados
+     * @return Vencimentos das contas do lote (vazio quando não há mais contas)
+     */
+    public List<LocalDate> reabrirNaoVencidas(String origem, LocalDate hoje, int limite) {
+        String[] definicao = ORIGENS.get(origem);
+        String set = definicao[1] + " = 'PENDENTE'";
+        if (definicao[2] != null) {
+            set += ", valor_multa = 0, valor_juros = 0, valor_total = valor_original";
+        }
+
+        return processarLote(definicao[0], definicao[1] + " = 'VENCIDA' AND data_vencimento >= ?",
+                "UPDATE " + definicao[0] + " SET " + set +
+                " WHERE id IN (%s) AND " + definicao[1] + " = 'VENCIDA'",
+                hoje, limite);
+    }
+
+    private List<LocalDate> processarLote(String tabela, String filtro, String update, LocalDate hoje, int limite) {
+        List<Long> ids = new ArrayList<>();
+        List<LocalDate> vencimentos = new ArrayList<>();
+        String sql = "SELECT id, data_vencimento FROM " + tabela + " WHERE " + filtro +
+                     " ORDER BY data_vencimento, id LIMIT ?";
+
+        try (Connection conn = databaseConnection.getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setDate(1, Date.valueOf(hoje));
+                stmt.setInt(2, limite);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        ids.add(rs.getLong("id"));
+                        vencimentos.add(rs.getDate("data_vencimento").toLocalDate());
+                    }
+                }
+            }
+            if (ids.isEmpty()) {
+                return vencimentos;
+            }
+
+            String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+            try (PreparedStatement stmt = conn.prepareStatement(String.format(update, placeholders))) {
+                for (int i = 0; i < ids.size(); i++) {
+                    stmt.setLong(i + 1, ids.get(i));
+                }
+                stmt.executeUpdate();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao processar vencimentos de " + tabela, e);
+        }
+
+        return vencimentos;
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.PizzariaGraff.service;
+
+import com.example.PizzariaGraff.dto.BuscaResultadoDTO;
+import com.example.PizzariaGraff.model.Cliente;
+import com.example.PizzariaGraff.model.Fornecedor;
+import com.example.PizzariaGraff.model.Funcionario;
+import com.example.PizzariaGraff.model.Produto;
+import com.example.PizzariaGraff.repository.BuscaRepository;
+import com.example.PizzariaGraff.util.IndiceBusca;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Autocompletar de produtos, clientes, fornecedores e funcionários servido da memória.
+ *
+ * Os índices são carregados do banco quando a aplicação sobe e depois mantidos pelos
+ * serviços de cadastro (save/delete) e pela importação em lote. Escritas feitas dentro
+ * de uma transação só chegam ao índice depois do commit, para que cadastros revertidos
+ * não apareçam nas sugestões.
+ */
+@Service
+public class BuscaService {
+
+    public static final int LIMITE_PADRAO = 10;
+    public static final int LIMITE_MAXIMO = 50;
+
+    private final BuscaRepository buscaRepository;
+    private final Map<String, IndiceBusca> indices = new LinkedHashMap<>();
+
+    public BuscaService(BuscaRepository buscaRepository) {
+        this.buscaRepository = buscaRepository;
+        indices.put(BuscaRepository.PRODUTO, new IndiceBusca());
+        indices.put(BuscaRepository.CLIENTE, new IndiceBusca());
+        indices.put(BuscaRepository.FORNECEDOR, new IndiceBusca());
+        indices.put(BuscaRepository.FUNCIONARIO, new IndiceBusca());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        for (Map.Entry<String, IndiceBusca> entrada : indices.entrySet()) {
+            IndiceBusca indice = entrada.getValue();
+            long inicio = System.currentTimeMillis();
+            indice.iniciarCarga();
+            try {
+                int total = buscaRepository.carregar(entrada.getKey(), indice);
+                System.out.println("Índice de busca de " + entrada.getKey() + ": " + total
+                        + " registros em " + (System.currentTimeMillis() - inicio) + " ms");
+            } catch (Exception e) {
+                System.err.println("Erro ao carregar índice de busca de " + entrada.getKey() + ": " + e.getMessage());
+            } finally {
+                indice.concluirCarga();
+            }
+        }
+    }
+
+    /**
+     * Sugestões para o termo digitado, das mais relevantes para as menos relevantes
+     * @param termo Texto digitado (nome, apelido, CPF/CNPJ, referência ou código de barras)
+     * @param tipos Tipos consultados; vazio para todos
+     * @param limite Quantidade máxima de sugestões
+     * @param incluirInativos Se registros inativos entram no resultado
+     * @throws IllegalArgumentException se o termo estiver vazio ou algum tipo for inválido
+     */
+    public List<BuscaResultadoDTO> buscar(String termo, Collection<String> tipos, Integer limite, boolean incluirInativos) {
+        if (termo == null || termo.isBlank()) {
+            throw new IllegalArgumentException("Informe o termo de busca");
+        }
+        int max = limite == null || limite <= 0 ? LIMITE_PADRAO : Math.min(limite, LIMITE_MAXIMO);
+
+        List<String> consultados = new ArrayList<>();
+        if (tipos == null || tipos.isEmpty()) {
+            consultados.addAll(indices.keySet());
+        } else {
+            for (String tipo : tipos) {
+                String normalizado = tipo.trim().toLowerCase();
+                if (!indices.containsKey(normalizado)) {
+                    throw new IllegalArgumentException("Tipo de busca inválido: " + tipo
+                            + ". Use produto, cliente, fornecedor ou funcionario");
+                }
+                if (!consultados.contains(normalizado)) {
+                    consultados.add(normalizado);
+                }
+            }
+        }
+
+        // Cada índice já devolve no máximo "max" sugestões; a ordem final mistura os tipos
+        List<BuscaResultadoDTO> resultados = new ArrayList<>();
+        for (String tipo : consultados) {
+            for (IndiceBusca.Resultado resultado : indices.get(tipo).buscar(termo, max, incluirInativos)) {
+                resultados.add(new BuscaResultadoDTO(tipo, resultado));
+            }
+        }
+        resultados.sort(Comparator.comparingInt(BuscaResultadoDTO::getPontuacao)
+                .thenComparing(r -> r.getNome() != null ? r.getNome() : "", String.CASE_INSENSITIVE_ORDER));
+        if (resultados.size() > max) {
+            return new ArrayList<>(resultados.subList(0, max));
+        }
+        return resultados;
+    }
+
+    public void indexar(Produto produto) {
+        indexar(BuscaRepository.PRODUTO, produto.getId(), produto.getProduto(), produto.getAtivo(),
+                produto.getReferencia(), produto.getCodigoBarras());
+    }
+
+    public void indexar(Cliente cliente) {
+        indexar(BuscaRepository.CLIENTE, cliente.getId(), cliente.getCliente(), cliente.getAtivo(),
+                cliente.getApelido(), cliente.getCpfCpnj());
+    }
+
+    public void indexar(Fornecedor fornecedor) {
+        indexar(BuscaRepository.FORNECEDOR, fornecedor.getId(), fornecedor.getFornecedor(), fornecedor.getAtivo(),
+                fornecedor.getApelido(), fornecedor.getCpfCnpj());
+    }
+
+    public void indexar(Funcionario funcionario) {
+        indexar(BuscaRepository.FUNCIONARIO, funcionario.getId(), funcionario.getFuncionario(), funcionario.getAtivo(),
+                funcionario.getApelido(), funcionario.getCpfCpnj());
+    }
+
+    /**
+     * Retira um registro excluído do índice
+     * @param tipo Uma das constantes de tipo de {@link BuscaRepository}
+     */
+    public void remover(String tipo, Long id) {
+        IndiceBusca indice = indices.get(tipo);
+        aposCommit(() -> indice.remover(id));
+    }
+
+    private void indexar(String tipo, Long id, String nome, Boolean ativo, String... extras) {
+        if (id == null) {
+            return;
+        }
+        IndiceBusca indice = indices.get(tipo);
+        aposCommit(() -> indice.indexar(id, nome, ativo, extras));
+    }
+
+    private void aposCommit(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+}
@@ -1,23 +1,35 @@
 package com.example.PizzariaGraff.service;
 
 import com.example.PizzariaGraff.model.Cliente;
+import com.example.PizzariaGraff.model.Pagina;
+import com.example.PizzariaGraff.repository.BuscaRepository;
 import com.example.PizzariaGraff.repository.ClienteRepository;
+import com.example.PizzariaGraff.util.CpfCnpjValidator;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.regex.Pattern;
 
 @Service
 public class ClienteService {
     
+    private static final Pattern EMAIL = Pattern.compile("^[^\\s@]+@[^\\s@]+\\.[^\\s@]+$");
+    
     private final ClienteRepository clienteRepository;
+    private final BuscaService buscaService;
     
-    public ClienteService(ClienteRepository clienteRepository) {
+    public ClienteService(ClienteRepository clienteRepository, BuscaService buscaService) {
         this.clienteRepository = clienteRepository;
+        this.buscaService = buscaService;
     }
     
     public List<Cliente> findAll() {
         return clienteRepository.findAll();
     }
+
+    public Pagina<Cliente> findPagina(Boolean ativo, String cursor, int limite) {
+        return clienteRepository.findPagina(ativo, cursor, limite);
+    }
     
     public Cliente findById(Long id) {
         return clienteRepository.findById(id)
@@ -33,16 +45,83 @@ public class ClienteService {
         return clienteRepository.findByNomeContaining(nome);
     }
     
+    /**
+     * Valida os dados do cliente (mesmas regras do cadastro pela API e da importação)
+     * @param cliente Cliente a ser validado
+     * @return Mensagem de erro ou null se válido
+     */
+    public String validarDados(Cliente cliente) {
+        // Validação de nome obrigatório
+        if (cliente.getCliente() == null || cliente.getCliente().trim().isEmpty()) {
+            return "Nome do cliente é obrigatório";
+        }
+
+        // Verificar se é brasileiro (nacionalidade Brasil tem ID 1)
+        boolean isBrasileiro = cliente.getNacionalidadeId() != null && cliente.getNacionalidadeId() == 1;
+        
+        // Validação de CPF/CNPJ apenas para brasileiros
+        String cpfCpnj = cliente.getCpfCpnj();
+        if (isBrasileiro) {
+            // Para brasileiros, CPF/CNPJ é obrigatório e deve ser válido
+            if (cpfCpnj == null || cpfCpnj.trim().isEmpty()) {
+                return "CPF/CNPJ é obrigatório para brasileiros";
+            }
+            
+            if (!CpfCnpjValidator.isValidCpfOrCnpj(cpfCpnj)) {
+                String tipo = CpfCnpjValidator.getDocumentType(cpfCpnj);
+                if (CpfCnpjValidator.INVALIDO.equals(tipo)) {
+                    int digitos = CpfCnpjValidator.contarDigitos(cpfCpnj);
+                    if (digitos == 11) {
+                        return "CPF inválido";
+                    } else if (digitos == 14) {
+                        return "CNPJ inválido";
+                    } else {
+                        return "CPF/CNPJ deve ter 11 ou 14 dígitos";
+                    }
+                }
+                return tipo + " inválido";
+            }
+
+            // Verificar consistência com o tipo (1=PF, 2=PJ)
+            int digitos = CpfCnpjValidator.contarDigitos(cpfCpnj);
+            if (Integer.valueOf(1).equals(cliente.getTipo()) && digitos != 11) {
+                return "Pessoa Física deve ter CPF (11 dígitos)";
+            }
+            if (Integer.valueOf(2).equals(cliente.getTipo()) && digitos != 14) {
+                return "Pessoa Jurídica deve ter CNPJ (14 dígitos)";
+            }
+        }
+        // Para não brasileiros, CPF/CNPJ é opcional e não é validado
+
+        // Validação de cidade obrigatória
+        if (cliente.getCidadeId() == null) {
+            return "Cidade é obrigatória";
+        }
+
+        // Validação de email
+        String email = cliente.getEmail();
+        if (email != null && !email.trim().isEmpty()) {
+            if (!EMAIL.matcher(email).matches()) {
+                return "Email inválido";
+            }
+        }
+
+        return null; // Válido
+    }
+    
     public Cliente save(Cliente cliente) {
         // Validações básicas antes de salvar
         if (cliente.getCliente() == null || cliente.getCliente().trim().isEmpty()) {
             throw new RuntimeException("Nome do cliente é obrigatório");
         }
         
-        return clienteRepository.save(cliente);
+        Cliente salvo = clienteRepository.save(cliente);
+        buscaService.indexar(salvo);
+        return salvo;
     }
     
     public void deleteById(Long id) {
         clienteRepository.deleteById(id);
+        buscaService.remover(BuscaRepository.CLIENTE, id);
     }
 } 
\ No newline at end of file
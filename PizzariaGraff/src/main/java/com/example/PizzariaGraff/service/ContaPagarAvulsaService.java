@@ -2,11 +2,14 @@ package com.example.PizzariaGraff.service;
 
 import com.example.PizzariaGraff.model.ContaPagarAvulsa;
 import com.example.PizzariaGraff.repository.ContaPagarAvulsaRepository;
+import com.example.PizzariaGraff.repository.ResumoFinanceiroRepository;
+import com.example.PizzariaGraff.util.Encargos;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,9 +17,12 @@ import java.util.Optional;
 public class ContaPagarAvulsaService {
     
     private final ContaPagarAvulsaRepository contaPagarAvulsaRepository;
+    private final ResumoFinanceiroRepository resumoFinanceiroRepository;
     
-    public ContaPagarAvulsaService(ContaPagarAvulsaRepository contaPagarAvulsaRepository) {
+    public ContaPagarAvulsaService(ContaPagarAvulsaRepository contaPagarAvulsaRepository,
+                                   ResumoFinanceiroRepository resumoFinanceiroRepository) {
         this.contaPagarAvulsaRepository = contaPagarAvulsaRepository;
+        this.resumoFinanceiroRepository = resumoFinanceiroRepository;
     }
     
     public List<ContaPagarAvulsa> findAll() {
@@ -61,7 +67,12 @@ public class ContaPagarAvulsaService {
             }
         }
         
-        return contaPagarAvulsaRepository.save(conta);
+        LocalDate vencimentoAnterior = conta.getId() != null
+                ? contaPagarAvulsaRepository.findDataVencimentoById(conta.getId()).orElse(null)
+                : null;
+        ContaPagarAvulsa salva = contaPagarAvulsaRepository.save(conta);
+        atualizarResumo(vencimentoAnterior, salva.getDataVencimento());
+        return salva;
     }
     
     /**
@@ -79,66 +90,21 @@ public class ContaPagarAvulsaService {
             throw new IllegalArgumentException("Esta conta está cancelada");
         }
         
-        BigDecimal valorJuros = BigDecimal.ZERO;
-        BigDecimal valorMulta = BigDecimal.ZERO;
-        BigDecimal valorDesconto = BigDecimal.ZERO;
-        
-        // Comparar datas (sem hora)
-        boolean pagamentoAntesVencimento = dataPagamento.isBefore(conta.getDataVencimento());
-        boolean pagamentoNoDiaVencimento = dataPagamento.isEqual(conta.getDataVencimento());
-        boolean pagamentoDepoisVencimento = dataPagamento.isAfter(conta.getDataVencimento());
-        
-        // Se pagamento ANTES ou NO DIA do vencimento: aplicar DESCONTO
-        if (pagamentoAntesVencimento || pagamentoNoDiaVencimento) {
-            // Desconto informado já está no formato correto (ex: 0.20 = 20%), usar diretamente
-            if (conta.getDesconto() != null && conta.getDesconto().compareTo(BigDecimal.ZERO) > 0) {
-                BigDecimal descontoPercentual = conta.getDesconto();
-                valorDesconto = conta.getValorParcela().multiply(descontoPercentual).setScale(2, RoundingMode.HALF_UP);
-            }
-            if (pagamentoAntesVencimento) {
-                System.out.println("Conta Avulsa - Pagamento ANTES do vencimento - Aplicando desconto: " + valorDesconto);
-            } else {
-                System.out.println("Conta Avulsa - Pagamento NO DIA do vencimento - Aplicando desconto: " + valorDesconto);
-            }
-        }
-        // Se pagamento DEPOIS do vencimento: aplicar MULTA e JUROS
-        else if (pagamentoDepoisVencimento) {
-            long diasAtraso = java.time.temporal.ChronoUnit.DAYS.between(conta.getDataVencimento(), dataPagamento);
-            
-            // Calcular multa - aplicada apenas uma vez sobre o valor original
-            // Multa informada já está no formato correto (ex: 0.20 = 20%), usar diretamente
-            if (conta.getMulta() != null && conta.getMulta().compareTo(BigDecimal.ZERO) > 0) {
-                BigDecimal multaPercentual = conta.getMulta();
-                valorMulta = conta.getValorParcela().multiply(multaPercentual).setScale(2, RoundingMode.HALF_UP);
-            }
-            
-            // Calcular juros
-            // Juros aplicado como porcentagem fixa sobre o valor original (igual à multa)
-            if (conta.getJuros() != null && conta.getJuros().compareTo(BigDecimal.ZERO) > 0 && diasAtraso > 0) {
-                BigDecimal jurosPercentual = conta.getJuros();
-                // Percentual já está no formato correto (0.20 = 20%), aplicar diretamente sobre o valor
-                valorJuros = conta.getValorParcela()
-                    .multiply(jurosPercentual)
-                    .setScale(2, RoundingMode.HALF_UP);
-            }
-            
-            System.out.println("Conta Avulsa - Pagamento DEPOIS do vencimento - Aplicando multa: " + valorMulta + 
-                             ", Juros: " + valorJuros + " (dias atraso: " + diasAtraso + ")");
-        }
-        
-        // Calcular valor total: Original + Juros + Multa - Desconto
-        BigDecimal valorTotal = conta.getValorParcela()
-                .add(valorJuros)
-                .add(valorMulta)
-                .subtract(valorDesconto);
-        
-        System.out.println("Conta Avulsa - Valor Original: " + conta.getValorParcela() + 
-                         ", Juros: " + valorJuros + 
-                         ", Multa: " + valorMulta + 
-                         ", Desconto: " + valorDesconto + 
-                         ", Total: " + valorTotal);
-        
-        return valorTotal.setScale(2, RoundingMode.HALF_UP);
+        BigDecimal valorTotal = calcularValorTotalParaPagamento(conta, dataPagamento);
+        System.out.println("Conta Avulsa " + id + " - Valor Original: " + conta.getValorParcela() + ", Total: " + valorTotal);
+        return valorTotal;
+    }
+    
+    /**
+     * Mesmo cálculo de {@link #calcularValorTotalParaPagamento(Long, LocalDate)} para uma
+     * conta já carregada, sem consultar o banco (usado nas listagens). Os percentuais de
+     * desconto, multa e juros ficam na própria conta avulsa.
+     */
+    public BigDecimal calcularValorTotalParaPagamento(ContaPagarAvulsa conta, LocalDate dataPagamento) {
+        return Encargos.calcular(conta.getValorParcela(), conta.getDataVencimento(), dataPagamento,
+                        conta.getDesconto(), conta.getMulta(), conta.getJuros())
+                .getTotal()
+                .setScale(2, RoundingMode.HALF_UP);
     }
     
     public ContaPagarAvulsa pagar(Long id, BigDecimal valorPago, LocalDate dataPagamento, Long formaPagamentoId) {
@@ -156,58 +122,13 @@ public class ContaPagarAvulsaService {
         conta.setDataPagamento(dataPagamento);
         conta.setFormaPagamentoId(formaPagamentoId);
         
-        // Comparar datas (sem hora)
-        boolean pagamentoAntesVencimento = dataPagamento.isBefore(conta.getDataVencimento());
-        boolean pagamentoNoDiaVencimento = dataPagamento.isEqual(conta.getDataVencimento());
-        boolean pagamentoDepoisVencimento = dataPagamento.isAfter(conta.getDataVencimento());
-        
-        // Se pagamento ANTES ou NO DIA do vencimento: aplicar DESCONTO
-        if (pagamentoAntesVencimento || pagamentoNoDiaVencimento) {
-            // Desconto informado já está no formato correto (ex: 0.20 = 20%), usar diretamente
-            BigDecimal descontoCalculado = BigDecimal.ZERO;
-            if (conta.getDesconto() != null && conta.getDesconto().compareTo(BigDecimal.ZERO) > 0) {
-                BigDecimal descontoPercentual = conta.getDesconto();
-                descontoCalculado = conta.getValorParcela().multiply(descontoPercentual).setScale(2, RoundingMode.HALF_UP);
-            }
-            conta.setDesconto(descontoCalculado);
-            conta.setJuros(BigDecimal.ZERO);
-            conta.setMulta(BigDecimal.ZERO);
-            
-            if (pagamentoAntesVencimento) {
-                System.out.println("Conta Avulsa - Pagamento ANTES do vencimento - Aplicando desconto: " + descontoCalculado);
-            } else {
-                System.out.println("Conta Avulsa - Pagamento NO DIA do vencimento - Aplicando desconto: " + descontoCalculado);
-            }
-        }
-        // Se pagamento DEPOIS do vencimento: aplicar MULTA e JUROS
-        else if (pagamentoDepoisVencimento) {
-            long diasAtraso = java.time.temporal.ChronoUnit.DAYS.between(conta.getDataVencimento(), dataPagamento);
-            
-            // Calcular multa - aplicada apenas uma vez sobre o valor original
-            // Multa informada já está no formato correto (ex: 0.20 = 20%), usar diretamente
-            BigDecimal multaCalculada = BigDecimal.ZERO;
-            if (conta.getMulta() != null && conta.getMulta().compareTo(BigDecimal.ZERO) > 0) {
-                BigDecimal multaPercentual = conta.getMulta();
-                multaCalculada = conta.getValorParcela().multiply(multaPercentual).setScale(2, RoundingMode.HALF_UP);
-            }
-            conta.setMulta(multaCalculada);
-            
-            // Calcular juros
-            // Juros aplicado como porcentagem fixa sobre o valor original (igual à multa)
-            BigDecimal jurosCalculado = BigDecimal.ZERO;
-            if (conta.getJuros() != null && conta.getJuros().compareTo(BigDecimal.ZERO) > 0 && diasAtraso > 0) {
-                BigDecimal jurosPercentual = conta.getJuros();
-                // Percentual já está no formato correto (0.20 = 20%), aplicar diretamente sobre o valor
-                jurosCalculado = conta.getValorParcela()
-                    .multiply(jurosPercentual)
-                    .setScale(2, RoundingMode.HALF_UP);
-            }
-            conta.setJuros(jurosCalculado);
-            conta.setDesconto(BigDecimal.ZERO);
-            
-            System.out.println("Conta Avulsa - Pagamento DEPOIS do vencimento - Aplicando multa: " + multaCalculada + 
-                             ", Juros: " + jurosCalculado + " (dias atraso: " + diasAtraso + ")");
-        }
+        // Desconto até o vencimento, multa e juros depois dele, com os percentuais da própria
+        // conta (os mesmos usados nas listagens); depois da baixa os campos guardam os valores
+        Encargos encargos = Encargos.calcular(conta.getValorParcela(), conta.getDataVencimento(), dataPagamento,
+                conta.getDesconto(), conta.getMulta(), conta.getJuros());
+        conta.setDesconto(encargos.getDesconto());
+        conta.setMulta(encargos.getMulta());
+        conta.setJuros(encargos.getJuros());
         
         // Atualizar situação
         BigDecimal valorTotal = conta.calcularValorTotal();
@@ -217,7 +138,9 @@ public class ContaPagarAvulsaService {
             conta.setStatus("PARCIALMENTE_PAGA");
         }
         
-        return contaPagarAvulsaRepository.save(conta);
+        ContaPagarAvulsa salva = contaPagarAvulsaRepository.save(conta);
+        atualizarResumo(salva.getDataVencimento());
+        return salva;
     }
     
     public ContaPagarAvulsa cancelar(Long id) {
@@ -228,7 +151,9 @@ public class ContaPagarAvulsaService {
         }
         
         conta.setStatus("CANCELADA");
-        return contaPagarAvulsaRepository.save(conta);
+        ContaPagarAvulsa salva = contaPagarAvulsaRepository.save(conta);
+        atualizarResumo(salva.getDataVencimento());
+        return salva;
     }
     
     public void deleteById(Long id) {
@@ -239,6 +164,14 @@ public class ContaPagarAvulsaService {
         }
         
         contaPagarAvulsaRepository.deleteById(id);
+        atualizarResumo(conta.getDataVencimento());
+    }
+    
+    /**
+     * Recalcula o resumo financeiro dos vencimentos afetados por uma escrita
+     */
+    private void atualizarResumo(LocalDate... vencimentos) {
+        resumoFinanceiroRepository.atualizarDias(ResumoFinanceiroRepository.PAGAR_AVULSA, Arrays.asList(vencimentos));
     }
     
     private void validarConta(ContaPagarAvulsa conta) {
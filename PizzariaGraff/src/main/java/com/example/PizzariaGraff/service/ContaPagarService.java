@@ -1,38 +1,66 @@
 package com.example.PizzariaGraff.service;
 
+import com.example.PizzariaGraff.dto.BaixaLoteDTO;
+import com.example.PizzariaGraff.dto.BaixaResultadoDTO;
+import com.example.PizzariaGraff.dto.EventoDTO;
 import com.example.PizzariaGraff.model.ContaPagar;
+import com.example.PizzariaGraff.model.Pagina;
 import com.example.PizzariaGraff.model.CondicaoPagamento;
 import com.example.PizzariaGraff.model.NotaEntrada;
 import com.example.PizzariaGraff.repository.ContaPagarRepository;
+import com.example.PizzariaGraff.repository.ResumoFinanceiroRepository;
 import com.example.PizzariaGraff.repository.CondicaoPagamentoRepository;
 import com.example.PizzariaGraff.repository.NotaEntradaRepository;
+import com.example.PizzariaGraff.util.Encargos;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class ContaPagarService {
     
+    public static final int BAIXA_LOTE_MAXIMO = 500;
+    
+    // Contas por consulta de condições de pagamento nas listagens
+    private static final int LOTE_CONSULTA = 1000;
+    
     private final ContaPagarRepository contaPagarRepository;
     private final CondicaoPagamentoRepository condicaoPagamentoRepository;
     private final NotaEntradaRepository notaEntradaRepository;
+    private final ResumoFinanceiroRepository resumoFinanceiroRepository;
+    private final EventosService eventosService;
     
     public ContaPagarService(ContaPagarRepository contaPagarRepository,
                              CondicaoPagamentoRepository condicaoPagamentoRepository,
-                             NotaEntradaRepository notaEntradaRepository) {
+                             NotaEntradaRepository notaEntradaRepository,
+                             ResumoFinanceiroRepository resumoFinanceiroRepository,
+                             EventosService eventosService) {
         this.contaPagarRepository = contaPagarRepository;
         this.condicaoPagamentoRepository = condicaoPagamentoRepository;
         this.notaEntradaRepository = notaEntradaRepository;
+        this.resumoFinanceiroRepository = resumoFinanceiroRepository;
+        this.eventosService = eventosService;
     }
     
     public List<ContaPagar> findAll() {
         return contaPagarRepository.findAll();
     }
+
+    public Pagina<ContaPagar> findPagina(String situacao, LocalDate dataInicio, LocalDate dataFim,
+                                         Long fornecedorId, String cursor, int limite) {
+        return contaPagarRepository.findPagina(situacao, dataInicio, dataFim, fornecedorId, cursor, limite);
+    }
     
     public ContaPagar findById(Long id) {
         return contaPagarRepository.findById(id)
@@ -57,7 +85,13 @@ public class ContaPagarService {
     
     public ContaPagar save(ContaPagar conta) {
         validarConta(conta);
-        return contaPagarRepository.save(conta);
+        LocalDate vencimentoAnterior = conta.getId() != null
+                ? contaPagarRepository.findDataVencimentoById(conta.getId()).orElse(null)
+                : null;
+        ContaPagar salva = contaPagarRepository.save(conta);
+        atualizarResumo(vencimentoAnterior, salva.getDataVencimento());
+        publicar("salva", salva);
+        return salva;
     }
     
     /**
@@ -75,96 +109,10 @@ public class ContaPagarService {
             throw new IllegalArgumentException("Esta conta está cancelada");
         }
         
-        // Buscar a condição de pagamento da nota para obter os percentuais
-        CondicaoPagamento condicao = null;
-        try {
-            // Buscar nota de entrada para obter a condição de pagamento
-            Optional<NotaEntrada> notaOpt = notaEntradaRepository.findByChave(
-                conta.getNotaNumero(),
-                conta.getNotaModelo(),
-                conta.getNotaSerie(),
-                conta.getFornecedorId()
-            );
-            
-            if (notaOpt.isPresent() && notaOpt.get().getCondicaoPagamentoId() != null) {
-                condicao = condicaoPagamentoRepository.findById(notaOpt.get().getCondicaoPagamentoId())
-                    .orElse(null);
-            }
-        } catch (Exception e) {
-            // Se não conseguir buscar a condição, usar valores padrão
-            System.err.println("Erro ao buscar condição de pagamento: " + e.getMessage());
-        }
-        
-        BigDecimal valorJuros = BigDecimal.ZERO;
-        BigDecimal valorMulta = BigDecimal.ZERO;
-        BigDecimal valorDesconto = BigDecimal.ZERO;
-        
-        // Comparar datas (sem hora)
-        boolean pagamentoAntesVencimento = dataPagamento.isBefore(conta.getDataVencimento());
-        boolean pagamentoNoDiaVencimento = dataPagamento.isEqual(conta.getDataVencimento());
-        boolean pagamentoDepoisVencimento = dataPagamento.isAfter(conta.getDataVencimento());
-        
-        // Se pagamento ANTES ou NO DIA do vencimento: aplicar DESCONTO
-        if (pagamentoAntesVencimento || pagamentoNoDiaVencimento) {
-            Double percentualDesconto = (condicao != null && condicao.getPercentualDesconto() != null) 
-                ? condicao.getPercentualDesconto() 
-                : 0.0;
-            
-            // Percentual já está no formato correto (0.20 = 20%), usar diretamente
-            BigDecimal descontoDecimal = new BigDecimal(percentualDesconto);
-            valorDesconto = conta.getValorOriginal().multiply(descontoDecimal).setScale(2, RoundingMode.HALF_UP);
-            
-            if (pagamentoAntesVencimento) {
-                System.out.println("Pagamento ANTES do vencimento - Aplicando desconto: " + percentualDesconto + " (20% se for 0.20) = " + valorDesconto);
-            } else {
-                System.out.println("Pagamento NO DIA do vencimento - Aplicando desconto: " + percentualDesconto + " (20% se for 0.20) = " + valorDesconto);
-            }
-        }
-        // Se pagamento DEPOIS do vencimento: aplicar MULTA e JUROS
-        else if (pagamentoDepoisVencimento) {
-            // Calcular multa usando percentual da condição de pagamento
-            // Multa é aplicada apenas uma vez sobre o valor original
-            Double percentualMulta = (condicao != null && condicao.getPercentualMulta() != null) 
-                ? condicao.getPercentualMulta() 
-                : 0.0;
-            
-            // Percentual já está no formato correto (0.20 = 20%), usar diretamente
-            BigDecimal multaDecimal = new BigDecimal(percentualMulta);
-            valorMulta = conta.getValorOriginal().multiply(multaDecimal).setScale(2, RoundingMode.HALF_UP);
-            
-            // Calcular juros usando percentual da condição de pagamento
-            // Juros aplicado como porcentagem fixa sobre o valor original (igual à multa)
-            Double percentualJuros = (condicao != null && condicao.getPercentualJuros() != null) 
-                ? condicao.getPercentualJuros() 
-                : 0.0;
-            
-            long diasAtraso = java.time.temporal.ChronoUnit.DAYS.between(conta.getDataVencimento(), dataPagamento);
-            
-            if (diasAtraso > 0 && percentualJuros > 0) {
-                // Percentual já está no formato correto (0.20 = 20%), aplicar diretamente sobre o valor
-                BigDecimal jurosDecimal = new BigDecimal(percentualJuros);
-                valorJuros = conta.getValorOriginal()
-                    .multiply(jurosDecimal)
-                    .setScale(2, RoundingMode.HALF_UP);
-            }
-            
-            System.out.println("Pagamento DEPOIS do vencimento - Aplicando multa: " + percentualMulta + " (20% se for 0.20) = " + valorMulta + 
-                             ", Juros: " + percentualJuros + " (20% ao mês se for 0.20) = " + valorJuros + " (dias atraso: " + diasAtraso + ")");
-        }
-        
-        // Calcular valor total: Original + Juros + Multa - Desconto
-        BigDecimal valorTotal = conta.getValorOriginal()
-                .add(valorJuros)
-                .add(valorMulta)
-                .subtract(valorDesconto);
+        // Percentuais da condição de pagamento da nota (sem carregar a nota nem as parcelas)
+        CondicaoPagamento condicao = buscarCondicaoDaNota(conta);
         
-        System.out.println("Valor Original: " + conta.getValorOriginal() + 
-                         ", Juros: " + valorJuros + 
-                         ", Multa: " + valorMulta + 
-                         ", Desconto: " + valorDesconto + 
-                         ", Total: " + valorTotal);
-        
-        return valorTotal.setScale(2, RoundingMode.HALF_UP);
+        return Encargos.calcular(conta.getValorOriginal(), conta.getDataVencimento(), dataPagamento, condicao).getTotal();
     }
     
     public ContaPagar pagar(Long id, BigDecimal valorPago, LocalDate dataPagamento, Long formaPagamentoId) {
@@ -182,101 +130,164 @@ public class ContaPagarService {
         conta.setDataPagamento(dataPagamento);
         conta.setFormaPagamentoId(formaPagamentoId);
         
-        // Buscar a condição de pagamento da nota para obter os percentuais
-        CondicaoPagamento condicao = null;
-        try {
-            // Buscar nota de entrada para obter a condição de pagamento
-            Optional<NotaEntrada> notaOpt = notaEntradaRepository.findByChave(
-                conta.getNotaNumero(),
-                conta.getNotaModelo(),
-                conta.getNotaSerie(),
-                conta.getFornecedorId()
-            );
-            
-            if (notaOpt.isPresent() && notaOpt.get().getCondicaoPagamentoId() != null) {
-                condicao = condicaoPagamentoRepository.findById(notaOpt.get().getCondicaoPagamentoId())
-                    .orElse(null);
-            }
-        } catch (Exception e) {
-            // Se não conseguir buscar a condição, usar valores padrão
-            System.err.println("Erro ao buscar condição de pagamento: " + e.getMessage());
+        // Desconto até o vencimento, multa e juros depois dele (as mesmas regras das listagens e da baixa em lote)
+        aplicarEncargos(conta, buscarCondicaoDaNota(conta), dataPagamento);
+        
+        // Atualizar situação
+        if (valorPago.compareTo(conta.getValorTotal()) >= 0) {
+            conta.setSituacao("PAGA");
+        } else if (valorPago.compareTo(BigDecimal.ZERO) > 0) {
+            conta.setSituacao("PARCIALMENTE_PAGA");
         }
         
-        // Comparar datas (sem hora)
-        boolean pagamentoAntesVencimento = dataPagamento.isBefore(conta.getDataVencimento());
-        boolean pagamentoNoDiaVencimento = dataPagamento.isEqual(conta.getDataVencimento());
-        boolean pagamentoDepoisVencimento = dataPagamento.isAfter(conta.getDataVencimento());
+        ContaPagar salva = contaPagarRepository.save(conta);
+        atualizarResumo(salva.getDataVencimento());
+        publicar(salva.getSituacao().toLowerCase(), salva);
+        return salva;
+    }
+    
+    /**
+     * Registra a baixa de várias parcelas em uma transação: as contas são lidas (e
+     * travadas) em uma consulta, as condições de pagamento das notas em outra, desconto,
+     * multa e juros são calculados em memória com as mesmas regras de pagar() e todas
+     * as atualizações vão em um único JDBC batch. Itens inválidos são rejeitados
+     * individualmente, sem impedir os demais.
+     * @return Resultado de cada item, na ordem recebida
+     */
+    @Transactional
+    public List<BaixaResultadoDTO> pagarEmLote(BaixaLoteDTO lote) {
+        List<BaixaLoteDTO.Item> itens = lote.getItens() != null ? lote.getItens() : List.of();
+        if (itens.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos uma parcela");
+        }
+        if (itens.size() > BAIXA_LOTE_MAXIMO) {
+            throw new IllegalArgumentException("Máximo de " + BAIXA_LOTE_MAXIMO + " parcelas por lote");
+        }
         
-        // Se pagamento ANTES ou NO DIA do vencimento: aplicar DESCONTO
-        if (pagamentoAntesVencimento || pagamentoNoDiaVencimento) {
-            Double percentualDesconto = (condicao != null && condicao.getPercentualDesconto() != null) 
-                ? condicao.getPercentualDesconto() 
-                : 0.0;
-            
-            // Percentual já está no formato correto (0.20 = 20%), usar diretamente
-            BigDecimal descontoDecimal = new BigDecimal(percentualDesconto);
-            BigDecimal desconto = conta.getValorOriginal().multiply(descontoDecimal).setScale(2, RoundingMode.HALF_UP);
-            conta.setValorDesconto(desconto);
-            conta.setValorJuros(BigDecimal.ZERO);
-            conta.setValorMulta(BigDecimal.ZERO);
-            
-            if (pagamentoAntesVencimento) {
-                System.out.println("Pagamento ANTES do vencimento - Aplicando desconto: " + percentualDesconto + " (20% se for 0.20) = " + desconto);
-            } else {
-                System.out.println("Pagamento NO DIA do vencimento - Aplicando desconto: " + percentualDesconto + " (20% se for 0.20) = " + desconto);
+        Set<Long> ids = new LinkedHashSet<>();
+        for (BaixaLoteDTO.Item item : itens) {
+            if (item.getId() != null) {
+                ids.add(item.getId());
             }
         }
-        // Se pagamento DEPOIS do vencimento: aplicar MULTA e JUROS
-        else if (pagamentoDepoisVencimento) {
-            // Calcular multa usando percentual da condição de pagamento
-            // Multa é aplicada apenas uma vez sobre o valor original
-            Double percentualMulta = (condicao != null && condicao.getPercentualMulta() != null) 
-                ? condicao.getPercentualMulta() 
-                : 0.0;
-            
-            // Percentual já está no formato correto (0.20 = 20%), usar diretamente
-            BigDecimal multaDecimal = new BigDecimal(percentualMulta);
-            BigDecimal multa = conta.getValorOriginal().multiply(multaDecimal).setScale(2, RoundingMode.HALF_UP);
-            conta.setValorMulta(multa);
-            
-            // Calcular juros usando percentual da condição de pagamento
-            // Juros aplicado como porcentagem fixa sobre o valor original (igual à multa)
-            Double percentualJuros = (condicao != null && condicao.getPercentualJuros() != null) 
-                ? condicao.getPercentualJuros() 
-                : 0.0;
+        Map<Long, ContaPagar> contas = new HashMap<>();
+        for (ContaPagar conta : contaPagarRepository.findByIdsParaAtualizar(ids)) {
+            contas.put(conta.getId(), conta);
+        }
+        Map<Long, CondicaoPagamento> condicoes = contaPagarRepository.findCondicoesDasContas(contas.keySet());
+        
+        List<BaixaResultadoDTO> resultados = new ArrayList<>(itens.size());
+        List<ContaPagar> baixadas = new ArrayList<>();
+        Set<Long> processados = new HashSet<>();
+        for (BaixaLoteDTO.Item item : itens) {
+            ContaPagar conta = item.getId() != null ? contas.get(item.getId()) : null;
+            String erro = null;
+            if (item.getId() == null) {
+                erro = "ID da conta é obrigatório";
+            } else if (!processados.add(item.getId())) {
+                erro = "Conta repetida no lote";
+            } else if (conta == null) {
+                erro = "Conta a pagar não encontrada";
+            } else if (conta.getSituacao().equals("PAGA")) {
+                erro = "Esta conta já está paga";
+            } else if (conta.getSituacao().equals("CANCELADA")) {
+                erro = "Esta conta está cancelada";
+            } else if (item.getValor() == null || item.getValor().compareTo(BigDecimal.ZERO) <= 0) {
+                erro = "Valor pago deve ser maior que zero";
+            }
+            if (erro != null) {
+                resultados.add(BaixaResultadoDTO.erro(item.getId(), erro));
+                continue;
+            }
             
-            long diasAtraso = java.time.temporal.ChronoUnit.DAYS.between(conta.getDataVencimento(), dataPagamento);
+            LocalDate data = item.getData() != null ? item.getData()
+                    : lote.getData() != null ? lote.getData() : LocalDate.now();
+            conta.setValorPago(item.getValor());
+            conta.setDataPagamento(data);
+            conta.setFormaPagamentoId(item.getFormaPagamentoId() != null
+                    ? item.getFormaPagamentoId() : lote.getFormaPagamentoId());
+            aplicarEncargos(conta, condicoes.get(conta.getId()), data);
             
-            BigDecimal juros = BigDecimal.ZERO;
-            if (diasAtraso > 0 && percentualJuros > 0) {
-                // Percentual já está no formato correto (0.20 = 20%), aplicar diretamente sobre o valor
-                BigDecimal jurosDecimal = new BigDecimal(percentualJuros);
-                juros = conta.getValorOriginal()
-                    .multiply(jurosDecimal)
-                    .setScale(2, RoundingMode.HALF_UP);
+            if (item.getValor().compareTo(conta.getValorTotal()) >= 0) {
+                conta.setSituacao("PAGA");
+            } else {
+                conta.setSituacao("PARCIALMENTE_PAGA");
             }
-            conta.setValorJuros(juros);
-            conta.setValorDesconto(BigDecimal.ZERO);
-            
-            System.out.println("Pagamento DEPOIS do vencimento - Aplicando multa: " + percentualMulta + " (20% se for 0.20) = " + multa + 
-                             ", Juros: " + percentualJuros + " (20% ao mês se for 0.20) = " + juros + " (dias atraso: " + diasAtraso + ")");
+            baixadas.add(conta);
+            resultados.add(BaixaResultadoDTO.sucesso(conta.getId(), conta.getSituacao(),
+                    conta.getValorTotal(), item.getValor()));
         }
         
-        // Calcular valor total: Original + Juros + Multa - Desconto
-        BigDecimal valorTotal = conta.getValorOriginal()
-                .add(conta.getValorJuros())
-                .add(conta.getValorMulta())
-                .subtract(conta.getValorDesconto());
-        conta.setValorTotal(valorTotal);
+        contaPagarRepository.updateEmLote(baixadas);
+        atualizarResumoDasContas(baixadas);
+        if (!baixadas.isEmpty()) {
+            eventosService.publicar(EventoDTO.lote(EventoDTO.CONTA_PAGAR, "baixa", idsDasContas(baixadas)));
+        }
+        System.out.println("Baixa em lote de contas a pagar: " + baixadas.size() + " de " + itens.size() + " parcelas");
+        return resultados;
+    }
+    
+    /**
+     * Valor total atualizado de várias contas para uma data, para listagens. Equivale a
+     * chamar {@link #calcularValorTotalParaPagamento(Long, LocalDate)} para cada conta em aberto, mas com as condições
+     * de pagamento buscadas em uma consulta por lote de contas e o cálculo feito em memória.
+     * @param contas Contas já carregadas; as pagas ou canceladas são ignoradas
+     * @return Valor total por ID da conta em aberto
+     */
+    public Map<Long, BigDecimal> calcularValoresTotais(List<ContaPagar> contas, LocalDate dataPagamento) {
+        Map<Long, ContaPagar> emAberto = new HashMap<>();
+        for (ContaPagar conta : contas) {
+            if (!"PAGA".equals(conta.getSituacao()) && !"CANCELADA".equals(conta.getSituacao())) {
+                emAberto.put(conta.getId(), conta);
+            }
+        }
         
-        // Atualizar situação
-        if (valorPago.compareTo(valorTotal) >= 0) {
-            conta.setSituacao("PAGA");
-        } else if (valorPago.compareTo(BigDecimal.ZERO) > 0) {
-            conta.setSituacao("PARCIALMENTE_PAGA");
+        Map<Long, CondicaoPagamento> condicoes = new HashMap<>();
+        List<Long> ids = new ArrayList<>(emAberto.keySet());
+        for (int inicio = 0; inicio < ids.size(); inicio += LOTE_CONSULTA) {
+            condicoes.putAll(contaPagarRepository.findCondicoesDasContas(
+                    ids.subList(inicio, Math.min(inicio + LOTE_CONSULTA, ids.size()))));
         }
         
-        return contaPagarRepository.save(conta);
+        Map<Long, BigDecimal> valores = new HashMap<>();
+        for (ContaPagar conta : emAberto.values()) {
+            valores.put(conta.getId(), Encargos.calcular(conta.getValorOriginal(), conta.getDataVencimento(),
+                    dataPagamento, condicoes.get(conta.getId())).getTotal());
+        }
+        return valores;
+    }
+    
+    /**
+     * Desconto (até o vencimento) ou multa e juros (depois do vencimento) sobre o valor
+     * original, com os percentuais da condição, e o valor total resultante
+     */
+    private void aplicarEncargos(ContaPagar conta, CondicaoPagamento condicao, LocalDate dataBaixa) {
+        Encargos encargos = Encargos.calcular(conta.getValorOriginal(), conta.getDataVencimento(), dataBaixa, condicao);
+        conta.setValorDesconto(encargos.getDesconto());
+        conta.setValorMulta(encargos.getMulta());
+        conta.setValorJuros(encargos.getJuros());
+        conta.setValorTotal(encargos.getTotal());
+    }
+    
+    /**
+     * Busca os percentuais de desconto, multa e juros da condição de pagamento da nota
+     * que originou a conta: uma consulta pela chave da nota e a condição vinda do cache.
+     * @return Condição com os percentuais, ou null para usar valores padrão
+     */
+    private CondicaoPagamento buscarCondicaoDaNota(ContaPagar conta) {
+        try {
+            return notaEntradaRepository.findCondicaoPagamentoIdByChave(
+                    conta.getNotaNumero(),
+                    conta.getNotaModelo(),
+                    conta.getNotaSerie(),
+                    conta.getFornecedorId())
+                .flatMap(condicaoPagamentoRepository::findPercentuaisById)
+                .orElse(null);
+        } catch (Exception e) {
+            // Se não conseguir buscar a condição, usar valores padrão
+            System.err.println("Erro ao buscar condição de pagamento: " + e.getMessage());
+            return null;
+        }
     }
     
     public void cancelar(Long id) {
@@ -288,10 +299,15 @@ public class ContaPagarService {
         
         conta.setSituacao("CANCELADA");
         contaPagarRepository.save(conta);
+        atualizarResumo(conta.getDataVencimento());
+        publicar("cancelada", conta);
     }
     
     public void deleteById(Long id) {
+        LocalDate vencimento = contaPagarRepository.findDataVencimentoById(id).orElse(null);
         contaPagarRepository.deleteById(id);
+        atualizarResumo(vencimento);
+        eventosService.publicar(EventoDTO.conta(EventoDTO.CONTA_PAGAR, "excluida", id, null));
     }
     
     /**
@@ -313,8 +329,8 @@ public class ContaPagarService {
                     nota.getDataEmissao(),
                     nota.getDataEmissao()
             );
-            contas.add(contaPagarRepository.save(conta));
-            return contas;
+            contas.add(conta);
+            return inserirContas(contas);
         }
         
         // Buscar condição de pagamento
@@ -337,8 +353,8 @@ public class ContaPagarService {
                     nota.getDataEmissao(),
                     nota.getDataEmissao()
             );
-            contas.add(contaPagarRepository.save(conta));
-            return contas;
+            contas.add(conta);
+            return inserirContas(contas);
         }
         
         // Calcular valor de cada parcela usando o percentual definido na condição de pagamento
@@ -403,12 +419,26 @@ public class ContaPagarService {
                 conta.setFormaPagamentoId(parcela.getFormaPagamento().getId());
             }
             
-            contas.add(contaPagarRepository.save(conta));
+            contas.add(conta);
             somaParcelasGeradas = somaParcelasGeradas.add(valorDessaParcela);
         }
         
         System.out.println("Total de parcelas geradas: " + contas.size() + ", Soma: " + somaParcelasGeradas);
         
+        return inserirContas(contas);
+    }
+    
+    /**
+     * Grava as parcelas geradas em um único INSERT em lote, na transação da nota
+     */
+    private List<ContaPagar> inserirContas(List<ContaPagar> contas) {
+        contaPagarRepository.insertEmLote(contas);
+        atualizarResumoDasContas(contas);
+        if (!contas.isEmpty()) {
+            ContaPagar conta = contas.get(0);
+            eventosService.publicar(EventoDTO.lote(EventoDTO.CONTA_PAGAR, "geradas", idsDasContas(contas)).setNota(
+                    conta.getNotaNumero(), conta.getNotaModelo(), conta.getNotaSerie(), conta.getFornecedorId()));
+        }
         return contas;
     }
     
@@ -416,7 +446,10 @@ public class ContaPagarService {
      * Deleta todas as contas de uma nota
      */
     public void deletarContasDaNota(String numero, String modelo, String serie, Long fornecedorId) {
+        List<LocalDate> vencimentos = contaPagarRepository.findDatasVencimentoByNota(numero, modelo, serie, fornecedorId);
         contaPagarRepository.deleteByNota(numero, modelo, serie, fornecedorId);
+        resumoFinanceiroRepository.atualizarDias(ResumoFinanceiroRepository.PAGAR, vencimentos);
+        eventosService.publicar(new EventoDTO(EventoDTO.CONTA_PAGAR, "excluidas").setNota(numero, modelo, serie, fornecedorId));
     }
     
     /**
@@ -425,12 +458,47 @@ public class ContaPagarService {
     public void cancelarContasDaNota(String numero, String modelo, String serie, Long fornecedorId) {
         List<ContaPagar> contas = findByNota(numero, modelo, serie, fornecedorId);
         
+        List<Long> canceladas = new ArrayList<>();
         for (ContaPagar conta : contas) {
             if (!conta.getSituacao().equals("PAGA")) {
                 conta.setSituacao("CANCELADA");
                 contaPagarRepository.save(conta);
+                canceladas.add(conta.getId());
             }
         }
+        atualizarResumoDasContas(contas);
+        if (!canceladas.isEmpty()) {
+            eventosService.publicar(EventoDTO.lote(EventoDTO.CONTA_PAGAR, "canceladas", canceladas)
+                    .setNota(numero, modelo, serie, fornecedorId));
+        }
+    }
+    
+    private void publicar(String acao, ContaPagar conta) {
+        eventosService.publicar(EventoDTO.conta(EventoDTO.CONTA_PAGAR, acao, conta.getId(), conta.getSituacao())
+                .setNota(conta.getNotaNumero(), conta.getNotaModelo(), conta.getNotaSerie(), conta.getFornecedorId()));
+    }
+    
+    private static List<Long> idsDasContas(List<ContaPagar> contas) {
+        List<Long> ids = new ArrayList<>(contas.size());
+        for (ContaPagar conta : contas) {
+            ids.add(conta.getId());
+        }
+        return ids;
+    }
+    
+    /**
+     * Recalcula o resumo financeiro dos vencimentos afetados por uma escrita
+     */
+    private void atualizarResumo(LocalDate... vencimentos) {
+        resumoFinanceiroRepository.atualizarDias(ResumoFinanceiroRepository.PAGAR, Arrays.asList(vencimentos));
+    }
+    
+    private void atualizarResumoDasContas(List<ContaPagar> contas) {
+        List<LocalDate> vencimentos = new ArrayList<>();
+        for (ContaPagar conta : contas) {
+            vencimentos.add(conta.getDataVencimento());
+        }
+        resumoFinanceiroRepository.atualizarDias(ResumoFinanceiroRepository.PAGAR, vencimentos);
     }
     
     private void validarConta(ContaPagar conta) {
@@ -1,38 +1,66 @@
 package com.example.PizzariaGraff.service;
 
+import com.example.PizzariaGraff.dto.BaixaLoteDTO;
+import com.example.PizzariaGraff.dto.BaixaResultadoDTO;
+import com.example.PizzariaGraff.dto.EventoDTO;
 import com.example.PizzariaGraff.model.ContaReceber;
+import com.example.PizzariaGraff.model.Pagina;
 import com.example.PizzariaGraff.model.CondicaoPagamento;
 import com.example.PizzariaGraff.model.NotaSaida;
 import com.example.PizzariaGraff.repository.ContaReceberRepository;
 import com.example.PizzariaGraff.repository.CondicaoPagamentoRepository;
 import com.example.PizzariaGraff.repository.NotaSaidaRepository;
+import com.example.PizzariaGraff.repository.ResumoFinanceiroRepository;
+import com.example.PizzariaGraff.util.Encargos;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class ContaReceberService {
     
+    public static final int BAIXA_LOTE_MAXIMO = 500;
+    
+    // Contas por consulta de condições de pagamento nas listagens
+    private static final int LOTE_CONSULTA = 1000;
+    
     private final ContaReceberRepository contaReceberRepository;
     private final CondicaoPagamentoRepository condicaoPagamentoRepository;
     private final NotaSaidaRepository notaSaidaRepository;
+    private final ResumoFinanceiroRepository resumoFinanceiroRepository;
+    private final EventosService eventosService;
     
     public ContaReceberService(ContaReceberRepository contaReceberRepository,
                                CondicaoPagamentoRepository condicaoPagamentoRepository,
-                               NotaSaidaRepository notaSaidaRepository) {
+                               NotaSaidaRepository notaSaidaRepository,
+                               ResumoFinanceiroRepository resumoFinanceiroRepository,
+                               EventosService eventosService) {
         this.contaReceberRepository = contaReceberRepository;
         this.condicaoPagamentoRepository = condicaoPagamentoRepository;
         this.notaSaidaRepository = notaSaidaRepository;
+        this.resumoFinanceiroRepository = resumoFinanceiroRepository;
+        this.eventosService = eventosService;
     }
     
     public List<ContaReceber> findAll() {
         return contaReceberRepository.findAll();
     }
+
+    public Pagina<ContaReceber> findPagina(String situacao, LocalDate dataInicio, LocalDate dataFim,
+                                           Long clienteId, String cursor, int limite) {
+        return contaReceberRepository.findPagina(situacao, dataInicio, dataFim, clienteId, cursor, limite);
+    }
     
     public ContaReceber findById(Long id) {
         return contaReceberRepository.findById(id)
@@ -57,7 +85,13 @@ public class ContaReceberService {
     
     public ContaReceber save(ContaReceber conta) {
         validarConta(conta);
-        return contaReceberRepository.save(conta);
+        LocalDate vencimentoAnterior = conta.getId() != null
+                ? contaReceberRepository.findDataVencimentoById(conta.getId()).orElse(null)
+                : null;
+        ContaReceber salva = contaReceberRepository.save(conta);
+        atualizarResumo(vencimentoAnterior, salva.getDataVencimento());
+        publicar("salva", salva);
+        return salva;
     }
     
     /**
@@ -75,96 +109,10 @@ public class ContaReceberService {
             throw new IllegalArgumentException("Esta conta está cancelada");
         }
         
-        // Buscar a condição de pagamento da nota para obter os percentuais
-        CondicaoPagamento condicao = null;
-        try {
-            // Buscar nota de saída para obter a condição de pagamento
-            Optional<NotaSaida> notaOpt = notaSaidaRepository.findByChave(
-                conta.getNotaNumero(),
-                conta.getNotaModelo(),
-                conta.getNotaSerie(),
-                conta.getClienteId()
-            );
-            
-            if (notaOpt.isPresent() && notaOpt.get().getCondicaoPagamentoId() != null) {
-                condicao = condicaoPagamentoRepository.findById(notaOpt.get().getCondicaoPagamentoId())
-                    .orElse(null);
-            }
-        } catch (Exception e) {
-            // Se não conseguir buscar a condição, usar valores padrão
-            System.err.println("Erro ao buscar condição de pagamento: " + e.getMessage());
-        }
-        
-        BigDecimal valorJuros = BigDecimal.ZERO;
-        BigDecimal valorMulta = BigDecimal.ZERO;
-        BigDecimal valorDesconto = BigDecimal.ZERO;
-        
-        // Comparar datas (sem hora)
-        boolean recebimentoAntesVencimento = dataRecebimento.isBefore(conta.getDataVencimento());
-        boolean recebimentoNoDiaVencimento = dataRecebimento.isEqual(conta.getDataVencimento());
-        boolean recebimentoDepoisVencimento = dataRecebimento.isAfter(conta.getDataVencimento());
-        
-        // Se recebimento ANTES ou NO DIA do vencimento: aplicar DESCONTO
-        if (recebimentoAntesVencimento || recebimentoNoDiaVencimento) {
-            Double percentualDesconto = (condicao != null && condicao.getPercentualDesconto() != null) 
-                ? condicao.getPercentualDesconto() 
-                : 0.0;
-            
-            // Percentual já está no formato correto (0.20 = 20%), usar diretamente
-            BigDecimal descontoDecimal = new BigDecimal(percentualDesconto);
-            valorDesconto = conta.getValorOriginal().multiply(descontoDecimal).setScale(2, RoundingMode.HALF_UP);
-            
-            if (recebimentoAntesVencimento) {
-                System.out.println("Recebimento ANTES do vencimento - Aplicando desconto: " + percentualDesconto + " (20% se for 0.20) = " + valorDesconto);
-            } else {
-                System.out.println("Recebimento NO DIA do vencimento - Aplicando desconto: " + percentualDesconto + " (20% se for 0.20) = " + valorDesconto);
-            }
-        }
-        // Se recebimento DEPOIS do vencimento: aplicar MULTA e JUROS
-        else if (recebimentoDepoisVencimento) {
-            // Calcular multa usando percentual da condição de pagamento
-            // Multa é aplicada apenas uma vez sobre o valor original
-            Double percentualMulta = (condicao != null && condicao.getPercentualMulta() != null) 
-                ? condicao.getPercentualMulta() 
-                : 0.0;
-            
-            // Percentual já está no formato correto (0.20 = 20%), usar diretamente
-            BigDecimal multaDecimal = new BigDecimal(percentualMulta);
-            valorMulta = conta.getValorOriginal().multiply(multaDecimal).setScale(2, RoundingMode.HALF_UP);
-            
-            // Calcular juros usando percentual da condição de pagamento
-            // Juros aplicado como porcentagem fixa sobre o valor original (igual à multa)
-            Double percentualJuros = (condicao != null && condicao.getPercentualJuros() != null) 
-                ? condicao.getPercentualJuros() 
-                : 0.0;
-            
-            long diasAtraso = java.time.temporal.ChronoUnit.DAYS.between(conta.getDataVencimento(), dataRecebimento);
-            
-            if (diasAtraso > 0 && percentualJuros > 0) {
-                // Percentual já está no formato correto (0.20 = 20%), aplicar diretamente sobre o valor
-                BigDecimal jurosDecimal = new BigDecimal(percentualJuros);
-                valorJuros = conta.getValorOriginal()
-                    .multiply(jurosDecimal)
-                    .setScale(2, RoundingMode.HALF_UP);
-            }
-            
-            System.out.println("Recebimento DEPOIS do vencimento - Aplicando multa: " + percentualMulta + " (20% se for 0.20) = " + valorMulta + 
-                             ", Juros: " + percentualJuros + " (20% se for 0.20) = " + valorJuros + " (dias atraso: " + diasAtraso + ")");
-        }
+        // Percentuais da condição de pagamento da nota (sem carregar a nota nem as parcelas)
+        CondicaoPagamento condicao = buscarCondicaoDaNota(conta);
         
-        // Calcular valor total: Original + Juros + Multa - Desconto
-        BigDecimal valorTotal = conta.getValorOriginal()
-                .add(valorJuros)
-                .add(valorMulta)
-                .subtract(valorDesconto);
-        
-        System.out.println("Valor Original: " + conta.getValorOriginal() + 
-                         ", Juros: " + valorJuros + 
-                         ", Multa: " + valorMulta + 
-                         ", Desconto: " + valorDesconto + 
-                         ", Total: " + valorTotal);
-        
-        return valorTotal.setScale(2, RoundingMode.HALF_UP);
+        return Encargos.calcular(conta.getValorOriginal(), conta.getDataVencimento(), dataRecebimento, condicao).getTotal();
     }
     
     public ContaReceber receber(Long id, BigDecimal valorRecebido, LocalDate dataRecebimento, Long formaPagamentoId) {
@@ -182,150 +130,164 @@ public class ContaReceberService {
         conta.setDataRecebimento(dataRecebimento);
         conta.setFormaPagamentoId(formaPagamentoId);
         
-        System.out.println("\n=== REGISTRANDO RECEBIMENTO ===");
-        System.out.println("Conta ID: " + conta.getId());
-        System.out.println("Nota: " + conta.getNotaNumero() + "/" + conta.getNotaModelo() + "/" + conta.getNotaSerie());
-        System.out.println("Cliente ID: " + conta.getClienteId());
-        System.out.println("Data Recebimento: " + dataRecebimento);
-        System.out.println("Data Vencimento: " + conta.getDataVencimento());
-        System.out.println("Valor Original: R$ " + conta.getValorOriginal());
-        System.out.println("Valor Recebido: R$ " + valorRecebido);
-        
-        // Buscar a condição de pagamento da nota para obter os percentuais
-        CondicaoPagamento condicao = null;
-        try {
-            // Buscar nota de saída para obter a condição de pagamento
-            Optional<NotaSaida> notaOpt = notaSaidaRepository.findByChave(
-                conta.getNotaNumero(),
-                conta.getNotaModelo(),
-                conta.getNotaSerie(),
-                conta.getClienteId()
-            );
-            
-            if (notaOpt.isPresent()) {
-                NotaSaida nota = notaOpt.get();
-                System.out.println("Nota encontrada. Condição Pagamento ID: " + nota.getCondicaoPagamentoId());
-                
-                if (nota.getCondicaoPagamentoId() != null) {
-                    condicao = condicaoPagamentoRepository.findById(nota.getCondicaoPagamentoId())
-                        .orElse(null);
-                    
-                    if (condicao != null) {
-                        System.out.println("Condição de pagamento encontrada: " + condicao.getCondicaoPagamento());
-                        System.out.println("  Percentual Desconto: " + condicao.getPercentualDesconto());
-                        System.out.println("  Percentual Multa: " + condicao.getPercentualMulta());
-                        System.out.println("  Percentual Juros: " + condicao.getPercentualJuros());
-                    } else {
-                        System.out.println("⚠ Condição de pagamento não encontrada no banco");
-                    }
-                } else {
-                    System.out.println("⚠ Nota não possui condição de pagamento vinculada");
-                }
-            } else {
-                System.out.println("⚠ Nota de saída não encontrada");
-            }
-        } catch (Exception e) {
-            // Se não conseguir buscar a condição, usar valores padrão
-            System.err.println("❌ Erro ao buscar condição de pagamento: " + e.getMessage());
-            e.printStackTrace();
+        // Desconto até o vencimento, multa e juros depois dele (as mesmas regras das listagens e da baixa em lote)
+        aplicarEncargos(conta, buscarCondicaoDaNota(conta), dataRecebimento);
+        
+        // Atualizar situação
+        if (valorRecebido.compareTo(conta.getValorTotal()) >= 0) {
+            conta.setSituacao("RECEBIDA");
+        } else if (valorRecebido.compareTo(BigDecimal.ZERO) > 0) {
+            conta.setSituacao("PARCIALMENTE_RECEBIDA");
         }
         
-        // Comparar datas (sem hora)
-        boolean recebimentoAntesVencimento = dataRecebimento.isBefore(conta.getDataVencimento());
-        boolean recebimentoNoDiaVencimento = dataRecebimento.isEqual(conta.getDataVencimento());
-        boolean recebimentoDepoisVencimento = dataRecebimento.isAfter(conta.getDataVencimento());
+        ContaReceber salva = contaReceberRepository.save(conta);
+        atualizarResumo(salva.getDataVencimento());
+        publicar(salva.getSituacao().toLowerCase(), salva);
+        return salva;
+    }
+    
+    /**
+     * Registra a baixa de várias parcelas em uma transação: as contas são lidas (e
+     * travadas) em uma consulta, as condições de pagamento das notas em outra, desconto,
+     * multa e juros são calculados em memória com as mesmas regras de receber() e todas
+     * as atualizações vão em um único JDBC batch. Itens inválidos são rejeitados
+     * individualmente, sem impedir os demais.
+     * @return Resultado de cada item, na ordem recebida
+     */
+    @Transactional
+    public List<BaixaResultadoDTO> receberEmLote(BaixaLoteDTO lote) {
+        List<BaixaLoteDTO.Item> itens = lote.getItens() != null ? lote.getItens() : List.of();
+        if (itens.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos uma parcela");
+        }
+        if (itens.size() > BAIXA_LOTE_MAXIMO) {
+            throw new IllegalArgumentException("Máximo de " + BAIXA_LOTE_MAXIMO + " parcelas por lote");
+        }
         
-        // Se recebimento ANTES ou NO DIA do vencimento: aplicar DESCONTO
-        if (recebimentoAntesVencimento || recebimentoNoDiaVencimento) {
-            if (recebimentoAntesVencimento) {
-                System.out.println("✓ Recebimento ANTES do vencimento - Aplicando DESCONTO");
-            } else {
-                System.out.println("✓ Recebimento NO DIA do vencimento - Aplicando DESCONTO");
+        Set<Long> ids = new LinkedHashSet<>();
+        for (BaixaLoteDTO.Item item : itens) {
+            if (item.getId() != null) {
+                ids.add(item.getId());
             }
-            Double percentualDesconto = (condicao != null && condicao.getPercentualDesconto() != null) 
-                ? condicao.getPercentualDesconto() 
-                : 0.0;
-            
-            System.out.println("  Percentual Desconto da condição: " + percentualDesconto);
-            
-            // Percentual já está no formato correto (0.20 = 20%), usar diretamente
-            BigDecimal descontoDecimal = new BigDecimal(percentualDesconto);
-            BigDecimal desconto = conta.getValorOriginal().multiply(descontoDecimal).setScale(2, RoundingMode.HALF_UP);
-            conta.setValorDesconto(desconto);
-            conta.setValorJuros(BigDecimal.ZERO);
-            conta.setValorMulta(BigDecimal.ZERO);
-            
-            System.out.println("  Desconto calculado: R$ " + desconto + " (sobre R$ " + conta.getValorOriginal() + ")");
         }
-        // Se recebimento DEPOIS do vencimento: aplicar MULTA e JUROS
-        else if (recebimentoDepoisVencimento) {
-            System.out.println("✓ Recebimento DEPOIS do vencimento - Aplicando MULTA e JUROS");
-            
-            // Calcular multa usando percentual da condição de pagamento
-            // Multa é aplicada apenas uma vez sobre o valor original
-            Double percentualMulta = (condicao != null && condicao.getPercentualMulta() != null) 
-                ? condicao.getPercentualMulta() 
-                : 0.0;
-            
-            System.out.println("  Percentual Multa da condição: " + percentualMulta);
-            
-            // Percentual já está no formato correto (0.20 = 20%), usar diretamente
-            BigDecimal multaDecimal = new BigDecimal(percentualMulta);
-            BigDecimal multa = conta.getValorOriginal().multiply(multaDecimal).setScale(2, RoundingMode.HALF_UP);
-            conta.setValorMulta(multa);
-            
-            System.out.println("  Multa calculada: R$ " + multa + " (sobre R$ " + conta.getValorOriginal() + ")");
-            
-            // Calcular juros usando percentual da condição de pagamento
-            // Juros aplicado como porcentagem fixa sobre o valor original (igual à multa)
-            Double percentualJuros = (condicao != null && condicao.getPercentualJuros() != null) 
-                ? condicao.getPercentualJuros() 
-                : 0.0;
-            
-            System.out.println("  Percentual Juros da condição: " + percentualJuros);
+        Map<Long, ContaReceber> contas = new HashMap<>();
+        for (ContaReceber conta : contaReceberRepository.findByIdsParaAtualizar(ids)) {
+            contas.put(conta.getId(), conta);
+        }
+        Map<Long, CondicaoPagamento> condicoes = contaReceberRepository.findCondicoesDasContas(contas.keySet());
+        
+        List<BaixaResultadoDTO> resultados = new ArrayList<>(itens.size());
+        List<ContaReceber> baixadas = new ArrayList<>();
+        Set<Long> processados = new HashSet<>();
+        for (BaixaLoteDTO.Item item : itens) {
+            ContaReceber conta = item.getId() != null ? contas.get(item.getId()) : null;
+            String erro = null;
+            if (item.getId() == null) {
+                erro = "ID da conta é obrigatório";
+            } else if (!processados.add(item.getId())) {
+                erro = "Conta repetida no lote";
+            } else if (conta == null) {
+                erro = "Conta a receber não encontrada";
+            } else if (conta.getSituacao().equals("RECEBIDA")) {
+                erro = "Esta conta já está recebida";
+            } else if (conta.getSituacao().equals("CANCELADA")) {
+                erro = "Esta conta está cancelada";
+            } else if (item.getValor() == null || item.getValor().compareTo(BigDecimal.ZERO) <= 0) {
+                erro = "Valor recebido deve ser maior que zero";
+            }
+            if (erro != null) {
+                resultados.add(BaixaResultadoDTO.erro(item.getId(), erro));
+                continue;
+            }
             
-            long diasAtraso = java.time.temporal.ChronoUnit.DAYS.between(conta.getDataVencimento(), dataRecebimento);
-            System.out.println("  Dias de atraso: " + diasAtraso);
+            LocalDate data = item.getData() != null ? item.getData()
+                    : lote.getData() != null ? lote.getData() : LocalDate.now();
+            conta.setValorRecebido(item.getValor());
+            conta.setDataRecebimento(data);
+            conta.setFormaPagamentoId(item.getFormaPagamentoId() != null
+                    ? item.getFormaPagamentoId() : lote.getFormaPagamentoId());
+            aplicarEncargos(conta, condicoes.get(conta.getId()), data);
             
-            BigDecimal juros = BigDecimal.ZERO;
-            if (diasAtraso > 0 && percentualJuros > 0) {
-                // Percentual já está no formato correto (0.20 = 20%), aplicar diretamente sobre o valor
-                BigDecimal jurosDecimal = new BigDecimal(percentualJuros);
-                juros = conta.getValorOriginal()
-                    .multiply(jurosDecimal)
-                    .setScale(2, RoundingMode.HALF_UP);
-                
-                System.out.println("  Juros calculado: R$ " + juros + " (sobre R$ " + conta.getValorOriginal() + ")");
+            if (item.getValor().compareTo(conta.getValorTotal()) >= 0) {
+                conta.setSituacao("RECEBIDA");
             } else {
-                System.out.println("  Juros não aplicado (dias atraso: " + diasAtraso + ", percentual: " + percentualJuros + ")");
+                conta.setSituacao("PARCIALMENTE_RECEBIDA");
             }
-            conta.setValorJuros(juros);
-            conta.setValorDesconto(BigDecimal.ZERO);
+            baixadas.add(conta);
+            resultados.add(BaixaResultadoDTO.sucesso(conta.getId(), conta.getSituacao(),
+                    conta.getValorTotal(), item.getValor()));
         }
         
-        // Calcular valor total: Original + Juros + Multa - Desconto
-        BigDecimal valorTotal = conta.getValorOriginal()
-                .add(conta.getValorJuros())
-                .add(conta.getValorMulta())
-                .subtract(conta.getValorDesconto());
-        conta.setValorTotal(valorTotal);
-        
-        System.out.println("\n=== VALORES FINAIS ===");
-        System.out.println("Valor Original: R$ " + conta.getValorOriginal());
-        System.out.println("Juros: R$ " + conta.getValorJuros());
-        System.out.println("Multa: R$ " + conta.getValorMulta());
-        System.out.println("Desconto: R$ " + conta.getValorDesconto());
-        System.out.println("Valor Total: R$ " + valorTotal);
-        System.out.println("=====================\n");
+        contaReceberRepository.updateEmLote(baixadas);
+        atualizarResumoDasContas(baixadas);
+        if (!baixadas.isEmpty()) {
+            eventosService.publicar(EventoDTO.lote(EventoDTO.CONTA_RECEBER, "baixa", idsDasContas(baixadas)));
+        }
+        System.out.println("Baixa em lote de contas a receber: " + baixadas.size() + " de " + itens.size() + " parcelas");
+        return resultados;
+    }
+    
+    /**
+     * Valor total atualizado de várias contas para uma data, para listagens. Equivale a
+     * chamar {@link #calcularValorTotalParaRecebimento(Long, LocalDate)} para cada conta em aberto, mas com as condições
+     * de pagamento buscadas em uma consulta por lote de contas e o cálculo feito em memória.
+     * @param contas Contas já carregadas; as recebidas ou canceladas são ignoradas
+     * @return Valor total por ID da conta em aberto
+     */
+    public Map<Long, BigDecimal> calcularValoresTotais(List<ContaReceber> contas, LocalDate dataRecebimento) {
+        Map<Long, ContaReceber> emAberto = new HashMap<>();
+        for (ContaReceber conta : contas) {
+            if (!"RECEBIDA".equals(conta.getSituacao()) && !"CANCELADA".equals(conta.getSituacao())) {
+                emAberto.put(conta.getId(), conta);
+            }
+        }
         
-        // Atualizar situação
-        if (valorRecebido.compareTo(valorTotal) >= 0) {
-            conta.setSituacao("RECEBIDA");
-        } else if (valorRecebido.compareTo(BigDecimal.ZERO) > 0) {
-            conta.setSituacao("PARCIALMENTE_RECEBIDA");
+        Map<Long, CondicaoPagamento> condicoes = new HashMap<>();
+        List<Long> ids = new ArrayList<>(emAberto.keySet());
+        for (int inicio = 0; inicio < ids.size(); inicio += LOTE_CONSULTA) {
+            condicoes.putAll(contaReceberRepository.findCondicoesDasContas(
+                    ids.subList(inicio, Math.min(inicio + LOTE_CONSULTA, ids.size()))));
         }
         
-        return contaReceberRepository.save(conta);
+        Map<Long, BigDecimal> valores = new HashMap<>();
+        for (ContaReceber conta : emAberto.values()) {
+            valores.put(conta.getId(), Encargos.calcular(conta.getValorOriginal(), conta.getDataVencimento(),
+                    dataRecebimento, condicoes.get(conta.getId())).getTotal());
+        }
+        return valores;
+    }
+    
+    /**
+     * Desconto (até o vencimento) ou multa e juros (depois do vencimento) sobre o valor
+     * original, com os percentuais da condição, e o valor total resultante
+     */
+    private void aplicarEncargos(ContaReceber conta, CondicaoPagamento condicao, LocalDate dataBaixa) {
+        Encargos encargos = Encargos.calcular(conta.getValorOriginal(), conta.getDataVencimento(), dataBaixa, condicao);
+        conta.setValorDesconto(encargos.getDesconto());
+        conta.setValorMulta(encargos.getMulta());
+        conta.setValorJuros(encargos.getJuros());
+        conta.setValorTotal(encargos.getTotal());
+    }
+    
+    /**
+     * Busca os percentuais de desconto, multa e juros da condição de pagamento da nota
+     * que originou a conta: uma consulta pela chave da nota e a condição vinda do cache.
+     * @return Condição com os percentuais, ou null para usar valores padrão
+     */
+    private CondicaoPagamento buscarCondicaoDaNota(ContaReceber conta) {
+        try {
+            return notaSaidaRepository.findCondicaoPagamentoIdByChave(
+                    conta.getNotaNumero(),
+                    conta.getNotaModelo(),
+                    conta.getNotaSerie(),
+                    conta.getClienteId())
+                .flatMap(condicaoPagamentoRepository::findPercentuaisById)
+                .orElse(null);
+        } catch (Exception e) {
+            // Se não conseguir buscar a condição, usar valores padrão
+            System.err.println("Erro ao buscar condição de pagamento: " + e.getMessage());
+            return null;
+        }
     }
     
     public void cancelar(Long id) {
@@ -337,10 +299,15 @@ public class ContaReceberService {
         
         conta.setSituacao("CANCELADA");
         contaReceberRepository.save(conta);
+        atualizarResumo(conta.getDataVencimento());
+        publicar("cancelada", conta);
     }
     
     public void deleteById(Long id) {
+        LocalDate vencimento = contaReceberRepository.findDataVencimentoById(id).orElse(null);
         contaReceberRepository.deleteById(id);
+        atualizarResumo(vencimento);
+        eventosService.publicar(EventoDTO.conta(EventoDTO.CONTA_RECEBER, "excluida", id, null));
     }
     
     /**
@@ -362,8 +329,8 @@ public class ContaReceberService {
                     nota.getDataEmissao(),
                     nota.getDataEmissao()
             );
-            contas.add(contaReceberRepository.save(conta));
-            return contas;
+            contas.add(conta);
+            return inserirContas(contas);
         }
         
         // Buscar condição de pagamento
@@ -414,8 +381,8 @@ public class ContaReceberService {
                     nota.getDataEmissao(),
                     nota.getDataEmissao()
             );
-            contas.add(contaReceberRepository.save(conta));
-            return contas;
+            contas.add(conta);
+            return inserirContas(contas);
         }
         
         // Calcular valor de cada parcela usando o percentual definido na condição de pagamento
@@ -480,12 +447,26 @@ public class ContaReceberService {
                 conta.setFormaPagamentoId(parcela.getFormaPagamento().getId());
             }
             
-            contas.add(contaReceberRepository.save(conta));
+            contas.add(conta);
             somaParcelasGeradas = somaParcelasGeradas.add(valorDessaParcela);
         }
         
         System.out.println("Total de parcelas geradas: " + contas.size() + ", Soma: " + somaParcelasGeradas);
         
+        return inserirContas(contas);
+    }
+    
+    /**
+     * Grava as parcelas geradas em um único INSERT em lote, na transação da nota
+     */
+    private List<ContaReceber> inserirContas(List<ContaReceber> contas) {
+        contaReceberRepository.insertEmLote(contas);
+        atualizarResumoDasContas(contas);
+        if (!contas.isEmpty()) {
+            ContaReceber conta = contas.get(0);
+            eventosService.publicar(EventoDTO.lote(EventoDTO.CONTA_RECEBER, "geradas", idsDasContas(contas)).setNota(
+                    conta.getNotaNumero(), conta.getNotaModelo(), conta.getNotaSerie(), conta.getClienteId()));
+        }
         return contas;
     }
     
@@ -493,7 +474,10 @@ public class ContaReceberService {
      * Deleta todas as contas de uma nota
      */
     public void deletarContasDaNota(String numero, String modelo, String serie, Long clienteId) {
+        List<LocalDate> vencimentos = contaReceberRepository.findDatasVencimentoByNota(numero, modelo, serie, clienteId);
         contaReceberRepository.deleteByNota(numero, modelo, serie, clienteId);
+        resumoFinanceiroRepository.atualizarDias(ResumoFinanceiroRepository.RECEBER, vencimentos);
+        eventosService.publicar(new EventoDTO(EventoDTO.CONTA_RECEBER, "excluidas").setNota(numero, modelo, serie, clienteId));
     }
     
     /**
@@ -502,12 +486,47 @@ public class ContaReceberService {
     public void cancelarContasDaNota(String numero, String modelo, String serie, Long clienteId) {
         List<ContaReceber> contas = findByNota(numero, modelo, serie, clienteId);
         
+        List<Long> canceladas = new ArrayList<>();
         for (ContaReceber conta : contas) {
             if (!conta.getSituacao().equals("RECEBIDA")) {
                 conta.setSituacao("CANCELADA");
                 contaReceberRepository.save(conta);
+                canceladas.add(conta.getId());
             }
         }
+        atualizarResumoDasContas(contas);
+        if (!canceladas.isEmpty()) {
+            eventosService.publicar(EventoDTO.lote(EventoDTO.CONTA_RECEBER, "canceladas", canceladas)
+                    .setNota(numero, modelo, serie, clienteId));
+        }
+    }
+    
+    private void publicar(String acao, ContaReceber conta) {
+        eventosService.publicar(EventoDTO.conta(EventoDTO.CONTA_RECEBER, acao, conta.getId(), conta.getSituacao())
+                .setNota(conta.getNotaNumero(), conta.getNotaModelo(), conta.getNotaSerie(), conta.getClienteId()));
+    }
+    
+    private static List<Long> idsDasContas(List<ContaReceber> contas) {
+        List<Long> ids = new ArrayList<>(contas.size());
+        for (ContaReceber conta : contas) {
+            ids.add(conta.getId());
+        }
+        return ids;
+    }
+    
+    /**
+     * Recalcula o resumo financeiro dos vencimentos afetados por uma escrita
+     */
+    private void atualizarResumo(LocalDate... vencimentos) {
+        resumoFinanceiroRepository.atualizarDias(ResumoFinanceiroRepository.RECEBER, Arrays.asList(vencimentos));
+    }
+    
+    private void atualizarResumoDasContas(List<ContaReceber> contas) {
+        List<LocalDate> vencimentos = new ArrayList<>();
+        for (ContaReceber conta : contas) {
+            vencimentos.add(conta.getDataVencimento());
+        }
+        resumoFinanceiroRepository.atualizarDias(ResumoFinanceiroRepository.RECEBER, vencimentos);
     }
     
     private void validarConta(ContaReceber conta) {
@@ -0,0 +1,62 @@
+package com.example.PizzariaGraff.service;
+
+import com.example.PizzariaGraff.dto.EstoqueMinimoDTO;
+import com.example.PizzariaGraff.repository.CatalogoProdutos;
+import com.example.PizzariaGraff.repository.ProdutoRepository;
+import com.example.PizzariaGraff.util.CanalEventos;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Lista de produtos abaixo do estoque mínimo, para as telas da cozinha e de compras.
+ *
+ * A lista é mantida pelo {@link CatalogoProdutos} a cada movimentação de estoque ou
+ * alteração de cadastro já confirmada, conferindo só o produto alterado. Cada mudança é
+ * enviada aos clientes inscritos como evento "estoque-minimo"; ao se inscrever, o
+ * cliente recebe a lista completa no evento "lista".
+ */
+@Service
+public class EstoqueMinimoService {
+
+    public static final String EVENTO_LISTA = "lista";
+    public static final String EVENTO_ALTERACAO = "estoque-minimo";
+
+    private static final Comparator<EstoqueMinimoDTO> ORDEM = Comparator
+            .comparing((EstoqueMinimoDTO p) -> p.getProduto() != null ? p.getProduto() : "", String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(EstoqueMinimoDTO::getProdutoId);
+
+    private final ProdutoRepository produtoRepository;
+    private final CanalEventos canal = new CanalEventos("estoque-minimo");
+
+    public EstoqueMinimoService(ProdutoRepository produtoRepository, CatalogoProdutos catalogo) {
+        this.produtoRepository = produtoRepository;
+        catalogo.setOuvinteEstoqueMinimo((item, abaixo) ->
+                canal.publicar(EVENTO_ALTERACAO, new EstoqueMinimoDTO(item, abaixo)));
+    }
+
+    /**
+     * Produtos ativos abaixo do estoque mínimo, em ordem de nome
+     */
+    public List<EstoqueMinimoDTO> listar() {
+        List<EstoqueMinimoDTO> produtos = new ArrayList<>();
+        for (CatalogoProdutos.Item item : produtoRepository.findAbaixoDoMinimo()) {
+            produtos.add(new EstoqueMinimoDTO(item, true));
+        }
+        produtos.sort(ORDEM);
+        return produtos;
+    }
+
+    public SseEmitter inscrever() {
+        return canal.inscrever(EVENTO_LISTA, this::listar);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        canal.encerrar();
+    }
+}
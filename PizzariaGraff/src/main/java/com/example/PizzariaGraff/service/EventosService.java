@@ -0,0 +1,52 @@
+package com.example.PizzariaGraff.service;
+
+import com.example.PizzariaGraff.dto.EventoDTO;
+import com.example.PizzariaGraff.util.CanalEventos;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Canal de alterações em notas, contas e estoque para as telas abertas, que aplicam o
+ * evento na lista em vez de baixar a coleção inteira de novo.
+ *
+ * Eventos publicados dentro de uma transação só são enviados depois do commit, então
+ * alterações desfeitas nunca chegam aos clientes. Cada evento é enviado com o nome do
+ * seu tipo (nota-saida, nota-entrada, conta-receber, conta-pagar, estoque); ao se
+ * inscrever o cliente recebe o evento "conectado" e, depois de uma reconexão, deve
+ * recarregar as listas uma vez, pois eventos enviados enquanto estava fora se perderam.
+ */
+@Service
+public class EventosService {
+
+    public static final String EVENTO_CONECTADO = "conectado";
+
+    private final CanalEventos canal = new CanalEventos("alteracoes");
+
+    public void publicar(EventoDTO evento) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    canal.publicar(evento.getTipo(), evento);
+                }
+            });
+        } else {
+            canal.publicar(evento.getTipo(), evento);
+        }
+    }
+
+    public SseEmitter inscrever() {
+        return canal.inscrever(EVENTO_CONECTADO, () -> Map.of("dataHora", LocalDateTime.now()));
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        canal.encerrar();
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.PizzariaGraff.service;
+
+import com.example.PizzariaGraff.repository.ExportacaoRepository;
+import com.example.PizzariaGraff.util.EscritorExportacao;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Exportação de contas a receber, contas a pagar e notas em CSV ou NDJSON.
+ *
+ * Os parâmetros são conferidos antes de qualquer escrita, para que erros virem
+ * 400 e não uma resposta cortada no meio; depois as linhas vão do cursor do banco
+ * direto para a saída, sem passar por listas ou DTOs.
+ */
+@Service
+public class ExportacaoService {
+
+    private final ExportacaoRepository exportacaoRepository;
+    private final ObjectMapper objectMapper;
+
+    public ExportacaoService(ExportacaoRepository exportacaoRepository, ObjectMapper objectMapper) {
+        this.exportacaoRepository = exportacaoRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Confere e normaliza os parâmetros da exportação
+     * @throws IllegalArgumentException se algum parâmetro for inválido
+     */
+    public Parametros validar(String tabela, String formato, String campoData,
+                              LocalDate inicio, LocalDate fim, List<String> situacoes) {
+        if (!ExportacaoRepository.tabelaValida(tabela)) {
+            throw new IllegalArgumentException("Exportação não suportada: " + tabela
+                    + ". Use contas-receber, contas-pagar, notas-saida ou notas-entrada");
+        }
+
+        String formatoSaida = formato != null ? formato.toLowerCase() : EscritorExportacao.CSV;
+        if (!EscritorExportacao.CSV.equals(formatoSaida) && !EscritorExportacao.NDJSON.equals(formatoSaida)) {
+            throw new IllegalArgumentException("Formato inválido: " + formato + ". Use csv ou ndjson");
+        }
+
+        String campo = campoData != null ? campoData.toLowerCase() : ExportacaoRepository.campoDataPadrao(tabela);
+        if (!ExportacaoRepository.campoDataValido(tabela, campo)) {
+            throw new IllegalArgumentException("Campo de data inválido para " + tabela + ": " + campoData);
+        }
+
+        if (inicio != null && fim != null && fim.isBefore(inicio)) {
+            throw new IllegalArgumentException("A data final não pode ser anterior à data inicial");
+        }
+
+        List<String> situacoesNormalizadas = new ArrayList<>();
+        if (situacoes != null) {
+            for (String situacao : situacoes) {
+                // Aceita tanto ?situacao=PENDENTE&situacao=PAGA quanto ?situacao=PENDENTE,PAGA
+                for (String parte : situacao.split(",")) {
+                    if (!parte.isBlank()) {
+                        situacoesNormalizadas.add(parte.trim().toUpperCase());
+                    }
+                }
+            }
+        }
+
+        return new Parametros(tabela, formatoSaida, campo, inicio, fim, situacoesNormalizadas);
+    }
+
+    /**
+     * Escreve a exportação na saída, linha a linha
+     * @return Quantidade de linhas exportadas
+     */
+    public long exportar(Parametros parametros, OutputStream saida) throws IOException {
+        EscritorExportacao escritor = EscritorExportacao.NDJSON.equals(parametros.getFormato())
+                ? EscritorExportacao.ndjson(saida, objectMapper)
+                : EscritorExportacao.csv(saida);
+
+        long inicio = System.currentTimeMillis();
+        long linhas = exportacaoRepository.exportar(parametros.getTabela(), parametros.getCampoData(),
+                parametros.getInicio(), parametros.getFim(), parametros.getSituacoes(), escritor);
+        System.out.println("Exportação de " + parametros.getTabela() + " (" + parametros.getFormato() + "): "
+                + linhas + " linhas em " + (System.currentTimeMillis() - inicio) + " ms");
+        return linhas;
+    }
+
+    public static class Parametros {
+        private final String tabela;
+        private final String formato;
+        private final String campoData;
+        private final LocalDate inicio;
+        private final LocalDate fim;
+        private final List<String> situacoes;
+
+        Parametros(String tabela, String formato, String campoData,
+                   LocalDate inicio, LocalDate fim, List<String> situacoes) {
+            this.tabela = tabela;
+            this.formato = formato;
+            this.campoData = campoData;
+            this.inicio = inicio;
+            this.fim = fim;
+            this.situacoes = situacoes;
+        }
+
+        public String getTabela() {
+            return tabela;
+        }
+
+        public String getFormato() {
+            return formato;
+        }
+
+        public String getCampoData() {
+            return campoData;
+        }
+
+        public LocalDate getInicio() {
+            return inicio;
+        }
+
+        public LocalDate getFim() {
+            return fim;
+        }
+
+        public List<String> getSituacoes() {
+            return situacoes;
+        }
+
+        public String nomeArquivo() {
+            return tabela.replace('-', '_') + "." + formato;
+        }
+    }
+}
@@ -3,9 +3,11 @@ package com.example.PizzariaGraff.service;
 import com.example.PizzariaGraff.model.Fornecedor;
 import com.example.PizzariaGraff.model.FornecedorEmail;
 import com.example.PizzariaGraff.model.FornecedorTelefone;
+import com.example.PizzariaGraff.repository.BuscaRepository;
 import com.example.PizzariaGraff.repository.FornecedorRepository;
 import com.example.PizzariaGraff.repository.FornecedorEmailRepository;
 import com.example.PizzariaGraff.repository.FornecedorTelefoneRepository;
+import com.example.PizzariaGraff.util.CpfCnpjValidator;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -16,11 +18,14 @@ public class FornecedorService {
     private final FornecedorRepository fornecedorRepository;
     private final FornecedorEmailRepository fornecedorEmailRepository;
     private final FornecedorTelefoneRepository fornecedorTelefoneRepository;
+    private final BuscaService buscaService;
 
     public FornecedorService(FornecedorRepository fornecedorRepository, 
                            FornecedorEmailRepository fornecedorEmailRepository,
-                           FornecedorTelefoneRepository fornecedorTelefoneRepository) {
+                           FornecedorTelefoneRepository fornecedorTelefoneRepository,
+                           BuscaService buscaService) {
         this.fornecedorRepository = fornecedorRepository;
+        this.buscaService = buscaService;
         this.fornecedorEmailRepository = fornecedorEmailRepository;
         this.fornecedorTelefoneRepository = fornecedorTelefoneRepository;
     }
@@ -39,16 +44,7 @@ public class FornecedorService {
     }
     
     public Fornecedor save(Fornecedor fornecedor) {
-        // Normalização de dados
-        if (fornecedor.getCpfCnpj() != null && !fornecedor.getCpfCnpj().trim().isEmpty()) {
-            String cpfCnpjLimpo = fornecedor.getCpfCnpj().replaceAll("[^0-9]", "");
-            fornecedor.setCpfCnpj(cpfCnpjLimpo);
-        }
-        
-        if (fornecedor.getEmail() != null && !fornecedor.getEmail().trim().isEmpty()) {
-            String emailNormalizado = fornecedor.getEmail().trim().toLowerCase();
-            fornecedor.setEmail(emailNormalizado);
-        }
+        normalizar(fornecedor);
         
         // Validações obrigatórias
         validarCamposObrigatorios(fornecedor);
@@ -59,10 +55,25 @@ public class FornecedorService {
             verificarCpfCnpjDuplicado(fornecedor.getCpfCnpj(), fornecedor.getId());
         }
         
-        return fornecedorRepository.save(fornecedor);
+        Fornecedor salvo = fornecedorRepository.save(fornecedor);
+        buscaService.indexar(salvo);
+        return salvo;
+    }
+    
+    // Normalização de dados: CPF/CNPJ só com dígitos e email em minúsculas
+    void normalizar(Fornecedor fornecedor) {
+        if (fornecedor.getCpfCnpj() != null && !fornecedor.getCpfCnpj().trim().isEmpty()) {
+            String cpfCnpjLimpo = CpfCnpjValidator.normalizar(fornecedor.getCpfCnpj());
+            fornecedor.setCpfCnpj(cpfCnpjLimpo);
+        }
+        
+        if (fornecedor.getEmail() != null && !fornecedor.getEmail().trim().isEmpty()) {
+            String emailNormalizado = fornecedor.getEmail().trim().toLowerCase();
+            fornecedor.setEmail(emailNormalizado);
+        }
     }
     
-    private void validarCamposObrigatorios(Fornecedor fornecedor) {
+    void validarCamposObrigatorios(Fornecedor fornecedor) {
         if (fornecedor.getFornecedor() == null || fornecedor.getFornecedor().trim().isEmpty()) {
             throw new RuntimeException("O nome do fornecedor é obrigatório");
         }
@@ -112,25 +123,25 @@ public class FornecedorService {
         }
     }
     
-    private void validarCpfCnpj(String cpfCnpj, Integer tipo) {
+    void validarCpfCnpj(String cpfCnpj, Integer tipo) {
         if (cpfCnpj == null || cpfCnpj.trim().isEmpty()) {
             return; // Já validado na função anterior se obrigatório
         }
         
-        String documento = cpfCnpj.replaceAll("[^0-9]", "");
+        int digitos = CpfCnpjValidator.contarDigitos(cpfCnpj);
         
         if (tipo == 1) { // Pessoa Física - CPF
-            if (documento.length() != 11) {
+            if (digitos != 11) {
                 throw new RuntimeException("CPF deve conter exatamente 11 dígitos");
             }
-            if (!validarCPF(documento)) {
+            if (!CpfCnpjValidator.isValidCPF(cpfCnpj)) {
                 throw new RuntimeException("CPF inválido");
             }
         } else if (tipo == 2) { // Pessoa Jurídica - CNPJ
-            if (documento.length() != 14) {
+            if (digitos != 14) {
                 throw new RuntimeException("CNPJ deve conter exatamente 14 dígitos");
             }
-            if (!validarCNPJ(documento)) {
+            if (!CpfCnpjValidator.isValidCNPJ(cpfCnpj)) {
                 throw new RuntimeException("CNPJ inválido");
             }
         }
@@ -152,72 +163,9 @@ public class FornecedorService {
         }
     }
     
-    private boolean validarCPF(String cpf) {
-        // Remove caracteres não numéricos
-        cpf = cpf.replaceAll("[^0-9]", "");
-        
-        // Verifica se tem 11 dígitos
-        if (cpf.length() != 11) return false;
-        
-        // Verifica se todos os dígitos são iguais
-        if (cpf.matches("(\\d)\\1{10}")) return false;
-        
-        // Calcula o primeiro dígito verificador
-        int soma = 0;
-        for (int i = 0; i < 9; i++) {
-            soma += Character.getNumericValue(cpf.charAt(i)) * (10 - i);
-        }
-        int primeiroDigito = 11 - (soma % 11);
-        if (primeiroDigito >= 10) primeiroDigito = 0;
-        
-        // Calcula o segundo dígito verificador
-        soma = 0;
-        for (int i = 0; i < 10; i++) {
-            soma += Character.getNumericValue(cpf.charAt(i)) * (11 - i);
-        }
-        int segundoDigito = 11 - (soma % 11);
-        if (segundoDigito >= 10) segundoDigito = 0;
-        
-        // Verifica se os dígitos calculados conferem com os informados
-        return Character.getNumericValue(cpf.charAt(9)) == primeiroDigito &&
-               Character.getNumericValue(cpf.charAt(10)) == segundoDigito;
-    }
-    
-    private boolean validarCNPJ(String cnpj) {
-        // Remove caracteres não numéricos
-        cnpj = cnpj.replaceAll("[^0-9]", "");
-        
-        // Verifica se tem 14 dígitos
-        if (cnpj.length() != 14) return false;
-        
-        // Verifica se todos os dígitos são iguais
-        if (cnpj.matches("(\\d)\\1{13}")) return false;
-        
-        // Calcula o primeiro dígito verificador
-        int[] peso1 = {5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
-        int soma = 0;
-        for (int i = 0; i < 12; i++) {
-            soma += Character.getNumericValue(cnpj.charAt(i)) * peso1[i];
-        }
-        int primeiroDigito = 11 - (soma % 11);
-        if (primeiroDigito >= 10) primeiroDigito = 0;
-        
-        // Calcula o segundo dígito verificador
-        int[] peso2 = {6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
-        soma = 0;
-        for (int i = 0; i < 13; i++) {
-            soma += Character.getNumericValue(cnpj.charAt(i)) * peso2[i];
-        }
-        int segundoDigito = 11 - (soma % 11);
-        if (segundoDigito >= 10) segundoDigito = 0;
-        
-        // Verifica se os dígitos calculados conferem com os informados
-        return Character.getNumericValue(cnpj.charAt(12)) == primeiroDigito &&
-               Character.getNumericValue(cnpj.charAt(13)) == segundoDigito;
-    }
-    
     public void deleteById(Long id) {
         fornecedorRepository.deleteById(id);
+        buscaService.remover(BuscaRepository.FORNECEDOR, id);
     }
 
     // Métodos para gerenciar múltiplos emails
@@ -1,7 +1,9 @@
 package com.example.PizzariaGraff.service;
 
 import com.example.PizzariaGraff.model.Funcionario;
+import com.example.PizzariaGraff.repository.BuscaRepository;
 import com.example.PizzariaGraff.repository.FuncionarioRepository;
+import com.example.PizzariaGraff.util.CpfCnpjValidator;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -10,9 +12,11 @@ import java.util.List;
 public class FuncionarioService {
     
     private final FuncionarioRepository funcionarioRepository;
+    private final BuscaService buscaService;
     
-    public FuncionarioService(FuncionarioRepository funcionarioRepository) {
+    public FuncionarioService(FuncionarioRepository funcionarioRepository, BuscaService buscaService) {
         this.funcionarioRepository = funcionarioRepository;
+        this.buscaService = buscaService;
     }
     
     public List<Funcionario> findAll() {
@@ -67,7 +71,9 @@ public class FuncionarioService {
         // Verificar email duplicado
         verificarEmailDuplicado(funcionario.getEmail(), funcionario.getId());
         
-        return funcionarioRepository.save(funcionario);
+        Funcionario salvo = funcionarioRepository.save(funcionario);
+        buscaService.indexar(salvo);
+        return salvo;
     }
     
     private void validarCamposObrigatorios(Funcionario funcionario) {
@@ -158,20 +164,20 @@ public class FuncionarioService {
             return; // Já validado na função anterior se obrigatório
         }
         
-        String documento = cpfCnpj.replaceAll("[^0-9]", "");
+        int digitos = CpfCnpjValidator.contarDigitos(cpfCnpj);
         
         if (tipo == 1) { // Pessoa Física - CPF
-            if (documento.length() != 11) {
+            if (digitos != 11) {
                 throw new RuntimeException("CPF deve conter exatamente 11 dígitos");
             }
-            if (!validarCPF(documento)) {
+            if (!CpfCnpjValidator.isValidCPF(cpfCnpj)) {
                 throw new RuntimeException("CPF inválido");
             }
         } else if (tipo == 2) { // Pessoa Jurídica - CNPJ
-            if (documento.length() != 14) {
+            if (digitos != 14) {
                 throw new RuntimeException("CNPJ deve conter exatamente 14 dígitos");
             }
-            if (!validarCNPJ(documento)) {
+            if (!CpfCnpjValidator.isValidCNPJ(cpfCnpj)) {
                 throw new RuntimeException("CNPJ inválido");
             }
         }
@@ -215,71 +221,8 @@ public class FuncionarioService {
         }
     }
     
-    private boolean validarCPF(String cpf) {
-        // Remove caracteres não numéricos
-        cpf = cpf.replaceAll("[^0-9]", "");
-        
-        // Verifica se tem 11 dígitos
-        if (cpf.length() != 11) return false;
-        
-        // Verifica se todos os dígitos são iguais
-        if (cpf.matches("(\\d)\\1{10}")) return false;
-        
-        // Calcula o primeiro dígito verificador
-        int soma = 0;
-        for (int i = 0; i < 9; i++) {
-            soma += Character.getNumericValue(cpf.charAt(i)) * (10 - i);
-        }
-        int primeiroDigito = 11 - (soma % 11);
-        if (primeiroDigito >= 10) primeiroDigito = 0;
-        
-        // Calcula o segundo dígito verificador
-        soma = 0;
-        for (int i = 0; i < 10; i++) {
-            soma += Character.getNumericValue(cpf.charAt(i)) * (11 - i);
-        }
-        int segundoDigito = 11 - (soma % 11);
-        if (segundoDigito >= 10) segundoDigito = 0;
-        
-        // Verifica se os dígitos calculados conferem com os informados
-        return Character.getNumericValue(cpf.charAt(9)) == primeiroDigito &&
-               Character.getNumericValue(cpf.charAt(10)) == segundoDigito;
-    }
-    
-    private boolean validarCNPJ(String cnpj) {
-        // Remove caracteres não numéricos
-        cnpj = cnpj.replaceAll("[^0-9]", "");
-        
-        // Verifica se tem 14 dígitos
-        if (cnpj.length() != 14) return false;
-        
-        // Verifica se todos os dígitos são iguais
-        if (cnpj.matches("(\\d)\\1{13}")) return false;
-        
-        // Calcula o primeiro dígito verificador
-        int[] peso1 = {5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
-        int soma = 0;
-        for (int i = 0; i < 12; i++) {
-            soma += Character.getNumericValue(cnpj.charAt(i)) * peso1[i];
-        }
-        int primeiroDigito = 11 - (soma % 11);
-        if (primeiroDigito >= 10) primeiroDigito = 0;
-        
-        // Calcula o segundo dígito verificador
-        int[] peso2 = {6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
-        soma = 0;
-        for (int i = 0; i < 13; i++) {
-            soma += Character.getNumericValue(cnpj.charAt(i)) * peso2[i];
-        }
-        int segundoDigito = 11 - (soma % 11);
-        if (segundoDigito >= 10) segundoDigito = 0;
-        
-        // Verifica se os dígitos calculados conferem com os informados
-        return Character.getNumericValue(cnpj.charAt(12)) == primeiroDigito &&
-               Character.getNumericValue(cnpj.charAt(13)) == segundoDigito;
-    }
-    
     public void deleteById(Long id) {
         funcionarioRepository.deleteById(id);
+        buscaService.remover(BuscaRepository.FUNCIONARIO, id);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,142 @@
+package com.example.PizzariaGraff.service;
+
+import com.example.PizzariaGraff.dto.ExtratoEstoqueDTO;
+import com.example.PizzariaGraff.dto.SaldoEstoqueDTO;
+import com.example.PizzariaGraff.model.MovimentoEstoque;
+import com.example.PizzariaGraff.repository.MovimentoEstoqueRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Consultas de saldo de estoque em uma data e extrato de movimentos por produto, a
+ * partir do histórico gravado pela {@link MovimentacaoEstoqueService} e pelo cadastro
+ * de produtos.
+ *
+ * Os saldos de fim de dia são fechados na inicialização e conforme estoque.fechamento.cron
+ * (por padrão logo depois da meia-noite), recuperando os dias que ficaram para trás.
+ * Assim uma consulta lê um saldo diário e só os movimentos do dia em diante.
+ */
+@Service
+public class HistoricoEstoqueService {
+
+    public static final int EXTRATO_DIAS_MAXIMO = 366;
+
+    private final MovimentoEstoqueRepository movimentoEstoqueRepository;
+    private final AtomicBoolean fechando = new AtomicBoolean();
+
+    public HistoricoEstoqueService(MovimentoEstoqueRepository movimentoEstoqueRepository) {
+        this.movimentoEstoqueRepository = movimentoEstoqueRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void fecharNaInicializacao() {
+        fecharAgendado();
+    }
+
+    @Scheduled(cron = "${estoque.fechamento.cron:0 10 0 * * *}")
+    public void fecharAgendado() {
+        try {
+            fecharAte(LocalDate.now().minusDays(1));
+        } catch (Exception e) {
+            System.err.println("Erro ao fechar saldos de estoque: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Fecha os saldos diários pendentes até o dia informado
+     * @return Quantidade de dias fechados
+     */
+    public int fecharAte(LocalDate ultimoDia) {
+        if (!fechando.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            Optional<LocalDate> proximo = movimentoEstoqueRepository.findProximoDiaAFechar();
+            if (proximo.isEmpty()) {
+                return 0;
+            }
+            long inicio = System.currentTimeMillis();
+            int dias = 0;
+            int produtos = 0;
+            for (LocalDate dia = proximo.get(); !dia.isAfter(ultimoDia); dia = dia.plusDays(1)) {
+                produtos += movimentoEstoqueRepository.fecharDia(dia);
+                dias++;
+            }
+            if (dias > 0) {
+                System.out.println("Saldos de estoque fechados: " + dias + " dias, " + produtos
+                        + " saldos em " + (System.currentTimeMillis() - inicio) + " ms");
+            }
+            return dias;
+        } finally {
+            fechando.set(false);
+        }
+    }
+
+    /**
+     * Saldo dos produtos no fim do dia informado
+     * @param produtoIds Produtos consultados; vazio ou nulo para todos
+     */
+    public List<SaldoEstoqueDTO> saldosEm(LocalDate data, Collection<Long> produtoIds) {
+        List<SaldoEstoqueDTO> saldos = new ArrayList<>();
+        for (MovimentoEstoqueRepository.Saldo saldo : movimentoEstoqueRepository.findSaldosEm(
+                data, produtoIds != null ? produtoIds : List.of())) {
+            saldos.add(new SaldoEstoqueDTO(data, saldo));
+        }
+        return saldos;
+    }
+
+    /**
+     * Saldo inicial, movimentos com o saldo após cada um e saldo final de um produto
+     * @throws IllegalArgumentException se o período for inválido ou o produto não existir
+     */
+    public ExtratoEstoqueDTO extrato(Long produtoId, LocalDate inicio, LocalDate fim) {
+        if (fim.isBefore(inicio)) {
+            throw new IllegalArgumentException("A data final deve ser igual ou posterior à inicial");
+        }
+        if (ChronoUnit.DAYS.between(inicio, fim) >= EXTRATO_DIAS_MAXIMO) {
+            throw new IllegalArgumentException("O período do extrato deve ter no máximo " + EXTRATO_DIAS_MAXIMO + " dias");
+        }
+        List<MovimentoEstoqueRepository.Saldo> anterior =
+                movimentoEstoqueRepository.findSaldosEm(inicio.minusDays(1), List.of(produtoId));
+        if (anterior.isEmpty()) {
+            throw new IllegalArgumentException("Produto não encontrado com o ID: " + produtoId);
+        }
+
+        ExtratoEstoqueDTO extrato = new ExtratoEstoqueDTO();
+        extrato.setProdutoId(produtoId);
+        extrato.setProduto(anterior.get(0).getProduto());
+        extrato.setInicio(inicio);
+        extrato.setFim(fim);
+        extrato.setSaldoInicial(anterior.get(0).getQuantidade());
+
+        BigDecimal saldo = extrato.getSaldoInicial();
+        BigDecimal entradas = BigDecimal.ZERO;
+        BigDecimal saidas = BigDecimal.ZERO;
+        List<MovimentoEstoque> movimentos = movimentoEstoqueRepository.findByProdutoEntre(produtoId, inicio, fim);
+        for (MovimentoEstoque movimento : movimentos) {
+            saldo = saldo.add(movimento.getQuantidade());
+            movimento.setSaldo(saldo);
+            if (movimento.getQuantidade().signum() >= 0) {
+                entradas = entradas.add(movimento.getQuantidade());
+            } else {
+                saidas = saidas.add(movimento.getQuantidade().negate());
+            }
+        }
+        extrato.setEntradas(entradas);
+        extrato.setSaidas(saidas);
+        extrato.setSaldoFinal(saldo);
+        extrato.setMovimentos(movimentos);
+        return extrato;
+    }
+}
@@ -0,0 +1,528 @@
+package com.example.PizzariaGraff.service;
+
+import com.example.PizzariaGraff.dto.ImportacaoResultadoDTO;
+import com.example.PizzariaGraff.model.Cliente;
+import com.example.PizzariaGraff.model.Fornecedor;
+import com.example.PizzariaGraff.model.Produto;
+import com.example.PizzariaGraff.repository.ClienteRepository;
+import com.example.PizzariaGraff.repository.FornecedorRepository;
+import com.example.PizzariaGraff.repository.ProdutoRepository;
+import com.example.PizzariaGraff.util.CpfCnpjValidator;
+import com.example.PizzariaGraff.util.LeitorImportacao;
+import com.example.PizzariaGraff.util.LeitorImportacao.Registro;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Importação em massa de clientes, fornecedores e produtos a partir de CSV ou NDJSON.
+ *
+ * O arquivo é lido de forma incremental e processado em lotes: cada lote é validado
+ * com as mesmas regras do cadastro, os campos únicos são conferidos com uma consulta
+ * IN por lote (e contra as linhas anteriores do próprio arquivo), e as linhas válidas
+ * são gravadas com um INSERT em JDBC batch, em uma transação por lote. Se o lote
+ * falhar no banco (chave estrangeira inexistente, por exemplo), as linhas dele são
+ * regravadas uma a uma para identificar quais foram rejeitadas.
+ */
+@Service
+public class ImportacaoService {
+
+    public static final int LOTE_PADRAO = 500;
+    public static final int LOTE_MAXIMO = 2000;
+
+    private static final DateTimeFormatter DATA_BR = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final ClienteRepository clienteRepository;
+    private final FornecedorRepository fornecedorRepository;
+    private final ProdutoRepository produtoRepository;
+    private final ClienteService clienteService;
+    private final FornecedorService fornecedorService;
+    private final ProdutoService produtoService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final BuscaService buscaService;
+
+    public ImportacaoService(ClienteRepository clienteRepository,
+                             FornecedorRepository fornecedorRepository,
+                             ProdutoRepository produtoRepository,
+                             ClienteService clienteService,
+                             FornecedorService fornecedorService,
+                             ProdutoService produtoService,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager,
+                             BuscaService buscaService) {
+        this.clienteRepository = clienteRepository;
+        this.buscaService = buscaService;
+        this.fornecedorRepository = fornecedorRepository;
+        this.produtoRepository = produtoRepository;
+        this.clienteService = clienteService;
+        this.fornecedorService = fornecedorService;
+        this.produtoService = produtoService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Importa um arquivo
+     * @param entidade clientes, fornecedores ou produtos
+     * @param formato csv ou ndjson
+     * @param entrada Conteúdo do arquivo
+     * @param charset Codificação do arquivo
+     * @param tamanhoLote Registros por lote (e por transação)
+     * @return Totais e linhas rejeitadas
+     * @throws IllegalArgumentException se a entidade ou o formato não forem suportados
+     * @throws IOException em caso de erro ao ler a entrada
+     */
+    public ImportacaoResultadoDTO importar(String entidade, String formato, InputStream entrada,
+                                           Charset charset, int tamanhoLote) throws IOException {
+        Importador<?> importador = importador(entidade);
+        long inicio = System.currentTimeMillis();
+        ImportacaoResultadoDTO resultado = new ImportacaoResultadoDTO(importador.nome, formato);
+
+        InputStreamReader reader = new InputStreamReader(entrada, charset);
+        try (LeitorImportacao leitor = leitor(formato, reader)) {
+            executar(importador, leitor, tamanhoLote, resultado);
+        }
+
+        resultado.setDuracaoMs(System.currentTimeMillis() - inicio);
+        System.out.println("ImportacaoService: " + resultado.getEntidade() + " - " + resultado.getLidos() + " lidos, "
+                + resultado.getImportados() + " importados, " + resultado.getRejeitados() + " rejeitados em "
+                + resultado.getLotes() + " lotes (" + resultado.getDuracaoMs() + " ms)");
+        return resultado;
+    }
+
+    private LeitorImportacao leitor(String formato, InputStreamReader reader) {
+        if (LeitorImportacao.CSV.equals(formato)) {
+            return LeitorImportacao.csv(reader);
+        }
+        if (LeitorImportacao.NDJSON.equals(formato)) {
+            return LeitorImportacao.ndjson(reader, objectMapper);
+        }
+        throw new IllegalArgumentException("Formato não suportado: " + formato + " (use csv ou ndjson)");
+    }
+
+    private <T> void executar(Importador<T> importador, LeitorImportacao leitor, int tamanhoLote,
+                              ImportacaoResultadoDTO resultado) throws IOException {
+        // Valores únicos já vistos no arquivo, por campo, com a linha onde apareceram
+        List<Map<String, Integer>> vistos = new ArrayList<>();
+        for (int i = 0; i < importador.unicos.size(); i++) {
+            vistos.add(new HashMap<>());
+        }
+
+        List<Linha<T>> lote = new ArrayList<>(tamanhoLote);
+        Registro registro;
+        while ((registro = leitor.proximo()) != null) {
+            resultado.setLidos(resultado.getLidos() + 1);
+            Linha<T> linha = converter(importador, registro, resultado);
+            if (linha != null) {
+                lote.add(linha);
+            }
+            if (lote.size() >= tamanhoLote) {
+                processarLote(importador, lote, vistos, resultado);
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            processarLote(importador, lote, vistos, resultado);
+        }
+    }
+
+    // Converte e valida um registro; registra o erro e devolve null se rejeitado
+    private <T> Linha<T> converter(Importador<T> importador, Registro registro, ImportacaoResultadoDTO resultado) {
+        if (registro.getErro() != null) {
+            resultado.adicionarErro(registro.getLinha(), null, registro.getErro());
+            return null;
+        }
+
+        T item;
+        try {
+            item = importador.converter.apply(registro);
+        } catch (IllegalArgumentException e) {
+            resultado.adicionarErro(registro.getLinha(), null, e.getMessage());
+            return null;
+        }
+
+        String chave = importador.chave.apply(item);
+        try {
+            String erro = importador.validar.apply(item);
+            if (erro != null) {
+                resultado.adicionarErro(registro.getLinha(), chave, erro);
+                return null;
+            }
+        } catch (RuntimeException e) {
+            resultado.adicionarErro(registro.getLinha(), chave, e.getMessage());
+            return null;
+        }
+        return new Linha<>(registro.getLinha(), chave, item);
+    }
+
+    private <T> void processarLote(Importador<T> importador, List<Linha<T>> lote,
+                                   List<Map<String, Integer>> vistos, ImportacaoResultadoDTO resultado) {
+        // Uma consulta por campo único para o lote inteiro
+        List<Set<String>> existentes = new ArrayList<>();
+        for (Unico<T> unico : importador.unicos) {
+            List<String> valores = new ArrayList<>(lote.size());
+            for (Linha<T> linha : lote) {
+                String valor = unico.valor.apply(linha.item);
+                if (valor != null) {
+                    valores.add(valor);
+                }
+            }
+            existentes.add(unico.existentes.apply(valores));
+        }
+
+        List<Linha<T>> validas = new ArrayList<>(lote.size());
+        for (Linha<T> linha : lote) {
+            String erro = verificarUnicos(importador, linha, existentes, vistos);
+            if (erro != null) {
+                resultado.adicionarErro(linha.numero, linha.chave, erro);
+            } else {
+                validas.add(linha);
+            }
+        }
+
+        gravar(importador, validas, resultado);
+    }
+
+    private <T> String verificarUnicos(Importador<T> importador, Linha<T> linha,
+                                       List<Set<String>> existentes, List<Map<String, Integer>> vistos) {
+        for (int i = 0; i < importador.unicos.size(); i++) {
+            Unico<T> unico = importador.unicos.get(i);
+            String valor = unico.valor.apply(linha.item);
+            if (valor == null) {
+                continue;
+            }
+            if (existentes.get(i).contains(valor)) {
+                return unico.rotulo + " já cadastrado";
+            }
+            Integer anterior = vistos.get(i).get(valor);
+            if (anterior != null) {
+                return unico.rotulo + " repetido no arquivo (linha " + anterior + ")";
+            }
+        }
+        for (int i = 0; i < importador.unicos.size(); i++) {
+            String valor = importador.unicos.get(i).valor.apply(linha.item);
+            if (valor != null) {
+                vistos.get(i).put(valor, linha.numero);
+            }
+        }
+        return null;
+    }
+
+    private <T> void gravar(Importador<T> importador, List<Linha<T>> linhas, ImportacaoResultadoDTO resultado) {
+        if (linhas.isEmpty()) {
+            return;
+        }
+
+        List<T> itens = new ArrayList<>(linhas.size());
+        for (Linha<T> linha : linhas) {
+            itens.add(linha.item);
+        }
+
+        resultado.setLotes(resultado.getLotes() + 1);
+        try {
+            transactionTemplate.executeWithoutResult(status -> importador.inserir.accept(itens));
+            resultado.setImportados(resultado.getImportados() + itens.size());
+            return;
+        } catch (RuntimeException e) {
+            System.err.println("ImportacaoService: lote rejeitado pelo banco, regravando linha a linha: " + causa(e));
+        }
+
+        for (Linha<T> linha : linhas) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> importador.inserir.accept(List.of(linha.item)));
+                resultado.setImportados(resultado.getImportados() + 1);
+            } catch (RuntimeException e) {
+                resultado.adicionarErro(linha.numero, linha.chave, "Erro ao gravar: " + causa(e));
+            }
+        }
+    }
+
+    private static String causa(Throwable e) {
+        Throwable causa = e;
+        while (causa.getCause() != null && causa.getCause() != causa) {
+            causa = causa.getCause();
+        }
+        return causa.getMessage();
+    }
+
+    private Importador<?> importador(String entidade) {
+        switch (entidade != null ? entidade.toLowerCase() : "") {
+            case "cliente":
+            case "clientes":
+                return importadorClientes();
+            case "fornecedor":
+            case "fornecedores":
+                return importadorFornecedores();
+            case "produto":
+            case "produtos":
+                return importadorProdutos();
+            default:
+                throw new IllegalArgumentException("Entidade não suportada: " + entidade
+                        + " (use clientes, fornecedores ou produtos)");
+        }
+    }
+
+    private Importador<Cliente> importadorClientes() {
+        return new Importador<Cliente>(
+                "clientes",
+                this::converterCliente,
+                clienteService::validarDados,
+                cliente -> cliente.getCpfCpnj() != null ? cliente.getCpfCpnj() : cliente.getCliente(),
+                lote -> {
+                    clienteRepository.insertEmLote(lote);
+                    lote.forEach(buscaService::indexar);
+                },
+                List.of(new Unico<>("CPF/CNPJ", Cliente::getCpfCpnj, clienteRepository::findCpfCpnjExistentes)));
+    }
+
+    private Importador<Fornecedor> importadorFornecedores() {
+        return new Importador<Fornecedor>(
+                "fornecedores",
+                this::converterFornecedor,
+                fornecedor -> {
+                    fornecedorService.validarCamposObrigatorios(fornecedor);
+                    if (fornecedor.getCpfCnpj() != null) {
+                        fornecedorService.validarCpfCnpj(fornecedor.getCpfCnpj(), fornecedor.getTipo());
+                    }
+                    return null;
+                },
+                fornecedor -> fornecedor.getCpfCnpj() != null ? fornecedor.getCpfCnpj() : fornecedor.getFornecedor(),
+                lote -> {
+                    fornecedorRepository.insertEmLote(lote);
+                    lote.forEach(buscaService::indexar);
+                },
+                List.of(new Unico<>("CPF/CNPJ", Fornecedor::getCpfCnpj, fornecedorRepository::findCpfCnpjExistentes)));
+    }
+
+    private Importador<Produto> importadorProdutos() {
+        return new Importador<Produto>(
+                "produtos",
+                this::converterProduto,
+                produto -> {
+                    produtoService.validarCamposObrigatorios(produto);
+                    return null;
+                },
+                produto -> produto.getCodigoBarras() != null ? produto.getCodigoBarras() : produto.getProduto(),
+                lote -> {
+                    produtoRepository.insertEmLote(lote);
+                    lote.forEach(buscaService::indexar);
+                },
+                List.of(new Unico<>("Código de barras", Produto::getCodigoBarras, produtoRepository::findCodigosBarrasExistentes),
+                        new Unico<>("Referência", Produto::getReferencia, produtoRepository::findReferenciasExistentes)));
+    }
+
+    private Cliente converterCliente(Registro r) {
+        Cliente cliente = new Cliente();
+        cliente.setCliente(r.texto("cliente", "nome"));
+        cliente.setApelido(r.texto("apelido"));
+        cliente.setEmail(r.texto("email"));
+        cliente.setTelefone(r.texto("telefone"));
+        cliente.setEndereco(r.texto("endereco"));
+        cliente.setNumero(r.texto("numero"));
+        cliente.setComplemento(r.texto("complemento"));
+        cliente.setBairro(r.texto("bairro"));
+        cliente.setCep(r.texto("cep"));
+        cliente.setCidadeId(longo(r, "cidade_id"));
+        cliente.setLimiteCredito(decimal(r, "limite_credito"));
+        cliente.setRgInscricaoEstadual(r.texto("rg_inscricao_estadual"));
+        cliente.setDataNascimento(data(r, "data_nascimento"));
+        cliente.setEstadoCivil(r.texto("estado_civil"));
+        cliente.setTipo(inteiro(r, "tipo"));
+        cliente.setSexo(r.texto("sexo"));
+        cliente.setCondicaoPagamentoId(longo(r, "condicao_pagamento_id"));
+        cliente.setObservacao(r.texto("observacao", "observacoes"));
+        cliente.setNacionalidadeId(longo(r, "nacionalidade_id"));
+        cliente.setAtivo(booleano(r, "ativo"));
+
+        // Documento gravado só com dígitos, como no cadastro de fornecedores
+        String documento = CpfCnpjValidator.normalizar(r.texto("cpf_cpnj", "cpf_cnpj"));
+        cliente.setCpfCpnj(documento != null && !documento.isEmpty() ? documento : null);
+        return cliente;
+    }
+
+    private Fornecedor converterFornecedor(Registro r) {
+        Fornecedor fornecedor = new Fornecedor();
+        fornecedor.setFornecedor(r.texto("fornecedor", "nome"));
+        fornecedor.setApelido(r.texto("apelido"));
+        fornecedor.setBairro(r.texto("bairro"));
+        fornecedor.setCep(r.texto("cep"));
+        fornecedor.setComplemento(r.texto("complemento"));
+        fornecedor.setEndereco(r.texto("endereco"));
+        fornecedor.setNumero(r.texto("numero"));
+        fornecedor.setCidadeId(longo(r, "cidade_id"));
+        fornecedor.setRgInscricaoEstadual(r.texto("rg_inscricao_estadual"));
+        fornecedor.setCpfCnpj(r.texto("cpf_cnpj", "cpf_cpnj"));
+        fornecedor.setEmail(r.texto("email"));
+        fornecedor.setTelefone(r.texto("telefone"));
+        fornecedor.setTipo(inteiro(r, "tipo"));
+        fornecedor.setObservacoes(r.texto("observacoes", "observacao"));
+        fornecedor.setCondicaoPagamentoId(longo(r, "condicao_pagamento_id"));
+        fornecedor.setNacionalidadeId(longo(r, "nacionalidade_id"));
+        fornecedor.setTransportadoraId(longo(r, "transportadora_id"));
+        fornecedor.setAtivo(booleano(r, "ativo"));
+
+        BigDecimal limiteCredito = decimal(r, "limite_credito");
+        fornecedor.setLimiteCredito(limiteCredito != null ? limiteCredito : BigDecimal.ZERO);
+
+        fornecedorService.normalizar(fornecedor);
+        return fornecedor;
+    }
+
+    private Produto converterProduto(Registro r) {
+        Produto produto = new Produto();
+        produto.setProduto(r.texto("produto", "nome"));
+        produto.setCodigoBarras(r.texto("codigo_barras"));
+        produto.setReferencia(r.texto("referencia"));
+        produto.setMarcaId(longo(r, "marca_id"));
+        produto.setUnidadeMedidaId(longo(r, "unidade_medida_id"));
+        produto.setCategoriaId(longo(r, "categoria_id"));
+        produto.setValorCompra(decimal(r, "valor_compra"));
+        produto.setValorVenda(decimal(r, "valor_venda"));
+        produto.setPercentualLucro(decimal(r, "percentual_lucro"));
+        produto.setDescricao(r.texto("descricao"));
+        produto.setObservacoes(r.texto("observacoes", "observacao"));
+        produto.setAtivo(booleano(r, "ativo"));
+
+        // Mesmos padrões das colunas da tabela produto
+        BigDecimal quantidade = decimal(r, "quantidade");
+        produto.setQuantidade(quantidade != null ? quantidade : BigDecimal.ZERO);
+        Integer quantidadeMinima = inteiro(r, "quantidade_minima");
+        produto.setQuantidadeMinima(quantidadeMinima != null ? quantidadeMinima : 1);
+        return produto;
+    }
+
+    private static Long longo(Registro r, String campo) {
+        String valor = r.texto(campo);
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido para " + campo + ": " + valor);
+        }
+    }
+
+    private static Integer inteiro(Registro r, String campo) {
+        String valor = r.texto(campo);
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido para " + campo + ": " + valor);
+        }
+    }
+
+    // Aceita 1234.56 e também o formato brasileiro 1.234,56
+    private static BigDecimal decimal(Registro r, String campo) {
+        String valor = r.texto(campo);
+        if (valor == null) {
+            return null;
+        }
+        String numero = valor.indexOf(',') >= 0 ? valor.replace(".", "").replace(',', '.') : valor;
+        try {
+            return new BigDecimal(numero);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido para " + campo + ": " + valor);
+        }
+    }
+
+    // Aceita yyyy-MM-dd e dd/MM/yyyy
+    private static LocalDate data(Registro r, String campo) {
+        String valor = r.texto(campo);
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return valor.indexOf('/') >= 0 ? LocalDate.parse(valor, DATA_BR) : LocalDate.parse(valor);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Data inválida para " + campo + ": " + valor);
+        }
+    }
+
+    private static Boolean booleano(Registro r, String campo) {
+        String valor = r.texto(campo);
+        if (valor == null) {
+            return true;
+        }
+        switch (valor.toLowerCase()) {
+            case "1":
+            case "true":
+            case "sim":
+            case "s":
+                return true;
+            case "0":
+            case "false":
+            case "nao":
+            case "não":
+            case "n":
+                return false;
+            default:
+                throw new IllegalArgumentException("Valor inválido para " + campo + ": " + valor);
+        }
+    }
+
+    private static class Importador<T> {
+        private final String nome;
+        private final Function<Registro, T> converter;
+        private final Function<T, String> validar;
+        private final Function<T, String> chave;
+        private final Consumer<List<T>> inserir;
+        private final List<Unico<T>> unicos;
+
+        Importador(String nome, Function<Registro, T> converter, Function<T, String> validar,
+                   Function<T, String> chave, Consumer<List<T>> inserir, List<Unico<T>> unicos) {
+            this.nome = nome;
+            this.converter = converter;
+            this.validar = validar;
+            this.chave = chave;
+            this.inserir = inserir;
+            this.unicos = unicos;
+        }
+    }
+
+    // Campo que não pode se repetir, com a consulta dos valores já cadastrados
+    private static class Unico<T> {
+        private final String rotulo;
+        private final Function<T, String> valor;
+        private final Function<List<String>, Set<String>> existentes;
+
+        Unico(String rotulo, Function<T, String> valor, Function<List<String>, Set<String>> existentes) {
+            this.rotulo = rotulo;
+            this.valor = valor;
+            this.existentes = existentes;
+        }
+    }
+
+    private static class Linha<T> {
+        private final int numero;
+        private final String chave;
+        private final T item;
+
+        Linha(int numero, String chave, T item) {
+            this.numero = numero;
+            this.chave = chave;
+            this.item = item;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.PizzariaGraff.service;
+
+import com.example.PizzariaGraff.dto.EventoDTO;
+import com.example.PizzariaGraff.model.MovimentoEstoque;
+import com.example.PizzariaGraff.model.Produto;
+import com.example.PizzariaGraff.repository.MovimentoEstoqueRepository;
+import com.example.PizzariaGraff.repository.ProdutoRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Movimentação de estoque das notas: todas as linhas de uma nota são aplicadas
+ * de uma vez, na mesma transação, e a falta de estoque é informada para todos
+ * os produtos em um único erro. Cada movimentação também é gravada no histórico de
+ * estoque (movimento_estoque), no mesmo lote e na mesma transação.
+ */
+@Service
+public class MovimentacaoEstoqueService {
+
+    private final ProdutoRepository produtoRepository;
+    private final MovimentoEstoqueRepository movimentoEstoqueRepository;
+    private final EventosService eventosService;
+
+    public MovimentacaoEstoqueService(ProdutoRepository produtoRepository,
+                                      MovimentoEstoqueRepository movimentoEstoqueRepository,
+                                      EventosService eventosService) {
+        this.produtoRepository = produtoRepository;
+        this.movimentoEstoqueRepository = movimentoEstoqueRepository;
+        this.eventosService = eventosService;
+    }
+
+    /**
+     * Verifica, sem alterar o estoque, se há saldo para todas as quantidades
+     * @param quantidades Quantidade por produto
+     * @throws IllegalArgumentException listando todos os produtos sem estoque suficiente
+     */
+    public void verificarDisponibilidade(Map<Long, BigDecimal> quantidades) {
+        if (quantidades.isEmpty()) {
+            return;
+        }
+        validarSaldo(quantidades, produtoRepository.findEstoqueByIds(quantidades.keySet(), false));
+    }
+
+    /**
+     * Soma as quantidades ao estoque dos produtos
+     * @param quantidades Quantidade por produto
+     * @param origem Nota e descrição do movimento (ver {@link MovimentoEstoque#daNota})
+     */
+    @Transactional
+    public void aumentarEstoque(Map<Long, BigDecimal> quantidades, MovimentoEstoque origem) {
+        if (quantidades.isEmpty()) {
+            return;
+        }
+
+        List<Long> naoAlterados = produtoRepository.movimentarEstoqueEmLote(quantidades, true);
+        if (!naoAlterados.isEmpty()) {
+            throw new RuntimeException("Produtos não encontrados para atualizar estoque: IDs " + naoAlterados);
+        }
+        registrarMovimentos(quantidades, origem, true);
+    }
+
+    /**
+     * Subtrai as quantidades do estoque dos produtos. As linhas são bloqueadas antes
+     * da verificação, e cada UPDATE ainda exige quantidade >= solicitada, então duas
+     * notas simultâneas não conseguem vender o mesmo saldo.
+     * @param quantidades Quantidade por produto
+     * @param origem Nota e descrição do movimento (ver {@link MovimentoEstoque#daNota})
+     * @throws IllegalArgumentException listando todos os produtos sem estoque suficiente
+     */
+    @Transactional
+    public void diminuirEstoque(Map<Long, BigDecimal> quantidades, MovimentoEstoque origem) {
+        if (quantidades.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Produto> estoque = produtoRepository.findEstoqueByIds(quantidades.keySet(), true);
+        validarSaldo(quantidades, estoque);
+
+        List<Long> naoAlterados = produtoRepository.movimentarEstoqueEmLote(quantidades, false);
+        if (!naoAlterados.isEmpty()) {
+            throw new IllegalArgumentException("Estoque insuficiente para os produtos: IDs " + naoAlterados);
+        }
+        registrarMovimentos(quantidades, origem, false);
+    }
+
+    private void registrarMovimentos(Map<Long, BigDecimal> quantidades, MovimentoEstoque origem, boolean entrada) {
+        List<MovimentoEstoque> movimentos = new ArrayList<>(quantidades.size());
+        for (Map.Entry<Long, BigDecimal> entry : quantidades.entrySet()) {
+            movimentos.add(origem.paraProduto(entry.getKey(), entrada ? entry.getValue() : entry.getValue().negate()));
+        }
+        movimentoEstoqueRepository.inserirEmLote(movimentos);
+        eventosService.publicar(EventoDTO.lote(EventoDTO.ESTOQUE, entrada ? "entrada" : "saida", quantidades.keySet())
+                .setNota(origem.getNotaNumero(), origem.getNotaModelo(), origem.getNotaSerie(), origem.getParticipanteId()));
+    }
+
+    private void validarSaldo(Map<Long, BigDecimal> quantidades, Map<Long, Produto> estoque) {
+        List<String> faltas = new ArrayList<>();
+
+        for (Map.Entry<Long, BigDecimal> entry : quantidades.entrySet()) {
+            Produto produto = estoque.get(entry.getKey());
+            if (produto == null) {
+                faltas.add(String.format("produto ID %d não encontrado", entry.getKey()));
+                continue;
+            }
+
+            BigDecimal disponivel = produto.getQuantidade() != null ? produto.getQuantidade() : BigDecimal.ZERO;
+            if (disponivel.compareTo(entry.getValue()) < 0) {
+                faltas.add(String.format("'%s' (ID: %d) - disponível: %s, solicitado: %s",
+                        produto.getProduto(), produto.getId(),
+                        disponivel.stripTrailingZeros().toPlainString(),
+                        entry.getValue().stripTrailingZeros().toPlainString()));
+            }
+        }
+
+        if (!faltas.isEmpty()) {
+            throw new IllegalArgumentException("Estoque insuficiente: " + String.join("; ", faltas));
+        }
+    }
+}
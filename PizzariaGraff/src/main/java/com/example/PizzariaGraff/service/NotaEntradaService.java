@@ -1,14 +1,20 @@
 package com.example.PizzariaGraff.service;
 
+import com.example.PizzariaGraff.dto.EventoDTO;
+import com.example.PizzariaGraff.model.MovimentoEstoque;
 import com.example.PizzariaGraff.model.NotaEntrada;
+import com.example.PizzariaGraff.model.Pagina;
 import com.example.PizzariaGraff.model.ProdutoNota;
 import com.example.PizzariaGraff.repository.NotaEntradaRepository;
-import com.example.PizzariaGraff.repository.ProdutoRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -16,48 +22,74 @@ public class NotaEntradaService {
     
     private final NotaEntradaRepository notaEntradaRepository;
     private final ContaPagarService contaPagarService;
-    private final ProdutoRepository produtoRepository;
+    private final MovimentacaoEstoqueService movimentacaoEstoqueService;
+    private final EventosService eventosService;
     
     public NotaEntradaService(NotaEntradaRepository notaEntradaRepository,
                               ContaPagarService contaPagarService,
-                              ProdutoRepository produtoRepository) {
+                              MovimentacaoEstoqueService movimentacaoEstoqueService,
+                              EventosService eventosService) {
         this.notaEntradaRepository = notaEntradaRepository;
         this.contaPagarService = contaPagarService;
-        this.produtoRepository = produtoRepository;
+        this.movimentacaoEstoqueService = movimentacaoEstoqueService;
+        this.eventosService = eventosService;
     }
     
     public List<NotaEntrada> findAll() {
         return notaEntradaRepository.findAll();
     }
     
+    public List<NotaEntrada> findAll(boolean comProdutos) {
+        return notaEntradaRepository.findAll(comProdutos);
+    }
+
+    public Pagina<NotaEntrada> findPagina(String situacao, LocalDate dataInicio, LocalDate dataFim,
+                                          Long fornecedorId, String cursor, int limite,
+                                          boolean comProdutos) {
+        return notaEntradaRepository.findPagina(situacao, dataInicio, dataFim, fornecedorId, cursor, limite, comProdutos);
+    }
+    
     public NotaEntrada findByChave(String numero, String modelo, String serie, Long fornecedorId) {
         return notaEntradaRepository.findByChave(numero, modelo, serie, fornecedorId)
                 .orElseThrow(() -> new RuntimeException("Nota de entrada não encontrada"));
     }
     
+    public boolean existsByChave(String numero, String modelo, String serie, Long fornecedorId) {
+        return notaEntradaRepository.existsByChave(numero, modelo, serie, fornecedorId);
+    }
+    
     public List<NotaEntrada> findByFornecedorId(Long fornecedorId) {
         return notaEntradaRepository.findByFornecedorId(fornecedorId);
     }
     
+    public List<NotaEntrada> findByFornecedorId(Long fornecedorId, boolean comProdutos) {
+        return notaEntradaRepository.findByFornecedorId(fornecedorId, comProdutos);
+    }
+    
     public List<NotaEntrada> findBySituacao(String situacao) {
         return notaEntradaRepository.findBySituacao(situacao);
     }
     
+    public List<NotaEntrada> findBySituacao(String situacao, boolean comProdutos) {
+        return notaEntradaRepository.findBySituacao(situacao, comProdutos);
+    }
+    
+    @Transactional
     public NotaEntrada save(NotaEntrada nota) {
         // Validações
         validarNota(nota);
         
-        // Verificar situação anterior da nota (se já existe)
+        // Situação anterior da nota (vazio se for nova). A linha fica travada até o fim da
+        // transação, então duas confirmações simultâneas não movimentam o estoque duas vezes.
         String situacaoAnterior = null;
-        try {
-            Optional<NotaEntrada> notaExistente = notaEntradaRepository.findByChave(
-                nota.getNumero(), nota.getModelo(), nota.getSerie(), nota.getFornecedorId()
-            );
-            if (notaExistente.isPresent()) {
-                situacaoAnterior = notaExistente.get().getSituacao();
+        Optional<NotaEntrada> notaExistente = notaEntradaRepository.findSituacaoParaAtualizar(
+                nota.getNumero(), nota.getModelo(), nota.getSerie(), nota.getFornecedorId());
+        if (notaExistente.isPresent()) {
+            situacaoAnterior = notaExistente.get().getSituacao();
+            // O repositório não relê a nota gravada: mantém a data de criação original
+            if (nota.getDataCriacao() == null) {
+                nota.setDataCriacao(notaExistente.get().getDataCriacao());
             }
-        } catch (Exception e) {
-            // Se não encontrar, é uma nota nova
         }
         
         // Calcular rateios se houver produtos
@@ -77,18 +109,18 @@ public class NotaEntradaService {
         if (situacaoAnt == null || situacaoAnt.equals("CANCELADA")) {
             // Nota nova ou nota que estava cancelada: aumentar estoque
             if (!situacaoNova.equals("CANCELADA")) {
-                processarEstoqueEntrada(notaSalva, true);
+                movimentacaoEstoqueService.aumentarEstoque(quantidadesPorProduto(notaSalva), movimento(notaSalva, situacaoAnt == null ? "Lançamento da nota" : "Reativação da nota"));
             }
         }
         // Se mudou de CONFIRMADA/PENDENTE para CANCELADA: reverter estoque (diminuir)
         else if (situacaoNova.equals("CANCELADA") && 
                  (situacaoAnt.equals("CONFIRMADA") || situacaoAnt.equals("PENDENTE"))) {
-            processarEstoqueEntrada(notaSalva, false);
+            movimentacaoEstoqueService.diminuirEstoque(quantidadesPorProduto(notaSalva), movimento(notaSalva, "Cancelamento da nota"));
         }
         // Se mudou de CANCELADA para CONFIRMADA/PENDENTE: aumentar estoque novamente
         else if (situacaoAnt.equals("CANCELADA") && 
                  (situacaoNova.equals("CONFIRMADA") || situacaoNova.equals("PENDENTE"))) {
-            processarEstoqueEntrada(notaSalva, true);
+            movimentacaoEstoqueService.aumentarEstoque(quantidadesPorProduto(notaSalva), movimento(notaSalva, "Reativação da nota"));
         }
         
         // Gerar contas a pagar automaticamente (sempre que salvar)
@@ -105,17 +137,25 @@ public class NotaEntradaService {
             contaPagarService.gerarContasDaNota(notaSalva);
         } catch (Exception e) {
             System.err.println("Erro ao gerar contas a pagar: " + e.getMessage());
-            e.printStackTrace();
-            // Não falha o salvamento da nota se houver erro ao gerar contas
+            // As parcelas são gravadas na transação da nota: sem elas, a nota também é desfeita
+            throw new RuntimeException("Erro ao gerar contas a pagar da nota", e);
         }
         
+        String acao = situacaoAnt == null ? "criada" : situacaoNova.equals(situacaoAnt) ? "salva" : situacaoNova.toLowerCase();
+        publicar(acao, notaSalva.getNumero(), notaSalva.getModelo(), notaSalva.getSerie(), notaSalva.getFornecedorId(), situacaoNova);
+        
+        // Fornecedor, condição, transportadora e produtos para a resposta, lidos depois das gravações
+        notaEntradaRepository.carregarDetalhes(notaSalva);
+        
         return notaSalva;
     }
     
     public void deleteByChave(String numero, String modelo, String serie, Long fornecedorId) {
         notaEntradaRepository.deleteByChave(numero, modelo, serie, fornecedorId);
+        publicar("excluida", numero, modelo, serie, fornecedorId, null);
     }
     
+    @Transactional
     public void cancelarNota(String numero, String modelo, String serie, Long fornecedorId) {
         NotaEntrada nota = findByChave(numero, modelo, serie, fornecedorId);
         
@@ -128,13 +168,14 @@ public class NotaEntradaService {
         // Cancelar a nota
         nota.setSituacao("CANCELADA");
         notaEntradaRepository.save(nota);
+        publicar("cancelada", numero, modelo, serie, fornecedorId, "CANCELADA");
         
         // Se estava CONFIRMADA ou PENDENTE, reverter estoque (diminuir)
         // Pois o estoque foi aumentado quando a nota foi salva
         if (situacaoAnterior != null && 
             (situacaoAnterior.toUpperCase().equals("CONFIRMADA") || 
              situacaoAnterior.toUpperCase().equals("PENDENTE"))) {
-            processarEstoqueEntrada(nota, false);
+            movimentacaoEstoqueService.diminuirEstoque(quantidadesPorProduto(nota), movimento(nota, "Cancelamento da nota"));
         }
         
         // Cancelar todas as contas a pagar relacionadas
@@ -147,36 +188,38 @@ public class NotaEntradaService {
         }
     }
     
+    private void publicar(String acao, String numero, String modelo, String serie, Long fornecedorId, String situacao) {
+        eventosService.publicar(EventoDTO.nota(EventoDTO.NOTA_ENTRADA, acao, numero, modelo, serie, fornecedorId, situacao));
+    }
+    
     /**
-     * Processa o estoque dos produtos da nota de entrada
+     * Soma as quantidades dos itens da nota por produto (um produto pode aparecer em mais de uma linha)
      * @param nota Nota de entrada
-     * @param aumentar true para aumentar estoque (nota confirmada), false para diminuir (nota cancelada)
+     * @return Quantidade total por produto, na ordem dos itens
      */
-    private void processarEstoqueEntrada(NotaEntrada nota, boolean aumentar) {
-        if (nota.getProdutos() == null || nota.getProdutos().isEmpty()) {
-            return;
+    private Map<Long, BigDecimal> quantidadesPorProduto(NotaEntrada nota) {
+        Map<Long, BigDecimal> quantidades = new LinkedHashMap<>();
+        if (nota.getProdutos() == null) {
+            return quantidades;
         }
         
         for (ProdutoNota produtoNota : nota.getProdutos()) {
             if (produtoNota.getProdutoId() != null && produtoNota.getQuantidade() != null) {
-                try {
-                    if (aumentar) {
-                        produtoRepository.aumentarEstoque(produtoNota.getProdutoId(), produtoNota.getQuantidade());
-                        System.out.println("Estoque aumentado para produto ID " + produtoNota.getProdutoId() + 
-                                         ": +" + produtoNota.getQuantidade());
-                    } else {
-                        produtoRepository.diminuirEstoque(produtoNota.getProdutoId(), produtoNota.getQuantidade());
-                        System.out.println("Estoque diminuído para produto ID " + produtoNota.getProdutoId() + 
-                                         ": -" + produtoNota.getQuantidade());
-                    }
-                } catch (Exception e) {
-                    System.err.println("Erro ao processar estoque do produto ID " + produtoNota.getProdutoId() + 
-                                     ": " + e.getMessage());
-                    e.printStackTrace();
-                    throw new RuntimeException("Erro ao processar estoque: " + e.getMessage(), e);
-                }
+                quantidades.merge(produtoNota.getProdutoId(), produtoNota.getQuantidade(), BigDecimal::add);
             }
         }
+        return quantidades;
+    }
+    
+    /**
+     * Monta o movimento de estoque que referencia a nota de entrada
+     * @param nota Nota de entrada
+     * @param descricao Descrição do movimento
+     * @return Movimento ligado à nota
+     */
+    private MovimentoEstoque movimento(NotaEntrada nota, String descricao) {
+        return MovimentoEstoque.daNota(MovimentoEstoque.NOTA_ENTRADA, nota.getNumero(), nota.getModelo(), nota.getSerie(),
+                nota.getFornecedorId(), descricao);
     }
     
     private void validarNota(NotaEntrada nota) {
@@ -239,7 +282,8 @@ public class NotaEntradaService {
         }
     }
     
-    private void calcularRateios(NotaEntrada nota) {
+    // Visível no pacote para o benchmark de rateio (módulo benchmarks)
+    static void calcularRateios(NotaEntrada nota) {
         List<ProdutoNota> produtos = nota.getProdutos();
         
         if (produtos.isEmpty()) {
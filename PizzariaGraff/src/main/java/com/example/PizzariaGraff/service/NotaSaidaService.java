@@ -1,14 +1,20 @@
 package com.example.PizzariaGraff.service;
 
+import com.example.PizzariaGraff.dto.EventoDTO;
+import com.example.PizzariaGraff.model.MovimentoEstoque;
 import com.example.PizzariaGraff.model.NotaSaida;
+import com.example.PizzariaGraff.model.Pagina;
 import com.example.PizzariaGraff.model.ProdutoNotaSaida;
 import com.example.PizzariaGraff.repository.NotaSaidaRepository;
-import com.example.PizzariaGraff.repository.ProdutoRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -16,55 +22,91 @@ public class NotaSaidaService {
     
     private final NotaSaidaRepository notaSaidaRepository;
     private final ContaReceberService contaReceberService;
-    private final ProdutoRepository produtoRepository;
+    private final MovimentacaoEstoqueService movimentacaoEstoqueService;
+    private final EventosService eventosService;
     
     public NotaSaidaService(NotaSaidaRepository notaSaidaRepository,
                             ContaReceberService contaReceberService,
-                            ProdutoRepository produtoRepository) {
+                            MovimentacaoEstoqueService movimentacaoEstoqueService,
+                            EventosService eventosService) {
         this.notaSaidaRepository = notaSaidaRepository;
         this.contaReceberService = contaReceberService;
-        this.produtoRepository = produtoRepository;
+        this.movimentacaoEstoqueService = movimentacaoEstoqueService;
+        this.eventosService = eventosService;
     }
     
     public List<NotaSaida> findAll() {
         return notaSaidaRepository.findAll();
     }
     
+    public List<NotaSaida> findAll(boolean comProdutos) {
+        return notaSaidaRepository.findAll(comProdutos);
+    }
+
+    public Pagina<NotaSaida> findPagina(String situacao, LocalDate dataInicio, LocalDate dataFim,
+                                        Long clienteId, String cursor, int limite,
+                                        boolean comProdutos) {
+        return notaSaidaRepository.findPagina(situacao, dataInicio, dataFim, clienteId, cursor, limite, comProdutos);
+    }
+    
     public NotaSaida findByChave(String numero, String modelo, String serie, Long clienteId) {
         return notaSaidaRepository.findByChave(numero, modelo, serie, clienteId)
                 .orElseThrow(() -> new RuntimeException("Nota de saída não encontrada"));
     }
     
+    public boolean existsByChave(String numero, String modelo, String serie, Long clienteId) {
+        return notaSaidaRepository.existsByChave(numero, modelo, serie, clienteId);
+    }
+    
     public List<NotaSaida> findByClienteId(Long clienteId) {
         return notaSaidaRepository.findByClienteId(clienteId);
     }
     
+    public List<NotaSaida> findByClienteId(Long clienteId, boolean comProdutos) {
+        return notaSaidaRepository.findByClienteId(clienteId, comProdutos);
+    }
+    
     public List<NotaSaida> findBySituacao(String situacao) {
         return notaSaidaRepository.findBySituacao(situacao);
     }
     
+    public List<NotaSaida> findBySituacao(String situacao, boolean comProdutos) {
+        return notaSaidaRepository.findBySituacao(situacao, comProdutos);
+    }
+    
+    @Transactional
     public NotaSaida save(NotaSaida nota) {
         // Validações
         validarNota(nota);
         
-        // Verificar situação anterior da nota (se já existe)
+        // Situação anterior da nota (vazio se for nova). A linha fica travada até o fim da
+        // transação, então duas confirmações simultâneas não movimentam o estoque duas vezes.
         String situacaoAnterior = null;
-        try {
-            Optional<NotaSaida> notaExistente = Optional.ofNullable(notaSaidaRepository.findByChave(
-                nota.getNumero(), nota.getModelo(), nota.getSerie(), nota.getClienteId()
-            ).orElse(null));
-            if (notaExistente.isPresent()) {
-                situacaoAnterior = notaExistente.get().getSituacao();
+        Optional<NotaSaida> notaExistente = notaSaidaRepository.findSituacaoParaAtualizar(
+                nota.getNumero(), nota.getModelo(), nota.getSerie(), nota.getClienteId());
+        if (notaExistente.isPresent()) {
+            situacaoAnterior = notaExistente.get().getSituacao();
+            // O repositório não relê a nota gravada: mantém a data de criação original
+            if (nota.getDataCriacao() == null) {
+                nota.setDataCriacao(notaExistente.get().getDataCriacao());
             }
-        } catch (Exception e) {
-            // Se não encontrar, é uma nota nova
         }
         
-        // Validar estoque antes de salvar (sempre, para garantir que não venda sem estoque)
+        // Processar estoque baseado na mudança de situação
         String situacaoNova = nota.getSituacao() != null ? nota.getSituacao().toUpperCase() : "PENDENTE";
-        if (situacaoNova.equals("CONFIRMADA") || 
-            (situacaoNova.equals("PENDENTE") && (situacaoAnterior == null || !situacaoAnterior.toUpperCase().equals("CONFIRMADA")))) {
-            validarEstoqueDisponivel(nota);
+        String situacaoAnt = situacaoAnterior != null ? situacaoAnterior.toUpperCase() : null;
+        
+        // Se mudou de PENDENTE para CONFIRMADA ou se é nova e já vem CONFIRMADA: diminuir estoque
+        boolean diminuirEstoque = situacaoNova.equals("CONFIRMADA") && 
+            (situacaoAnt == null || situacaoAnt.equals("PENDENTE"));
+        // Se mudou de CONFIRMADA para CANCELADA: reverter estoque (aumentar)
+        boolean reverterEstoque = situacaoNova.equals("CANCELADA") && situacaoAnt != null && situacaoAnt.equals("CONFIRMADA");
+        
+        // Validar estoque antes de salvar (sempre, para garantir que não venda sem estoque).
+        // Quando a nota vai baixar o estoque a validação é feita na própria baixa, com as linhas bloqueadas.
+        if (!diminuirEstoque && (situacaoNova.equals("CONFIRMADA") || 
+            (situacaoNova.equals("PENDENTE") && (situacaoAnt == null || !situacaoAnt.equals("CONFIRMADA"))))) {
+            movimentacaoEstoqueService.verificarDisponibilidade(quantidadesPorProduto(nota));
         }
         
         // Calcular rateios se houver produtos
@@ -75,17 +117,10 @@ public class NotaSaidaService {
         // Salvar nota
         NotaSaida notaSalva = notaSaidaRepository.save(nota);
         
-        // Processar estoque baseado na mudança de situação
-        String situacaoAnt = situacaoAnterior != null ? situacaoAnterior.toUpperCase() : null;
-        
-        // Se mudou de PENDENTE para CONFIRMADA ou se é nova e já vem CONFIRMADA: diminuir estoque
-        if (situacaoNova.equals("CONFIRMADA") && 
-            (situacaoAnt == null || situacaoAnt.equals("PENDENTE"))) {
-            processarEstoqueSaida(notaSalva, true);
-        }
-        // Se mudou de CONFIRMADA para CANCELADA: reverter estoque (aumentar)
-        else if (situacaoNova.equals("CANCELADA") && situacaoAnt != null && situacaoAnt.equals("CONFIRMADA")) {
-            processarEstoqueSaida(notaSalva, false);
+        if (diminuirEstoque) {
+            movimentacaoEstoqueService.diminuirEstoque(quantidadesPorProduto(notaSalva), movimento(notaSalva, "Confirmação da nota"));
+        } else if (reverterEstoque) {
+            movimentacaoEstoqueService.aumentarEstoque(quantidadesPorProduto(notaSalva), movimento(notaSalva, "Cancelamento da nota"));
         }
         
         // Gerar contas a receber automaticamente (sempre que salvar)
@@ -102,17 +137,25 @@ public class NotaSaidaService {
             contaReceberService.gerarContasDaNota(notaSalva);
         } catch (Exception e) {
             System.err.println("Erro ao gerar contas a receber: " + e.getMessage());
-            e.printStackTrace();
-            // Não falha o salvamento da nota se houver erro ao gerar contas
+            // As parcelas são gravadas na transação da nota: sem elas, a nota também é desfeita
+            throw new RuntimeException("Erro ao gerar contas a receber da nota", e);
         }
         
+        String acao = situacaoAnt == null ? "criada" : situacaoNova.equals(situacaoAnt) ? "salva" : situacaoNova.toLowerCase();
+        publicar(acao, notaSalva.getNumero(), notaSalva.getModelo(), notaSalva.getSerie(), notaSalva.getClienteId(), situacaoNova);
+        
+        // Cliente, condição, transportadora e produtos para a resposta, lidos depois das gravações
+        notaSaidaRepository.carregarDetalhes(notaSalva);
+        
         return notaSalva;
     }
     
     public void deleteByChave(String numero, String modelo, String serie, Long clienteId) {
         notaSaidaRepository.deleteByChave(numero, modelo, serie, clienteId);
+        publicar("excluida", numero, modelo, serie, clienteId, null);
     }
     
+    @Transactional
     public void cancelarNota(String numero, String modelo, String serie, Long clienteId) {
         NotaSaida nota = findByChave(numero, modelo, serie, clienteId);
         
@@ -125,10 +168,11 @@ public class NotaSaidaService {
         // Cancelar a nota
         nota.setSituacao("CANCELADA");
         notaSaidaRepository.save(nota);
+        publicar("cancelada", numero, modelo, serie, clienteId, "CANCELADA");
         
         // Se estava CONFIRMADA, reverter estoque (aumentar)
         if (situacaoAnterior != null && situacaoAnterior.toUpperCase().equals("CONFIRMADA")) {
-            processarEstoqueSaida(nota, false);
+            movimentacaoEstoqueService.aumentarEstoque(quantidadesPorProduto(nota), movimento(nota, "Cancelamento da nota"));
         }
         
         // Cancelar todas as contas a receber relacionadas
@@ -141,75 +185,38 @@ public class NotaSaidaService {
         }
     }
     
+    private void publicar(String acao, String numero, String modelo, String serie, Long clienteId, String situacao) {
+        eventosService.publicar(EventoDTO.nota(EventoDTO.NOTA_SAIDA, acao, numero, modelo, serie, clienteId, situacao));
+    }
+    
     /**
-     * Valida se há estoque disponível para todos os produtos da nota de saída
+     * Soma as quantidades dos itens da nota por produto (um produto pode aparecer em mais de uma linha)
      * @param nota Nota de saída
-     * @throws IllegalArgumentException se não houver estoque suficiente para algum produto
+     * @return Quantidade total por produto, na ordem dos itens
      */
-    private void validarEstoqueDisponivel(NotaSaida nota) {
-        if (nota.getProdutos() == null || nota.getProdutos().isEmpty()) {
-            return;
+    private Map<Long, BigDecimal> quantidadesPorProduto(NotaSaida nota) {
+        Map<Long, BigDecimal> quantidades = new LinkedHashMap<>();
+        if (nota.getProdutos() == null) {
+            return quantidades;
         }
         
         for (ProdutoNotaSaida produtoNota : nota.getProdutos()) {
             if (produtoNota.getProdutoId() != null && produtoNota.getQuantidade() != null) {
-                boolean estoqueDisponivel = produtoRepository.verificarEstoqueDisponivel(
-                    produtoNota.getProdutoId(), 
-                    produtoNota.getQuantidade()
-                );
-                
-                if (!estoqueDisponivel) {
-                    // Buscar nome do produto para mensagem de erro
-                    String nomeProduto = "ID " + produtoNota.getProdutoId();
-                    try {
-                        var produtoOpt = produtoRepository.findById(produtoNota.getProdutoId());
-                        if (produtoOpt.isPresent()) {
-                            nomeProduto = produtoOpt.get().getProduto();
-                        }
-                    } catch (Exception e) {
-                        // Se não conseguir buscar o nome, usar o ID
-                    }
-                    
-                    throw new IllegalArgumentException(
-                        String.format("Estoque insuficiente para o produto '%s' (ID: %d). " +
-                                    "Quantidade solicitada: %s",
-                            nomeProduto, produtoNota.getProdutoId(), produtoNota.getQuantidade())
-                    );
-                }
+                quantidades.merge(produtoNota.getProdutoId(), produtoNota.getQuantidade(), BigDecimal::add);
             }
         }
+        return quantidades;
     }
     
     /**
-     * Processa o estoque dos produtos da nota de saída
+     * Monta o movimento de estoque que referencia a nota de saída
      * @param nota Nota de saída
-     * @param diminuir true para diminuir estoque (nota confirmada), false para aumentar (nota cancelada)
+     * @param descricao Descrição do movimento
+     * @return Movimento ligado à nota
      */
-    private void processarEstoqueSaida(NotaSaida nota, boolean diminuir) {
-        if (nota.getProdutos() == null || nota.getProdutos().isEmpty()) {
-            return;
-        }
-        
-        for (ProdutoNotaSaida produtoNota : nota.getProdutos()) {
-            if (produtoNota.getProdutoId() != null && produtoNota.getQuantidade() != null) {
-                try {
-                    if (diminuir) {
-                        produtoRepository.diminuirEstoque(produtoNota.getProdutoId(), produtoNota.getQuantidade());
-                        System.out.println("Estoque diminuído para produto ID " + produtoNota.getProdutoId() + 
-                                         ": -" + produtoNota.getQuantidade());
-                    } else {
-                        produtoRepository.aumentarEstoque(produtoNota.getProdutoId(), produtoNota.getQuantidade());
-                        System.out.println("Estoque aumentado para produto ID " + produtoNota.getProdutoId() + 
-                                         ": +" + produtoNota.getQuantidade());
-                    }
-                } catch (Exception e) {
-                    System.err.println("Erro ao processar estoque do produto ID " + produtoNota.getProdutoId() + 
-                                     ": " + e.getMessage());
-                    e.printStackTrace();
-                    throw new RuntimeException("Erro ao processar estoque: " + e.getMessage(), e);
-                }
-            }
-        }
+    private MovimentoEstoque movimento(NotaSaida nota, String descricao) {
+        return MovimentoEstoque.daNota(MovimentoEstoque.NOTA_SAIDA, nota.getNumero(), nota.getModelo(), nota.getSerie(),
+                nota.getClienteId(), descricao);
     }
     
     private void validarNota(NotaSaida nota) {
@@ -1,8 +1,15 @@
 package com.example.PizzariaGraff.service;
 
+import com.example.PizzariaGraff.dto.CarrinhoDTO;
+import com.example.PizzariaGraff.dto.CarrinhoResultadoDTO;
 import com.example.PizzariaGraff.model.Produto;
+import com.example.PizzariaGraff.model.Pagina;
+import com.example.PizzariaGraff.repository.BuscaRepository;
+import com.example.PizzariaGraff.repository.CatalogoProdutos;
 import com.example.PizzariaGraff.repository.ProdutoRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
 
 import java.util.List;
 import java.util.Optional;
@@ -10,15 +17,23 @@ import java.util.Optional;
 @Service
 public class ProdutoService {
     
+    public static final int CARRINHO_MAXIMO = 200;
+    
     private final ProdutoRepository produtoRepository;
+    private final BuscaService buscaService;
     
-    public ProdutoService(ProdutoRepository produtoRepository) {
+    public ProdutoService(ProdutoRepository produtoRepository, BuscaService buscaService) {
         this.produtoRepository = produtoRepository;
+        this.buscaService = buscaService;
     }
     
     public List<Produto> findAll() {
         return produtoRepository.findAll();
     }
+
+    public Pagina<Produto> findPagina(Boolean ativo, Long categoriaId, String cursor, int limite) {
+        return produtoRepository.findPagina(ativo, categoriaId, cursor, limite);
+    }
     
     public List<Produto> findByAtivoTrue() {
         return produtoRepository.findByAtivoTrue();
@@ -41,6 +56,84 @@ public class ProdutoService {
         return produtoRepository.findByReferencia(referencia);
     }
     
+    /**
+     * Preço e estoque de um item lido no balcão
+     * @param codigo Código de barras ou referência
+     */
+    public Optional<CarrinhoResultadoDTO.Item> consultarBalcao(String codigo) {
+        return produtoRepository.buscarNoCatalogo(codigo)
+                .map(item -> montarItemCarrinho(codigo, BigDecimal.ONE, item));
+    }
+    
+    /**
+     * Resolve todos os itens de um carrinho; itens não encontrados, inativos ou sem
+     * estoque vêm marcados com a mensagem e não entram no total
+     * @throws IllegalArgumentException se o carrinho estiver vazio, passar do limite ou
+     * tiver item sem código ou com quantidade não positiva
+     */
+    public CarrinhoResultadoDTO consultarCarrinho(CarrinhoDTO carrinho) {
+        if (carrinho == null || carrinho.getItens() == null || carrinho.getItens().isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um item");
+        }
+        if (carrinho.getItens().size() > CARRINHO_MAXIMO) {
+            throw new IllegalArgumentException("O carrinho aceita no máximo " + CARRINHO_MAXIMO + " itens");
+        }
+        
+        CarrinhoResultadoDTO resultado = new CarrinhoResultadoDTO();
+        for (CarrinhoDTO.Item pedido : carrinho.getItens()) {
+            if (pedido.getCodigo() == null || pedido.getCodigo().isBlank()) {
+                throw new IllegalArgumentException("Todos os itens devem informar o código");
+            }
+            BigDecimal quantidade = pedido.getQuantidade() != null ? pedido.getQuantidade() : BigDecimal.ONE;
+            if (quantidade.compareTo(BigDecimal.ZERO) <= 0) {
+                throw new IllegalArgumentException("Quantidade inválida para o código " + pedido.getCodigo());
+            }
+            
+            CarrinhoResultadoDTO.Item item = produtoRepository.buscarNoCatalogo(pedido.getCodigo())
+                    .map(produto -> montarItemCarrinho(pedido.getCodigo(), quantidade, produto))
+                    .orElseGet(() -> itemNaoEncontrado(pedido.getCodigo(), quantidade));
+            resultado.getItens().add(item);
+            if (item.getMensagem() == null) {
+                resultado.setTotal(resultado.getTotal().add(item.getSubtotal()));
+            } else {
+                resultado.setValido(false);
+            }
+        }
+        return resultado;
+    }
+    
+    private CarrinhoResultadoDTO.Item montarItemCarrinho(String codigo, BigDecimal quantidade, CatalogoProdutos.Item produto) {
+        CarrinhoResultadoDTO.Item item = new CarrinhoResultadoDTO.Item();
+        item.setCodigo(codigo);
+        item.setEncontrado(true);
+        item.setProdutoId(produto.getId());
+        item.setProduto(produto.getProduto());
+        item.setQuantidade(quantidade);
+        item.setValorUnitario(produto.getValorVenda());
+        item.setSubtotal(produto.getValorVenda() != null ? produto.getValorVenda().multiply(quantidade) : null);
+        item.setEstoque(produto.getQuantidade());
+        item.setEstoqueSuficiente(produto.getQuantidade().compareTo(quantidade) >= 0);
+        item.setAtivo(produto.isAtivo());
+        
+        if (!produto.isAtivo()) {
+            item.setMensagem("Produto inativo");
+        } else if (produto.getValorVenda() == null) {
+            item.setMensagem("Produto sem valor de venda");
+        } else if (!item.isEstoqueSuficiente()) {
+            item.setMensagem("Estoque insuficiente");
+        }
+        return item;
+    }
+    
+    private CarrinhoResultadoDTO.Item itemNaoEncontrado(String codigo, BigDecimal quantidade) {
+        CarrinhoResultadoDTO.Item item = new CarrinhoResultadoDTO.Item();
+        item.setCodigo(codigo);
+        item.setQuantidade(quantidade);
+        item.setMensagem("Produto não encontrado");
+        return item;
+    }
+    
+    @Transactional
     public Produto save(Produto produto) {
         // Validações obrigatórias
         validarCamposObrigatorios(produto);
@@ -54,10 +147,12 @@ public class ProdutoService {
             verificarReferenciaDuplicada(produto.getReferencia(), produto.getId());
         }
         
-        return produtoRepository.save(produto);
+        Produto salvo = produtoRepository.save(produto);
+        buscaService.indexar(salvo);
+        return salvo;
     }
     
-    private void validarCamposObrigatorios(Produto produto) {
+    void validarCamposObrigatorios(Produto produto) {
         if (produto.getProduto() == null || produto.getProduto().trim().isEmpty()) {
             throw new RuntimeException("O nome do produto é obrigatório");
         }
@@ -86,7 +181,7 @@ public class ProdutoService {
             throw new RuntimeException("O percentual de lucro não pode ser negativo");
         }
         
-        if (produto.getQuantidade() == null || produto.getQuantidade() < 0) {
+        if (produto.getQuantidade() == null || produto.getQuantidade().compareTo(BigDecimal.ZERO) < 0) {
             throw new RuntimeException("A quantidade não pode ser negativa");
         }
         
@@ -130,5 +225,6 @@ public class ProdutoService {
     
     public void deleteById(Long id) {
         produtoRepository.deleteById(id);
+        buscaService.remover(BuscaRepository.PRODUTO, id);
     }
 } 
\ No newline at end of file
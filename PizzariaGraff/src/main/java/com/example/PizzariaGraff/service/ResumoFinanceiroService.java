@@ -0,0 +1,75 @@
+package com.example.PizzariaGraff.service;
+
+import com.example.PizzariaGraff.dto.FluxoCaixaDiaDTO;
+import com.example.PizzariaGraff.dto.ResumoFinanceiroDTO;
+import com.example.PizzariaGraff.repository.ResumoFinanceiroRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Resumo financeiro para o painel: faixas de atraso (a vencer, 1-30, 31-60 e mais de
+ * 60 dias) de contas a receber e a pagar, e a projeção diária de entradas e saídas.
+ *
+ * Tudo é montado a partir de uma única consulta à tabela resumo_financeiro, que tem no
+ * máximo uma linha por origem e dia de vencimento e é mantida pelos serviços de contas.
+ */
+@Service
+public class ResumoFinanceiroService {
+
+    public static final int DIAS_PROJECAO_PADRAO = 30;
+    public static final int DIAS_PROJECAO_MAXIMO = 365;
+
+    private final ResumoFinanceiroRepository resumoFinanceiroRepository;
+
+    public ResumoFinanceiroService(ResumoFinanceiroRepository resumoFinanceiroRepository) {
+        this.resumoFinanceiroRepository = resumoFinanceiroRepository;
+    }
+
+    public ResumoFinanceiroDTO resumo(LocalDate dataReferencia, int diasProjecao) {
+        ResumoFinanceiroDTO resumo = new ResumoFinanceiroDTO(dataReferencia);
+        FluxoCaixaDiaDTO[] fluxo = new FluxoCaixaDiaDTO[diasProjecao];
+        for (int i = 0; i < diasProjecao; i++) {
+            fluxo[i] = new FluxoCaixaDiaDTO(dataReferencia.plusDays(i));
+        }
+
+        // As faixas somam todas as contas em aberto; a projeção só os vencimentos dentro dela
+        List<ResumoFinanceiroRepository.Linha> linhas = resumoFinanceiroRepository.findAbertos();
+        for (ResumoFinanceiroRepository.Linha linha : linhas) {
+            long diasAtraso = ChronoUnit.DAYS.between(linha.getDataVencimento(), dataReferencia);
+            (linha.isReceber() ? resumo.getReceber() : resumo.getPagar())
+                    .adicionar(diasAtraso, linha.getSaldoAberto(), linha.getQuantidade());
+
+            if (diasAtraso <= 0 && -diasAtraso < diasProjecao) {
+                FluxoCaixaDiaDTO dia = fluxo[(int) -diasAtraso];
+                if (linha.isReceber()) {
+                    dia.setEntradas(dia.getEntradas().add(linha.getSaldoAberto()));
+                } else {
+                    dia.setSaidas(dia.getSaidas().add(linha.getSaldoAberto()));
+                }
+            }
+        }
+
+        BigDecimal acumulado = BigDecimal.ZERO;
+        for (FluxoCaixaDiaDTO dia : fluxo) {
+            dia.setSaldoDia(dia.getEntradas().subtract(dia.getSaidas()));
+            acumulado = acumulado.add(dia.getSaldoDia());
+            dia.setSaldoAcumulado(acumulado);
+            resumo.getFluxoCaixa().add(dia);
+        }
+        return resumo;
+    }
+
+    /**
+     * Reconstrói o resumo a partir das tabelas de contas (correção após alterações
+     * feitas diretamente no banco)
+     */
+    @Transactional
+    public void recalcular() {
+        resumoFinanceiroRepository.recalcularTudo();
+    }
+}
@@ -3,6 +3,7 @@ package com.example.PizzariaGraff.service;
 import com.example.PizzariaGraff.dto.CidadeDTO;
 import com.example.PizzariaGraff.dto.TransportadoraDTO;
 import com.example.PizzariaGraff.dto.VeiculoDTO;
+import com.example.PizzariaGraff.model.Cidade;
 import com.example.PizzariaGraff.model.Transportadora;
 import com.example.PizzariaGraff.model.TransportadoraEmail;
 import com.example.PizzariaGraff.model.TransportadoraTelefone;
@@ -16,6 +17,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -38,8 +41,11 @@ public class TransportadoraService {
 
     public List<TransportadoraDTO> findAll() {
         List<Transportadora> transportadoras = transportadoraRepository.findAll();
+        // Cidades vêm do cache de referência: uma consulta (ou nenhuma) para toda a lista
+        Map<Long, Cidade> cidades = cidadeService.findAll().stream()
+                .collect(Collectors.toMap(Cidade::getId, Function.identity()));
         return transportadoras.stream()
-                .map(this::getTransportadoraWithEmailsAndTelefones)
+                .map(transportadora -> montarDTO(transportadora, cidades.get(transportadora.getCidadeId())))
                 .collect(Collectors.toList());
     }
 
@@ -117,23 +123,28 @@ public class TransportadoraService {
         return getTransportadoraWithEmailsAndTelefones(transportadora.getId());
     }
     
-    private TransportadoraDTO getTransportadoraWithEmailsAndTelefones(Transportadora transportadora) {
-        return getTransportadoraWithEmailsAndTelefones(transportadora.getId());
-    }
-
     public TransportadoraDTO getTransportadoraWithEmailsAndTelefones(Long id) {
         Transportadora transportadora = findById(id);
-        TransportadoraDTO dto = TransportadoraDTO.fromEntity(transportadora);
-        
-        // Carregar cidade
+        Cidade cidade = null;
         if (transportadora.getCidadeId() != null) {
             try {
-                dto.setCidade(CidadeDTO.fromEntity(cidadeService.findById(transportadora.getCidadeId())));
+                cidade = cidadeService.findById(transportadora.getCidadeId());
             } catch (Exception e) {
                 // Logar o erro, mas não impedir o resto do processo
                 System.err.println("Erro ao buscar cidade para transportadora " + id + ": " + e.getMessage());
             }
         }
+        return montarDTO(transportadora, cidade);
+    }
+
+    private TransportadoraDTO montarDTO(Transportadora transportadora, Cidade cidade) {
+        Long id = transportadora.getId();
+        TransportadoraDTO dto = TransportadoraDTO.fromEntity(transportadora);
+        
+        // Carregar cidade
+        if (cidade != null) {
+            dto.setCidade(CidadeDTO.fromEntity(cidade));
+        }
         
         // Carregar emails
         List<TransportadoraEmail> emails = emailRepository.findByTransportadoraId(id);
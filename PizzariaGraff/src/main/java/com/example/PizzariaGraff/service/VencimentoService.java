@@ -0,0 +1,95 @@
+package com.example.PizzariaGraff.service;
+
+import com.example.PizzariaGraff.repository.ResumoFinanceiroRepository;
+import com.example.PizzariaGraff.repository.VencimentoRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Processamento periódico de vencimentos: contas PENDENTE com vencimento passado
+ * viram VENCIDA (com multa e juros já calculados) e o resumo financeiro dos dias
+ * afetados é atualizado. Assim as listas de vencidas e os totais são leituras simples
+ * por situação, sem cálculo por conta na hora da consulta.
+ *
+ * Roda na inicialização e depois conforme financeiro.vencimentos.cron (por padrão a
+ * cada hora, no minuto 1, o que cobre a virada do dia). Cada lote é uma transação curta.
+ */
+@Service
+public class VencimentoService {
+
+    private static final String[] ORIGENS = {
+            ResumoFinanceiroRepository.RECEBER,
+            ResumoFinanceiroRepository.PAGAR,
+            ResumoFinanceiroRepository.PAGAR_AVULSA
+    };
+
+    private final VencimentoRepository vencimentoRepository;
+    private final ResumoFinanceiroRepository resumoFinanceiroRepository;
+    private final int tamanhoLote;
+    private final AtomicBoolean executando = new AtomicBoolean();
+
+    public VencimentoService(VencimentoRepository vencimentoRepository,
+                             ResumoFinanceiroRepository resumoFinanceiroRepository,
+                             @Value("${financeiro.vencimentos.lote:500}") int tamanhoLote) {
+        this.vencimentoRepository = vencimentoRepository;
+        this.resumoFinanceiroRepository = resumoFinanceiroRepository;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void processarNaInicializacao() {
+        processarAgendado();
+    }
+
+    @Scheduled(cron = "${financeiro.vencimentos.cron:0 1 * * * *}")
+    public void processarAgendado() {
+        try {
+            processar(LocalDate.now());
+        } catch (Exception e) {
+            System.err.println("Erro ao processar vencimentos: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Processa os vencimentos em relação à data informada
+     * @return Quantidade de contas alteradas
+     */
+    public int processar(LocalDate hoje) {
+        // Evita duas execuções simultâneas (agendada e inicialização, por exemplo)
+        if (!executando.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            long inicio = System.currentTimeMillis();
+            int total = 0;
+            for (String origem : ORIGENS) {
+                List<LocalDate> lote;
+                do {
+                    lote = vencimentoRepository.reabrirNaoVencidas(origem, hoje, tamanhoLote);
+                    resumoFinanceiroRepository.atualizarDias(origem, lote);
+                    total += lote.size();
+                } while (lote.size() == tamanhoLote);
+
+                do {
+                    lote = vencimentoRepository.marcarVencidas(origem, hoje, tamanhoLote);
+                    resumoFinanceiroRepository.atualizarDias(origem, lote);
+                    total += lote.size();
+                } while (lote.size() == tamanhoLote);
+            }
+            if (total > 0) {
+                System.out.println("Vencimentos processados: " + total + " contas em "
+                        + (System.currentTimeMillis() - inicio) + " ms");
+            }
+            return total;
+        } finally {
+            executando.set(false);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.PizzariaGraff.util;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Canal de eventos enviados por Server-Sent Events a todos os clientes inscritos.
+ *
+ * Cada inscrito tem a sua própria fila, esvaziada por uma tarefa só dele, então um
+ * cliente lento não atrasa os outros e quem publica (normalmente no fim de um commit)
+ * nunca espera por ninguém. Os eventos chegam a cada cliente na ordem em que foram
+ * publicados. O cliente que deixar a fila encher (parado ou lento demais) é desconectado
+ * e deve se inscrever de novo; clientes desconectados saem no primeiro envio que falhar.
+ */
+public class CanalEventos {
+
+    /**
+     * Quantidade de eventos que podem esperar na fila de um cliente antes de ele ser descartado
+     */
+    public static final int LIMITE_FILA = 256;
+
+    private final String nome;
+    private final Map<SseEmitter, Inscrito> inscritos = new ConcurrentHashMap<>();
+    private final ExecutorService envio;
+
+    public CanalEventos(String nome) {
+        this.nome = nome;
+        AtomicInteger contador = new AtomicInteger();
+        this.envio = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "eventos-" + nome + "-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Inscreve um novo cliente. O tempo limite da conexão é o de
+     * spring.mvc.async.request-timeout; depois disso o cliente deve se inscrever de novo.
+     * @param eventoInicial Nome do primeiro evento enviado ao cliente, ou nulo para nenhum
+     * @param dadosIniciais Dados do primeiro evento, lidos só na hora do envio para que os
+     *                      eventos seguintes nunca sejam mais antigos que eles
+     */
+    public SseEmitter inscrever(String eventoInicial, Supplier<?> dadosIniciais) {
+        SseEmitter emitter = new SseEmitter();
+        Inscrito inscrito = new Inscrito(emitter);
+        emitter.onCompletion(() -> inscritos.remove(emitter));
+        emitter.onTimeout(() -> inscritos.remove(emitter));
+        emitter.onError(e -> inscritos.remove(emitter));
+
+        // O evento inicial entra na fila antes de o cliente passar a receber publicações
+        if (eventoInicial != null) {
+            inscrito.fila.offer(new Evento(eventoInicial, dadosIniciais));
+        }
+        inscritos.put(emitter, inscrito);
+        inscrito.agendar();
+        return emitter;
+    }
+
+    /**
+     * Coloca o evento na fila de cada inscrito, sem bloquear quem publica
+     */
+    public void publicar(String evento, Object dados) {
+        if (inscritos.isEmpty()) {
+            return;
+        }
+        Evento mensagem = new Evento(evento, () -> dados);
+        for (Inscrito inscrito : inscritos.values()) {
+            if (inscrito.fila.offer(mensagem)) {
+                inscrito.agendar();
+            } else {
+                System.err.println("Cliente descartado do canal " + nome + ": " + LIMITE_FILA
+                        + " eventos aguardando envio");
+                descartar(inscrito, null);
+            }
+        }
+    }
+
+    public int getInscritos() {
+        return inscritos.size();
+    }
+
+    public void encerrar() {
+        envio.shutdownNow();
+        for (Inscrito inscrito : inscritos.values()) {
+            inscrito.emitter.complete();
+        }
+        inscritos.clear();
+    }
+
+    private void descartar(Inscrito inscrito, Throwable erro) {
+        if (inscritos.remove(inscrito.emitter) == null) {
+            return;
+        }
+        inscrito.fila.clear();
+        try {
+            if (erro != null) {
+                inscrito.emitter.completeWithError(erro);
+            } else {
+                inscrito.emitter.complete();
+            }
+        } catch (Exception e) {
+            // A conexão já estava encerrada
+        }
+    }
+
+    private static final class Evento {
+        private final String nome;
+        private final Supplier<?> dados;
+
+        private Evento(String nome, Supplier<?> dados) {
+            this.nome = nome;
+            this.dados = dados;
+        }
+    }
+
+    /**
+     * Fila de envio de um cliente. No máximo uma tarefa esvazia a fila por vez.
+     */
+    private final class Inscrito {
+        private final SseEmitter emitter;
+        private final Queue<Evento> fila = new ArrayBlockingQueue<>(LIMITE_FILA);
+        private final AtomicBoolean enviando = new AtomicBoolean();
+
+        private Inscrito(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void agendar() {
+            if (fila.isEmpty() || !enviando.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                envio.execute(this::esvaziar);
+            } catch (RejectedExecutionException e) {
+                enviando.set(false); // canal encerrado
+            }
+        }
+
+        private void esvaziar() {
+            try {
+                Evento evento;
+                while ((evento = fila.poll()) != null) {
+                    if (!enviar(evento)) {
+                        return;
+                    }
+                }
+            } finally {
+                enviando.set(false);
+            }
+            // Um evento pode ter entrado depois do último poll e antes de liberar a fila
+            agendar();
+        }
+
+        private boolean enviar(Evento evento) {
+            try {
+                emitter.send(SseEmitter.event().name(evento.nome).data(evento.dados.get()));
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                descartar(this, e);
+            } catch (Exception e) {
+                System.err.println("Erro ao enviar evento " + evento.nome + " no canal " + nome + ": " + e.getMessage());
+                descartar(this, null);
+            }
+            return false;
+        }
+    }
+}
@@ -1,136 +1,172 @@
 package com.example.PizzariaGraff.util;
 
+/**
+ * Validação de CPF e CNPJ.
+ *
+ * Os documentos são lidos em uma única passada, ignorando qualquer caractere que não
+ * seja dígito (pontos, traços, barras, espaços), e os dígitos verificadores de CPF e
+ * CNPJ são acumulados ao mesmo tempo, sem criar Strings nem expressões regulares.
+ * Apenas {@link #normalizar(CharSequence)} aloca, para devolver o documento limpo.
+ */
 public class CpfCnpjValidator {
 
+    public static final String CPF = "CPF";
+    public static final String CNPJ = "CNPJ";
+    public static final String INVALIDO = "INVÁLIDO";
+
+    private static final int TIPO_INVALIDO = 0;
+    private static final int TIPO_CPF = 11;
+    private static final int TIPO_CNPJ = 14;
+
     /**
      * Valida CPF (11 dígitos)
-     * @param cpf String contendo o CPF
+     * @param cpf CPF com ou sem formatação
      * @return true se válido, false se inválido
      */
-    public static boolean isValidCPF(String cpf) {
-        if (cpf == null) return false;
-        
-        // Remove caracteres não numéricos
-        cpf = cpf.replaceAll("[^\\d]", "");
-        
-        // Verifica se tem 11 dígitos
-        if (cpf.length() != 11) return false;
-        
-        // Verifica se todos os dígitos são iguais
-        if (cpf.matches("(\\d)\\1{10}")) return false;
-        
-        try {
-            // Validação do primeiro dígito verificador
-            int soma = 0;
-            for (int i = 0; i < 9; i++) {
-                soma += Character.getNumericValue(cpf.charAt(i)) * (10 - i);
-            }
-            int resto = 11 - (soma % 11);
-            int digito1 = (resto == 10 || resto == 11) ? 0 : resto;
-            
-            if (digito1 != Character.getNumericValue(cpf.charAt(9))) {
-                return false;
-            }
-            
-            // Validação do segundo dígito verificador
-            soma = 0;
-            for (int i = 0; i < 10; i++) {
-                soma += Character.getNumericValue(cpf.charAt(i)) * (11 - i);
-            }
-            resto = 11 - (soma % 11);
-            int digito2 = (resto == 10 || resto == 11) ? 0 : resto;
-            
-            return digito2 == Character.getNumericValue(cpf.charAt(10));
-        } catch (Exception e) {
-            return false;
-        }
+    public static boolean isValidCPF(CharSequence cpf) {
+        return classificar(cpf) == TIPO_CPF;
     }
 
     /**
      * Valida CNPJ (14 dígitos)
-     * @param cnpj String contendo o CNPJ
+     * @param cnpj CNPJ com ou sem formatação
      * @return true se válido, false se inválido
      */
-    public static boolean isValidCNPJ(String cnpj) {
-        if (cnpj == null) return false;
-        
-        // Remove caracteres não numéricos
-        cnpj = cnpj.replaceAll("[^\\d]", "");
-        
-        // Verifica se tem 14 dígitos
-        if (cnpj.length() != 14) return false;
-        
-        // Verifica se todos os dígitos são iguais
-        if (cnpj.matches("(\\d)\\1{13}")) return false;
-        
-        try {
-            // Validação do primeiro dígito verificador
-            int soma = 0;
-            int peso = 2;
-            for (int i = 11; i >= 0; i--) {
-                soma += Character.getNumericValue(cnpj.charAt(i)) * peso;
-                peso++;
-                if (peso == 10) peso = 2;
-            }
-            int resto = soma % 11;
-            int digito1 = (resto < 2) ? 0 : 11 - resto;
-            
-            if (digito1 != Character.getNumericValue(cnpj.charAt(12))) {
-                return false;
-            }
-            
-            // Validação do segundo dígito verificador
-            soma = 0;
-            peso = 2;
-            for (int i = 12; i >= 0; i--) {
-                soma += Character.getNumericValue(cnpj.charAt(i)) * peso;
-                peso++;
-                if (peso == 10) peso = 2;
-            }
-            resto = soma % 11;
-            int digito2 = (resto < 2) ? 0 : 11 - resto;
-            
-            return digito2 == Character.getNumericValue(cnpj.charAt(13));
-        } catch (Exception e) {
-            return false;
-        }
+    public static boolean isValidCNPJ(CharSequence cnpj) {
+        return classificar(cnpj) == TIPO_CNPJ;
     }
 
     /**
-     * Valida CPF ou CNPJ baseado no comprimento
-     * @param documento String contendo CPF ou CNPJ
+     * Valida CPF ou CNPJ baseado na quantidade de dígitos
+     * @param documento CPF ou CNPJ com ou sem formatação
      * @return true se válido, false se inválido
      */
-    public static boolean isValidCpfOrCnpj(String documento) {
-        if (documento == null) return false;
-        
-        String limpo = documento.replaceAll("[^\\d]", "");
-        
-        if (limpo.length() == 11) {
-            return isValidCPF(documento);
-        } else if (limpo.length() == 14) {
-            return isValidCNPJ(documento);
-        }
-        
-        return false;
+    public static boolean isValidCpfOrCnpj(CharSequence documento) {
+        return classificar(documento) != TIPO_INVALIDO;
     }
 
     /**
      * Determina o tipo do documento (CPF ou CNPJ)
-     * @param documento String contendo o documento
+     * @param documento CPF ou CNPJ com ou sem formatação
      * @return "CPF", "CNPJ" ou "INVÁLIDO"
      */
-    public static String getDocumentType(String documento) {
-        if (documento == null) return "INVÁLIDO";
-        
-        String limpo = documento.replaceAll("[^\\d]", "");
-        
-        if (limpo.length() == 11) {
-            return isValidCPF(documento) ? "CPF" : "INVÁLIDO";
-        } else if (limpo.length() == 14) {
-            return isValidCNPJ(documento) ? "CNPJ" : "INVÁLIDO";
+    public static String getDocumentType(CharSequence documento) {
+        switch (classificar(documento)) {
+            case TIPO_CPF:
+                return CPF;
+            case TIPO_CNPJ:
+                return CNPJ;
+            default:
+                return INVALIDO;
+        }
+    }
+
+    /**
+     * Conta os dígitos do documento, ignorando a formatação
+     * @param documento Documento com ou sem formatação
+     * @return Quantidade de dígitos (0 para null)
+     */
+    public static int contarDigitos(CharSequence documento) {
+        if (documento == null) return 0;
+
+        int digitos = 0;
+        for (int i = 0, n = documento.length(); i < n; i++) {
+            char c = documento.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digitos++;
+            }
         }
-        
-        return "INVÁLIDO";
+        return digitos;
+    }
+
+    /**
+     * Remove a formatação do documento, mantendo apenas os dígitos
+     * @param documento Documento com ou sem formatação
+     * @return Somente os dígitos, ou null se o documento for null
+     */
+    public static String normalizar(CharSequence documento) {
+        if (documento == null) return null;
+
+        int n = documento.length();
+        StringBuilder digitos = new StringBuilder(Math.min(n, TIPO_CNPJ));
+        for (int i = 0; i < n; i++) {
+            char c = documento.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digitos.append(c);
+            }
+        }
+        return digitos.toString();
+    }
+
+    /**
+     * Percorre o documento uma vez acumulando as somas ponderadas de CPF e de CNPJ
+     * @return TIPO_CPF, TIPO_CNPJ ou TIPO_INVALIDO
+     */
+    private static int classificar(CharSequence documento) {
+        if (documento == null) return TIPO_INVALIDO;
+
+        int digitos = 0;
+        int primeiro = -1;
+        boolean todosIguais = true;
+        int somaCpf1 = 0, somaCpf2 = 0;
+        int somaCnpj1 = 0, somaCnpj2 = 0;
+        int dvCpf1 = 0, dvCpf2 = 0;
+        int dvCnpj1 = 0, dvCnpj2 = 0;
+
+        for (int i = 0, n = documento.length(); i < n; i++) {
+            char c = documento.charAt(i);
+            if (c < '0' || c > '9') {
+                continue;
+            }
+            if (digitos == TIPO_CNPJ) {
+                return TIPO_INVALIDO; // mais de 14 dígitos
+            }
+
+            int d = c - '0';
+            if (primeiro < 0) {
+                primeiro = d;
+            } else if (d != primeiro) {
+                todosIguais = false;
+            }
+
+            // CPF: pesos 10..2 para o primeiro verificador e 11..2 para o segundo
+            if (digitos < 9) somaCpf1 += d * (10 - digitos);
+            if (digitos < 10) somaCpf2 += d * (11 - digitos);
+            // CNPJ: pesos 2..9 repetidos da direita para a esquerda
+            if (digitos < 12) somaCnpj1 += d * (2 + (11 - digitos) % 8);
+            if (digitos < 13) somaCnpj2 += d * (2 + (12 - digitos) % 8);
+
+            switch (digitos) {
+                case 9: dvCpf1 = d; break;
+                case 10: dvCpf2 = d; break;
+                case 12: dvCnpj1 = d; break;
+                case 13: dvCnpj2 = d; break;
+                default: break;
+            }
+            digitos++;
+        }
+
+        // Documentos com todos os dígitos iguais passam no cálculo, mas não são válidos
+        if (todosIguais) return TIPO_INVALIDO;
+
+        if (digitos == TIPO_CPF) {
+            return digitoCpf(somaCpf1) == dvCpf1 && digitoCpf(somaCpf2) == dvCpf2
+                    ? TIPO_CPF : TIPO_INVALIDO;
+        }
+        if (digitos == TIPO_CNPJ) {
+            return digitoCnpj(somaCnpj1) == dvCnpj1 && digitoCnpj(somaCnpj2) == dvCnpj2
+                    ? TIPO_CNPJ : TIPO_INVALIDO;
+        }
+        return TIPO_INVALIDO;
+    }
+
+    private static int digitoCpf(int soma) {
+        int resto = 11 - (soma % 11);
+        return (resto == 10 || resto == 11) ? 0 : resto;
+    }
+
+    private static int digitoCnpj(int soma) {
+        int resto = soma % 11;
+        return (resto < 2) ? 0 : 11 - resto;
     }
-} 
\ No newline at end of file
+}
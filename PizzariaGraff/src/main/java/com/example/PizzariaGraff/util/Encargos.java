@@ -0,0 +1,92 @@
+package com.example.PizzariaGraff.util;
+
+import com.example.PizzariaGraff.model.CondicaoPagamento;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * Desconto, multa e juros de uma parcela em uma data de baixa, calculados só em memória.
+ *
+ * Até o vencimento (inclusive) vale o desconto; depois dele, multa e juros. Os
+ * percentuais estão no formato decimal (0.20 = 20%) e são aplicados uma vez sobre o
+ * valor original, com arredondamento para centavos.
+ */
+public final class Encargos {
+
+    private final BigDecimal desconto;
+    private final BigDecimal multa;
+    private final BigDecimal juros;
+    private final BigDecimal total;
+
+    private Encargos(BigDecimal desconto, BigDecimal multa, BigDecimal juros, BigDecimal total) {
+        this.desconto = desconto;
+        this.multa = multa;
+        this.juros = juros;
+        this.total = total;
+    }
+
+    /**
+     * Encargos com os percentuais de uma condição de pagamento
+     * @param condicao Condição da nota; nula quando a nota não tem condição (sem encargos)
+     */
+    public static Encargos calcular(BigDecimal valorOriginal, LocalDate vencimento, LocalDate dataBaixa,
+                                    CondicaoPagamento condicao) {
+        if (condicao == null) {
+            return calcular(valorOriginal, vencimento, dataBaixa, null, null, null);
+        }
+        return calcular(valorOriginal, vencimento, dataBaixa,
+                paraDecimal(condicao.getPercentualDesconto()),
+                paraDecimal(condicao.getPercentualMulta()),
+                paraDecimal(condicao.getPercentualJuros()));
+    }
+
+    /**
+     * Encargos com percentuais informados diretamente (nulos ou zero não se aplicam)
+     */
+    public static Encargos calcular(BigDecimal valorOriginal, LocalDate vencimento, LocalDate dataBaixa,
+                                    BigDecimal percentualDesconto, BigDecimal percentualMulta,
+                                    BigDecimal percentualJuros) {
+        BigDecimal desconto = BigDecimal.ZERO;
+        BigDecimal multa = BigDecimal.ZERO;
+        BigDecimal juros = BigDecimal.ZERO;
+
+        if (!dataBaixa.isAfter(vencimento)) {
+            desconto = aplicar(valorOriginal, percentualDesconto);
+        } else {
+            multa = aplicar(valorOriginal, percentualMulta);
+            juros = aplicar(valorOriginal, percentualJuros);
+        }
+
+        return new Encargos(desconto, multa, juros, valorOriginal.add(juros).add(multa).subtract(desconto));
+    }
+
+    public BigDecimal getDesconto() {
+        return desconto;
+    }
+
+    public BigDecimal getMulta() {
+        return multa;
+    }
+
+    public BigDecimal getJuros() {
+        return juros;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    private static BigDecimal aplicar(BigDecimal valor, BigDecimal percentual) {
+        if (percentual == null || percentual.signum() <= 0) {
+            return BigDecimal.ZERO;
+        }
+        return valor.multiply(percentual).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    // new BigDecimal(double), como o cálculo sempre converteu os percentuais da condição
+    private static BigDecimal paraDecimal(Double percentual) {
+        return percentual != null ? new BigDecimal(percentual) : null;
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.PizzariaGraff.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+
+/**
+ * Escrita incremental de exportações (CSV ou NDJSON): cada linha é escrita assim que
+ * é lida do banco, e a saída é descarregada para o cliente a cada bloco de linhas.
+ *
+ * CSV: separador ";", cabeçalho com os nomes das colunas, decimais com ponto e datas
+ * no formato ISO. NDJSON: um objeto JSON por linha com os mesmos nomes de campo.
+ */
+public abstract class EscritorExportacao {
+
+    public static final String CSV = "csv";
+    public static final String NDJSON = "ndjson";
+
+    // Linhas entre cada flush para o cliente
+    private static final int LINHAS_POR_BLOCO = 1000;
+
+    protected String[] colunas;
+    private int pendentes;
+
+    public static EscritorExportacao csv(OutputStream saida) {
+        return new Csv(saida);
+    }
+
+    public static EscritorExportacao ndjson(OutputStream saida, ObjectMapper objectMapper) throws IOException {
+        return new Ndjson(saida, objectMapper);
+    }
+
+    public static String contentType(String formato) {
+        return NDJSON.equals(formato) ? "application/x-ndjson" : "text/csv;charset=UTF-8";
+    }
+
+    public void iniciar(String[] colunas) throws IOException {
+        this.colunas = colunas;
+        escreverCabecalho();
+    }
+
+    public void escrever(Object[] valores) throws IOException {
+        escreverLinha(valores);
+        if (++pendentes >= LINHAS_POR_BLOCO) {
+            descarregar();
+            pendentes = 0;
+        }
+    }
+
+    public void finalizar() throws IOException {
+        descarregar();
+    }
+
+    protected abstract void escreverCabecalho() throws IOException;
+
+    protected abstract void escreverLinha(Object[] valores) throws IOException;
+
+    protected abstract void descarregar() throws IOException;
+
+    // Datas como yyyy-MM-dd e timestamps como yyyy-MM-ddTHH:mm:ss
+    protected static String texto(Object valor) {
+        if (valor instanceof BigDecimal) {
+            return ((BigDecimal) valor).toPlainString();
+        }
+        if (valor instanceof java.sql.Date) {
+            return ((java.sql.Date) valor).toLocalDate().toString();
+        }
+        if (valor instanceof Timestamp) {
+            return ((Timestamp) valor).toLocalDateTime().toString();
+        }
+        return valor.toString();
+    }
+
+    private static class Csv extends EscritorExportacao {
+
+        private final Writer writer;
+
+        Csv(OutputStream saida) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        protected void escreverCabecalho() throws IOException {
+            escreverLinha(colunas);
+        }
+
+        @Override
+        protected void escreverLinha(Object[] valores) throws IOException {
+            for (int i = 0; i < valores.length; i++) {
+                if (i > 0) {
+                    writer.write(';');
+                }
+                if (valores[i] != null) {
+                    escreverCampo(texto(valores[i]));
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        private void escreverCampo(String valor) throws IOException {
+            boolean aspas = false;
+            for (int i = 0; i < valor.length() && !aspas; i++) {
+                char c = valor.charAt(i);
+                aspas = c == ';' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!aspas) {
+                writer.write(valor);
+                return;
+            }
+            writer.write('"');
+            writer.write(valor.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        protected void descarregar() throws IOException {
+            writer.flush();
+        }
+    }
+
+    private static class Ndjson extends EscritorExportacao {
+
+        private final JsonGenerator gerador;
+
+        Ndjson(OutputStream saida, ObjectMapper objectMapper) throws IOException {
+            this.gerador = objectMapper.getFactory().createGenerator(saida);
+            this.gerador.setRootValueSeparator(new SerializedString("\n"));
+        }
+
+        @Override
+        protected void escreverCabecalho() {
+            // NDJSON não tem cabeçalho: os nomes vão em cada objeto
+        }
+
+        @Override
+        protected void escreverLinha(Object[] valores) throws IOException {
+            gerador.writeStartObject();
+            for (int i = 0; i < valores.length; i++) {
+                Object valor = valores[i];
+                gerador.writeFieldName(colunas[i]);
+                if (valor == null) {
+                    gerador.writeNull();
+                } else if (valor instanceof BigDecimal) {
+                    gerador.writeNumber((BigDecimal) valor);
+                } else if (valor instanceof Long || valor instanceof Integer) {
+                    gerador.writeNumber(((Number) valor).longValue());
+                } else {
+                    gerador.writeString(texto(valor));
+                }
+            }
+            gerador.writeEndObject();
+        }
+
+        @Override
+        protected void descarregar() throws IOException {
+            gerador.flush();
+        }
+
+        @Override
+        public void finalizar() throws IOException {
+            // Quebra de linha depois do último objeto
+            gerador.writeRaw('\n');
+            super.finalizar();
+        }
+    }
+}
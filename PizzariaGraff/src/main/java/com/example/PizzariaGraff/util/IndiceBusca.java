@@ -0,0 +1,317 @@
+package com.example.PizzariaGraff.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Índice de busca em memória para autocompletar, por trigramas e prefixos de palavra.
+ *
+ * Cada registro tem um nome e campos auxiliares (apelido, CPF/CNPJ, referência),
+ * guardados sem acento e em minúsculas; documentos (só dígitos e pontuação) ficam só
+ * com os dígitos, para que "123.456" e "123456" encontrem o mesmo registro. Palavras
+ * do termo com 3 ou mais caracteres são resolvidas pela interseção das listas dos seus
+ * trigramas e palavras de 1 ou 2 caracteres pelo índice de início de palavra.
+ *
+ * Os candidatos são sempre conferidos contra o registro atual, então listas com ids de
+ * um registro já alterado nunca produzem resultados errados. Escritas são serializadas;
+ * buscas não bloqueiam.
+ */
+public class IndiceBusca {
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+    private static final Pattern DOCUMENTO = Pattern.compile("[\\d./\\- ]*\\d[\\d./\\- ]*");
+    private static final Pattern NAO_DIGITO = Pattern.compile("\\D");
+
+    // Pontuações: quanto menor, mais relevante
+    private static final int IGUAL = 0;
+    private static final int PREFIXO = 1;
+    private static final int INICIO_PALAVRA = 2;
+    private static final int CONTEM = 3;
+    private static final int PALAVRAS_SEPARADAS = 4;
+
+    private final Map<Long, Registro> registros = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> listas = new ConcurrentHashMap<>();
+
+    // Durante a carga inicial, escritas feitas pela aplicação têm precedência sobre as linhas lidas
+    private Set<Long> alteradosNaCarga;
+
+    /**
+     * Inclui ou substitui um registro
+     * @param id ID do registro
+     * @param nome Nome exibido e campo principal da busca
+     * @param ativo Se o registro está ativo (nulo conta como ativo)
+     * @param extras Campos auxiliares (nulos são ignorados)
+     */
+    public synchronized void indexar(Long id, String nome, Boolean ativo, String... extras) {
+        if (alteradosNaCarga != null) {
+            alteradosNaCarga.add(id);
+        }
+        gravar(id, nome, ativo, extras);
+    }
+
+    public synchronized void remover(Long id) {
+        if (alteradosNaCarga != null) {
+            alteradosNaCarga.add(id);
+        }
+        Registro anterior = registros.remove(id);
+        if (anterior != null) {
+            retirarDasListas(id, anterior);
+        }
+    }
+
+    /**
+     * Começa a carga a partir do banco, descartando o conteúdo atual. Até
+     * {@link #concluirCarga()}, registros indexados ou removidos pela aplicação não são
+     * sobrescritos pelas linhas da carga, que podem ter sido lidas antes da escrita.
+     */
+    public synchronized void iniciarCarga() {
+        registros.clear();
+        listas.clear();
+        alteradosNaCarga = new HashSet<>();
+    }
+
+    /**
+     * Inclui um registro lido na carga, a menos que a aplicação já o tenha alterado
+     */
+    public synchronized void carregar(Long id, String nome, Boolean ativo, String... extras) {
+        if (alteradosNaCarga == null || !alteradosNaCarga.contains(id)) {
+            gravar(id, nome, ativo, extras);
+        }
+    }
+
+    public synchronized void concluirCarga() {
+        alteradosNaCarga = null;
+    }
+
+    /**
+     * Busca registros cujo nome ou campos auxiliares contenham todas as palavras do termo
+     * @param termo Texto digitado
+     * @param limite Quantidade máxima de resultados
+     * @param incluirInativos Se registros inativos entram no resultado
+     * @return Resultados do mais relevante para o menos relevante
+     */
+    public List<Resultado> buscar(String termo, int limite, boolean incluirInativos) {
+        String normalizado = normalizar(termo);
+        if (normalizado.isEmpty() || limite <= 0) {
+            return Collections.emptyList();
+        }
+        String[] palavras = normalizado.split(" ");
+
+        List<Resultado> resultados = new ArrayList<>();
+        for (Long id : candidatos(palavras)) {
+            Registro registro = registros.get(id);
+            if (registro == null || (!registro.ativo && !incluirInativos)) {
+                continue;
+            }
+            int pontuacao = pontuar(registro, normalizado, palavras);
+            if (pontuacao >= 0) {
+                resultados.add(new Resultado(id, registro.nome, registro.detalhe, registro.ativo, pontuacao));
+            }
+        }
+
+        resultados.sort(Resultado.ORDEM);
+        return resultados.size() > limite ? new ArrayList<>(resultados.subList(0, limite)) : resultados;
+    }
+
+    public int getTamanho() {
+        return registros.size();
+    }
+
+    /**
+     * Minúsculas, sem acentos e com espaços simples; documentos ficam só com os dígitos
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcento = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        String normalizado = ESPACOS.matcher(semAcento.toLowerCase().trim()).replaceAll(" ");
+        if (DOCUMENTO.matcher(normalizado).matches()) {
+            return NAO_DIGITO.matcher(normalizado).replaceAll("");
+        }
+        return normalizado;
+    }
+
+    private void gravar(Long id, String nome, Boolean ativo, String... extras) {
+        List<String> campos = new ArrayList<>();
+        campos.add(normalizar(nome));
+        List<String> detalhes = new ArrayList<>();
+        for (String extra : extras) {
+            if (extra != null && !extra.isBlank()) {
+                campos.add(normalizar(extra));
+                detalhes.add(extra.trim());
+            }
+        }
+
+        Registro novo = new Registro(nome, String.join(" | ", detalhes), ativo == null || ativo, campos);
+        Registro anterior = registros.put(id, novo);
+        if (anterior != null) {
+            retirarDasListas(id, anterior);
+        }
+        for (String chave : novo.chaves) {
+            listas.computeIfAbsent(chave, k -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    private void retirarDasListas(Long id, Registro registro) {
+        for (String chave : registro.chaves) {
+            Set<Long> ids = listas.get(chave);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    listas.remove(chave);
+                }
+            }
+        }
+    }
+
+    // Interseção das listas de cada palavra, começando pela menor
+    private Set<Long> candidatos(String[] palavras) {
+        List<Set<Long>> conjuntos = new ArrayList<>();
+        for (String palavra : palavras) {
+            for (String chave : chavesDaPalavra(palavra)) {
+                Set<Long> ids = listas.get(chave);
+                if (ids == null) {
+                    return Collections.emptySet();
+                }
+                conjuntos.add(ids);
+            }
+        }
+        conjuntos.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> resultado = new LinkedHashSet<>(conjuntos.get(0));
+        for (int i = 1; i < conjuntos.size() && !resultado.isEmpty(); i++) {
+            resultado.retainAll(conjuntos.get(i));
+        }
+        return resultado;
+    }
+
+    private static List<String> chavesDaPalavra(String palavra) {
+        if (palavra.length() < 3) {
+            return List.of("^" + palavra);
+        }
+        List<String> chaves = new ArrayList<>(palavra.length() - 2);
+        for (int i = 0; i + 3 <= palavra.length(); i++) {
+            chaves.add(palavra.substring(i, i + 3));
+        }
+        return chaves;
+    }
+
+    // Melhor pontuação entre os campos (o nome desempata), ou -1 se alguma palavra não bate
+    private static int pontuar(Registro registro, String termo, String[] palavras) {
+        int melhor = Integer.MAX_VALUE;
+        for (int i = 0; i < registro.campos.size(); i++) {
+            String campo = registro.campos.get(i);
+            int pontuacao;
+            if (campo.equals(termo)) {
+                pontuacao = IGUAL;
+            } else if (campo.startsWith(termo)) {
+                pontuacao = PREFIXO;
+            } else if (campo.contains(" " + termo)) {
+                pontuacao = INICIO_PALAVRA;
+            } else if (termo.length() >= 3 && campo.contains(termo)) {
+                pontuacao = CONTEM;
+            } else {
+                continue;
+            }
+            // Campos auxiliares ficam logo depois do nome na mesma categoria
+            melhor = Math.min(melhor, pontuacao * 2 + (i == 0 ? 0 : 1));
+        }
+        if (melhor != Integer.MAX_VALUE) {
+            return melhor;
+        }
+
+        for (String palavra : palavras) {
+            boolean encontrada = false;
+            for (String campo : registro.campos) {
+                if (palavra.length() >= 3 ? campo.contains(palavra)
+                        : campo.startsWith(palavra) || campo.contains(" " + palavra)) {
+                    encontrada = true;
+                    break;
+                }
+            }
+            if (!encontrada) {
+                return -1;
+            }
+        }
+        return PALAVRAS_SEPARADAS * 2;
+    }
+
+    private static class Registro {
+        final String nome;
+        final String detalhe;
+        final boolean ativo;
+        final List<String> campos;
+        final Set<String> chaves = new HashSet<>();
+
+        Registro(String nome, String detalhe, boolean ativo, List<String> campos) {
+            this.nome = nome;
+            this.detalhe = detalhe;
+            this.ativo = ativo;
+            this.campos = campos;
+            for (String campo : campos) {
+                for (int i = 0; i + 3 <= campo.length(); i++) {
+                    chaves.add(campo.substring(i, i + 3));
+                }
+                for (String palavra : campo.split(" ")) {
+                    if (!palavra.isEmpty()) {
+                        chaves.add("^" + palavra.substring(0, 1));
+                        if (palavra.length() >= 2) {
+                            chaves.add("^" + palavra.substring(0, 2));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    public static class Resultado {
+        static final Comparator<Resultado> ORDEM = Comparator.comparingInt(Resultado::getPontuacao)
+                .thenComparing(r -> r.nome != null ? r.nome : "", String.CASE_INSENSITIVE_ORDER)
+                .thenComparing(Resultado::getId);
+
+        private final Long id;
+        private final String nome;
+        private final String detalhe;
+        private final boolean ativo;
+        private final int pontuacao;
+
+        Resultado(Long id, String nome, String detalhe, boolean ativo, int pontuacao) {
+            this.id = id;
+            this.nome = nome;
+            this.detalhe = detalhe;
+            this.ativo = ativo;
+            this.pontuacao = pontuacao;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getNome() {
+            return nome;
+        }
+
+        public String getDetalhe() {
+            return detalhe;
+        }
+
+        public boolean isAtivo() {
+            return ativo;
+        }
+
+        public int getPontuacao() {
+            return pontuacao;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.PizzariaGraff.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public class KeysetCursor {
+
+    // Separador de unidade (US), não aparece em números de nota, nomes ou datas
+    private static final String SEPARADOR = "\u001F";
+
+    /**
+     * Codifica os valores da chave de ordenação do último registro da página
+     * @param partes Valores da chave, na mesma ordem do ORDER BY
+     * @return Token opaco para ser enviado de volta pelo cliente
+     */
+    public static String encode(Object... partes) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < partes.length; i++) {
+            if (i > 0) {
+                sb.append(SEPARADOR);
+            }
+            sb.append(partes[i] != null ? partes[i].toString() : "");
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica um cursor gerado por {@link #encode(Object...)}
+     * @param cursor Token recebido do cliente
+     * @param quantidadePartes Quantidade de valores esperada
+     * @return Valores da chave de ordenação
+     * @throws IllegalArgumentException se o cursor for inválido
+     */
+    public static String[] decode(String cursor, int quantidadePartes) {
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] partes = texto.split(SEPARADOR, -1);
+            if (partes.length != quantidadePartes) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            return partes;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido", e);
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.example.PizzariaGraff.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Leitura incremental de arquivos de importação (CSV ou NDJSON), um registro por vez,
+ * sem carregar o arquivo inteiro em memória.
+ *
+ * CSV: a primeira linha é o cabeçalho; o separador (";" ou ",") é detectado pelo
+ * cabeçalho e campos entre aspas podem conter separadores, aspas duplicadas e quebras
+ * de linha. NDJSON: um objeto JSON por linha.
+ *
+ * Os nomes das colunas são comparados sem diferenciar maiúsculas e ignorando "_",
+ * então "cpf_cpnj" e "cpfCpnj" indicam o mesmo campo.
+ */
+public abstract class LeitorImportacao implements AutoCloseable {
+
+    public static final String CSV = "csv";
+    public static final String NDJSON = "ndjson";
+
+    protected final BufferedReader reader;
+    protected int linhaAtual;
+
+    protected LeitorImportacao(Reader reader) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+    }
+
+    public static LeitorImportacao csv(Reader reader) {
+        return new Csv(reader);
+    }
+
+    public static LeitorImportacao ndjson(Reader reader, ObjectMapper objectMapper) {
+        return new Ndjson(reader, objectMapper);
+    }
+
+    /**
+     * Lê o próximo registro
+     * @return Registro lido, ou null no fim do arquivo
+     * @throws IOException em caso de erro de leitura da entrada
+     */
+    public abstract Registro proximo() throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    public static String normalizarCampo(String nome) {
+        StringBuilder normalizado = new StringBuilder(nome.length());
+        for (int i = 0; i < nome.length(); i++) {
+            char c = nome.charAt(i);
+            if (c != '_' && c != ' ' && c != '-' && c != '\uFEFF') {
+                normalizado.append(Character.toLowerCase(c));
+            }
+        }
+        return normalizado.toString();
+    }
+
+    /**
+     * Um registro do arquivo: número da linha onde começa e valores por campo
+     * normalizado. Registros que não puderam ser lidos trazem a mensagem em erro.
+     */
+    public static class Registro {
+        private final int linha;
+        private final Map<String, String> campos;
+        private final String erro;
+
+        Registro(int linha, Map<String, String> campos, String erro) {
+            this.linha = linha;
+            this.campos = campos;
+            this.erro = erro;
+        }
+
+        public int getLinha() {
+            return linha;
+        }
+
+        public String getErro() {
+            return erro;
+        }
+
+        /**
+         * Valor do campo, com espaços removidos
+         * @param nomes Nomes aceitos para o campo
+         * @return Valor do primeiro nome presente, ou null se ausente ou vazio
+         */
+        public String texto(String... nomes) {
+            for (String nome : nomes) {
+                String valor = campos.get(normalizarCampo(nome));
+                if (valor != null) {
+                    valor = valor.trim();
+                    return valor.isEmpty() ? null : valor;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static class Csv extends LeitorImportacao {
+
+        private List<String> cabecalho;
+        private char separador;
+
+        Csv(Reader reader) {
+            super(reader);
+        }
+
+        @Override
+        public Registro proximo() throws IOException {
+            if (cabecalho == null) {
+                String primeira = reader.readLine();
+                if (primeira == null) {
+                    return null;
+                }
+                linhaAtual = 1;
+                separador = contar(primeira, ';') > contar(primeira, ',') ? ';' : ',';
+                cabecalho = new ArrayList<>();
+                for (String nome : dividir(primeira)) {
+                    cabecalho.add(normalizarCampo(nome.trim()));
+                }
+            }
+
+            while (true) {
+                int inicio = linhaAtual + 1;
+                List<String> valores = lerRegistro();
+                if (valores == null) {
+                    return null;
+                }
+                if (valores.size() == 1 && valores.get(0).isBlank()) {
+                    continue; // linha vazia
+                }
+                if (valores.size() > cabecalho.size()) {
+                    return new Registro(inicio, Map.of(), "Linha com " + valores.size()
+                            + " colunas, o cabeçalho tem " + cabecalho.size());
+                }
+
+                Map<String, String> campos = new HashMap<>();
+                for (int i = 0; i < valores.size(); i++) {
+                    campos.put(cabecalho.get(i), valores.get(i));
+                }
+                return new Registro(inicio, campos, null);
+            }
+        }
+
+        // Lê um registro, que pode ocupar várias linhas físicas se houver quebra dentro de aspas
+        private List<String> lerRegistro() throws IOException {
+            String linha = reader.readLine();
+            if (linha == null) {
+                return null;
+            }
+            linhaAtual++;
+
+            List<String> valores = new ArrayList<>();
+            StringBuilder valor = new StringBuilder();
+            boolean entreAspas = false;
+            int i = 0;
+            while (true) {
+                if (i == linha.length()) {
+                    if (!entreAspas) {
+                        break;
+                    }
+                    String continuacao = reader.readLine();
+                    if (continuacao == null) {
+                        break; // aspas sem fechamento no fim do arquivo
+                    }
+                    linhaAtual++;
+                    valor.append('\n');
+                    linha = continuacao;
+                    i = 0;
+                    continue;
+                }
+
+                char c = linha.charAt(i++);
+                if (entreAspas) {
+                    if (c == '"') {
+                        if (i < linha.length() && linha.charAt(i) == '"') {
+                            valor.append('"');
+                            i++;
+                        } else {
+                            entreAspas = false;
+                        }
+                    } else {
+                        valor.append(c);
+                    }
+                } else if (c == '"') {
+                    entreAspas = true;
+                } else if (c == separador) {
+                    valores.add(valor.toString());
+                    valor.setLength(0);
+                } else {
+                    valor.append(c);
+                }
+            }
+            valores.add(valor.toString());
+            return valores;
+        }
+
+        private List<String> dividir(String linha) {
+            List<String> partes = new ArrayList<>();
+            int inicio = 0;
+            for (int i = 0; i < linha.length(); i++) {
+                if (linha.charAt(i) == separador) {
+                    partes.add(semAspas(linha.substring(inicio, i)));
+                    inicio = i + 1;
+                }
+            }
+            partes.add(semAspas(linha.substring(inicio)));
+            return partes;
+        }
+
+        private static String semAspas(String valor) {
+            String v = valor.trim();
+            if (v.length() >= 2 && v.charAt(0) == '"' && v.charAt(v.length() - 1) == '"') {
+                return v.substring(1, v.length() - 1);
+            }
+            return v;
+        }
+
+        private static int contar(String linha, char c) {
+            int total = 0;
+            for (int i = 0; i < linha.length(); i++) {
+                if (linha.charAt(i) == c) {
+                    total++;
+                }
+            }
+            return total;
+        }
+    }
+
+    private static class Ndjson extends LeitorImportacao {
+
+        private final ObjectMapper objectMapper;
+
+        Ndjson(Reader reader, ObjectMapper objectMapper) {
+            super(reader);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public Registro proximo() throws IOException {
+            String linha;
+            while ((linha = reader.readLine()) != null) {
+                linhaAtual++;
+                if (!linha.isBlank()) {
+                    break;
+                }
+            }
+            if (linha == null) {
+                return null;
+            }
+
+            JsonNode objeto;
+            try {
+                objeto = objectMapper.readTree(linha);
+            } catch (JsonProcessingException e) {
+                return new Registro(linhaAtual, Map.of(), "JSON inválido: " + e.getOriginalMessage());
+            }
+            if (objeto == null || !objeto.isObject()) {
+                return new Registro(linhaAtual, Map.of(), "A linha deve conter um objeto JSON");
+            }
+
+            Map<String, String> campos = new HashMap<>();
+            Iterator<Map.Entry<String, JsonNode>> it = objeto.fields();
+            while (it.hasNext()) {
+                Map.Entry<String, JsonNode> campo = it.next();
+                JsonNode valor = campo.getValue();
+                if (valor.isValueNode() && !valor.isNull()) {
+                    campos.put(normalizarCampo(campo.getKey()), valor.asText());
+                }
+            }
+            return new Registro(linhaAtual, campos, null);
+        }
+    }
+}
@@ -0,0 +1,3 @@
+-- Estoque fracionado (kg, litros): quantidade deixa de ser inteira
+
+ALTER TABLE `produto` MODIFY `quantidade` decimal(15,4) NOT NULL DEFAULT 0.0000;
@@ -0,0 +1,34 @@
+-- Resumo de saldos em aberto por origem e dia de vencimento, mantido pelos serviços
+-- de contas a cada recebimento, pagamento, cancelamento ou alteração
+
+CREATE TABLE IF NOT EXISTS `resumo_financeiro` (
+  `origem` varchar(20) NOT NULL COMMENT 'RECEBER, PAGAR ou PAGAR_AVULSA',
+  `data_vencimento` date NOT NULL,
+  `quantidade` int(11) NOT NULL DEFAULT 0,
+  `saldo_aberto` decimal(15,2) NOT NULL DEFAULT 0.00,
+  `data_atualizacao` timestamp NULL DEFAULT current_timestamp() ON UPDATE current_timestamp(),
+  PRIMARY KEY (`origem`,`data_vencimento`),
+  KEY `idx_resumo_financeiro_vencimento` (`data_vencimento`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO `resumo_financeiro` (`origem`, `data_vencimento`, `quantidade`, `saldo_aberto`)
+SELECT 'RECEBER', data_vencimento, COUNT(*), SUM(GREATEST(valor_total - COALESCE(valor_recebido, 0), 0))
+FROM contas_receber
+WHERE situacao NOT IN ('RECEBIDA', 'CANCELADA')
+GROUP BY data_vencimento
+ON DUPLICATE KEY UPDATE quantidade = VALUES(quantidade), saldo_aberto = VALUES(saldo_aberto);
+
+INSERT INTO `resumo_financeiro` (`origem`, `data_vencimento`, `quantidade`, `saldo_aberto`)
+SELECT 'PAGAR', data_vencimento, COUNT(*), SUM(GREATEST(valor_total - COALESCE(valor_pago, 0), 0))
+FROM contas_pagar
+WHERE situacao NOT IN ('PAGA', 'CANCELADA')
+GROUP BY data_vencimento
+ON DUPLICATE KEY UPDATE quantidade = VALUES(quantidade), saldo_aberto = VALUES(saldo_aberto);
+
+INSERT INTO `resumo_financeiro` (`origem`, `data_vencimento`, `quantidade`, `saldo_aberto`)
+SELECT 'PAGAR_AVULSA', data_vencimento, COUNT(*),
+       SUM(GREATEST(valor_parcela - COALESCE(valor_pago, 0), 0))
+FROM contas_pagar_avulsa
+WHERE status NOT IN ('PAGA', 'CANCELADA')
+GROUP BY data_vencimento
+ON DUPLICATE KEY UPDATE quantidade = VALUES(quantidade), saldo_aberto = VALUES(saldo_aberto);
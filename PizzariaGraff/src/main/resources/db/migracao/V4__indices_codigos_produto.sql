@@ -0,0 +1,4 @@
+-- Buscas por código de barras e referência (leitura no balcão e verificação de duplicidade)
+
+CREATE INDEX IF NOT EXISTS `idx_produto_codigo_barras` ON `produto` (`codigo_barras`);
+CREATE INDEX IF NOT EXISTS `idx_produto_referencia` ON `produto` (`referencia`);
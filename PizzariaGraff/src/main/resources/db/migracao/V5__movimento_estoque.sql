@@ -0,0 +1,33 @@
+-- Histórico de estoque: cada entrada ou saída de produto vira uma linha em
+-- movimento_estoque (nunca alterada), e saldo_estoque_diario guarda o saldo de fim de
+-- dia dos produtos que se movimentaram, para consultas de saldo em uma data
+
+CREATE TABLE IF NOT EXISTS `movimento_estoque` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT,
+  `produto_id` bigint(20) NOT NULL,
+  `data_movimento` datetime NOT NULL,
+  `tipo` varchar(10) NOT NULL COMMENT 'ENTRADA, SAIDA ou AJUSTE',
+  `quantidade` decimal(15,4) NOT NULL COMMENT 'Positiva nas entradas, negativa nas saídas',
+  `origem` varchar(20) NOT NULL COMMENT 'NOTA_ENTRADA, NOTA_SAIDA ou CADASTRO',
+  `nota_numero` varchar(20) DEFAULT NULL,
+  `nota_modelo` varchar(2) DEFAULT NULL,
+  `nota_serie` varchar(3) DEFAULT NULL,
+  `participante_id` bigint(20) DEFAULT NULL COMMENT 'Fornecedor ou cliente da nota',
+  `descricao` varchar(100) DEFAULT NULL,
+  PRIMARY KEY (`id`),
+  KEY `idx_movimento_estoque_produto_data` (`produto_id`,`data_movimento`),
+  KEY `idx_movimento_estoque_data` (`data_movimento`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS `saldo_estoque_diario` (
+  `produto_id` bigint(20) NOT NULL,
+  `data` date NOT NULL,
+  `quantidade` decimal(15,4) NOT NULL COMMENT 'Saldo no fim do dia',
+  PRIMARY KEY (`produto_id`,`data`),
+  KEY `idx_saldo_estoque_diario_data` (`data`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Ponto de partida do histórico: o estoque atual vira o saldo de ontem
+INSERT IGNORE INTO `saldo_estoque_diario` (`produto_id`, `data`, `quantidade`)
+SELECT id, CURDATE() - INTERVAL 1 DAY, quantidade
+FROM produto;
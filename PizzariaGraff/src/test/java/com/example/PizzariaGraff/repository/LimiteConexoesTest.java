@@ -0,0 +1,149 @@
+package com.example.PizzariaGraff.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LimiteConexoesTest {
+
+    private static final LimiteConexoes.Faixa RAPIDA = LimiteConexoes.Faixa.RAPIDA;
+    private static final LimiteConexoes.Faixa PESADA = LimiteConexoes.Faixa.PESADA;
+
+    private final List<Thread> threads = new ArrayList<>();
+    private final CountDownLatch soltar = new CountDownLatch(1);
+
+    @AfterEach
+    void encerrar() throws InterruptedException {
+        soltar.countDown();
+        for (Thread thread : threads) {
+            thread.join(2000);
+        }
+        LimiteConexoes.limparFaixa();
+    }
+
+    @Test
+    void faixaPesadaNaoPassaDoTotalMenosReservadas() throws Exception {
+        LimiteConexoes limite = new LimiteConexoes(4, 1, 100);
+        segurar(limite, PESADA, 3);
+
+        assertEquals(0, limite.getDisponiveis(PESADA));
+        assertEquals(1, limite.getDisponiveis(RAPIDA));
+        assertInstanceOf(SQLTransientConnectionException.class, tentar(limite, PESADA));
+    }
+
+    @Test
+    void faixaRapidaUsaAsConexoesReservadas() throws Exception {
+        LimiteConexoes limite = new LimiteConexoes(4, 1, 100);
+        segurar(limite, PESADA, 3);
+
+        assertNull(tentar(limite, RAPIDA));
+        segurar(limite, RAPIDA, 1);
+        assertInstanceOf(SQLTransientConnectionException.class, tentar(limite, RAPIDA));
+    }
+
+    @Test
+    void threadComPermissaoNaoPedeOutra() throws Exception {
+        LimiteConexoes limite = new LimiteConexoes(2, 1, 100);
+        LimiteConexoes.definirFaixa(RAPIDA);
+
+        limite.adquirir();
+        limite.adquirir();
+        assertEquals(1, limite.getDisponiveis(RAPIDA));
+
+        limite.liberar();
+        assertEquals(1, limite.getDisponiveis(RAPIDA));
+        limite.liberar();
+        assertEquals(2, limite.getDisponiveis(RAPIDA));
+    }
+
+    @Test
+    void permissaoVoltaNoUltimoClose() throws Exception {
+        LimiteConexoes limite = new LimiteConexoes(2, 1, 100);
+        DataSourceLimitado dataSource = new DataSourceLimitado(pool(), limite);
+        LimiteConexoes.definirFaixa(RAPIDA);
+
+        Connection primeira = dataSource.getConnection();
+        Connection segunda = dataSource.getConnection();
+        assertEquals(1, limite.getDisponiveis(RAPIDA));
+
+        primeira.close();
+        primeira.close();
+        assertEquals(1, limite.getDisponiveis(RAPIDA));
+        assertTrue(primeira.isClosed());
+
+        segunda.close();
+        assertEquals(2, limite.getDisponiveis(RAPIDA));
+    }
+
+    @Test
+    void conexaoDaTransacaoContaNoLimite() throws Exception {
+        LimiteConexoes limite = new LimiteConexoes(2, 1, 100);
+        DataSourceLimitado dataSource = new DataSourceLimitado(pool(), limite);
+        TransactionTemplate transacao = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        LimiteConexoes.definirFaixa(PESADA);
+
+        transacao.executeWithoutResult(status -> {
+            assertEquals(0, limite.getDisponiveis(PESADA));
+            assertEquals(1, limite.getDisponiveis(RAPIDA));
+        });
+        assertEquals(2, limite.getDisponiveis(RAPIDA));
+    }
+
+    private static DataSource pool() throws Exception {
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenAnswer(invocacao -> mock(Connection.class));
+        return pool;
+    }
+
+    // Ocupa permissões em outras threads até o fim do teste
+    private void segurar(LimiteConexoes limite, LimiteConexoes.Faixa faixa, int quantidade) throws InterruptedException {
+        CountDownLatch prontas = new CountDownLatch(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            Thread thread = new Thread(() -> {
+                LimiteConexoes.definirFaixa(faixa);
+                try {
+                    limite.adquirir();
+                    prontas.countDown();
+                    soltar.await();
+                    limite.liberar();
+                } catch (Exception e) {
+                    prontas.countDown();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        assertTrue(prontas.await(2, TimeUnit.SECONDS));
+    }
+
+    // Tenta obter e devolver uma permissão em outra thread; devolve o erro, se houver
+    private static Exception tentar(LimiteConexoes limite, LimiteConexoes.Faixa faixa) throws InterruptedException {
+        AtomicReference<Exception> erro = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            LimiteConexoes.definirFaixa(faixa);
+            try {
+                limite.adquirir();
+                limite.liberar();
+            } catch (Exception e) {
+                erro.set(e);
+            }
+        });
+        thread.start();
+        thread.join(2000);
+        return erro.get();
+    }
+}
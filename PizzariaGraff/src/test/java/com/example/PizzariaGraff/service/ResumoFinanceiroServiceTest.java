@@ -0,0 +1,65 @@
+package com.example.PizzariaGraff.service;
+
+import com.example.PizzariaGraff.dto.FluxoCaixaDiaDTO;
+import com.example.PizzariaGraff.dto.ResumoFinanceiroDTO;
+import com.example.PizzariaGraff.repository.ResumoFinanceiroRepository;
+import com.example.PizzariaGraff.repository.ResumoFinanceiroRepository.Linha;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ResumoFinanceiroServiceTest {
+
+    private static final LocalDate HOJE = LocalDate.of(2025, 3, 10);
+
+    private final ResumoFinanceiroRepository repository = mock(ResumoFinanceiroRepository.class);
+    private final ResumoFinanceiroService service = new ResumoFinanceiroService(repository);
+
+    @Test
+    void tituloAlemDaProjecaoEntraNasFaixasMasNaoNoFluxo() {
+        when(repository.findAbertos()).thenReturn(List.of(
+                new Linha(ResumoFinanceiroRepository.RECEBER, HOJE.minusDays(45), 1, new BigDecimal("70.00")),
+                new Linha(ResumoFinanceiroRepository.RECEBER, HOJE, 2, new BigDecimal("100.00")),
+                new Linha(ResumoFinanceiroRepository.RECEBER, HOJE.plusDays(29), 1, new BigDecimal("30.00")),
+                new Linha(ResumoFinanceiroRepository.RECEBER, HOJE.plusDays(30), 1, new BigDecimal("500.00")),
+                new Linha(ResumoFinanceiroRepository.PAGAR, HOJE.plusDays(90), 1, new BigDecimal("800.00"))));
+
+        ResumoFinanceiroDTO resumo = service.resumo(HOJE, 30);
+
+        assertEquals(new BigDecimal("630.00"), resumo.getReceber().getNaoVencido());
+        assertEquals(new BigDecimal("70.00"), resumo.getReceber().getVencido31a60());
+        assertEquals(new BigDecimal("700.00"), resumo.getReceber().getTotal());
+        assertEquals(5, resumo.getReceber().getQuantidade());
+        assertEquals(new BigDecimal("800.00"), resumo.getPagar().getNaoVencido());
+
+        List<FluxoCaixaDiaDTO> fluxo = resumo.getFluxoCaixa();
+        assertEquals(30, fluxo.size());
+        assertEquals(new BigDecimal("100.00"), fluxo.get(0).getEntradas());
+        assertEquals(new BigDecimal("30.00"), fluxo.get(29).getEntradas());
+        assertEquals(new BigDecimal("130.00"), fluxo.get(29).getSaldoAcumulado());
+        assertEquals(BigDecimal.ZERO, fluxo.get(29).getSaidas());
+    }
+
+    @Test
+    void faixasNaoDependemDosDiasDeProjecao() {
+        when(repository.findAbertos()).thenReturn(List.of(
+                new Linha(ResumoFinanceiroRepository.PAGAR, HOJE.minusDays(5), 1, new BigDecimal("40.00")),
+                new Linha(ResumoFinanceiroRepository.PAGAR, HOJE.plusDays(3), 1, new BigDecimal("60.00")),
+                new Linha(ResumoFinanceiroRepository.PAGAR, HOJE.plusDays(200), 1, new BigDecimal("900.00"))));
+
+        ResumoFinanceiroDTO curto = service.resumo(HOJE, 1);
+        ResumoFinanceiroDTO longo = service.resumo(HOJE, 365);
+
+        assertEquals(curto.getPagar().getNaoVencido(), longo.getPagar().getNaoVencido());
+        assertEquals(curto.getPagar().getTotal(), longo.getPagar().getTotal());
+        assertEquals(new BigDecimal("1000.00"), curto.getPagar().getTotal());
+        assertEquals(BigDecimal.ZERO, curto.getFluxoCaixa().get(0).getSaidas());
+        assertEquals(new BigDecimal("900.00"), longo.getFluxoCaixa().get(200).getSaidas());
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.PizzariaGraff.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CpfCnpjValidatorTest {
+
+    @Test
+    void cpfValidoComESemFormatacao() {
+        assertTrue(CpfCnpjValidator.isValidCPF("529.982.247-25"));
+        assertTrue(CpfCnpjValidator.isValidCPF("52998224725"));
+        assertTrue(CpfCnpjValidator.isValidCPF("111.444.777-35"));
+        assertEquals(CpfCnpjValidator.CPF, CpfCnpjValidator.getDocumentType("529.982.247-25"));
+        assertFalse(CpfCnpjValidator.isValidCNPJ("52998224725"));
+    }
+
+    @Test
+    void cpfComVerificadorErrado() {
+        assertFalse(CpfCnpjValidator.isValidCPF("529.982.247-24"));
+        assertFalse(CpfCnpjValidator.isValidCPF("52998224715"));
+        assertEquals(CpfCnpjValidator.INVALIDO, CpfCnpjValidator.getDocumentType("52998224715"));
+    }
+
+    @Test
+    void cnpjValidoComESemFormatacao() {
+        assertTrue(CpfCnpjValidator.isValidCNPJ("11.222.333/0001-81"));
+        assertTrue(CpfCnpjValidator.isValidCNPJ("11222333000181"));
+        assertTrue(CpfCnpjValidator.isValidCNPJ("11.444.777/0001-61"));
+        assertEquals(CpfCnpjValidator.CNPJ, CpfCnpjValidator.getDocumentType("11.222.333/0001-81"));
+        assertFalse(CpfCnpjValidator.isValidCPF("11222333000181"));
+    }
+
+    @Test
+    void cnpjComVerificadorErrado() {
+        assertFalse(CpfCnpjValidator.isValidCNPJ("11.222.333/0001-80"));
+        assertFalse(CpfCnpjValidator.isValidCNPJ("11222333000191"));
+    }
+
+    @Test
+    void todosOsDigitosIguaisSaoInvalidos() {
+        for (char c = '0'; c <= '9'; c++) {
+            assertFalse(CpfCnpjValidator.isValidCpfOrCnpj(String.valueOf(c).repeat(11)));
+            assertFalse(CpfCnpjValidator.isValidCpfOrCnpj(String.valueOf(c).repeat(14)));
+        }
+        assertFalse(CpfCnpjValidator.isValidCPF("000.000.000-00"));
+    }
+
+    @Test
+    void quantidadeDeDigitosFora() {
+        assertFalse(CpfCnpjValidator.isValidCpfOrCnpj("112223330001810"));
+        assertFalse(CpfCnpjValidator.isValidCpfOrCnpj("11.222.333/0001-81-9"));
+        assertFalse(CpfCnpjValidator.isValidCpfOrCnpj("1122233300018100000"));
+        assertFalse(CpfCnpjValidator.isValidCpfOrCnpj("5299822472"));
+        assertFalse(CpfCnpjValidator.isValidCpfOrCnpj(""));
+        assertFalse(CpfCnpjValidator.isValidCpfOrCnpj("abc"));
+    }
+
+    @Test
+    void documentoNulo() {
+        assertFalse(CpfCnpjValidator.isValidCPF(null));
+        assertFalse(CpfCnpjValidator.isValidCNPJ(null));
+        assertFalse(CpfCnpjValidator.isValidCpfOrCnpj(null));
+        assertEquals(CpfCnpjValidator.INVALIDO, CpfCnpjValidator.getDocumentType(null));
+        assertEquals(0, CpfCnpjValidator.contarDigitos(null));
+        assertNull(CpfCnpjValidator.normalizar(null));
+    }
+
+    @Test
+    void normalizarMantemSoOsDigitos() {
+        assertEquals("11222333000181", CpfCnpjValidator.normalizar("11.222.333/0001-81"));
+        assertEquals(11, CpfCnpjValidator.contarDigitos("529.982.247-25"));
+    }
+
+    @Test
+    void concordaComOCalculoTradicional() {
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            String cpf = gerar(random, 9);
+            cpf += digitoCpf(cpf);
+            cpf += digitoCpf(cpf);
+            assertEquals(!todosIguais(cpf), CpfCnpjValidator.isValidCPF(cpf), cpf);
+
+            String cnpj = gerar(random, 12);
+            cnpj += digitoCnpj(cnpj);
+            cnpj += digitoCnpj(cnpj);
+            assertEquals(!todosIguais(cnpj), CpfCnpjValidator.isValidCNPJ(cnpj), cnpj);
+
+            // Trocar o último dígito sempre invalida o documento
+            assertFalse(CpfCnpjValidator.isValidCPF(trocarUltimo(cpf)), cpf);
+            assertFalse(CpfCnpjValidator.isValidCNPJ(trocarUltimo(cnpj)), cnpj);
+        }
+    }
+
+    private static String gerar(Random random, int tamanho) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < tamanho; i++) {
+            sb.append((char) ('0' + random.nextInt(10)));
+        }
+        return sb.toString();
+    }
+
+    private static int digitoCpf(String base) {
+        int soma = 0;
+        for (int i = 0; i < base.length(); i++) {
+            soma += (base.charAt(i) - '0') * (base.length() + 1 - i);
+        }
+        int resto = 11 - (soma % 11);
+        return resto >= 10 ? 0 : resto;
+    }
+
+    private static int digitoCnpj(String base) {
+        int soma = 0;
+        int peso = 2;
+        for (int i = base.length() - 1; i >= 0; i--) {
+            soma += (base.charAt(i) - '0') * peso;
+            peso = peso == 9 ? 2 : peso + 1;
+        }
+        int resto = soma % 11;
+        return resto < 2 ? 0 : 11 - resto;
+    }
+
+    private static boolean todosIguais(String documento) {
+        return documento.chars().allMatch(c -> c == documento.charAt(0));
+    }
+
+    private static String trocarUltimo(String documento) {
+        char ultimo = documento.charAt(documento.length() - 1);
+        return documento.substring(0, documento.length() - 1) + (char) ('0' + (ultimo - '0' + 1) % 10);
+    }
+}
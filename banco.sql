@@ -246,7 +246,7 @@ CREATE TABLE `produto` (
   `unidade_medida_id` bigint(20) NOT NULL,
   `valor_compra` decimal(10,2) NOT NULL,
   `valor_venda` decimal(10,2) NOT NULL,
-  `quantidade` int(11) NOT NULL DEFAULT 0,
+  `quantidade` decimal(15,4) NOT NULL DEFAULT 0.0000,
   `quantidade_minima` int(11) NOT NULL DEFAULT 1,
   `percentual_lucro` decimal(10,2) NOT NULL,
   `descricao` text DEFAULT NULL,